@@ -0,0 +1,82 @@
+package aquery.com.aquery;
+
+import android.app.Activity;
+import android.util.Log;
+import android.view.ViewGroup;
+import android.widget.LinearLayout;
+import android.widget.TextView;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * A minimal harness timing operations of AQuery on a device, shared by the benchmarks of this source set
+ *
+ * The benchmarks only depend on the Android SDK: call run() on one of them with an Activity, from a debug build
+ * or an instrumentation test, and read the results in logcat with the tag "AQueryBenchmark".
+ * Each operation is warmed up, then timed in RUNS runs of enough iterations to last about TARGET_NS,
+ * and the median time of an iteration is reported. The Views are never attached to the window
+ */
+abstract class Benchmark {
+    static final String TAG = "AQueryBenchmark"; // The logcat tag of the results
+    private static final int RUNS = 5; // The number of timed runs of each operation
+    private static final long TARGET_NS = 100000000L; // The approximate duration of a run, in nanoseconds
+    protected final Activity ctx; // The activity creating the Views
+
+    Benchmark(Activity ctx) {
+        this.ctx = ctx;
+    }
+
+    /**
+     * Runs all the measurements of the benchmark and logs their results
+     */
+    abstract void run();
+
+    /**
+     * Times an operation and logs the median time of an iteration
+     * @param name
+     * The name of the operation in the results. Example : "descendants/1000"
+     * @param op
+     * The operation
+     * @return
+     * The median time of an iteration, in nanoseconds
+     */
+    long time(String name, Runnable op) {
+        int iterations = 1;
+        for (;;) { // The warm-up also finds how many iterations last about TARGET_NS
+            long start = System.nanoTime();
+            for (int i=0;i<iterations;i++)
+                op.run();
+            long duration = System.nanoTime() - start;
+            if ((duration >= TARGET_NS) || (iterations >= (1 << 20)))
+                break;
+            iterations *= 2;
+        }
+        long[] times = new long[RUNS];
+        for (int r=0;r<RUNS;r++) {
+            long start = System.nanoTime();
+            for (int i=0;i<iterations;i++)
+                op.run();
+            times[r] = (System.nanoTime() - start) / iterations;
+        }
+        Arrays.sort(times);
+        long res = times[RUNS/2];
+        Log.i(TAG, String.format(Locale.US, "%-48s %12d ns", name, res));
+        return res;
+    }
+
+    /**
+     * Builds a tree of about the given number of Views: a LinearLayout containing rows,
+     * each row being a LinearLayout with 9 TextViews, like the items of a list
+     */
+    ViewGroup buildWideTree(int size) {
+        LinearLayout root = new LinearLayout(ctx);
+        for (int i=0;i<size/10;i++) {
+            LinearLayout row = new LinearLayout(ctx);
+            for (int j=0;j<9;j++)
+                row.addView(new TextView(ctx));
+            root.addView(row);
+        }
+        return root;
+    }
+}
@@ -0,0 +1,73 @@
+package aquery.com.aquery;
+
+import android.app.Activity;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.ImageView;
+import android.widget.LinearLayout;
+import android.widget.TextView;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Measures :has() on deep trees, where every container is an ancestor of the View searched
+ *
+ * The tree is a chain of nested LinearLayouts, each one also containing a TextView, with an ImageView at the bottom,
+ * so that "LinearLayout:has(ImageView)" matches every level. The query is timed, then compared with searching
+ * the descendants of each LinearLayout separately, which is what :has() would cost without remembering the results
+ * of the nested containers: the first grows linearly with the depth, the second with its square
+ */
+class HasBenchmark extends Benchmark {
+    private static final int[] DEPTHS = {25, 50, 100, 200}; // The numbers of nested LinearLayouts of the trees
+
+    HasBenchmark(Activity ctx) {
+        super(ctx);
+    }
+
+    @Override
+    void run() {
+        for (int depth : DEPTHS) {
+            final ViewGroup root = buildDeepTree(depth);
+            final AQuery q = new $Element(ctx, root);
+            time(":has(ImageView)/"+ depth, new Runnable() {
+                @Override
+                public void run() {
+                    q.find("LinearLayout:has(ImageView)").list();
+                }
+            });
+            time(":has(> ImageView)/"+ depth, new Runnable() {
+                @Override
+                public void run() {
+                    q.find("LinearLayout:has(> ImageView)").list();
+                }
+            });
+            time(":has(ImageView) (each subtree)/"+ depth, new Runnable() {
+                @Override
+                public void run() {
+                    List<View> res = new ArrayList<>();
+                    for (View v : q.find("LinearLayout").list()) {
+                        if (!new $Element(ctx, v).find("ImageView").list().isEmpty())
+                            res.add(v);
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * Builds a chain of nested LinearLayouts, each one containing a TextView and the next level, the last one an ImageView
+     */
+    private ViewGroup buildDeepTree(int depth) {
+        LinearLayout root = new LinearLayout(ctx);
+        LinearLayout level = root;
+        for (int i=0;i<depth;i++) {
+            LinearLayout child = new LinearLayout(ctx);
+            level.addView(new TextView(ctx));
+            level.addView(child);
+            level = child;
+        }
+        level.addView(new ImageView(ctx));
+        return root;
+    }
+}
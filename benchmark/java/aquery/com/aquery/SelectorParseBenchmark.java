@@ -0,0 +1,46 @@
+package aquery.com.aquery;
+
+import android.app.Activity;
+
+import java.util.Locale;
+
+/**
+ * Measures the cost of parsing typical selectors with AQuery.compile()
+ *
+ * compile() keeps the last selectors compiled, so each selector is timed through variants differing by a number,
+ * more numerous than the cache, so that every call parses. The time of an iteration thus includes a miss of the cache.
+ * The benchmark only calls compile(String, int), so the same class can be run against the previous parser
+ * to compare the two
+ */
+class SelectorParseBenchmark extends Benchmark {
+    private static final String[] TEMPLATES = { // The typical selectors, %d being replaced by the number of each variant
+        "TextView:nth-child(%d)",
+        "LinearLayout > TextView:nth-child(%d)",
+        "FrameLayout LinearLayout:nth-last-child(%d) > ImageView",
+        "RelativeLayout > LinearLayout:nth-child(2n+%d) > TextView:last-child",
+        "ListView > LinearLayout:nth-child(%d) TextView:first-child, ImageView:not(Button)"
+    };
+    private static final int VARIANTS = 256; // The number of variants of each selector, more than the selectors kept by compile()
+
+    SelectorParseBenchmark(Activity ctx) {
+        super(ctx);
+    }
+
+    @Override
+    void run() {
+        for (String template : TEMPLATES) {
+            final String[] variants = new String[VARIANTS];
+            for (int i=0;i<VARIANTS;i++)
+                variants[i] = String.format(Locale.US, template, i+1);
+            time("compile "+ template, new Runnable() {
+                private int next; // The variant compiled by the next iteration
+
+                @Override
+                public void run() {
+                    AQuery.compile(variants[next], 0);
+                    next = (next+1) % VARIANTS;
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package aquery.com.aquery;
+
+import android.app.Activity;
+import android.view.View;
+import android.view.ViewGroup;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Measures the scaling of the set operations on Views with the size of the tree, like descendants() and family()
+ *
+ * Each operation is timed with the identity sets of AQuery, then with the List.contains() unions they replaced,
+ * reproduced here as they were, so that the two curves of a run can be compared.
+ * The time of the List.contains() version grows with the square of the number of Views, the other one linearly
+ */
+class SetBenchmark extends Benchmark {
+    private static final int[] SIZES = {250, 500, 1000, 2000, 4000}; // The numbers of Views of the trees
+
+    SetBenchmark(Activity ctx) {
+        super(ctx);
+    }
+
+    @Override
+    void run() {
+        for (int size : SIZES) {
+            ViewGroup root = buildWideTree(size);
+            final List<View> rows = new ArrayList<>();
+            for (int i=0;i<root.getChildCount();i++)
+                rows.add(root.getChildAt(i));
+            final List<View> all = new $Element(ctx, root).descendants().list();
+            final List<View> half = all.subList(0, all.size()/2);
+
+            time("descendants/"+ size, new Runnable() {
+                @Override
+                public void run() {
+                    new $Array(ctx, rows).descendants();
+                }
+            });
+            time("descendants (List.contains)/"+ size, new Runnable() {
+                @Override
+                public void run() {
+                    List<View> res = new ArrayList<>();
+                    for (View v : rows)
+                        res = containsUnion(res, descendantsOf(v, false));
+                }
+            });
+            time("family/"+ size, new Runnable() {
+                @Override
+                public void run() {
+                    new $Array(ctx, all).family();
+                }
+            });
+            time("family (List.contains)/"+ size, new Runnable() {
+                @Override
+                public void run() {
+                    List<View> res = new ArrayList<>();
+                    for (View v : all)
+                        res = containsUnion(res, descendantsOf(v, true));
+                }
+            });
+            time("intersection/"+ size, new Runnable() {
+                @Override
+                public void run() {
+                    AQuery.intersectViews(all, half);
+                }
+            });
+            time("intersection (List.contains)/"+ size, new Runnable() {
+                @Override
+                public void run() {
+                    List<View> res = new ArrayList<>();
+                    for (View v : all) {
+                        if (half.contains(v))
+                            res.add(v);
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * The union of AQuery before the identity sets, calling List.contains() for each element of the second list
+     */
+    private static List<View> containsUnion(List<View> l1, List<View> l2) {
+        List<View> res = new ArrayList<>(l1.size()+l2.size());
+        res.addAll(l1);
+        for (View elt2 : l2) {
+            if (!res.contains(elt2))
+                res.add(elt2);
+        }
+        return res;
+    }
+    /**
+     * Returns the descendants of a View in the order of the tree, and the View itself first if includeRoot is true
+     */
+    private static List<View> descendantsOf(View v, boolean includeRoot) {
+        List<View> res = new ArrayList<>();
+        for (View elt : new ViewTreeIterator(v).includeRoot(includeRoot))
+            res.add(elt);
+        return res;
+    }
+}
@@ -35,7 +35,7 @@ public class $FConstructors extends $Constructors {
      * For example : $("#my_id") will return the elements with the id R.id.my_id
      */
     public AQuery $(String selector) {
-        return new $Array(ctx, AQuery.intersection($().parent().find(selector).list(), $().family().list()));
+        return new $Array(ctx, AQuery.intersectViews($().parent().find(selector).list(), $().family().list()));
     }
 
     /**
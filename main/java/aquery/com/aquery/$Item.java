@@ -0,0 +1,187 @@
+package aquery.com.aquery;
+
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.Adapter;
+import android.widget.AdapterView;
+
+import java.lang.reflect.Method;
+
+/**
+ * A handle on an item of an adapter-backed list (AdapterView or RecyclerView), given by its position in the adapter
+ *
+ * The handles are returned by AQuery.items(), like $.items("ListView > :item(2n)"), and don't need the view of the item:
+ * only the items displayed by the list have a view, the others are created only when inflate() is called.
+ * A handle doesn't follow its item when the data of the adapter changes, the position stays the same.
+ *
+ * RecyclerView is accessed through reflection, so that aQuery doesn't depend on the support library
+ */
+@SuppressWarnings("unused")
+public class $Item {
+    private final ViewGroup container; // The AdapterView or RecyclerView displaying the item
+    private final int position; // The position of the item in the adapter
+
+    /**
+     * Constructor of $Item
+     * @param container
+     * The AdapterView or RecyclerView displaying the item
+     * @param position
+     * The position of the item in the adapter
+     */
+    public $Item(ViewGroup container, int position) {
+        if (!isList(container))
+            throw new IllegalArgumentException(container.getClass().getName() +" is neither an AdapterView nor a RecyclerView");
+        this.container = container;
+        this.position = position;
+    }
+
+    /**
+     * Returns the AdapterView or RecyclerView displaying the item
+     */
+    public ViewGroup container() {
+        return container;
+    }
+    /**
+     * Returns the position of the item in the adapter
+     */
+    public int position() {
+        return position;
+    }
+
+    /**
+     * Returns the data of the item, as given by Adapter.getItem()
+     * The adapters of the RecyclerViews have no such method, so it always returns null for them
+     */
+    public Object data() {
+        if (container instanceof AdapterView)
+            return ((AdapterView) container).getItemAtPosition(position);
+        return null;
+    }
+    /**
+     * Returns the id of the item, as given by the getItemId() method of the adapter
+     */
+    public long id() {
+        if (container instanceof AdapterView)
+            return ((AdapterView) container).getItemIdAtPosition(position);
+        Object adapter = call(container, "getAdapter");
+        return (adapter == null) ? View.NO_ID : (Long) call(adapter, "getItemId", int.class, position);
+    }
+
+    /**
+     * Returns the view of the item if it is currently displayed by the list, null otherwise
+     */
+    public View view() {
+        int n = container.getChildCount();
+        for (int i=0;i<n;i++) {
+            View child = container.getChildAt(i);
+            if (positionOf(container, child) == position)
+                return child;
+        }
+        return null;
+    }
+    /**
+     * Returns the view of the item if it is displayed by the list, otherwise creates it with the adapter.
+     * The created view is not attached to the list, it can only be used to read the content of the item
+     */
+    public View inflate() {
+        View res = view();
+        if (res != null)
+            return res;
+        if (container instanceof AdapterView)
+            return ((AdapterView) container).getAdapter().getView(position, null, container);
+        Object adapter = call(container, "getAdapter");
+        int type = (Integer) call(adapter, "getItemViewType", int.class, position);
+        Object holder = call(adapter, "createViewHolder", new Class[]{ViewGroup.class, int.class}, new Object[]{container, type});
+        for (Method m : adapter.getClass().getMethods()) {
+            if ("bindViewHolder".equals(m.getName()) && (m.getParameterTypes().length == 2)) {
+                invoke(m, adapter, holder, position);
+                break;
+            }
+        }
+        try {
+            return (View) holder.getClass().getField("itemView").get(holder);
+        }
+        catch (Exception e) {
+            throw new IllegalStateException("Can't get the view of the item "+ position, e);
+        }
+    }
+
+    /**
+     * Scrolls the list so that the item is displayed. Its view is available with view() after the next layout pass
+     */
+    public void scrollTo() {
+        if (container instanceof AdapterView)
+            ((AdapterView) container).setSelection(position);
+        else
+            call(container, "scrollToPosition", int.class, position);
+    }
+
+    /**
+     * Checks if a View is a list whose items can be accessed by position, an AdapterView or a RecyclerView
+     */
+    static boolean isList(View v) {
+        return (v instanceof AdapterView) || ((v instanceof ViewGroup) && ViewIndex.isRecycler((ViewGroup) v));
+    }
+    /**
+     * Returns the number of items of a list, including the ones which are not displayed
+     */
+    static int count(ViewGroup list) {
+        if (list instanceof AdapterView) {
+            Adapter adapter = ((AdapterView) list).getAdapter();
+            return (adapter == null) ? 0 : adapter.getCount();
+        }
+        Object adapter = call(list, "getAdapter");
+        return (adapter == null) ? 0 : (Integer) call(adapter, "getItemCount");
+    }
+    /**
+     * Returns the position in the adapter of a child of a list, or -1 if it is not an item
+     */
+    static int positionOf(ViewGroup list, View child) {
+        if (list instanceof AdapterView)
+            return ((AdapterView) list).getPositionForView(child);
+        return (Integer) call(list, "getChildAdapterPosition", View.class, child);
+    }
+
+    private static Object call(Object target, String name) {
+        return call(target, name, new Class[0], new Object[0]);
+    }
+    private static Object call(Object target, String name, Class paramType, Object param) {
+        return call(target, name, new Class[]{paramType}, new Object[]{param});
+    }
+    private static Object call(Object target, String name, Class[] paramTypes, Object[] params) {
+        Method m;
+        try {
+            m = target.getClass().getMethod(name, paramTypes);
+        }
+        catch (NoSuchMethodException e) {
+            throw new IllegalArgumentException(target.getClass().getName() +" has no method "+ name, e);
+        }
+        return invoke(m, target, params);
+    }
+    private static Object invoke(Method m, Object target, Object... params) {
+        try {
+            return m.invoke(target, params);
+        }
+        catch (Exception e) {
+            throw new IllegalStateException("Can't call "+ m.getName() +" on "+ target.getClass().getName(), e);
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (!(o instanceof $Item))
+            return false;
+        $Item item = ($Item) o;
+        return (item.container == container) && (item.position == position);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31*System.identityHashCode(container) + position;
+    }
+
+    @Override
+    public String toString() {
+        return container.getClass().getSimpleName() +":item("+ position +")";
+    }
+}
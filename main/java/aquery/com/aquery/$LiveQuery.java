@@ -0,0 +1,215 @@
+package aquery.com.aquery;
+
+import android.app.Activity;
+import android.view.View;
+import android.view.ViewGroup;
+import android.view.ViewParent;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+
+/**
+ * An AQuery object containing the descendants of a View matching a selector, which stays up to date as the hierarchy changes
+ *
+ * The ViewIndex of the window notifies the object of each View added or removed, and only these Views are matched again,
+ * so that the cost of an update depends on the size of the change rather than on the size of the tree.
+ * When the selector depends on the siblings or the children of the views, like "A + B" or ":last-child",
+ * all the descendants of the parent of each changed View are matched again.
+ * When it depends on the descendants of the views, like ":has(ImageView)", a change can affect any ancestor,
+ * so the whole root is matched again.
+ * The changes are applied lazily, the next time the views are accessed.
+ *
+ * The attributes of a View, like [text=OK], are only checked when the View is added or when its id changes.
+ * The descendants of the containers recycling their views (AdapterView, RecyclerView) change without notifying,
+ * so they are searched again at each access. So is the whole root on the devices where the window has no ViewIndex
+ */
+@SuppressWarnings("unused")
+public class $LiveQuery extends AQuery {
+    private final Selector selector; // The selector matched by the views
+    private final View root; // The View whose descendants are matched
+    private final $Set<View> roots; // The same View, as expected by Selector.match()
+    private final boolean neighbours; // true if the selector depends on the siblings or the children of the views
+    private final boolean descendants; // true if the selector depends on all the descendants of the views
+    private final ViewIndex index; // The index of the window, notifying the changes, or null if the window can't have one
+    private final IdentityHashMap<View,Boolean> matches = new IdentityHashMap<>(); // The views matching the selector, except the descendants of the recycling containers
+    private final IdentityHashMap<View,Boolean> changed = new IdentityHashMap<>(); // The views whose family must be matched again, only the root once it's there
+    private List<View> views; // The matches in the order of the tree, or null if they must be sorted again
+    private final ViewIndex.Observer observer = new ViewIndex.Observer() {
+        @Override
+        public void added(View parent, View child) {
+            invalidate(descendants ? root : neighbours ? parent : child);
+        }
+
+        @Override
+        public void removed(View parent, View child) {
+            for (View v : new ViewTreeIterator(child).includeRoot(true)) {
+                if (matches.remove(v) != null)
+                    views = null;
+            }
+            if (descendants)
+                invalidate(root);
+            else if (neighbours)
+                invalidate(parent);
+        }
+
+        @Override
+        public void changed(View v) {
+            ViewParent parent = v.getParent();
+            if (descendants)
+                invalidate(root);
+            else
+                invalidate((neighbours && (parent instanceof View)) ? (View) parent : v);
+        }
+    };
+
+    /**
+     * Constructor of $LiveQuery
+     * @param ctx
+     * The activity containing the views
+     * @param selector
+     * The selector matched by the views. It must not start with a sibling combinator, like "+ TextView"
+     * @param root
+     * The View whose descendants are matched
+     */
+    public $LiveQuery(Activity ctx, Selector selector, View root) {
+        super(ctx);
+        if (!selector.isInside())
+            throw new IllegalArgumentException("The views of a live query must be inside its root, \""+ selector +"\" can't be used");
+        this.selector = selector;
+        this.root = root;
+        this.roots = new $Set<>(singleton(root));
+        this.neighbours = selector.dependsOnNeighbours();
+        this.descendants = selector.dependsOnDescendants();
+        this.index = ViewIndex.of(root);
+        if (index != null) {
+            index.addObserver(observer);
+            match(root);
+        }
+    }
+
+    /**
+     * Stops updating the views, like jQuery die() does for live(). They won't change anymore
+     */
+    public void die() {
+        if (index != null)
+            index.removeObserver(observer);
+        changed.clear();
+    }
+
+    @Override
+    public View head() {
+        return list().get(0);
+    }
+
+    @Override
+    public List<View> list() {
+        if (index == null) // The changes can't be observed on this device, the views are searched again at each access
+            return new $Element(ctx, root).find(selector).list();
+        index.checkListeners();
+        update();
+        if (views == null) {
+            views = new ArrayList<>(matches.keySet());
+            if (views.size() > 1)
+                ViewIndex.sortInTreeOrder(views);
+        }
+        ArrayList<View> recycled = findRecycled();
+        if (recycled.isEmpty())
+            return views;
+        recycled.addAll(views);
+        ViewIndex.sortInTreeOrder(recycled);
+        return recycled;
+    }
+
+    /**
+     * Returns the selector matched by the views
+     */
+    public Selector selector() {
+        return selector;
+    }
+
+    /**
+     * Remembers that the family of a View must be matched again.
+     * Once the root must be, the other views are ignored, since matching the root matches them too
+     */
+    private void invalidate(View v) {
+        if (changed.containsKey(root))
+            return;
+        if (v == root)
+            changed.clear();
+        changed.put(v, Boolean.TRUE);
+    }
+
+    /**
+     * Matches again the families of the views which have changed since the last access
+     */
+    private void update() {
+        if (changed.isEmpty())
+            return;
+        if (changed.containsKey(root)) // All the changes are included in the root
+            match(root);
+        else {
+            for (View v : changed.keySet()) {
+                if (isSearched(v))
+                    match(v);
+            }
+        }
+        changed.clear();
+    }
+
+    /**
+     * Matches a View and its descendants against the selector, except the descendants of the recycling containers
+     */
+    private void match(View v) {
+        if ((v == root) && (v instanceof ViewGroup) && ViewIndex.isRecycler((ViewGroup) v))
+            return;
+        MatchContext context = new MatchContext();
+        ViewTreeIterator family = new ViewTreeIterator(v).includeRoot(v != root);
+        while (family.hasNext()) {
+            View elt = family.next();
+            if (selector.match(elt, root, roots, context)) {
+                if (matches.put(elt, Boolean.TRUE) == null)
+                    views = null;
+            }
+            else if (matches.remove(elt) != null)
+                views = null;
+            if ((elt instanceof ViewGroup) && ViewIndex.isRecycler((ViewGroup) elt))
+                family.skipDescendants();
+        }
+    }
+
+    /**
+     * Checks if a View is the root or one of its descendants, outside the recycling containers
+     */
+    private boolean isSearched(View v) {
+        for (View elt = v;;) {
+            if (elt == root)
+                return true;
+            ViewParent parent = elt.getParent();
+            if (!(parent instanceof View))
+                return false;
+            elt = (View) parent;
+            if ((elt instanceof ViewGroup) && index.recyclers().contains(elt))
+                return false;
+        }
+    }
+
+    /**
+     * Returns the descendants of the recycling containers of the root which match the selector
+     */
+    private ArrayList<View> findRecycled() {
+        ArrayList<View> res = new ArrayList<>();
+        if (index.recyclers().isEmpty())
+            return res;
+        MatchContext context = new MatchContext();
+        for (ViewGroup recycler : index.recyclers()) {
+            if (!isSearched(recycler))
+                continue;
+            for (View v : new ViewTreeIterator(recycler)) {
+                if (selector.match(v, root, roots, context))
+                    res.add(v);
+            }
+        }
+        return res;
+    }
+}
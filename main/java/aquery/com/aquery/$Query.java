@@ -0,0 +1,120 @@
+package aquery.com.aquery;
+
+import android.app.Activity;
+import android.view.View;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * An AQuery object containing the descendants of a set of elements matching a selector
+ *
+ * The views are not searched when the object is created, but when they are needed:
+ * first(), eq() and get() stop the search as soon as the wanted view is found.
+ * The views found are kept, and the next calls continue the search where it stopped instead of starting it again,
+ * so that the tree is searched at most once. length(), list() and the functions needing all the views finish the search.
+ * A search is only continued if the windows of the roots haven't changed since it started, according to their ViewIndex:
+ * otherwise it starts again from the beginning. On the devices without ViewIndex, the first call finishes the search
+ */
+@SuppressWarnings("unused")
+public class $Query extends AQuery {
+    private final Selector selector; // The selector matched by the views
+    private final $Set<View> roots; // The elements whose descendants are searched
+    private final ArrayList<View> views = new ArrayList<>(); // The views matching the selector found so far
+    private Iterator<View> search; // The search of the next views, or null if it hasn't started yet
+    private boolean complete; // true once all the views have been found
+    private ArrayList<ViewIndex> indexes; // The indexes of the windows of the roots, or null if one of them has no index
+    private int generation; // The sum of the generations of the indexes when the search started
+
+    public $Query(Activity ctx, Selector selector, List<View> roots) {
+        super(ctx);
+        this.selector = selector;
+        this.roots = new $Set<>(roots);
+    }
+
+    /**
+     * Continues the search until the view at the given position is found, or until all the views are found
+     * @return
+     * true if the view at this position exists
+     */
+    private boolean searchUntil(int id) {
+        if (!complete && (search != null) && ((indexes == null) || (generation() != generation))) {
+            views.clear(); // The tree may have changed since the search started, it can't be continued
+            search = null;
+        }
+        if (!complete && (search == null)) {
+            search = new SelectorMatches(selector, roots);
+            indexes = indexes();
+            if (indexes == null)
+                id = Integer.MAX_VALUE; // The changes of the tree can't be seen, the search is finished now
+            else
+                generation = generation();
+        }
+        while (!complete && (views.size() <= id)) {
+            if (search.hasNext())
+                views.add(search.next());
+            else {
+                complete = true;
+                search = null;
+            }
+        }
+        return (views.size() > id);
+    }
+
+    /**
+     * Returns the indexes of the windows of the roots, or null if one of them has no index
+     */
+    private ArrayList<ViewIndex> indexes() {
+        ArrayList<ViewIndex> res = new ArrayList<>(1);
+        for (View root : roots) {
+            ViewIndex index = ViewIndex.of(root);
+            if (index == null)
+                return null;
+            if (!res.contains(index))
+                res.add(index);
+        }
+        return res;
+    }
+    /**
+     * Returns the sum of the generations of the indexes, which changes as soon as one of the windows changes
+     */
+    private int generation() {
+        int res = 0;
+        for (ViewIndex index : indexes)
+            res += index.generation();
+        return res;
+    }
+
+    @Override
+    public View head() {
+        return get(0);
+    }
+
+    @Override
+    public List<View> list() {
+        searchUntil(Integer.MAX_VALUE);
+        return views;
+    }
+
+    @Override
+    public View get(int id) {
+        if (id < 0)
+            return super.get(id);
+        if (!searchUntil(id))
+            throw new IndexOutOfBoundsException("Invalid index "+ id +", "+ views.size() +" views match "+ selector);
+        return views.get(id);
+    }
+
+    @Override
+    public int length() {
+        return list().size();
+    }
+
+    /**
+     * Returns the selector matched by the views
+     */
+    public Selector selector() {
+        return selector;
+    }
+}
@@ -746,7 +746,7 @@ public class $Utils {
      * @return
      * The class of the View if it has been found. Throws an exception otherwise
      */
-    private static Class getViewClass(Context ctx, String name) {
+    static Class getViewClass(Context ctx, String name) {
         try {
             try {
                 return Class.forName(name);
@@ -1336,6 +1336,85 @@ public class $Utils {
         return new $Document(ctx).descendants();
     }
 
+    /**
+     * Returns the views of the activity under a point of the screen, in the order of the tree,
+     * so that the last one is the one drawn on top of the others
+     * The positions of the views are kept in an index of the window, updated after each layout pass or scroll,
+     * so the views aren't asked for their location at each call
+     * @param x
+     * The abscissa of the point on the screen, in px, like MotionEvent.getRawX()
+     * @param y
+     * The ordinate of the point on the screen, in px, like MotionEvent.getRawY()
+     */
+    public AQuery at(int x, int y) {
+        View root = new $Document(ctx).head();
+        return new $Array(ctx, SpatialIndex.of(root).at(x, y));
+    }
+
+    /**
+     * Returns handles on the items of the adapter-backed lists of the activity matching a selector,
+     * including the items scrolled out of the lists, without creating their views
+     * @param selector
+     * A selector ending with "> :item(...)", the positions of the items in the adapters starting from 0.
+     * For example : "ListView > :item(2n)"
+     */
+    public List<$Item> items(String selector) {
+        return new $Document(ctx).items(selector);
+    }
+
+    /**
+     * Takes a snapshot of the activity, that can be queried from any thread
+     * This must be called on the UI thread
+     */
+    public ViewSnapshot snapshot() {
+        return snapshot(new $Document(ctx).head());
+    }
+    /**
+     * Takes a snapshot of a View and its descendants, that can be queried from any thread
+     * This must be called on the UI thread
+     * @param root
+     * The root of the snapshot
+     */
+    public ViewSnapshot snapshot(View root) {
+        return new ViewSnapshot(root);
+    }
+
+    /**
+     * Returns the views of the activity matching a selector, staying up to date as views are added or removed
+     * Only the views added or removed are matched again, so keeping a live query is cheaper than running the same query
+     * after each change, like after each refresh of an adapter
+     * @param selector
+     * The selector to match. For example : "#messages > TextView"
+     */
+    public $LiveQuery live(String selector) {
+        return live(AQuery.compile(selector));
+    }
+    /**
+     * Returns the views of the activity matching a compiled selector, staying up to date as views are added or removed
+     */
+    public $LiveQuery live(AQuery.Selector selector) {
+        return new $LiveQuery(ctx, selector, new $Document(ctx).head());
+    }
+
+    /**
+     * Sets whether the results of the queries of the activity are kept until the hierarchy changes
+     * When enabled, running the same query twice, like $("#list TextView") called from several places in the same frame,
+     * returns the views found the first time, as long as no view has been added or removed, and no id or visibility has changed.
+     * Only the selectors that don't depend on the attributes of the views are kept, like "#list TextView" but not "[text=OK]".
+     * The ids and visibilities changed through AQuery, like with id(), hide() or show(), invalidate the results at once.
+     * The changes made outside AQuery, like with View.setId() or View.setVisibility(), and the items scrolled into the lists,
+     * are found before the next frame is drawn, with a checksum of the window computed once per frame
+     * @param cache
+     * true to keep the results, false to search the views at each query. Default is false
+     */
+    public $Utils cacheQueries(boolean cache) {
+        View root = new $Document(ctx).head();
+        ViewIndex index = (root != null) ? ViewIndex.of(root) : null;
+        if (index != null)
+            index.setCacheResults(cache);
+        return this;
+    }
+
     /**
      * Returns the resolution of the device, in px
      */
@@ -7,7 +7,9 @@ import android.annotation.SuppressLint;
 import android.annotation.TargetApi;
 import android.app.Activity;
 import android.content.Context;
+import android.content.ContextWrapper;
 import android.content.res.ColorStateList;
+import android.content.res.Configuration;
 import android.content.res.Resources;
 import android.gesture.GestureOverlayView;
 import android.graphics.Bitmap;
@@ -35,6 +37,7 @@ import android.view.View;
 import android.view.ViewConfiguration;
 import android.view.ViewGroup;
 import android.view.ViewOutlineProvider;
+import android.view.ViewParent;
 import android.view.ViewStub;
 import android.view.ViewTreeObserver;
 import android.view.animation.Animation;
@@ -91,11 +94,29 @@ import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
+import java.util.AbstractSet;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -106,6 +127,7 @@ import java.util.regex.Pattern;
 @SuppressWarnings("unused")
 public abstract class AQuery {
     protected Activity ctx; // A reference to the activity where the views are located
+    private Context context; // The context whose resources format the values, if it isn't the activity, like the context of a View shown outside any activity
 
     /**
      * Creates an AQuery object
@@ -116,6 +138,13 @@ public abstract class AQuery {
         this.ctx = ctx;
     }
 
+    /**
+     * Returns the context whose resources are used to format the values given as Strings, like "@dimen/margin"
+     */
+    private Context context() {
+        return (context != null) ? context : ctx;
+    }
+
     /**
      * Returns the first View of the set of elements
      */
@@ -179,6 +208,46 @@ public abstract class AQuery {
      * The AQuery class has final member called ATTRS which is a map associating an attribute to an instance of an AttrSetter
      */
     abstract static class AttrSetter {
+        private Class[] viewClasses; // The classes of the Views having the attribute, or null if all the Views have it
+        private Class lpClass; // The class of LayoutParams the Views must have to have the attribute, or null if the attribute doesn't depend on it
+
+        /**
+         * Restricts the attribute to the Views of some classes
+         * @param viewClasses
+         * The classes of the Views having the attribute. Example : TextView.class, ImageView.class for "maxHeight"
+         * @return
+         * This object
+         */
+        AttrSetter on(Class... viewClasses) {
+            this.viewClasses = viewClasses;
+            return this;
+        }
+        /**
+         * Restricts the attribute to the Views having some LayoutParams
+         * @param lpClass
+         * The class of LayoutParams the Views must have. Example : LinearLayout.LayoutParams.class for "layout_weight"
+         * @return
+         * This object
+         */
+        AttrSetter onLayout(Class lpClass) {
+            this.lpClass = lpClass;
+            return this;
+        }
+        /**
+         * Checks if a View has the attribute, so that get() can read it without throwing an exception
+         */
+        boolean appliesTo(View v) {
+            if ((lpClass != null) && !lpClass.isInstance(v.getLayoutParams()))
+                return false;
+            if (viewClasses == null)
+                return true;
+            for (Class viewClass : viewClasses) {
+                if (viewClass.isInstance(v))
+                    return true;
+            }
+            return false;
+        }
+
         /**
          * Returns the value of the attribute taken by the view
          * For example, if the attribute concerned is "id", this method should return v.getId()
@@ -242,6 +311,45 @@ public abstract class AQuery {
          * A Transition object containing the functions to call to do the transition
          */
         abstract Transition getTransition($Element q, Object begin, Object end);
+
+        /**
+         * Returns the value of the attribute taken by the view, as an int
+         * The attributes having an int or a float value override it to avoid boxing the value
+         */
+        int getInt(View v) {
+            return intCast(get(v));
+        }
+        /**
+         * Changes the value of the attribute taken by the view, with an int
+         */
+        void setInt(AQuery q, View v, int value) {
+            prop(q, v, value);
+        }
+        /**
+         * Returns the value of the attribute taken by the view, as a float
+         */
+        float getFloat(View v) {
+            return floatCast(get(v));
+        }
+        /**
+         * Changes the value of the attribute taken by the view, with a float
+         */
+        void setFloat(AQuery q, View v, float value) {
+            prop(q, v, value);
+        }
+
+        /**
+         * Checks if the value of the attribute is an int that getInt() reads without boxing it
+         */
+        boolean isInt() {
+            return false;
+        }
+        /**
+         * Checks if the value of the attribute is a float that getFloat() reads without boxing it
+         */
+        boolean isFloat() {
+            return false;
+        }
     }
 
     /**
@@ -309,6 +417,26 @@ public abstract class AQuery {
         Object format(AQuery q, View v, String value) {
             return l.format(q,v,value);
         }
+
+        @Override
+        float getFloat(View v) {
+            if (l instanceof FloatAttrListener)
+                return ((FloatAttrListener) l).getFloat(v);
+            return super.getFloat(v);
+        }
+
+        @Override
+        void setFloat(AQuery q, View v, float value) {
+            if (l instanceof FloatAttrListener)
+                ((FloatAttrListener) l).setFloat(q, v, value);
+            else
+                super.setFloat(q, v, value);
+        }
+
+        @Override
+        boolean isFloat() {
+            return (l instanceof FloatAttrListener);
+        }
     }
     /**
      * An abstract class that allows you to define an AttrSetter for a defined type of variable (int, String, etc)
@@ -337,6 +465,93 @@ public abstract class AQuery {
         void prop(AQuery q, View v, Object value) {
             l.prop(q, v, value);
         }
+
+        @Override
+        int getInt(View v) {
+            if (l instanceof IntProp)
+                return ((IntProp) l).getInt(v);
+            if (l instanceof FloatProp)
+                return Math.round(((FloatProp) l).getFloat(v));
+            return super.getInt(v);
+        }
+
+        @Override
+        void setInt(AQuery q, View v, int value) {
+            if (l instanceof IntProp)
+                ((IntProp) l).setInt(q, v, value);
+            else if (l instanceof FloatProp)
+                ((FloatProp) l).setFloat(q, v, value);
+            else
+                super.setInt(q, v, value);
+        }
+
+        @Override
+        float getFloat(View v) {
+            if (l instanceof FloatProp)
+                return ((FloatProp) l).getFloat(v);
+            if (l instanceof IntProp)
+                return ((IntProp) l).getInt(v);
+            return super.getFloat(v);
+        }
+
+        @Override
+        void setFloat(AQuery q, View v, float value) {
+            if (l instanceof FloatProp)
+                ((FloatProp) l).setFloat(q, v, value);
+            else if (l instanceof IntProp)
+                ((IntProp) l).setInt(q, v, Math.round(value));
+            else
+                super.setFloat(q, v, value);
+        }
+
+        @Override
+        boolean isInt() {
+            return (l instanceof IntProp);
+        }
+
+        @Override
+        boolean isFloat() {
+            return (l instanceof FloatProp);
+        }
+    }
+    /**
+     * The PropListener of the attributes whose value is an int, which can be read and changed without boxing it
+     */
+    private static abstract class IntProp implements PropListener {
+        public abstract int getInt(View v);
+        public abstract void setInt(AQuery q, View v, int value);
+
+        @Override
+        public Object get(View v) {
+            return getInt(v);
+        }
+
+        @Override
+        public void prop(AQuery q, View v, Object value) {
+            setInt(q, v, intCast(value));
+        }
+    }
+    /**
+     * The PropListener of the attributes whose value is a float, which can be read and changed without boxing it
+     */
+    private static abstract class FloatProp implements PropListener {
+        public abstract float getFloat(View v);
+        public abstract void setFloat(AQuery q, View v, float value);
+
+        @Override
+        public Object get(View v) {
+            return getFloat(v);
+        }
+
+        @Override
+        public void prop(AQuery q, View v, Object value) {
+            setFloat(q, v, floatCast(value));
+        }
+    }
+    /**
+     * The AttrListener of the CustomAttr whose value is a float, which can be read and changed without boxing it
+     */
+    private static abstract class FloatAttrListener extends FloatProp implements AttrListener {
     }
 
     /**
@@ -597,4821 +812,5282 @@ public abstract class AQuery {
     }
 
     /**
-     * A map containing all existing XML attributes and the JAVA code equivalent that allows to get and edit the value of this attribute
+     * A map containing the XML attributes already used and the JAVA code equivalent that allows to get and edit the value of this attribute
      * For example, ATTRS.get("id") will returns the functions v->v.getId() and v,value->v.setId(value)
+     * The AttrSetter of an attribute is created by createAttr() the first time the attribute is used.
+     * The map is read without locking, so that looking up an attribute already used costs a single get()
+     * The names which aren't attributes are kept too, associated to UNKNOWN_ATTR, so that they aren't searched again
      */
-    private static final Map<String, AttrSetter> ATTRS = initAttrs();
+    private static final ConcurrentHashMap<String, AttrSetter> ATTRS = new ConcurrentHashMap<>();
+    private static final AttrSetter UNKNOWN_ATTR = new CustomAttr(null); // The value of ATTRS for the names which aren't attributes, since it can't contain null
 
     /**
-     * Initialize the ATTRS variable
+     * Creates the AttrSetter of an XML attribute
+     * Only the attributes used by the application are created, and the classes of the others are never loaded.
+     * The attributes are split in families, like ViewAttrs or TextViewAttrs, each family being a class loaded
+     * the first time one of its attributes is looked up. The families are searched from the most used one to the least used one
+     * @param name
+     * The name of the attribute. Example : "textColor"
      * @return
-     * The variable, an instance of Map<String, AttrSetter>
+     * The AttrSetter, or null if the attribute doesn't exist
      */
-    private static Map<String, AttrSetter> initAttrs() {
-        HashMap<String, AttrSetter> res = new HashMap<>();
-        put(res,"id", new IdAttr(new PropListener() {
-            @Override
-            public Object get(View v) {
-                return v.getId();
-            }
-
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                v.setId((int) value);
-            }
-        }));
-        put(res,"text", new StringAttr(new PropListener() {
-            @Override
-            public Object get(View v) {
-                return ((TextView) v).getText().toString();
-            }
-
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                TextView tv = (TextView) v;
-                try {
-                    tv.setText((String) value);
-                } catch (ClassCastException e) {
-                    try {
-                        tv.setText((int) value);
-                    } catch (ClassCastException e2) {
-                        throw e;
-                    }
-                }
-            }
-        }));
-        put(res,"src", new DrawableAttr(new PropListener() {
-            @Override
-            public Object get(View v) {
-                return ((ImageView) v).getDrawable();
-            }
+    private static AttrSetter createAttr(String name) {
+        if (name.startsWith("layout_")) {
+            AttrSetter res = LayoutParamsAttrs.create(name);
+            return (res != null) ? res : RelativeLayoutRuleAttrs.create(name);
+        }
+        AttrSetter res = ViewAttrs.create(name);
+        if (res == null)
+            res = TextViewAttrs.create(name);
+        if (res == null)
+            res = ImageViewAttrs.create(name);
+        if (res == null)
+            res = InputTypeAttrs.create(name);
+        if (res == null)
+            res = AdapterViewAttrs.create(name);
+        if (res == null)
+            res = WidgetAttrs.create(name);
+        return res;
+    }
 
-            @SuppressWarnings("ConstantConditions")
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ImageView iv = (ImageView) v;
-                try {
-                    iv.setImageDrawable((Drawable) value);
-                } catch (ClassCastException e) {
-                    try {
-                        iv.setImageBitmap((Bitmap) value);
-                    } catch (ClassCastException e2) {
-                        try {
-                            iv.setImageResource((int) value);
-                        } catch (ClassCastException e3) {
-                            throw e;
+    /**
+     * The attributes common to all the Views and ViewGroups, like "id", "background" or "alpha"
+     */
+    private static class ViewAttrs {
+        static AttrSetter create(String name) {
+            switch (name) {
+                case "id" :
+                    return new IdAttr(new PropListener() {
+                        @Override
+                        public Object get(View v) {
+                            return v.getId();
                         }
-                    }
-                }
-            }
-        }));
-        put(res,"layout_width", new WidthAttr(new PropListener() {
-            @Override
-            public Object get(View v) {
-                ViewGroup.LayoutParams lp = v.getLayoutParams();
-                if (lp == null)
-                    return 0;
-                return lp.width;
-            }
-
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                new $Element(q.ctx, v).width(intCast(value));
-            }
-        }));
-        put(res,"width", new DimenAttr(new PropListener() {
-            @Override
-            public Object get(View v) {
-                return v.getWidth();
-            }
 
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((TextView) v).setWidth(intCast(value));
-            }
-        }));
-        put(res,"layout_height", new HeightAttr(new PropListener() {
-            @Override
-            public Object get(View v) {
-                ViewGroup.LayoutParams lp = v.getLayoutParams();
-                if (lp == null)
-                    return 0;
-                return lp.height;
-            }
-
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                new $Element(q.ctx, v).height(intCast(value));
-            }
-        }));
-        put(res,"height", new DimenAttr(new PropListener() {
-            @Override
-            public Object get(View v) {
-                return v.getWidth();
-            }
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            v.setId((int) value);
+                            ViewIndex.idChanged(v);
+                        }
+                    });
+                case "gravity" :
+                    return new CustomAttr(new AttrListener() {
+                        @SuppressWarnings("ConstantConditions")
+                        @Override
+                        public Object get(View v) {
+                            try {
+                                return ((TextView) v).getGravity();
+                            }
+                            catch (ClassCastException e) {
+                                try {
+                                    Spinner sv = (Spinner) v;
+                                    if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.HONEYCOMB)
+                                        return sv.getGravity();
+                                }
+                                catch (ClassCastException e2) {
+                                    try {
+                                        RelativeLayout rl = (RelativeLayout) v;
+                                        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN)
+                                            return rl.getGravity();
+                                    }
+                                    catch (ClassCastException e3) {
+                                        try {
+                                            GridView gv = (GridView) v;
+                                            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN)
+                                                return gv.getGravity();
+                                        }
+                                        catch (ClassCastException e4) {
+                                            throw e;
+                                        }
+                                    }
+                                }
+                            }
+                            return Gravity.NO_GRAVITY;
+                        }
 
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((TextView) v).setHeight(intCast(value));
-            }
-        }));
-        put(res,"layout_weight", new FloatAttr(new PropListener() {
-            @Override
-            public Object get(View v) {
-                LinearLayout.LayoutParams lp = (LinearLayout.LayoutParams) v.getLayoutParams();
-                return lp.weight;
-            }
+                        @SuppressWarnings({"deprecation", "ConstantConditions"})
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            int iValue = (int) value;
+                            try {
+                                ((TextView) v).setGravity(iValue);
+                            }
+                            catch (ClassCastException e) {
+                                try {
+                                    ((LinearLayout) v).setGravity(iValue);
+                                }
+                                catch (ClassCastException e2) {
+                                    try {
+                                        ((RelativeLayout) v).setGravity(iValue);
+                                    }
+                                    catch (ClassCastException e3) {
+                                        try {
+                                            ((GridView) v).setGravity(iValue);
+                                        }
+                                        catch (ClassCastException e4) {
+                                            try {
+                                                ((Gallery) v).setGravity(iValue);
+                                            }
+                                            catch (ClassCastException e5) {
+                                                try {
+                                                    Spinner sv = (Spinner) v;
+                                                    if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.HONEYCOMB)
+                                                        sv.setGravity(iValue);
+                                                }
+                                                catch (ClassCastException e6) {
+                                                    throw e;
+                                                }
+                                            }
+                                        }
+                                    }
+                                }
+                            }
+                        }
 
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                LinearLayout.LayoutParams lp = (LinearLayout.LayoutParams) v.getLayoutParams();
-                lp.weight = floatCast(value);
-                v.setLayoutParams(lp);
-            }
-        }));
-        put(res,"gravity", new CustomAttr(new AttrListener() {
-            @SuppressWarnings("ConstantConditions")
-            @Override
-            public Object get(View v) {
-                try {
-                    return ((TextView) v).getGravity();
-                }
-                catch (ClassCastException e) {
-                    try {
-                        Spinner sv = (Spinner) v;
-                        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.HONEYCOMB)
-                            return sv.getGravity();
-                    }
-                    catch (ClassCastException e2) {
-                        try {
-                            RelativeLayout rl = (RelativeLayout) v;
-                            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN)
-                                return rl.getGravity();
+                        @Override
+                        public Object format(AQuery q, View v, String value) {
+                            return formatGravity(value);
                         }
-                        catch (ClassCastException e3) {
+                    }).on(TextView.class, Spinner.class, RelativeLayout.class, GridView.class);
+                case "orientation" :
+                    return new CustomAttr(new AttrListener() {
+                        @SuppressWarnings("ConstantConditions")
+                        @Override
+                        public Object get(View v) {
                             try {
-                                GridView gv = (GridView) v;
-                                if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN)
-                                    return gv.getGravity();
+                                return ((LinearLayout) v).getOrientation();
                             }
-                            catch (ClassCastException e4) {
-                                throw e;
+                            catch (ClassCastException e) {
+                                try {
+                                    return ((GestureOverlayView) v).getOrientation();
+                                }
+                                catch (ClassCastException e2) {
+                                    try {
+                                        GridLayout gl = (GridLayout) v;
+                                        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.ICE_CREAM_SANDWICH)
+                                            return gl.getOrientation();
+                                    }
+                                    catch (ClassCastException e3) {
+                                        throw e;
+                                    }
+                                    return LinearLayout.HORIZONTAL;
+                                }
                             }
                         }
-                    }
-                }
-                return Gravity.NO_GRAVITY;
-            }
 
-            @SuppressWarnings({"deprecation", "ConstantConditions"})
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                int iValue = (int) value;
-                try {
-                    ((TextView) v).setGravity(iValue);
-                }
-                catch (ClassCastException e) {
-                    try {
-                        ((LinearLayout) v).setGravity(iValue);
-                    }
-                    catch (ClassCastException e2) {
-                        try {
-                            ((RelativeLayout) v).setGravity(iValue);
-                        }
-                        catch (ClassCastException e3) {
+                        @SuppressWarnings({"ResourceType", "ConstantConditions"})
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            int iValue = (int) value;
                             try {
-                                ((GridView) v).setGravity(iValue);
+                                ((LinearLayout) v).setOrientation(iValue);
                             }
-                            catch (ClassCastException e4) {
+                            catch (ClassCastException e) {
                                 try {
-                                    ((Gallery) v).setGravity(iValue);
+                                    ((GestureOverlayView) v).setOrientation(iValue);
                                 }
-                                catch (ClassCastException e5) {
+                                catch (ClassCastException e2) {
                                     try {
-                                        Spinner sv = (Spinner) v;
-                                        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.HONEYCOMB)
-                                            sv.setGravity(iValue);
+                                        GridLayout gl = (GridLayout) v;
+                                        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.ICE_CREAM_SANDWICH)
+                                            gl.setOrientation(iValue);
                                     }
-                                    catch (ClassCastException e6) {
+                                    catch (ClassCastException e3) {
                                         throw e;
                                     }
                                 }
                             }
                         }
-                    }
-                }
-            }
 
-            @Override
-            public Object format(AQuery q, View v, String value) {
-                return formatGravity(value);
-            }
-        }));
-        put(res,"orientation", new CustomAttr(new AttrListener() {
-            @SuppressWarnings("ConstantConditions")
-            @Override
-            public Object get(View v) {
-                try {
-                    return ((LinearLayout) v).getOrientation();
-                }
-                catch (ClassCastException e) {
-                    try {
-                        return ((GestureOverlayView) v).getOrientation();
-                    }
-                    catch (ClassCastException e2) {
-                        try {
-                            GridLayout gl = (GridLayout) v;
-                            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.ICE_CREAM_SANDWICH)
-                                return gl.getOrientation();
+                        @Override
+                        public Object format(AQuery q, View v, String value) {
+                            return formatOrientation(value);
                         }
-                        catch (ClassCastException e3) {
-                            throw e;
+                    }).on(LinearLayout.class, GestureOverlayView.class, GridLayout.class);
+                case "paddingLeft" :
+                    return new DimenAttr(new IntProp() {
+                        @Override
+                        public int getInt(View v) {
+                            return v.getPaddingLeft();
                         }
-                        return LinearLayout.HORIZONTAL;
-                    }
-                }
-            }
 
-            @SuppressWarnings({"ResourceType", "ConstantConditions"})
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                int iValue = (int) value;
-                try {
-                    ((LinearLayout) v).setOrientation(iValue);
-                }
-                catch (ClassCastException e) {
-                    try {
-                        ((GestureOverlayView) v).setOrientation(iValue);
-                    }
-                    catch (ClassCastException e2) {
-                        try {
-                            GridLayout gl = (GridLayout) v;
-                            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.ICE_CREAM_SANDWICH)
-                                gl.setOrientation(iValue);
+                        @Override
+                        public void setInt(AQuery q, View v, int value) {
+                            v.setPadding(value, v.getPaddingTop(), v.getPaddingRight(), v.getPaddingBottom());
                         }
-                        catch (ClassCastException e3) {
-                            throw e;
+                    });
+                case "paddingTop" :
+                    return new DimenAttr(new IntProp() {
+                        @Override
+                        public int getInt(View v) {
+                            return v.getPaddingTop();
                         }
-                    }
-                }
-            }
 
-            @Override
-            public Object format(AQuery q, View v, String value) {
-                return formatOrientation(value);
-            }
-        }));
-        put(res,"layout_gravity", new CustomAttr(new AttrListener() {
-            @Override
-            public Object get(View v) {
-                LinearLayout.LayoutParams lp = (LinearLayout.LayoutParams) v.getLayoutParams();
-                return lp.gravity;
-            }
+                        @Override
+                        public void setInt(AQuery q, View v, int value) {
+                            v.setPadding(v.getPaddingLeft(), value, v.getPaddingRight(), v.getPaddingBottom());
+                        }
+                    });
+                case "paddingRight" :
+                    return new DimenAttr(new IntProp() {
+                        @Override
+                        public int getInt(View v) {
+                            return v.getPaddingRight();
+                        }
 
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                LinearLayout.LayoutParams lp = (LinearLayout.LayoutParams) v.getLayoutParams();
-                lp.gravity = (int) value;
-                v.setLayoutParams(lp);
-            }
+                        @Override
+                        public void setInt(AQuery q, View v, int value) {
+                            v.setPadding(v.getPaddingLeft(), v.getPaddingTop(), value, v.getPaddingBottom());
+                        }
+                    });
+                case "paddingBottom" :
+                    return new DimenAttr(new IntProp() {
+                        @Override
+                        public int getInt(View v) {
+                            return v.getPaddingBottom();
+                        }
 
-            @Override
-            public Object format(AQuery q, View v, String value) {
-                return formatGravity(value);
-            }
-        }));
-        put(res,"layout_marginTop", new DimenAttr(new PropListener() {
-            @Override
-            public Object get(View v) {
-                return mlp(v).topMargin;
-            }
+                        @Override
+                        public void setInt(AQuery q, View v, int value) {
+                            v.setPadding(v.getPaddingLeft(), v.getPaddingTop(), v.getPaddingRight(), value);
+                        }
+                    });
+                case "paddingStart" :
+                    return new DimenAttr(new IntProp() {
+                        @TargetApi(Build.VERSION_CODES.JELLY_BEAN_MR1)
+                        @Override
+                        public int getInt(View v) {
+                            return v.getPaddingStart();
+                        }
 
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ViewGroup.MarginLayoutParams lp = mlp(v);
-                lp.topMargin = intCast(value);
-                v.setLayoutParams(lp);
-            }
-        }));
-        put(res,"layout_marginLeft", new DimenAttr(new PropListener() {
-            @Override
-            public Object get(View v) {
-                return mlp(v).leftMargin;
-            }
+                        @TargetApi(Build.VERSION_CODES.JELLY_BEAN_MR1)
+                        @Override
+                        public void setInt(AQuery q, View v, int value) {
+                            v.setPaddingRelative(value, v.getPaddingTop(), v.getPaddingEnd(), v.getPaddingBottom());
+                        }
+                    });
+                case "paddingEnd" :
+                    return new DimenAttr(new IntProp() {
+                        @TargetApi(Build.VERSION_CODES.JELLY_BEAN_MR1)
+                        @Override
+                        public int getInt(View v) {
+                            return v.getPaddingEnd();
+                        }
 
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ViewGroup.MarginLayoutParams lp = mlp(v);
-                lp.leftMargin = intCast(value);
-                v.setLayoutParams(lp);
-            }
-        }));
-        put(res,"layout_marginRight", new DimenAttr(new PropListener() {
-            @Override
-            public Object get(View v) {
-                return mlp(v).rightMargin;
-            }
+                        @TargetApi(Build.VERSION_CODES.JELLY_BEAN_MR1)
+                        @Override
+                        public void setInt(AQuery q, View v, int value) {
+                            v.setPadding(v.getPaddingStart(), v.getPaddingTop(), value, v.getPaddingBottom());
+                        }
+                    });
+                case "padding" :
+                    return new DimenAttr(new IntProp() {
+                        @Override
+                        public int getInt(View v) {
+                            return v.getPaddingLeft();
+                        }
 
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ViewGroup.MarginLayoutParams lp = mlp(v);
-                lp.rightMargin = intCast(value);
-                v.setLayoutParams(lp);
-            }
-        }));
-        put(res,"layout_marginBottom", new DimenAttr(new PropListener() {
-            @Override
-            public Object get(View v) {
-                return mlp(v).bottomMargin;
-            }
+                        @Override
+                        public void setInt(AQuery q, View v, int value) {
+                            v.setPadding(value, value, value, value);
+                        }
+                    });
+                case "animateLayoutChanges" :
+                    return new BoolAttr(new PropListener() {
+                        @TargetApi(Build.VERSION_CODES.HONEYCOMB)
+                        @Override
+                        public Object get(View v) {
+                            return (((ViewGroup) v).getLayoutTransition() != null);
+                        }
 
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ViewGroup.MarginLayoutParams lp = mlp(v);
-                lp.bottomMargin = intCast(value);
-                v.setLayoutParams(lp);
-            }
-        }));
-        put(res,"layout_marginStart", new DimenAttr(new PropListener() {
-            @TargetApi(Build.VERSION_CODES.JELLY_BEAN_MR1)
-            @Override
-            public Object get(View v) {
-                return mlp(v).getMarginStart();
-            }
+                        @TargetApi(Build.VERSION_CODES.HONEYCOMB)
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            ViewGroup vg = (ViewGroup) v;
+                            LayoutTransition lt = vg.getLayoutTransition();
+                            if ((boolean) value) {
+                                if (lt == null)
+                                    vg.setLayoutTransition(new LayoutTransition());
+                            } else if (lt != null)
+                                vg.setLayoutTransition(null);
+                        }
+                    }).on(ViewGroup.class);
+                case "background" :
+                    return new DrawableAttr(new PropListener() {
+                        @Override
+                        public Object get(View v) {
+                            return v.getBackground();
+                        }
 
-            @TargetApi(Build.VERSION_CODES.JELLY_BEAN_MR1)
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ViewGroup.MarginLayoutParams lp = mlp(v);
-                lp.setMarginStart(intCast(value));
-                v.setLayoutParams(lp);
-            }
-        }));
-        put(res,"layout_marginEnd", new DimenAttr(new PropListener() {
-            @TargetApi(Build.VERSION_CODES.JELLY_BEAN_MR1)
-            @Override
-            public Object get(View v) {
-                return mlp(v).getMarginEnd();
-            }
+                        @SuppressWarnings({"deprecation", "ConstantConditions"})
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            try {
+                                v.setBackgroundDrawable((Drawable) value);
+                            } catch (ClassCastException e) {
+                                try {
+                                    v.setBackgroundDrawable(new BitmapDrawable(q.ctx.getResources(), (Bitmap) value));
+                                } catch (ClassCastException e2) {
+                                    try {
+                                        v.setBackgroundResource((int) value);
+                                    } catch (ClassCastException e3) {
+                                        throw e;
+                                    }
+                                }
+                            }
+                        }
+                    });
+                case "visibility" :
+                    return new CustomAttr(new AttrListener() {
+                        @Override
+                        public Object get(View v) {
+                            return v.getVisibility();
+                        }
 
-            @TargetApi(Build.VERSION_CODES.JELLY_BEAN_MR1)
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ViewGroup.MarginLayoutParams lp = mlp(v);
-                lp.setMarginEnd(intCast(value));
-                v.setLayoutParams(lp);
-            }
-        }));
-        put(res,"layout_margin", new DimenAttr(new PropListener() {
-            @Override
-            public Object get(View v) {
-                return mlp(v).leftMargin;
-            }
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            v.setVisibility((int) value);
+                            ViewIndex.visibilityChanged(v);
+                        }
 
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ViewGroup.MarginLayoutParams lp = mlp(v);
-                int margin = intCast(value);
-                lp.setMargins(margin, margin, margin, margin);
-                v.setLayoutParams(lp);
-            }
-        }));
-        put(res,"paddingLeft", new DimenAttr(new PropListener() {
-            @Override
-            public Object get(View v) {
-                return v.getPaddingLeft();
-            }
+                        @Override
+                        public Object format(AQuery q, View v, String value) {
+                            return formatVisibility(value);
+                        }
+                    });
+                case "weightSum" :
+                    return new FloatAttr(new FloatProp() {
+                        @Override
+                        public float getFloat(View v) {
+                            return ((LinearLayout) v).getWeightSum();
+                        }
 
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                v.setPadding(intCast(value), v.getPaddingTop(), v.getPaddingRight(), v.getPaddingBottom());
-            }
-        }));
-        put(res,"paddingTop", new DimenAttr(new PropListener() {
-            @Override
-            public Object get(View v) {
-                return v.getPaddingTop();
-            }
+                        @Override
+                        public void setFloat(AQuery q, View v, float value) {
+                            ((LinearLayout) v).setWeightSum(value);
+                        }
+                    }).on(LinearLayout.class);
+                case "alpha" :
+                    return new FloatAttr(new FloatProp() {
+                        @Override
+                        public float getFloat(View v) {
+                            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.HONEYCOMB)
+                                return v.getAlpha();
+                            else
+                                return 1;
+                        }
 
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                v.setPadding(v.getPaddingLeft(), intCast(value), v.getPaddingRight(), v.getPaddingBottom());
-            }
-        }));
-        put(res,"paddingRight", new DimenAttr(new PropListener() {
-            @Override
-            public Object get(View v) {
-                return v.getPaddingRight();
-            }
+                        @Override
+                        public void setFloat(AQuery q, View v, float value) {
+                            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.HONEYCOMB)
+                                v.setAlpha(value);
+                        }
+                    });
+                case "onClick" :
+                    return new CustomAttr(new AttrListener() {
+                        @Override
+                        public Object get(View v) {
+                            return null;
+                        }
 
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                v.setPadding(v.getPaddingLeft(), v.getPaddingTop(), intCast(value), v.getPaddingBottom());
-            }
-        }));
-        put(res,"paddingBottom", new DimenAttr(new PropListener() {
-            @Override
-            public Object get(View v) {
-                return v.getPaddingBottom();
-            }
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            v.setOnClickListener((View.OnClickListener) value);
+                        }
 
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                v.setPadding(v.getPaddingLeft(), v.getPaddingTop(), v.getPaddingRight(), intCast(value));
-            }
-        }));
-        put(res, "paddingStart", new DimenAttr(new PropListener() {
-            @TargetApi(Build.VERSION_CODES.JELLY_BEAN_MR1)
-            @Override
-            public Object get(View v) {
-                return v.getPaddingStart();
-            }
+                        @Override
+                        public Object format(AQuery q, View v, String value) {
+                            return q.formatOnClick(value);
+                        }
+                    });
+                case "accessibilityLiveRegion" :
+                    return new IntAttr(new IntProp() {
+                        @TargetApi(Build.VERSION_CODES.KITKAT)
+                        @Override
+                        public int getInt(View v) {
+                            return v.getAccessibilityLiveRegion();
+                        }
 
-            @TargetApi(Build.VERSION_CODES.JELLY_BEAN_MR1)
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                v.setPaddingRelative(intCast(value), v.getPaddingTop(), v.getPaddingEnd(), v.getPaddingBottom());
-            }
-        }));
-        put(res, "paddingEnd", new DimenAttr(new PropListener() {
-            @TargetApi(Build.VERSION_CODES.JELLY_BEAN_MR1)
-            @Override
-            public Object get(View v) {
-                return v.getPaddingEnd();
-            }
+                        @TargetApi(Build.VERSION_CODES.KITKAT)
+                        @Override
+                        public void setInt(AQuery q, View v, int value) {
+                            v.setAccessibilityLiveRegion(value);
+                        }
+                    });
+                case "accessibilityTraversalAfter" :
+                    return new IntAttr(new IntProp() {
+                        @TargetApi(Build.VERSION_CODES.LOLLIPOP_MR1)
+                        @Override
+                        public int getInt(View v) {
+                            return v.getAccessibilityTraversalAfter();
+                        }
 
-            @TargetApi(Build.VERSION_CODES.JELLY_BEAN_MR1)
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                v.setPadding(v.getPaddingStart(), v.getPaddingTop(), intCast(value), v.getPaddingBottom());
-            }
-        }));
-        put(res, "padding", new DimenAttr(new PropListener() {
-            @Override
-            public Object get(View v) {
-                return v.getPaddingLeft();
-            }
+                        @TargetApi(Build.VERSION_CODES.LOLLIPOP_MR1)
+                        @Override
+                        public void setInt(AQuery q, View v, int value) {
+                            v.setAccessibilityTraversalAfter(value);
+                        }
+                    });
+                case "accessibilityTraversalBefore" :
+                    return new IntAttr(new IntProp() {
+                        @TargetApi(Build.VERSION_CODES.LOLLIPOP_MR1)
+                        @Override
+                        public int getInt(View v) {
+                            return v.getAccessibilityTraversalBefore();
+                        }
 
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                int padding = intCast(value);
-                v.setPadding(padding, padding, padding, padding);
-            }
-        }));
-        addLPRuleChecker(res, "layout_alignParentTop", RelativeLayout.ALIGN_PARENT_TOP);
-        addLPRuleChecker(res, "layout_alignParentLeft", RelativeLayout.ALIGN_PARENT_LEFT);
-        addLPRuleChecker(res, "layout_alignParentRight", RelativeLayout.ALIGN_PARENT_RIGHT);
-        addLPRuleChecker(res, "layout_alignParentBottom", RelativeLayout.ALIGN_PARENT_BOTTOM);
-        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN_MR1) {
-            addLPRuleChecker(res, "layout_alignParentStart", RelativeLayout.ALIGN_PARENT_START);
-            addLPRuleChecker(res, "layout_alignParentEnd", RelativeLayout.ALIGN_PARENT_END);
-            addLPRuleGetter(res, "layout_alignStart", RelativeLayout.ALIGN_START);
-            addLPRuleGetter(res, "layout_alignEnd", RelativeLayout.ALIGN_END);
-            addLPRuleGetter(res, "layout_toStartOf", RelativeLayout.START_OF);
-            addLPRuleGetter(res, "layout_toEndOf", RelativeLayout.END_OF);
-        }
-        addLPRuleGetter(res, "layout_alignBaseline", RelativeLayout.ALIGN_BASELINE);
-        addLPRuleGetter(res, "layout_above", RelativeLayout.ABOVE);
-        addLPRuleGetter(res, "layout_below", RelativeLayout.BELOW);
-        addLPRuleChecker(res, "layout_centerHorizontal", RelativeLayout.CENTER_HORIZONTAL);
-        addLPRuleChecker(res, "layout_centerVertical", RelativeLayout.CENTER_VERTICAL);
-        addLPRuleChecker(res, "layout_centerInParent", RelativeLayout.CENTER_IN_PARENT);
-        addLPRuleGetter(res, "layout_toLeftOf", RelativeLayout.LEFT_OF);
-        addLPRuleGetter(res, "layout_toRightOf", RelativeLayout.RIGHT_OF);
-        put(res, "animateLayoutChanges", new BoolAttr(new PropListener() {
-            @TargetApi(Build.VERSION_CODES.HONEYCOMB)
-            @Override
-            public Object get(View v) {
-                return (((ViewGroup) v).getLayoutTransition() != null);
-            }
+                        @TargetApi(Build.VERSION_CODES.LOLLIPOP_MR1)
+                        @Override
+                        public void setInt(AQuery q, View v, int value) {
+                            v.setAccessibilityTraversalBefore(value);
+                        }
+                    });
+                case "addStatesFromChildren" :
+                    return new BoolAttr(new PropListener() {
+                        @Override
+                        public Object get(View v) {
+                            return ((ViewGroup) v).addStatesFromChildren();
+                        }
 
-            @TargetApi(Build.VERSION_CODES.HONEYCOMB)
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ViewGroup vg = (ViewGroup) v;
-                LayoutTransition lt = vg.getLayoutTransition();
-                if ((boolean) value) {
-                    if (lt == null)
-                        vg.setLayoutTransition(new LayoutTransition());
-                } else if (lt != null)
-                    vg.setLayoutTransition(null);
-            }
-        }));
-        put(res,"layout_column", new IntAttr(new PropListener() {
-            @Override
-            public Object get(View v) {
-                TableRow.LayoutParams lp = (TableRow.LayoutParams) v.getLayoutParams();
-                return lp.column;
-            }
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            ((ViewGroup) v).setAddStatesFromChildren((boolean) value);
+                        }
+                    }).on(ViewGroup.class);
+                case "alwaysDrawnWithCache" :
+                    return new BoolAttr(new PropListener() {
+                        @SuppressWarnings("deprecation")
+                        @Override
+                        public Object get(View v) {
+                            return ((ViewGroup) v).isAlwaysDrawnWithCacheEnabled();
+                        }
 
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                TableRow.LayoutParams lp = (TableRow.LayoutParams) v.getLayoutParams();
-                lp.column = (int) value;
-                v.setLayoutParams(lp);
-            }
-        }));
-        put(res,"layout_row", new IntAttr(new PropListener() {
-            @TargetApi(Build.VERSION_CODES.ICE_CREAM_SANDWICH)
-            @Override
-            public Object get(View v) {
-                GridLayout.LayoutParams lp = (GridLayout.LayoutParams) v.getLayoutParams();
-                return lp.rowSpec;
-            }
+                        @SuppressWarnings("deprecation")
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            ((ViewGroup) v).setAlwaysDrawnWithCacheEnabled((boolean) value);
+                        }
+                    }).on(ViewGroup.class);
+                case "animationCache" :
+                    return new BoolAttr(new PropListener() {
+                        @SuppressWarnings("deprecation")
+                        @Override
+                        public Object get(View v) {
+                            return ((ViewGroup) v).isAnimationCacheEnabled();
+                        }
 
-            @TargetApi(Build.VERSION_CODES.ICE_CREAM_SANDWICH)
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                GridLayout.LayoutParams lp = (GridLayout.LayoutParams) v.getLayoutParams();
-                lp.rowSpec = GridLayout.spec(GridLayout.UNDEFINED, (int) value);
-                v.setLayoutParams(lp);
-            }
-        }));
-        put(res,"layout_columnSpan", new IntAttr(new PropListener() {
-            @TargetApi(Build.VERSION_CODES.ICE_CREAM_SANDWICH)
-            @Override
-            public Object get(View v) {
-                GridLayout.LayoutParams lp = (GridLayout.LayoutParams) v.getLayoutParams();
-                return lp.columnSpec;
-            }
+                        @SuppressWarnings("deprecation")
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            ((ViewGroup) v).setAnimationCacheEnabled((boolean) value);
+                        }
+                    }).on(ViewGroup.class);
+                case "backgroundTint" :
+                    return new TintAttr(new PropListener() {
+                        @TargetApi(Build.VERSION_CODES.LOLLIPOP)
+                        @Override
+                        public Object get(View v) {
+                            return v.getBackgroundTintList();
+                        }
 
-            @TargetApi(Build.VERSION_CODES.ICE_CREAM_SANDWICH)
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                GridLayout.LayoutParams lp = (GridLayout.LayoutParams) v.getLayoutParams();
-                lp.columnSpec = GridLayout.spec(GridLayout.UNDEFINED, (int) value);
-                v.setLayoutParams(lp);
-            }
-        }));
-        put(res,"layout_rowWeight", new FloatAttr(new PropListener() {
-            @TargetApi(Build.VERSION_CODES.ICE_CREAM_SANDWICH)
-            @Override
-            public Object get(View v) {
-                GridLayout.LayoutParams lp = (GridLayout.LayoutParams) v.getLayoutParams();
-                return lp.rowSpec;
-            }
+                        @TargetApi(Build.VERSION_CODES.LOLLIPOP)
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            v.setBackgroundTintList((ColorStateList) value);
+                        }
+                    });
+                case "backgroundTintMode" :
+                    return new ModeAttr(new PropListener() {
+                        @TargetApi(Build.VERSION_CODES.LOLLIPOP)
+                        @Override
+                        public Object get(View v) {
+                            return v.getBackgroundTintMode();
+                        }
 
-            @TargetApi(Build.VERSION_CODES.LOLLIPOP)
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                GridLayout.LayoutParams lp = (GridLayout.LayoutParams) v.getLayoutParams();
-                lp.rowSpec = GridLayout.spec(GridLayout.UNDEFINED, floatCast(value));
-                v.setLayoutParams(lp);
-            }
-        }));
-        put(res,"layout_columnWeight", new FloatAttr(new PropListener() {
-            @TargetApi(Build.VERSION_CODES.ICE_CREAM_SANDWICH)
-            @Override
-            public Object get(View v) {
-                GridLayout.LayoutParams lp = (GridLayout.LayoutParams) v.getLayoutParams();
-                return lp.columnSpec;
-            }
+                        @TargetApi(Build.VERSION_CODES.LOLLIPOP)
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            v.setBackgroundTintMode((PorterDuff.Mode) value);
+                        }
+                    });
+                case "clickable" :
+                    return new BoolAttr(new PropListener() {
+                        @Override
+                        public Object get(View v) {
+                            return v.isClickable();
+                        }
 
-            @TargetApi(Build.VERSION_CODES.LOLLIPOP)
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                GridLayout.LayoutParams lp = (GridLayout.LayoutParams) v.getLayoutParams();
-                lp.columnSpec = GridLayout.spec(GridLayout.UNDEFINED, floatCast(value));
-                v.setLayoutParams(lp);
-            }
-        }));
-        put(res,"layout_x", new DimenAttr(new PropListener() {
-            @SuppressWarnings("deprecation")
-            @Override
-            public Object get(View v) {
-                AbsoluteLayout.LayoutParams lp = (AbsoluteLayout.LayoutParams) v.getLayoutParams();
-                return lp.x;
-            }
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            v.setClickable((boolean) value);
+                        }
+                    });
+                case "clipChildren" :
+                    return new BoolAttr(new PropListener() {
+                        @TargetApi(Build.VERSION_CODES.JELLY_BEAN_MR2)
+                        @Override
+                        public Object get(View v) {
+                            return ((ViewGroup) v).getClipChildren();
+                        }
 
-            @SuppressWarnings("deprecation")
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                AbsoluteLayout.LayoutParams lp = (AbsoluteLayout.LayoutParams) v.getLayoutParams();
-                lp.x = intCast(value);
-                v.setLayoutParams(lp);
-            }
-        }));
-        put(res,"layout_y", new DimenAttr(new PropListener() {
-            @SuppressWarnings("deprecation")
-            @Override
-            public Object get(View v) {
-                AbsoluteLayout.LayoutParams lp = (AbsoluteLayout.LayoutParams) v.getLayoutParams();
-                return lp.y;
-            }
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            ((ViewGroup) v).setClipChildren((boolean) value);
+                        }
+                    }).on(ViewGroup.class);
+                case "clipToPadding" :
+                    return new BoolAttr(new PropListener() {
+                        @TargetApi(Build.VERSION_CODES.LOLLIPOP)
+                        @Override
+                        public Object get(View v) {
+                            return ((ViewGroup) v).getClipToPadding();
+                        }
 
-            @SuppressWarnings("deprecation")
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                AbsoluteLayout.LayoutParams lp = (AbsoluteLayout.LayoutParams) v.getLayoutParams();
-                lp.y = intCast(value);
-                v.setLayoutParams(lp);
-            }
-        }));
-        put(res,"background", new DrawableAttr(new PropListener() {
-            @Override
-            public Object get(View v) {
-                return v.getBackground();
-            }
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            ((ViewGroup) v).setClipToPadding((boolean) value);
+                        }
+                    }).on(ViewGroup.class);
+                case "contentDescription" :
+                    return new StringAttr(new PropListener() {
+                        @Override
+                        public Object get(View v) {
+                            CharSequence res = v.getContentDescription();
+                            return (res != null) ? res.toString() : null;
+                        }
 
-            @SuppressWarnings({"deprecation", "ConstantConditions"})
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                try {
-                    v.setBackgroundDrawable((Drawable) value);
-                } catch (ClassCastException e) {
-                    try {
-                        v.setBackgroundDrawable(new BitmapDrawable(q.ctx.getResources(), (Bitmap) value));
-                    } catch (ClassCastException e2) {
-                        try {
-                            v.setBackgroundResource((int) value);
-                        } catch (ClassCastException e3) {
-                            throw e;
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            v.setContentDescription((String) value);
+                        }
+                    });
+                case "contextClickable" :
+                    return new BoolAttr(new PropListener() {
+                        @TargetApi(Build.VERSION_CODES.M)
+                        @Override
+                        public Object get(View v) {
+                            return v.isContextClickable();
                         }
-                    }
-                }
-            }
-        }));
-        put(res,"textColor", new ColorAttr(new PropListener() {
-            @Override
-            public Object get(View v) {
-                return ((TextView) v).getCurrentTextColor();
-            }
 
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((TextView) v).setTextColor((int) value);
-            }
-        }));
-        put(res,"textSize", new CustomAttr(new AttrListener() {
-            @Override
-            public Object get(View v) {
-                return ((TextView) v).getTextSize();
-            }
+                        @TargetApi(Build.VERSION_CODES.M)
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            v.setContextClickable((boolean) value);
+                        }
+                    });
+                case "descendantFocusability" :
+                    return new CustomAttr(new AttrListener() {
+                        @Override
+                        public Object get(View v) {
+                            return ((ViewGroup) v).getDescendantFocusability();
+                        }
 
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((TextView) v).setTextSize(floatCast(value));
-            }
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            ((ViewGroup) v).setDescendantFocusability((int) value);
+                        }
 
-            @Override
-            public Object format(AQuery q, View v, String value) {
-                return q.toSP(q.formatDimen(value));
-            }
-        }));
-        put(res,"visibility", new CustomAttr(new AttrListener() {
-            @Override
-            public Object get(View v) {
-                return v.getVisibility();
-            }
+                        @Override
+                        public Object format(AQuery q, View v, String value) {
+                            return formatFocusability(value);
+                        }
+                    }).on(ViewGroup.class);
+                case "drawingCacheQuality" :
+                    return new CustomAttr(new AttrListener() {
+                        @Override
+                        public Object get(View v) {
+                            return v.getDrawingCacheQuality();
+                        }
 
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                v.setVisibility((int) value);
-            }
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            v.setDrawingCacheQuality((int) value);
+                        }
 
-            @Override
-            public Object format(AQuery q, View v, String value) {
-                return formatVisibility(value);
-            }
-        }));
-        put(res,"weightSum", new FloatAttr(new PropListener() {
-            @Override
-            public Object get(View v) {
-                return ((LinearLayout) v).getWeightSum();
-            }
+                        @Override
+                        public Object format(AQuery q, View v, String value) {
+                            return formatQuality(value);
+                        }
+                    });
+                case "duplicateParentState" :
+                    return new BoolAttr(new PropListener() {
+                        @Override
+                        public Object get(View v) {
+                            return v.isDuplicateParentStateEnabled();
+                        }
 
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((LinearLayout) v).setWeightSum(floatCast(value));
-            }
-        }));
-        put(res,"alpha", new FloatAttr(new PropListener() {
-            @Override
-            public Object get(View v) {
-                if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.HONEYCOMB)
-                    return v.getAlpha();
-                else
-                    return 1;
-            }
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            v.setDuplicateParentStateEnabled((boolean) value);
+                        }
+                    });
+                case "elevation" :
+                    return new DimenAttr(new FloatProp() {
+                        @TargetApi(Build.VERSION_CODES.LOLLIPOP)
+                        @Override
+                        public float getFloat(View v) {
+                            return v.getElevation();
+                        }
 
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.HONEYCOMB)
-                    v.setAlpha(floatCast(value));
-            }
-        }));
-        put(res,"onClick", new CustomAttr(new AttrListener() {
-            @Override
-            public Object get(View v) {
-                return null;
-            }
+                        @TargetApi(Build.VERSION_CODES.LOLLIPOP)
+                        @Override
+                        public void setFloat(AQuery q, View v, float value) {
+                            v.setElevation(value);
+                        }
+                    });
+                case "fadeScrollbars" :
+                    return new BoolAttr(new PropListener() {
+                        @Override
+                        public Object get(View v) {
+                            return v.isScrollbarFadingEnabled();
+                        }
 
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                v.setOnClickListener((View.OnClickListener) value);
-            }
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            v.setScrollbarFadingEnabled((boolean) value);
+                        }
+                    });
+                case "requiresFadingEdge" : // The same attribute as fadingEdge, sharing its AttrSetter
+                    return getAttr("fadingEdge");
+                case "fadingEdge" :
+                    return new CustomAttr(new AttrListener() {
+                        @Override
+                        public Object get(View v) {
+                            return orientationFlags(v.isHorizontalFadingEdgeEnabled(), v.isVerticalFadingEdgeEnabled());
+                        }
 
-            @Override
-            public Object format(AQuery q, View v, String value) {
-                return q.formatOnClick(value);
-            }
-        }));
-        put(res,"accessibilityLiveRegion", new IntAttr(new PropListener() {
-            @TargetApi(Build.VERSION_CODES.KITKAT)
-            @Override
-            public Object get(View v) {
-                return v.getAccessibilityLiveRegion();
-            }
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            boolean[] orientations = (boolean[]) value;
+                            v.setHorizontalFadingEdgeEnabled(orientations[0]);
+                            v.setVerticalFadingEdgeEnabled(orientations[1]);
+                        }
 
-            @TargetApi(Build.VERSION_CODES.KITKAT)
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                v.setAccessibilityLiveRegion((int) value);
-            }
-        }));
-        put(res,"accessibilityTraversalAfter", new IntAttr(new PropListener() {
-            @TargetApi(Build.VERSION_CODES.LOLLIPOP_MR1)
-            @Override
-            public Object get(View v) {
-                return v.getAccessibilityTraversalAfter();
-            }
-
-            @TargetApi(Build.VERSION_CODES.LOLLIPOP_MR1)
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                v.setAccessibilityTraversalAfter((int) value);
-            }
-        }));
-        put(res,"accessibilityTraversalBefore", new IntAttr(new PropListener() {
-            @TargetApi(Build.VERSION_CODES.LOLLIPOP_MR1)
-            @Override
-            public Object get(View v) {
-                return v.getAccessibilityTraversalBefore();
-            }
+                        @Override
+                        public Object format(AQuery q, View v, String value) {
+                            return formatOrientations(value);
+                        }
+                    });
+                case "fadingEdgeLength" :
+                    return new DimenAttr(new IntProp() {
+                        @Override
+                        public int getInt(View v) {
+                            if (v.isHorizontalFadingEdgeEnabled())
+                                return v.getHorizontalFadingEdgeLength();
+                            if (v.isVerticalFadingEdgeEnabled())
+                                return v.getVerticalFadingEdgeLength();
+                            return 0;
+                        }
 
-            @TargetApi(Build.VERSION_CODES.LOLLIPOP_MR1)
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                v.setAccessibilityTraversalBefore((int) value);
-            }
-        }));
-        put(res,"addStatesFromChildren", new BoolAttr(new PropListener() {
-            @Override
-            public Object get(View v) {
-                return ((ViewGroup) v).addStatesFromChildren();
-            }
+                        @Override
+                        public void setInt(AQuery q, View v, int value) {
+                            v.setFadingEdgeLength(value);
+                        }
+                    });
+                case "filterTouchesWhenObscured" :
+                    return new BoolAttr(new PropListener() {
+                        @TargetApi(Build.VERSION_CODES.GINGERBREAD)
+                        @Override
+                        public Object get(View v) {
+                            return v.getFilterTouchesWhenObscured();
+                        }
 
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((ViewGroup) v).setAddStatesFromChildren((boolean) value);
-            }
-        }));
-        put(res,"alwaysDrawnWithCache", new BoolAttr(new PropListener() {
-            @SuppressWarnings("deprecation")
-            @Override
-            public Object get(View v) {
-                return ((ViewGroup) v).isAlwaysDrawnWithCacheEnabled();
-            }
+                        @TargetApi(Build.VERSION_CODES.GINGERBREAD)
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            v.setFilterTouchesWhenObscured((boolean) value);
+                        }
+                    });
+                case "fitsSystemWindows" :
+                    return new BoolAttr(new PropListener() {
+                        @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+                        @Override
+                        public Object get(View v) {
+                            return v.getFitsSystemWindows();
+                        }
 
-            @SuppressWarnings("deprecation")
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((ViewGroup) v).setAlwaysDrawnWithCacheEnabled((boolean) value);
-            }
-        }));
-        put(res,"animationCache", new BoolAttr(new PropListener() {
-            @SuppressWarnings("deprecation")
-            @Override
-            public Object get(View v) {
-                return ((ViewGroup) v).isAnimationCacheEnabled();
-            }
+                        @TargetApi(Build.VERSION_CODES.ICE_CREAM_SANDWICH)
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            v.setFitsSystemWindows((boolean) value);
+                        }
+                    });
+                case "focusable" :
+                    return new BoolAttr(new PropListener() {
+                        @Override
+                        public Object get(View v) {
+                            return v.isFocusable();
+                        }
 
-            @SuppressWarnings("deprecation")
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((ViewGroup) v).setAnimationCacheEnabled((boolean) value);
-            }
-        }));
-        put(res,"backgroundTint", new TintAttr(new PropListener() {
-            @TargetApi(Build.VERSION_CODES.LOLLIPOP)
-            @Override
-            public Object get(View v) {
-                return v.getBackgroundTintList();
-            }
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            v.setFocusable((boolean) value);
+                        }
+                    });
+                case "focusableInTouchMode" :
+                    return new BoolAttr(new PropListener() {
+                        @Override
+                        public Object get(View v) {
+                            return v.isFocusableInTouchMode();
+                        }
 
-            @TargetApi(Build.VERSION_CODES.LOLLIPOP)
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                v.setBackgroundTintList((ColorStateList) value);
-            }
-        }));
-        put(res,"backgroundTintMode", new ModeAttr(new PropListener() {
-            @TargetApi(Build.VERSION_CODES.LOLLIPOP)
-            @Override
-            public Object get(View v) {
-                return v.getBackgroundTintMode();
-            }
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            v.setFocusableInTouchMode((boolean) value);
+                        }
+                    });
+                case "hapticFeedbackEnabled" :
+                    return new BoolAttr(new PropListener() {
+                        @Override
+                        public Object get(View v) {
+                            return v.isHapticFeedbackEnabled();
+                        }
 
-            @TargetApi(Build.VERSION_CODES.LOLLIPOP)
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                v.setBackgroundTintMode((PorterDuff.Mode) value);
-            }
-        }));
-        put(res,"clickable", new BoolAttr(new PropListener() {
-            @Override
-            public Object get(View v) {
-                return v.isClickable();
-            }
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            v.setHapticFeedbackEnabled((boolean) value);
+                        }
+                    });
+                case "importantForAccessibility" :
+                    return new IntAttr(new IntProp() {
+                        @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+                        @Override
+                        public int getInt(View v) {
+                            return v.getImportantForAccessibility();
+                        }
 
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                v.setClickable((boolean) value);
-            }
-        }));
-        put(res,"clipChildren", new BoolAttr(new PropListener() {
-            @TargetApi(Build.VERSION_CODES.JELLY_BEAN_MR2)
-            @Override
-            public Object get(View v) {
-                return ((ViewGroup) v).getClipChildren();
-            }
+                        @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+                        @Override
+                        public void setInt(AQuery q, View v, int value) {
+                            v.setImportantForAccessibility(value);
+                        }
+                    });
+                case "isScrollContainer" :
+                    return new BoolAttr(new PropListener() {
+                        @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+                        @Override
+                        public Object get(View v) {
+                            return v.isScrollContainer();
+                        }
 
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((ViewGroup) v).setClipChildren((boolean) value);
-            }
-        }));
-        put(res,"clipToPadding", new BoolAttr(new PropListener() {
-            @TargetApi(Build.VERSION_CODES.LOLLIPOP)
-            @Override
-            public Object get(View v) {
-                return ((ViewGroup) v).getClipToPadding();
-            }
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            v.setScrollContainer((boolean) value);
+                        }
+                    });
+                case "keepScreenOn" :
+                    return new BoolAttr(new PropListener() {
+                        @Override
+                        public Object get(View v) {
+                            return v.getKeepScreenOn();
+                        }
 
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((ViewGroup) v).setClipToPadding((boolean) value);
-            }
-        }));
-        put(res,"contentDescription", new StringAttr(new PropListener() {
-            @Override
-            public Object get(View v) {
-                return v.getContentDescription().toString();
-            }
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            v.setKeepScreenOn((boolean) value);
+                        }
+                    });
+                case "labelFor" :
+                    return new IdAttr(new PropListener() {
+                        @TargetApi(Build.VERSION_CODES.JELLY_BEAN_MR1)
+                        @Override
+                        public Object get(View v) {
+                            return v.getLabelFor();
+                        }
 
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                v.setContentDescription((String) value);
-            }
-        }));
-        put(res,"contextClickable", new BoolAttr(new PropListener() {
-            @TargetApi(Build.VERSION_CODES.M)
-            @Override
-            public Object get(View v) {
-                return v.isContextClickable();
-            }
+                        @TargetApi(Build.VERSION_CODES.JELLY_BEAN_MR1)
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            v.setLabelFor((int) value);
+                        }
+                    });
+                case "layerType" :
+                    return new CustomAttr(new AttrListener() {
+                        @TargetApi(Build.VERSION_CODES.HONEYCOMB)
+                        @Override
+                        public Object get(View v) {
+                            return v.getLayerType();
+                        }
 
-            @TargetApi(Build.VERSION_CODES.M)
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                v.setContextClickable((boolean) value);
-            }
-        }));
-        put(res,"descendantFocusability", new CustomAttr(new AttrListener() {
-            @Override
-            public Object get(View v) {
-                return ((ViewGroup) v).getDescendantFocusability();
-            }
+                        @TargetApi(Build.VERSION_CODES.HONEYCOMB)
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            v.setLayerType((int) value, null);
+                        }
 
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((ViewGroup) v).setDescendantFocusability((int) value);
-            }
+                        @Override
+                        public Object format(AQuery q, View v, String value) {
+                            return formatLayer(value);
+                        }
+                    });
+                case "layoutDirection" :
+                    return new CustomAttr(new AttrListener() {
+                        @TargetApi(Build.VERSION_CODES.JELLY_BEAN_MR1)
+                        @Override
+                        public Object get(View v) {
+                            return v.getLayoutDirection();
+                        }
 
-            @Override
-            public Object format(AQuery q, View v, String value) {
-                return formatFocusability(value);
-            }
-        }));
-        put(res,"drawingCacheQuality", new CustomAttr(new AttrListener() {
-            @Override
-            public Object get(View v) {
-                return v.getDrawingCacheQuality();
-            }
+                        @TargetApi(Build.VERSION_CODES.JELLY_BEAN_MR1)
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            v.setLayoutDirection((int) value);
+                        }
 
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                v.setDrawingCacheQuality((int) value);
-            }
+                        @Override
+                        public Object format(AQuery q, View v, String value) {
+                            return formatDirection(value);
+                        }
+                    });
+                case "layoutAnimation" :
+                    return new CustomAttr(new AttrListener() {
+                        @Override
+                        public Object get(View v) {
+                            return ((ViewGroup) v).getLayoutAnimation();
+                        }
 
-            @Override
-            public Object format(AQuery q, View v, String value) {
-                return formatQuality(value);
-            }
-        }));
-        put(res,"duplicateParentState", new BoolAttr(new PropListener() {
-            @Override
-            public Object get(View v) {
-                return v.isDuplicateParentStateEnabled();
-            }
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            ((ViewGroup) v).setLayoutAnimation((LayoutAnimationController) value);
+                        }
 
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                v.setDuplicateParentStateEnabled((boolean) value);
-            }
-        }));
-        put(res,"elevation", new DimenAttr(new PropListener() {
-            @TargetApi(Build.VERSION_CODES.LOLLIPOP)
-            @Override
-            public Object get(View v) {
-                return v.getElevation();
-            }
+                        @Override
+                        public Object format(AQuery q, View v, String value) {
+                            return q.formatAnimation(value);
+                        }
+                    }).on(ViewGroup.class);
+                case "layoutMode" :
+                    return new CustomAttr(new AttrListener() {
+                        @TargetApi(Build.VERSION_CODES.JELLY_BEAN_MR2)
+                        @Override
+                        public Object get(View v) {
+                            return ((ViewGroup) v).getLayoutMode();
+                        }
 
-            @TargetApi(Build.VERSION_CODES.LOLLIPOP)
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                v.setElevation(floatCast(value));
-            }
-        }));
-        put(res,"fadeScrollbars", new BoolAttr(new PropListener() {
-            @Override
-            public Object get(View v) {
-                return v.isScrollbarFadingEnabled();
-            }
+                        @TargetApi(Build.VERSION_CODES.JELLY_BEAN_MR2)
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            ((ViewGroup) v).setLayoutMode((int) value);
+                        }
 
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                v.setScrollbarFadingEnabled((boolean) value);
-            }
-        }));
-        putAll(res, new String[]{"fadingEdge", "requiresFadingEdge"}, new CustomAttr(new AttrListener() {
-            @Override
-            public Object get(View v) {
-                return orientationFlags(v.isHorizontalFadingEdgeEnabled(), v.isVerticalFadingEdgeEnabled());
-            }
+                        @Override
+                        public Object format(AQuery q, View v, String value) {
+                            return formatLayout(value);
+                        }
+                    }).on(ViewGroup.class);
+                case "longClickable" :
+                    return new BoolAttr(new PropListener() {
+                        @Override
+                        public Object get(View v) {
+                            return v.isLongClickable();
+                        }
 
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                boolean[] orientations = (boolean[]) value;
-                v.setHorizontalFadingEdgeEnabled(orientations[0]);
-                v.setVerticalFadingEdgeEnabled(orientations[1]);
-            }
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            v.setLongClickable((boolean) value);
+                        }
+                    });
+                case "measureWithLargestChild" :
+                    return new BoolAttr(new PropListener() {
+                        @TargetApi(Build.VERSION_CODES.HONEYCOMB)
+                        @Override
+                        public Object get(View v) {
+                            return ((LinearLayout) v).isMeasureWithLargestChildEnabled();
+                        }
 
-            @Override
-            public Object format(AQuery q, View v, String value) {
-                return formatOrientations(value);
-            }
-        }));
-        put(res, "fadingEdgeLength", new DimenAttr(new PropListener() {
-            @Override
-            public Object get(View v) {
-                if (v.isHorizontalFadingEdgeEnabled())
-                    return v.getHorizontalFadingEdgeLength();
-                if (v.isVerticalFadingEdgeEnabled())
-                    return v.getVerticalFadingEdgeLength();
-                return 0;
-            }
+                        @TargetApi(Build.VERSION_CODES.HONEYCOMB)
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            ((LinearLayout) v).setMeasureWithLargestChildEnabled((boolean) value);
+                        }
+                    }).on(LinearLayout.class);
+                case "nestedScrollingEnabled" :
+                    return new BoolAttr(new PropListener() {
+                        @TargetApi(Build.VERSION_CODES.LOLLIPOP)
+                        @Override
+                        public Object get(View v) {
+                            return v.isNestedScrollingEnabled();
+                        }
 
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                v.setFadingEdgeLength(intCast(value));
-            }
-        }));
-        put(res,"filterTouchesWhenObscured", new BoolAttr(new PropListener() {
-            @TargetApi(Build.VERSION_CODES.GINGERBREAD)
-            @Override
-            public Object get(View v) {
-                return v.getFilterTouchesWhenObscured();
-            }
+                        @TargetApi(Build.VERSION_CODES.LOLLIPOP)
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            v.setNestedScrollingEnabled((boolean) value);
+                        }
+                    });
+                case "nextFocusDown" :
+                    return new IdAttr(new PropListener() {
+                        @Override
+                        public Object get(View v) {
+                            return v.getNextFocusDownId();
+                        }
 
-            @TargetApi(Build.VERSION_CODES.GINGERBREAD)
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                v.setFilterTouchesWhenObscured((boolean) value);
-            }
-        }));
-        put(res,"fitsSystemWindows", new BoolAttr(new PropListener() {
-            @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
-            @Override
-            public Object get(View v) {
-                return v.getFitsSystemWindows();
-            }
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            v.setNextFocusDownId((int) value);
+                        }
+                    });
+                case "nextFocusForward" :
+                    return new IdAttr(new PropListener() {
+                        @TargetApi(Build.VERSION_CODES.HONEYCOMB)
+                        @Override
+                        public Object get(View v) {
+                            return v.getNextFocusForwardId();
+                        }
 
-            @TargetApi(Build.VERSION_CODES.ICE_CREAM_SANDWICH)
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                v.setFitsSystemWindows((boolean) value);
-            }
-        }));
-        put(res,"focusable", new BoolAttr(new PropListener() {
-            @Override
-            public Object get(View v) {
-                return v.isFocusable();
-            }
+                        @TargetApi(Build.VERSION_CODES.HONEYCOMB)
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            v.setNextFocusForwardId((int) value);
+                        }
+                    });
+                case "nextFocusLeft" :
+                    return new IdAttr(new PropListener() {
+                        @Override
+                        public Object get(View v) {
+                            return v.getNextFocusLeftId();
+                        }
 
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                v.setFocusable((boolean) value);
-            }
-        }));
-        put(res,"focusableInTouchMode", new BoolAttr(new PropListener() {
-            @Override
-            public Object get(View v) {
-                return v.isFocusableInTouchMode();
-            }
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            v.setNextFocusLeftId((int) value);
+                        }
+                    });
+                case "nextFocusRight" :
+                    return new IdAttr(new PropListener() {
+                        @Override
+                        public Object get(View v) {
+                            return v.getNextFocusRightId();
+                        }
 
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                v.setFocusableInTouchMode((boolean) value);
-            }
-        }));
-        put(res,"hapticFeedbackEnabled", new BoolAttr(new PropListener() {
-            @Override
-            public Object get(View v) {
-                return v.isHapticFeedbackEnabled();
-            }
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            v.setNextFocusRightId((int) value);
+                        }
+                    });
+                case "nextFocusUp" :
+                    return new IdAttr(new PropListener() {
+                        @Override
+                        public Object get(View v) {
+                            return v.getNextFocusUpId();
+                        }
 
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                v.setHapticFeedbackEnabled((boolean) value);
-            }
-        }));
-        put(res,"importantForAccessibility", new IntAttr(new PropListener() {
-            @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
-            @Override
-            public Object get(View v) {
-                return v.getImportantForAccessibility();
-            }
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            v.setNextFocusUpId((int) value);
+                        }
+                    });
+                case "outlineProvider" :
+                    return new CustomAttr(new AttrListener() {
+                        @TargetApi(Build.VERSION_CODES.LOLLIPOP)
+                        @Override
+                        public Object get(View v) {
+                            return v.getOutlineProvider();
+                        }
 
-            @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                v.setImportantForAccessibility((int) value);
-            }
-        }));
-        put(res,"isScrollContainer", new BoolAttr(new PropListener() {
-            @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
-            @Override
-            public Object get(View v) {
-                return v.isScrollContainer();
-            }
+                        @TargetApi(Build.VERSION_CODES.LOLLIPOP)
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            v.setOutlineProvider((ViewOutlineProvider) value);
+                        }
 
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                v.setScrollContainer((boolean) value);
-            }
-        }));
-        put(res,"keepScreenOn", new BoolAttr(new PropListener() {
-            @Override
-            public Object get(View v) {
-                return v.getKeepScreenOn();
-            }
+                        @Override
+                        public Object format(AQuery q, View v, String value) {
+                            return formatProvider(value);
+                        }
+                    });
+                case "overScrollMode" :
+                    return new CustomAttr(new AttrListener() {
+                        @TargetApi(Build.VERSION_CODES.GINGERBREAD)
+                        @Override
+                        public Object get(View v) {
+                            return v.getOverScrollMode();
+                        }
 
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                v.setKeepScreenOn((boolean) value);
-            }
-        }));
-        put(res,"labelFor", new IdAttr(new PropListener() {
-            @TargetApi(Build.VERSION_CODES.JELLY_BEAN_MR1)
-            @Override
-            public Object get(View v) {
-                return v.getLabelFor();
-            }
+                        @TargetApi(Build.VERSION_CODES.GINGERBREAD)
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            v.setOverScrollMode((int) value);
+                        }
 
-            @TargetApi(Build.VERSION_CODES.JELLY_BEAN_MR1)
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                v.setLabelFor((int) value);
-            }
-        }));
-        put(res,"layerType", new CustomAttr(new AttrListener() {
-            @TargetApi(Build.VERSION_CODES.HONEYCOMB)
-            @Override
-            public Object get(View v) {
-                return v.getLayerType();
-            }
+                        @Override
+                        public Object format(AQuery q, View v, String value) {
+                            return formatScroll(value);
+                        }
+                    });
+                case "persistentDrawingCache" :
+                    return new CustomAttr(new AttrListener() {
+                        @Override
+                        public Object get(View v) {
+                            return ((ViewGroup) v).getPersistentDrawingCache();
+                        }
 
-            @TargetApi(Build.VERSION_CODES.HONEYCOMB)
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                v.setLayerType((int) value, null);
-            }
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            ((ViewGroup) v).setPersistentDrawingCache((int) value);
+                        }
 
-            @Override
-            public Object format(AQuery q, View v, String value) {
-                return formatLayer(value);
-            }
-        }));
-        put(res,"layoutDirection", new CustomAttr(new AttrListener() {
-            @TargetApi(Build.VERSION_CODES.JELLY_BEAN_MR1)
-            @Override
-            public Object get(View v) {
-                return v.getLayoutDirection();
-            }
+                        @Override
+                        public Object format(AQuery q, View v, String value) {
+                            return formatCache(value);
+                        }
+                    }).on(ViewGroup.class);
+                case "rotation" :
+                    return new FloatAttr(new FloatProp() {
+                        @TargetApi(Build.VERSION_CODES.HONEYCOMB)
+                        @Override
+                        public float getFloat(View v) {
+                            return v.getRotation();
+                        }
 
-            @TargetApi(Build.VERSION_CODES.JELLY_BEAN_MR1)
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                v.setLayoutDirection((int) value);
-            }
+                        @TargetApi(Build.VERSION_CODES.HONEYCOMB)
+                        @Override
+                        public void setFloat(AQuery q, View v, float value) {
+                            v.setRotation(value);
+                        }
+                    });
+                case "rotationX" :
+                    return new FloatAttr(new FloatProp() {
+                        @TargetApi(Build.VERSION_CODES.HONEYCOMB)
+                        @Override
+                        public float getFloat(View v) {
+                            return v.getRotationX();
+                        }
 
-            @Override
-            public Object format(AQuery q, View v, String value) {
-                return formatDirection(value);
-            }
-        }));
-        put(res,"layoutAnimation", new CustomAttr(new AttrListener() {
-            @Override
-            public Object get(View v) {
-                return ((ViewGroup) v).getLayoutAnimation();
-            }
+                        @TargetApi(Build.VERSION_CODES.HONEYCOMB)
+                        @Override
+                        public void setFloat(AQuery q, View v, float value) {
+                            v.setRotationX(value);
+                        }
+                    });
+                case "rotationY" :
+                    return new FloatAttr(new FloatProp() {
+                        @TargetApi(Build.VERSION_CODES.HONEYCOMB)
+                        @Override
+                        public float getFloat(View v) {
+                            return v.getRotationY();
+                        }
 
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((ViewGroup) v).setLayoutAnimation((LayoutAnimationController) value);
-            }
+                        @TargetApi(Build.VERSION_CODES.HONEYCOMB)
+                        @Override
+                        public void setFloat(AQuery q, View v, float value) {
+                            v.setRotationY(value);
+                        }
+                    });
+                case "saveEnabled" :
+                    return new BoolAttr(new PropListener() {
+                        @Override
+                        public Object get(View v) {
+                            return v.isSaveEnabled();
+                        }
 
-            @Override
-            public Object format(AQuery q, View v, String value) {
-                return q.formatAnimation(value);
-            }
-        }));
-        put(res,"layoutMode", new CustomAttr(new AttrListener() {
-            @TargetApi(Build.VERSION_CODES.JELLY_BEAN_MR2)
-            @Override
-            public Object get(View v) {
-                return ((ViewGroup) v).getLayoutMode();
-            }
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            v.setSaveEnabled((boolean) value);
+                        }
+                    });
+                case "scaleX" :
+                    return new FloatAttr(new FloatProp() {
+                        @TargetApi(Build.VERSION_CODES.HONEYCOMB)
+                        @Override
+                        public float getFloat(View v) {
+                            return v.getScaleX();
+                        }
 
-            @TargetApi(Build.VERSION_CODES.JELLY_BEAN_MR2)
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((ViewGroup) v).setLayoutMode((int) value);
-            }
+                        @TargetApi(Build.VERSION_CODES.HONEYCOMB)
+                        @Override
+                        public void setFloat(AQuery q, View v, float value) {
+                            v.setScaleX(value);
+                        }
+                    });
+                case "scaleY" :
+                    return new FloatAttr(new FloatProp() {
+                        @TargetApi(Build.VERSION_CODES.HONEYCOMB)
+                        @Override
+                        public float getFloat(View v) {
+                            return v.getScaleY();
+                        }
 
-            @Override
-            public Object format(AQuery q, View v, String value) {
-                return formatLayout(value);
-            }
-        }));
-        put(res,"longClickable", new BoolAttr(new PropListener() {
-            @Override
-            public Object get(View v) {
-                return v.isLongClickable();
-            }
+                        @TargetApi(Build.VERSION_CODES.HONEYCOMB)
+                        @Override
+                        public void setFloat(AQuery q, View v, float value) {
+                            v.setScaleY(value);
+                        }
+                    });
+                case "scrollIndicators" :
+                    return new CustomAttr(new AttrListener() {
+                        @Override
+                        public Object format(AQuery q, View v, String value) {
+                            return formatIndicator(value);
+                        }
 
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                v.setLongClickable((boolean) value);
-            }
-        }));
-        put(res,"measureWithLargestChild", new BoolAttr(new PropListener() {
-            @TargetApi(Build.VERSION_CODES.HONEYCOMB)
-            @Override
-            public Object get(View v) {
-                return ((LinearLayout) v).isMeasureWithLargestChildEnabled();
-            }
+                        @TargetApi(Build.VERSION_CODES.M)
+                        @Override
+                        public Object get(View v) {
+                            return v.getScrollIndicators();
+                        }
 
-            @TargetApi(Build.VERSION_CODES.HONEYCOMB)
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((LinearLayout) v).setMeasureWithLargestChildEnabled((boolean) value);
-            }
-        }));
-        put(res,"nestedScrollingEnabled", new BoolAttr(new PropListener() {
-            @TargetApi(Build.VERSION_CODES.LOLLIPOP)
-            @Override
-            public Object get(View v) {
-                return v.isNestedScrollingEnabled();
-            }
+                        @TargetApi(Build.VERSION_CODES.M)
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            v.setScrollIndicators((int) value);
+                        }
+                    });
+                case "scrollbarDefaultDelayBeforeFade" :
+                    return new IntAttr(new IntProp() {
+                        @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+                        @Override
+                        public int getInt(View v) {
+                            return v.getScrollBarDefaultDelayBeforeFade();
+                        }
 
-            @TargetApi(Build.VERSION_CODES.LOLLIPOP)
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                v.setNestedScrollingEnabled((boolean) value);
-            }
-        }));
-        put(res,"nextFocusDown", new IdAttr(new PropListener() {
-            @Override
-            public Object get(View v) {
-                return v.getNextFocusDownId();
-            }
+                        @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+                        @Override
+                        public void setInt(AQuery q, View v, int value) {
+                            v.setScrollBarDefaultDelayBeforeFade(value);
+                        }
+                    });
+                case "scrollbarFadeDuration" :
+                    return new IntAttr(new IntProp() {
+                        @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+                        @Override
+                        public int getInt(View v) {
+                            return v.getScrollBarFadeDuration();
+                        }
 
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                v.setNextFocusDownId((int) value);
-            }
-        }));
-        put(res,"nextFocusForward", new IdAttr(new PropListener() {
-            @TargetApi(Build.VERSION_CODES.HONEYCOMB)
-            @Override
-            public Object get(View v) {
-                return v.getNextFocusForwardId();
-            }
+                        @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+                        @Override
+                        public void setInt(AQuery q, View v, int value) {
+                            v.setScrollBarFadeDuration(value);
+                        }
+                    });
+                case "scrollbars" :
+                    return new CustomAttr(new AttrListener() {
+                        @Override
+                        public Object get(View v) {
+                            return orientationFlags(v.isHorizontalScrollBarEnabled(),v.isVerticalScrollBarEnabled());
+                        }
 
-            @TargetApi(Build.VERSION_CODES.HONEYCOMB)
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                v.setNextFocusForwardId((int) value);
-            }
-        }));
-        put(res,"nextFocusLeft", new IdAttr(new PropListener() {
-            @Override
-            public Object get(View v) {
-                return v.getNextFocusLeftId();
-            }
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            boolean[] orientations = (boolean[]) value;
+                            v.setHorizontalScrollBarEnabled(orientations[0]);
+                            v.setVerticalScrollBarEnabled(orientations[1]);
+                        }
 
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                v.setNextFocusLeftId((int) value);
-            }
-        }));
-        put(res,"nextFocusRight", new IdAttr(new PropListener() {
-            @Override
-            public Object get(View v) {
-                return v.getNextFocusRightId();
-            }
+                        @Override
+                        public Object format(AQuery q, View v, String value) {
+                            return formatOrientations(value);
+                        }
+                    });
+                case "scrollbarSize" :
+                    return new DimenAttr(new IntProp() {
+                        @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+                        @Override
+                        public int getInt(View v) {
+                            return v.getScrollBarSize();
+                        }
 
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                v.setNextFocusRightId((int) value);
-            }
-        }));
-        put(res,"nextFocusUp", new IdAttr(new PropListener() {
-            @Override
-            public Object get(View v) {
-                return v.getNextFocusUpId();
-            }
+                        @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+                        @Override
+                        public void setInt(AQuery q, View v, int value) {
+                            v.setScrollBarSize(value);
+                        }
+                    });
+                case "scrollbarStyle" :
+                    return new CustomAttr(new AttrListener() {
+                        @Override
+                        public Object get(View v) {
+                            return v.getScrollBarStyle();
+                        }
 
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                v.setNextFocusUpId((int) value);
-            }
-        }));
-        put(res,"outlineProvider", new CustomAttr(new AttrListener() {
-            @TargetApi(Build.VERSION_CODES.LOLLIPOP)
-            @Override
-            public Object get(View v) {
-                return v.getOutlineProvider();
-            }
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            v.setScrollBarStyle((int) (value));
+                        }
 
-            @TargetApi(Build.VERSION_CODES.LOLLIPOP)
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                v.setOutlineProvider((ViewOutlineProvider) value);
-            }
+                        @Override
+                        public Object format(AQuery q, View v, String value) {
+                            return formatStyle(value);
+                        }
+                    });
+                case "scrollX" :
+                    return new DimenAttr(new IntProp() {
+                        @Override
+                        public int getInt(View v) {
+                            return v.getScrollX();
+                        }
 
-            @Override
-            public Object format(AQuery q, View v, String value) {
-                return formatProvider(value);
-            }
-        }));
-        put(res,"overScrollMode", new CustomAttr(new AttrListener() {
-            @TargetApi(Build.VERSION_CODES.GINGERBREAD)
-            @Override
-            public Object get(View v) {
-                return v.getOverScrollMode();
-            }
+                        @TargetApi(Build.VERSION_CODES.ICE_CREAM_SANDWICH)
+                        @Override
+                        public void setInt(AQuery q, View v, int value) {
+                            v.setScrollX(value);
+                        }
+                    });
+                case "scrollY" :
+                    return new DimenAttr(new IntProp() {
+                        @Override
+                        public int getInt(View v) {
+                            return v.getScrollY();
+                        }
 
-            @TargetApi(Build.VERSION_CODES.GINGERBREAD)
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                v.setOverScrollMode((int) value);
-            }
+                        @TargetApi(Build.VERSION_CODES.ICE_CREAM_SANDWICH)
+                        @Override
+                        public void setInt(AQuery q, View v, int value) {
+                            v.setScrollY(value);
+                        }
+                    });
+                case "showDividers" :
+                    return new CustomAttr(new AttrListener() {
+                        @TargetApi(Build.VERSION_CODES.HONEYCOMB)
+                        @Override
+                        public Object get(View v) {
+                            return ((LinearLayout) v).getShowDividers();
+                        }
 
-            @Override
-            public Object format(AQuery q, View v, String value) {
-                return formatScroll(value);
-            }
-        }));
-        put(res,"persistentDrawingCache", new CustomAttr(new AttrListener() {
-            @Override
-            public Object get(View v) {
-                return ((ViewGroup) v).getPersistentDrawingCache();
-            }
+                        @TargetApi(Build.VERSION_CODES.HONEYCOMB)
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            ((LinearLayout) v).setShowDividers((int) value);
+                        }
 
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((ViewGroup) v).setPersistentDrawingCache((int) value);
-            }
+                        @Override
+                        public Object format(AQuery q, View v, String value) {
+                            return formatDividers(value);
+                        }
+                    }).on(LinearLayout.class);
+                case "soundEffectsEnabled" :
+                    return new BoolAttr(new PropListener() {
+                        @Override
+                        public Object get(View v) {
+                            return v.isSoundEffectsEnabled();
+                        }
 
-            @Override
-            public Object format(AQuery q, View v, String value) {
-                return formatCache(value);
-            }
-        }));
-        put(res,"rotation", new FloatAttr(new PropListener() {
-            @TargetApi(Build.VERSION_CODES.HONEYCOMB)
-            @Override
-            public Object get(View v) {
-                return v.getRotation();
-            }
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            v.setSoundEffectsEnabled((boolean) value);
+                        }
+                    });
+                case "splitMotionEvents" :
+                    return new BoolAttr(new PropListener() {
+                        @TargetApi(Build.VERSION_CODES.HONEYCOMB)
+                        @Override
+                        public Object get(View v) {
+                            return ((ViewGroup) v).isMotionEventSplittingEnabled();
+                        }
 
-            @TargetApi(Build.VERSION_CODES.HONEYCOMB)
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                v.setRotation(floatCast(value));
-            }
-        }));
-        put(res,"rotationX", new FloatAttr(new PropListener() {
-            @TargetApi(Build.VERSION_CODES.HONEYCOMB)
-            @Override
-            public Object get(View v) {
-                return v.getRotationX();
-            }
+                        @TargetApi(Build.VERSION_CODES.HONEYCOMB)
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            ((ViewGroup) v).setMotionEventSplittingEnabled((boolean) value);
+                        }
+                    }).on(ViewGroup.class);
+                case "stateListAnimator" :
+                    return new CustomAttr(new AttrListener() {
+                        @TargetApi(Build.VERSION_CODES.LOLLIPOP)
+                        @Override
+                        public Object get(View v) {
+                            return v.getStateListAnimator();
+                        }
 
-            @TargetApi(Build.VERSION_CODES.HONEYCOMB)
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                v.setRotationX(floatCast(value));
-            }
-        }));
-        put(res,"rotationY", new FloatAttr(new PropListener() {
-            @TargetApi(Build.VERSION_CODES.HONEYCOMB)
-            @Override
-            public Object get(View v) {
-                return v.getRotationY();
-            }
+                        @TargetApi(Build.VERSION_CODES.LOLLIPOP)
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            v.setStateListAnimator((StateListAnimator) value);
+                        }
 
-            @TargetApi(Build.VERSION_CODES.HONEYCOMB)
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                v.setRotationY(floatCast(value));
-            }
-        }));
-        put(res,"saveEnabled", new BoolAttr(new PropListener() {
-            @Override
-            public Object get(View v) {
-                return v.isSaveEnabled();
-            }
+                        @Override
+                        public Object format(AQuery q, View v, String value) {
+                            return value;
+                        }
+                    });
+                case "tag" :
+                    return new CustomAttr(new AttrListener() {
+                        @Override
+                        public Object get(View v) {
+                            return v.getTag();
+                        }
 
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                v.setSaveEnabled((boolean) value);
-            }
-        }));
-        put(res,"scaleX", new FloatAttr(new PropListener() {
-            @TargetApi(Build.VERSION_CODES.HONEYCOMB)
-            @Override
-            public Object get(View v) {
-                return v.getScaleX();
-            }
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            v.setTag(value);
+                        }
 
-            @TargetApi(Build.VERSION_CODES.HONEYCOMB)
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                v.setScaleX(floatCast(value));
-            }
-        }));
-        put(res,"scaleY", new FloatAttr(new PropListener() {
-            @TargetApi(Build.VERSION_CODES.HONEYCOMB)
-            @Override
-            public Object get(View v) {
-                return v.getScaleY();
-            }
+                        @Override
+                        public Object format(AQuery q, View v, String value) {
+                            return q.formatString(value);
+                        }
+                    });
+                case "textAlignment" :
+                    return new CustomAttr(new AttrListener() {
+                        @TargetApi(Build.VERSION_CODES.JELLY_BEAN_MR1)
+                        @Override
+                        public Object get(View v) {
+                            return v.getTextAlignment();
+                        }
 
-            @TargetApi(Build.VERSION_CODES.HONEYCOMB)
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                v.setScaleY(floatCast(value));
-            }
-        }));
-        put(res,"scrollIndicators", new CustomAttr(new AttrListener() {
-            @Override
-            public Object format(AQuery q, View v, String value) {
-                return formatIndicator(value);
-            }
+                        @TargetApi(Build.VERSION_CODES.JELLY_BEAN_MR1)
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            v.setTextAlignment((int) value);
+                        }
 
-            @TargetApi(Build.VERSION_CODES.M)
-            @Override
-            public Object get(View v) {
-                return v.getScrollIndicators();
-            }
+                        @Override
+                        public Object format(AQuery q, View v, String value) {
+                            return formatTextAlign(value);
+                        }
+                    });
+                case "textDirection" :
+                    return new CustomAttr(new AttrListener() {
+                        @TargetApi(Build.VERSION_CODES.JELLY_BEAN_MR1)
+                        @Override
+                        public Object get(View v) {
+                            return v.getTextDirection();
+                        }
 
-            @TargetApi(Build.VERSION_CODES.M)
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                v.setScrollIndicators((int) value);
-            }
-        }));
-        put(res,"scrollbarDefaultDelayBeforeFade", new IntAttr(new PropListener() {
-            @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
-            @Override
-            public Object get(View v) {
-                return v.getScrollBarDefaultDelayBeforeFade();
-            }
+                        @TargetApi(Build.VERSION_CODES.JELLY_BEAN_MR1)
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            v.setTextDirection((int) value);
+                        }
 
-            @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                v.setScrollBarDefaultDelayBeforeFade(intCast(value));
-            }
-        }));
-        put(res,"scrollbarFadeDuration", new IntAttr(new PropListener() {
-            @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
-            @Override
-            public Object get(View v) {
-                return v.getScrollBarFadeDuration();
-            }
+                        @Override
+                        public Object format(AQuery q, View v, String value) {
+                            return formatDirection(value);
+                        }
+                    });
+                case "touchscreenBlocksFocus" :
+                    return new BoolAttr(new PropListener() {
+                        @TargetApi(Build.VERSION_CODES.LOLLIPOP)
+                        @Override
+                        public Object get(View v) {
+                            return ((ViewGroup) v).getTouchscreenBlocksFocus();
+                        }
 
-            @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                v.setScrollBarFadeDuration(intCast(value));
-            }
-        }));
-        put(res,"scrollbars", new CustomAttr(new AttrListener() {
-            @Override
-            public Object get(View v) {
-                return orientationFlags(v.isHorizontalScrollBarEnabled(),v.isVerticalScrollBarEnabled());
-            }
+                        @TargetApi(Build.VERSION_CODES.LOLLIPOP)
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            ((ViewGroup) v).setTouchscreenBlocksFocus((boolean) value);
+                        }
+                    }).on(ViewGroup.class);
+                case "transformPivotX" :
+                    return new FloatAttr(new FloatProp() {
+                        @TargetApi(Build.VERSION_CODES.HONEYCOMB)
+                        @Override
+                        public float getFloat(View v) {
+                            return v.getPivotX();
+                        }
 
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                boolean[] orientations = (boolean[]) value;
-                v.setHorizontalScrollBarEnabled(orientations[0]);
-                v.setVerticalScrollBarEnabled(orientations[1]);
-            }
+                        @TargetApi(Build.VERSION_CODES.HONEYCOMB)
+                        @Override
+                        public void setFloat(AQuery q, View v, float value) {
+                            v.setPivotX(value);
+                        }
+                    });
+                case "transformPivotY" :
+                    return new FloatAttr(new FloatProp() {
+                        @TargetApi(Build.VERSION_CODES.HONEYCOMB)
+                        @Override
+                        public float getFloat(View v) {
+                            return v.getPivotY();
+                        }
 
-            @Override
-            public Object format(AQuery q, View v, String value) {
-                return formatOrientations(value);
-            }
-        }));
-        put(res,"scrollbarSize", new DimenAttr(new PropListener() {
-            @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
-            @Override
-            public Object get(View v) {
-                return v.getScrollBarSize();
-            }
+                        @TargetApi(Build.VERSION_CODES.HONEYCOMB)
+                        @Override
+                        public void setFloat(AQuery q, View v, float value) {
+                            v.setPivotY(value);
+                        }
+                    });
+                case "transitionGroup" :
+                    return new BoolAttr(new PropListener() {
+                        @TargetApi(Build.VERSION_CODES.LOLLIPOP)
+                        @Override
+                        public Object get(View v) {
+                            return ((ViewGroup) v).isTransitionGroup();
+                        }
 
-            @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                v.setScrollBarSize(intCast(value));
-            }
-        }));
-        put(res,"scrollbarStyle", new CustomAttr(new AttrListener() {
-            @Override
-            public Object get(View v) {
-                return v.getScrollBarStyle();
-            }
+                        @TargetApi(Build.VERSION_CODES.LOLLIPOP)
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            ((ViewGroup) v).setTransitionGroup((boolean) value);
+                        }
+                    }).on(ViewGroup.class);
+                case "transitionName" :
+                    return new StringAttr(new PropListener() {
+                        @TargetApi(Build.VERSION_CODES.LOLLIPOP)
+                        @Override
+                        public Object get(View v) {
+                            return v.getTransitionName();
+                        }
 
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                v.setScrollBarStyle((int) (value));
-            }
+                        @TargetApi(Build.VERSION_CODES.LOLLIPOP)
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            v.setTransitionName((String) value);
+                        }
+                    });
+                case "translationX" :
+                    return new DimenAttr(new FloatProp() {
+                        @TargetApi(Build.VERSION_CODES.HONEYCOMB)
+                        @Override
+                        public float getFloat(View v) {
+                            return v.getTranslationX();
+                        }
 
-            @Override
-            public Object format(AQuery q, View v, String value) {
-                return formatStyle(value);
-            }
-        }));
-        put(res,"scrollX", new DimenAttr(new PropListener() {
-            @Override
-            public Object get(View v) {
-                return v.getScrollX();
-            }
+                        @TargetApi(Build.VERSION_CODES.HONEYCOMB)
+                        @Override
+                        public void setFloat(AQuery q, View v, float value) {
+                            v.setTranslationX(value);
+                        }
+                    });
+                case "translationY" :
+                    return new DimenAttr(new FloatProp() {
+                        @TargetApi(Build.VERSION_CODES.HONEYCOMB)
+                        @Override
+                        public float getFloat(View v) {
+                            return v.getTranslationY();
+                        }
 
-            @TargetApi(Build.VERSION_CODES.ICE_CREAM_SANDWICH)
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                v.setScrollX(intCast(value));
-            }
-        }));
-        put(res,"scrollY", new DimenAttr(new PropListener() {
-            @Override
-            public Object get(View v) {
-                return v.getScrollY();
-            }
+                        @TargetApi(Build.VERSION_CODES.HONEYCOMB)
+                        @Override
+                        public void setFloat(AQuery q, View v, float value) {
+                            v.setTranslationY(value);
+                        }
+                    });
+                case "translationZ" :
+                    return new DimenAttr(new FloatProp() {
+                        @TargetApi(Build.VERSION_CODES.LOLLIPOP)
+                        @Override
+                        public float getFloat(View v) {
+                            return v.getTranslationZ();
+                        }
 
-            @TargetApi(Build.VERSION_CODES.ICE_CREAM_SANDWICH)
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                v.setScrollY(intCast(value));
-            }
-        }));
-        put(res,"showDividers", new CustomAttr(new AttrListener() {
-            @TargetApi(Build.VERSION_CODES.HONEYCOMB)
-            @Override
-            public Object get(View v) {
-                return ((LinearLayout) v).getShowDividers();
-            }
+                        @TargetApi(Build.VERSION_CODES.LOLLIPOP)
+                        @Override
+                        public void setFloat(AQuery q, View v, float value) {
+                            v.setTranslationZ(value);
+                        }
+                    });
+                case "verticalScrollbarPosition" :
+                    return new CustomAttr(new AttrListener() {
+                        @TargetApi(Build.VERSION_CODES.HONEYCOMB)
+                        @Override
+                        public Object get(View v) {
+                            return v.getVerticalScrollbarPosition();
+                        }
 
-            @TargetApi(Build.VERSION_CODES.HONEYCOMB)
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((LinearLayout) v).setShowDividers((int) value);
-            }
+                        @TargetApi(Build.VERSION_CODES.HONEYCOMB)
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            v.setVerticalScrollbarPosition((int) value);
+                        }
 
-            @Override
-            public Object format(AQuery q, View v, String value) {
-                return formatDividers(value);
-            }
-        }));
-        put(res,"soundEffectsEnabled", new BoolAttr(new PropListener() {
-            @Override
-            public Object get(View v) {
-                return v.isSoundEffectsEnabled();
+                        @Override
+                        public Object format(AQuery q, View v, String value) {
+                            return formatPosition(value);
+                        }
+                    });
+                default :
+                    return null;
             }
+        }
+    }
+    /**
+     * The attributes of the LayoutParams of the Views, like "layout_width" or "layout_marginTop"
+     */
+    private static class LayoutParamsAttrs {
+        static AttrSetter create(String name) {
+            switch (name) {
+                case "layout_width" :
+                    return new WidthAttr(new PropListener() {
+                        @Override
+                        public Object get(View v) {
+                            ViewGroup.LayoutParams lp = v.getLayoutParams();
+                            if (lp == null)
+                                return 0;
+                            return lp.width;
+                        }
 
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                v.setSoundEffectsEnabled((boolean) value);
-            }
-        }));
-        put(res,"splitMotionEvents", new BoolAttr(new PropListener() {
-            @TargetApi(Build.VERSION_CODES.HONEYCOMB)
-            @Override
-            public Object get(View v) {
-                return ((ViewGroup) v).isMotionEventSplittingEnabled();
-            }
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            new $Element(q.ctx, v).width(intCast(value));
+                        }
+                    });
+                case "layout_height" :
+                    return new HeightAttr(new PropListener() {
+                        @Override
+                        public Object get(View v) {
+                            ViewGroup.LayoutParams lp = v.getLayoutParams();
+                            if (lp == null)
+                                return 0;
+                            return lp.height;
+                        }
 
-            @TargetApi(Build.VERSION_CODES.HONEYCOMB)
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((ViewGroup) v).setMotionEventSplittingEnabled((boolean) value);
-            }
-        }));
-        put(res,"stateListAnimator", new CustomAttr(new AttrListener() {
-            @TargetApi(Build.VERSION_CODES.LOLLIPOP)
-            @Override
-            public Object get(View v) {
-                return v.getStateListAnimator();
-            }
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            new $Element(q.ctx, v).height(intCast(value));
+                        }
+                    });
+                case "layout_weight" :
+                    return new FloatAttr(new FloatProp() {
+                        @Override
+                        public float getFloat(View v) {
+                            LinearLayout.LayoutParams lp = (LinearLayout.LayoutParams) v.getLayoutParams();
+                            return lp.weight;
+                        }
 
-            @TargetApi(Build.VERSION_CODES.LOLLIPOP)
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                v.setStateListAnimator((StateListAnimator) value);
-            }
+                        @Override
+                        public void setFloat(AQuery q, View v, float value) {
+                            LinearLayout.LayoutParams lp = (LinearLayout.LayoutParams) v.getLayoutParams();
+                            lp.weight = value;
+                            v.setLayoutParams(lp);
+                        }
+                    }).onLayout(LinearLayout.LayoutParams.class);
+                case "layout_gravity" :
+                    return new CustomAttr(new AttrListener() {
+                        @Override
+                        public Object get(View v) {
+                            LinearLayout.LayoutParams lp = (LinearLayout.LayoutParams) v.getLayoutParams();
+                            return lp.gravity;
+                        }
 
-            @Override
-            public Object format(AQuery q, View v, String value) {
-                return value;
-            }
-        }));
-        put(res,"tag", new CustomAttr(new AttrListener() {
-            @Override
-            public Object get(View v) {
-                return v.getTag();
-            }
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            LinearLayout.LayoutParams lp = (LinearLayout.LayoutParams) v.getLayoutParams();
+                            lp.gravity = (int) value;
+                            v.setLayoutParams(lp);
+                        }
 
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                v.setTag(value);
-            }
+                        @Override
+                        public Object format(AQuery q, View v, String value) {
+                            return formatGravity(value);
+                        }
+                    }).onLayout(LinearLayout.LayoutParams.class);
+                case "layout_marginTop" :
+                    return new DimenAttr(new IntProp() {
+                        @Override
+                        public int getInt(View v) {
+                            return mlp(v).topMargin;
+                        }
 
-            @Override
-            public Object format(AQuery q, View v, String value) {
-                return q.formatString(value);
-            }
-        }));
-        put(res,"textAlignment", new CustomAttr(new AttrListener() {
-            @TargetApi(Build.VERSION_CODES.JELLY_BEAN_MR1)
-            @Override
-            public Object get(View v) {
-                return v.getTextAlignment();
-            }
+                        @Override
+                        public void setInt(AQuery q, View v, int value) {
+                            ViewGroup.MarginLayoutParams lp = mlp(v);
+                            lp.topMargin = value;
+                            v.setLayoutParams(lp);
+                        }
+                    }).onLayout(ViewGroup.MarginLayoutParams.class);
+                case "layout_marginLeft" :
+                    return new DimenAttr(new IntProp() {
+                        @Override
+                        public int getInt(View v) {
+                            return mlp(v).leftMargin;
+                        }
 
-            @TargetApi(Build.VERSION_CODES.JELLY_BEAN_MR1)
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                v.setTextAlignment((int) value);
-            }
+                        @Override
+                        public void setInt(AQuery q, View v, int value) {
+                            ViewGroup.MarginLayoutParams lp = mlp(v);
+                            lp.leftMargin = value;
+                            v.setLayoutParams(lp);
+                        }
+                    }).onLayout(ViewGroup.MarginLayoutParams.class);
+                case "layout_marginRight" :
+                    return new DimenAttr(new IntProp() {
+                        @Override
+                        public int getInt(View v) {
+                            return mlp(v).rightMargin;
+                        }
 
-            @Override
-            public Object format(AQuery q, View v, String value) {
-                return formatTextAlign(value);
-            }
-        }));
-        put(res,"textDirection", new CustomAttr(new AttrListener() {
-            @TargetApi(Build.VERSION_CODES.JELLY_BEAN_MR1)
-            @Override
-            public Object get(View v) {
-                return v.getTextDirection();
-            }
+                        @Override
+                        public void setInt(AQuery q, View v, int value) {
+                            ViewGroup.MarginLayoutParams lp = mlp(v);
+                            lp.rightMargin = value;
+                            v.setLayoutParams(lp);
+                        }
+                    }).onLayout(ViewGroup.MarginLayoutParams.class);
+                case "layout_marginBottom" :
+                    return new DimenAttr(new IntProp() {
+                        @Override
+                        public int getInt(View v) {
+                            return mlp(v).bottomMargin;
+                        }
 
-            @TargetApi(Build.VERSION_CODES.JELLY_BEAN_MR1)
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                v.setTextDirection((int) value);
-            }
+                        @Override
+                        public void setInt(AQuery q, View v, int value) {
+                            ViewGroup.MarginLayoutParams lp = mlp(v);
+                            lp.bottomMargin = value;
+                            v.setLayoutParams(lp);
+                        }
+                    }).onLayout(ViewGroup.MarginLayoutParams.class);
+                case "layout_marginStart" :
+                    return new DimenAttr(new IntProp() {
+                        @TargetApi(Build.VERSION_CODES.JELLY_BEAN_MR1)
+                        @Override
+                        public int getInt(View v) {
+                            return mlp(v).getMarginStart();
+                        }
 
-            @Override
-            public Object format(AQuery q, View v, String value) {
-                return formatDirection(value);
-            }
-        }));
-        put(res,"touchscreenBlocksFocus", new BoolAttr(new PropListener() {
-            @TargetApi(Build.VERSION_CODES.LOLLIPOP)
-            @Override
-            public Object get(View v) {
-                return ((ViewGroup) v).getTouchscreenBlocksFocus();
-            }
+                        @TargetApi(Build.VERSION_CODES.JELLY_BEAN_MR1)
+                        @Override
+                        public void setInt(AQuery q, View v, int value) {
+                            ViewGroup.MarginLayoutParams lp = mlp(v);
+                            lp.setMarginStart(value);
+                            v.setLayoutParams(lp);
+                        }
+                    }).onLayout(ViewGroup.MarginLayoutParams.class);
+                case "layout_marginEnd" :
+                    return new DimenAttr(new IntProp() {
+                        @TargetApi(Build.VERSION_CODES.JELLY_BEAN_MR1)
+                        @Override
+                        public int getInt(View v) {
+                            return mlp(v).getMarginEnd();
+                        }
 
-            @TargetApi(Build.VERSION_CODES.LOLLIPOP)
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((ViewGroup) v).setTouchscreenBlocksFocus((boolean) value);
-            }
-        }));
-        put(res,"transformPivotX", new FloatAttr(new PropListener() {
-            @TargetApi(Build.VERSION_CODES.HONEYCOMB)
-            @Override
-            public Object get(View v) {
-                return v.getPivotX();
-            }
+                        @TargetApi(Build.VERSION_CODES.JELLY_BEAN_MR1)
+                        @Override
+                        public void setInt(AQuery q, View v, int value) {
+                            ViewGroup.MarginLayoutParams lp = mlp(v);
+                            lp.setMarginEnd(value);
+                            v.setLayoutParams(lp);
+                        }
+                    }).onLayout(ViewGroup.MarginLayoutParams.class);
+                case "layout_margin" :
+                    return new DimenAttr(new IntProp() {
+                        @Override
+                        public int getInt(View v) {
+                            return mlp(v).leftMargin;
+                        }
 
-            @TargetApi(Build.VERSION_CODES.HONEYCOMB)
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                v.setPivotX(floatCast(value));
-            }
-        }));
-        put(res,"transformPivotY", new FloatAttr(new PropListener() {
-            @TargetApi(Build.VERSION_CODES.HONEYCOMB)
-            @Override
-            public Object get(View v) {
-                return v.getPivotY();
-            }
+                        @Override
+                        public void setInt(AQuery q, View v, int value) {
+                            ViewGroup.MarginLayoutParams lp = mlp(v);
+                            lp.setMargins(value, value, value, value);
+                            v.setLayoutParams(lp);
+                        }
+                    }).onLayout(ViewGroup.MarginLayoutParams.class);
+                case "layout_column" :
+                    return new IntAttr(new PropListener() {
+                        @Override
+                        public Object get(View v) {
+                            TableRow.LayoutParams lp = (TableRow.LayoutParams) v.getLayoutParams();
+                            return lp.column;
+                        }
 
-            @TargetApi(Build.VERSION_CODES.HONEYCOMB)
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                v.setPivotY(floatCast(value));
-            }
-        }));
-        put(res,"transitionGroup", new BoolAttr(new PropListener() {
-            @TargetApi(Build.VERSION_CODES.LOLLIPOP)
-            @Override
-            public Object get(View v) {
-                return ((ViewGroup) v).isTransitionGroup();
-            }
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            TableRow.LayoutParams lp = (TableRow.LayoutParams) v.getLayoutParams();
+                            lp.column = (int) value;
+                            v.setLayoutParams(lp);
+                        }
+                    }).onLayout(TableRow.LayoutParams.class);
+                case "layout_row" :
+                    return new IntAttr(new PropListener() {
+                        @TargetApi(Build.VERSION_CODES.ICE_CREAM_SANDWICH)
+                        @Override
+                        public Object get(View v) {
+                            GridLayout.LayoutParams lp = (GridLayout.LayoutParams) v.getLayoutParams();
+                            return lp.rowSpec;
+                        }
 
-            @TargetApi(Build.VERSION_CODES.LOLLIPOP)
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((ViewGroup) v).setTransitionGroup((boolean) value);
-            }
-        }));
-        put(res,"transitionName", new StringAttr(new PropListener() {
-            @TargetApi(Build.VERSION_CODES.LOLLIPOP)
-            @Override
-            public Object get(View v) {
-                return v.getTransitionName();
-            }
+                        @TargetApi(Build.VERSION_CODES.ICE_CREAM_SANDWICH)
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            GridLayout.LayoutParams lp = (GridLayout.LayoutParams) v.getLayoutParams();
+                            lp.rowSpec = GridLayout.spec(GridLayout.UNDEFINED, (int) value);
+                            v.setLayoutParams(lp);
+                        }
+                    }).onLayout(GridLayout.LayoutParams.class);
+                case "layout_columnSpan" :
+                    return new IntAttr(new PropListener() {
+                        @TargetApi(Build.VERSION_CODES.ICE_CREAM_SANDWICH)
+                        @Override
+                        public Object get(View v) {
+                            GridLayout.LayoutParams lp = (GridLayout.LayoutParams) v.getLayoutParams();
+                            return lp.columnSpec;
+                        }
 
-            @TargetApi(Build.VERSION_CODES.LOLLIPOP)
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                v.setTransitionName((String) value);
-            }
-        }));
-        put(res,"translationX", new DimenAttr(new PropListener() {
-            @TargetApi(Build.VERSION_CODES.HONEYCOMB)
-            @Override
-            public Object get(View v) {
-                return v.getTranslationX();
-            }
+                        @TargetApi(Build.VERSION_CODES.ICE_CREAM_SANDWICH)
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            GridLayout.LayoutParams lp = (GridLayout.LayoutParams) v.getLayoutParams();
+                            lp.columnSpec = GridLayout.spec(GridLayout.UNDEFINED, (int) value);
+                            v.setLayoutParams(lp);
+                        }
+                    }).onLayout(GridLayout.LayoutParams.class);
+                case "layout_rowWeight" :
+                    return new FloatAttr(new PropListener() {
+                        @TargetApi(Build.VERSION_CODES.ICE_CREAM_SANDWICH)
+                        @Override
+                        public Object get(View v) {
+                            GridLayout.LayoutParams lp = (GridLayout.LayoutParams) v.getLayoutParams();
+                            return lp.rowSpec;
+                        }
 
-            @TargetApi(Build.VERSION_CODES.HONEYCOMB)
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                v.setTranslationX(floatCast(value));
-            }
-        }));
-        put(res,"translationY", new DimenAttr(new PropListener() {
-            @TargetApi(Build.VERSION_CODES.HONEYCOMB)
-            @Override
-            public Object get(View v) {
-                return v.getTranslationY();
-            }
+                        @TargetApi(Build.VERSION_CODES.LOLLIPOP)
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            GridLayout.LayoutParams lp = (GridLayout.LayoutParams) v.getLayoutParams();
+                            lp.rowSpec = GridLayout.spec(GridLayout.UNDEFINED, floatCast(value));
+                            v.setLayoutParams(lp);
+                        }
+                    }).onLayout(GridLayout.LayoutParams.class);
+                case "layout_columnWeight" :
+                    return new FloatAttr(new PropListener() {
+                        @TargetApi(Build.VERSION_CODES.ICE_CREAM_SANDWICH)
+                        @Override
+                        public Object get(View v) {
+                            GridLayout.LayoutParams lp = (GridLayout.LayoutParams) v.getLayoutParams();
+                            return lp.columnSpec;
+                        }
 
-            @TargetApi(Build.VERSION_CODES.HONEYCOMB)
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                v.setTranslationY(floatCast(value));
-            }
-        }));
-        put(res,"translationZ", new DimenAttr(new PropListener() {
-            @TargetApi(Build.VERSION_CODES.LOLLIPOP)
-            @Override
-            public Object get(View v) {
-                return v.getTranslationZ();
-            }
+                        @TargetApi(Build.VERSION_CODES.LOLLIPOP)
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            GridLayout.LayoutParams lp = (GridLayout.LayoutParams) v.getLayoutParams();
+                            lp.columnSpec = GridLayout.spec(GridLayout.UNDEFINED, floatCast(value));
+                            v.setLayoutParams(lp);
+                        }
+                    }).onLayout(GridLayout.LayoutParams.class);
+                case "layout_x" :
+                    return new DimenAttr(new IntProp() {
+                        @SuppressWarnings("deprecation")
+                        @Override
+                        public int getInt(View v) {
+                            AbsoluteLayout.LayoutParams lp = (AbsoluteLayout.LayoutParams) v.getLayoutParams();
+                            return lp.x;
+                        }
 
-            @TargetApi(Build.VERSION_CODES.LOLLIPOP)
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                v.setTranslationZ(floatCast(value));
+                        @SuppressWarnings("deprecation")
+                        @Override
+                        public void setInt(AQuery q, View v, int value) {
+                            AbsoluteLayout.LayoutParams lp = (AbsoluteLayout.LayoutParams) v.getLayoutParams();
+                            lp.x = value;
+                            v.setLayoutParams(lp);
+                        }
+                    }).onLayout(AbsoluteLayout.LayoutParams.class);
+                case "layout_y" :
+                    return new DimenAttr(new IntProp() {
+                        @SuppressWarnings("deprecation")
+                        @Override
+                        public int getInt(View v) {
+                            AbsoluteLayout.LayoutParams lp = (AbsoluteLayout.LayoutParams) v.getLayoutParams();
+                            return lp.y;
+                        }
+
+                        @SuppressWarnings("deprecation")
+                        @Override
+                        public void setInt(AQuery q, View v, int value) {
+                            AbsoluteLayout.LayoutParams lp = (AbsoluteLayout.LayoutParams) v.getLayoutParams();
+                            lp.y = value;
+                            v.setLayoutParams(lp);
+                        }
+                    }).onLayout(AbsoluteLayout.LayoutParams.class);
+                default :
+                    return null;
             }
-        }));
-        put(res,"verticalScrollbarPosition", new CustomAttr(new AttrListener() {
-            @TargetApi(Build.VERSION_CODES.HONEYCOMB)
-            @Override
-            public Object get(View v) {
-                return v.getVerticalScrollbarPosition();
+        }
+    }
+    /**
+     * The rules of the RelativeLayout.LayoutParams, like "layout_below" or "layout_alignParentTop"
+     */
+    private static class RelativeLayoutRuleAttrs {
+        static AttrSetter create(String name) {
+            switch (name) {
+                case "layout_alignParentTop" :
+                    return lpRuleChecker(RelativeLayout.ALIGN_PARENT_TOP);
+                case "layout_alignParentLeft" :
+                    return lpRuleChecker(RelativeLayout.ALIGN_PARENT_LEFT);
+                case "layout_alignParentRight" :
+                    return lpRuleChecker(RelativeLayout.ALIGN_PARENT_RIGHT);
+                case "layout_alignParentBottom" :
+                    return lpRuleChecker(RelativeLayout.ALIGN_PARENT_BOTTOM);
+                case "layout_alignParentStart" :
+                    if (Build.VERSION.SDK_INT < Build.VERSION_CODES.JELLY_BEAN_MR1)
+                        return null;
+                    return lpRuleChecker(RelativeLayout.ALIGN_PARENT_START);
+                case "layout_alignParentEnd" :
+                    if (Build.VERSION.SDK_INT < Build.VERSION_CODES.JELLY_BEAN_MR1)
+                        return null;
+                    return lpRuleChecker(RelativeLayout.ALIGN_PARENT_END);
+                case "layout_alignStart" :
+                    if (Build.VERSION.SDK_INT < Build.VERSION_CODES.JELLY_BEAN_MR1)
+                        return null;
+                    return lpRuleGetter(RelativeLayout.ALIGN_START);
+                case "layout_alignEnd" :
+                    if (Build.VERSION.SDK_INT < Build.VERSION_CODES.JELLY_BEAN_MR1)
+                        return null;
+                    return lpRuleGetter(RelativeLayout.ALIGN_END);
+                case "layout_toStartOf" :
+                    if (Build.VERSION.SDK_INT < Build.VERSION_CODES.JELLY_BEAN_MR1)
+                        return null;
+                    return lpRuleGetter(RelativeLayout.START_OF);
+                case "layout_toEndOf" :
+                    if (Build.VERSION.SDK_INT < Build.VERSION_CODES.JELLY_BEAN_MR1)
+                        return null;
+                    return lpRuleGetter(RelativeLayout.END_OF);
+                case "layout_alignBaseline" :
+                    return lpRuleGetter(RelativeLayout.ALIGN_BASELINE);
+                case "layout_above" :
+                    return lpRuleGetter(RelativeLayout.ABOVE);
+                case "layout_below" :
+                    return lpRuleGetter(RelativeLayout.BELOW);
+                case "layout_centerHorizontal" :
+                    return lpRuleChecker(RelativeLayout.CENTER_HORIZONTAL);
+                case "layout_centerVertical" :
+                    return lpRuleChecker(RelativeLayout.CENTER_VERTICAL);
+                case "layout_centerInParent" :
+                    return lpRuleChecker(RelativeLayout.CENTER_IN_PARENT);
+                case "layout_toLeftOf" :
+                    return lpRuleGetter(RelativeLayout.LEFT_OF);
+                case "layout_toRightOf" :
+                    return lpRuleGetter(RelativeLayout.RIGHT_OF);
+                default :
+                    return null;
             }
+        }
+    }
+    /**
+     * The attributes of the TextViews, like "text", "textColor" or "maxLines"
+     */
+    private static class TextViewAttrs {
+        static AttrSetter create(String name) {
+            switch (name) {
+                case "text" :
+                    return new StringAttr(new PropListener() {
+                        @Override
+                        public Object get(View v) {
+                            return ((TextView) v).getText().toString();
+                        }
 
-            @TargetApi(Build.VERSION_CODES.HONEYCOMB)
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                v.setVerticalScrollbarPosition((int) value);
-            }
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            TextView tv = (TextView) v;
+                            try {
+                                tv.setText((String) value);
+                            } catch (ClassCastException e) {
+                                try {
+                                    tv.setText((int) value);
+                                } catch (ClassCastException e2) {
+                                    throw e;
+                                }
+                            }
+                        }
+                    }).on(TextView.class);
+                case "width" :
+                    return new DimenAttr(new IntProp() {
+                        @Override
+                        public int getInt(View v) {
+                            return v.getWidth();
+                        }
 
-            @Override
-            public Object format(AQuery q, View v, String value) {
-                return formatPosition(value);
-            }
-        }));
-        put(res,"autoLink", new CustomAttr(new AttrListener() {
-            @Override
-            public Object get(View v) {
-                return ((TextView) v).getAutoLinkMask();
-            }
+                        @Override
+                        public void setInt(AQuery q, View v, int value) {
+                            ((TextView) v).setWidth(value);
+                        }
+                    });
+                case "height" :
+                    return new DimenAttr(new IntProp() {
+                        @Override
+                        public int getInt(View v) {
+                            return v.getWidth();
+                        }
 
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((TextView) v).setAutoLinkMask((int) value);
-            }
+                        @Override
+                        public void setInt(AQuery q, View v, int value) {
+                            ((TextView) v).setHeight(value);
+                        }
+                    });
+                case "textColor" :
+                    return new ColorAttr(new IntProp() {
+                        @Override
+                        public int getInt(View v) {
+                            return ((TextView) v).getCurrentTextColor();
+                        }
 
-            @Override
-            public Object format(AQuery q, View v, String value) {
-                return formatAutoLink(value);
-            }
-        }));
-        put(res,"cursorVisible", new BoolAttr(new PropListener() {
-            @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
-            @Override
-            public Object get(View v) {
-                return ((TextView) v).isCursorVisible();
-            }
+                        @Override
+                        public void setInt(AQuery q, View v, int value) {
+                            ((TextView) v).setTextColor(value);
+                        }
+                    }).on(TextView.class);
+                case "textSize" :
+                    return new CustomAttr(new FloatAttrListener() {
+                        @Override
+                        public float getFloat(View v) {
+                            return ((TextView) v).getTextSize();
+                        }
 
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((TextView) v).setCursorVisible((boolean) value);
-            }
-        }));
-        put(res,"capitalize", new CustomAttr(new AttrListener() {
-            @Override
-            public Object get(View v) {
-                return ((TextView) v).getInputType();
-            }
+                        @Override
+                        public void setFloat(AQuery q, View v, float value) {
+                            ((TextView) v).setTextSize(value);
+                        }
 
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((TextView) v).setInputType((int) value);
-            }
+                        @Override
+                        public Object format(AQuery q, View v, String value) {
+                            return q.toSP(q.formatDimen(value));
+                        }
+                    }).on(TextView.class);
+                case "autoLink" :
+                    return new CustomAttr(new AttrListener() {
+                        @Override
+                        public Object get(View v) {
+                            return ((TextView) v).getAutoLinkMask();
+                        }
 
-            @Override
-            public Object format(AQuery q, View v, String value) {
-                return formatCaps(value);
-            }
-        }));
-        put(res,"digits", new StringAttr(new PropListener() {
-            @Override
-            public Object get(View v) {
-                return ((TextView) v).getKeyListener();
-            }
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            ((TextView) v).setAutoLinkMask((int) value);
+                        }
 
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((TextView) v).setKeyListener(DigitsKeyListener.getInstance((String) value));
-            }
-        }));
-        put(res,"drawableBottom", new DrawableAttr(new PropListener() {
-            @Override
-            public Object get(View v) {
-                return ((TextView) v).getCompoundDrawables()[3];
-            }
+                        @Override
+                        public Object format(AQuery q, View v, String value) {
+                            return formatAutoLink(value);
+                        }
+                    }).on(TextView.class);
+                case "cursorVisible" :
+                    return new BoolAttr(new PropListener() {
+                        @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+                        @Override
+                        public Object get(View v) {
+                            return ((TextView) v).isCursorVisible();
+                        }
 
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                TextView tv = (TextView)v;
-                Drawable[] d = tv.getCompoundDrawables();
-                tv.setCompoundDrawables(d[0], d[1], d[2], drawableCast(value));
-            }
-        }));
-        put(res,"drawableLeft", new DrawableAttr(new PropListener() {
-            @Override
-            public Object get(View v) {
-                return ((TextView) v).getCompoundDrawables()[0];
-            }
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            ((TextView) v).setCursorVisible((boolean) value);
+                        }
+                    }).on(TextView.class);
+                case "drawableBottom" :
+                    return new DrawableAttr(new PropListener() {
+                        @Override
+                        public Object get(View v) {
+                            return ((TextView) v).getCompoundDrawables()[3];
+                        }
 
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                TextView tv = (TextView)v;
-                Drawable[] d = tv.getCompoundDrawables();
-                tv.setCompoundDrawables(drawableCast(value), d[1], d[2], d[3]);
-            }
-        }));
-        put(res,"drawableRight", new DrawableAttr(new PropListener() {
-            @Override
-            public Object get(View v) {
-                return ((TextView) v).getCompoundDrawables()[2];
-            }
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            TextView tv = (TextView)v;
+                            Drawable[] d = tv.getCompoundDrawables();
+                            tv.setCompoundDrawables(d[0], d[1], d[2], drawableCast(value));
+                        }
+                    }).on(TextView.class);
+                case "drawableLeft" :
+                    return new DrawableAttr(new PropListener() {
+                        @Override
+                        public Object get(View v) {
+                            return ((TextView) v).getCompoundDrawables()[0];
+                        }
 
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                TextView tv = (TextView)v;
-                Drawable[] d = tv.getCompoundDrawables();
-                tv.setCompoundDrawables(d[0], d[1], drawableCast(value), d[3]);
-            }
-        }));
-        put(res,"drawableTop", new DrawableAttr(new PropListener() {
-            @Override
-            public Object get(View v) {
-                return ((TextView) v).getCompoundDrawables()[1];
-            }
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            TextView tv = (TextView)v;
+                            Drawable[] d = tv.getCompoundDrawables();
+                            tv.setCompoundDrawables(drawableCast(value), d[1], d[2], d[3]);
+                        }
+                    }).on(TextView.class);
+                case "drawableRight" :
+                    return new DrawableAttr(new PropListener() {
+                        @Override
+                        public Object get(View v) {
+                            return ((TextView) v).getCompoundDrawables()[2];
+                        }
 
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                TextView tv = (TextView)v;
-                Drawable[] d = tv.getCompoundDrawables();
-                tv.setCompoundDrawables(d[0], drawableCast(value), d[2], d[3]);
-            }
-        }));
-        put(res,"drawableStart", new DrawableAttr(new PropListener() {
-            @TargetApi(Build.VERSION_CODES.JELLY_BEAN_MR1)
-            @Override
-            public Object get(View v) {
-                return ((TextView) v).getCompoundDrawablesRelative()[0];
-            }
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            TextView tv = (TextView)v;
+                            Drawable[] d = tv.getCompoundDrawables();
+                            tv.setCompoundDrawables(d[0], d[1], drawableCast(value), d[3]);
+                        }
+                    }).on(TextView.class);
+                case "drawableTop" :
+                    return new DrawableAttr(new PropListener() {
+                        @Override
+                        public Object get(View v) {
+                            return ((TextView) v).getCompoundDrawables()[1];
+                        }
 
-            @TargetApi(Build.VERSION_CODES.JELLY_BEAN_MR1)
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                TextView tv = (TextView)v;
-                Drawable[] d = tv.getCompoundDrawablesRelative();
-                tv.setCompoundDrawablesRelative(drawableCast(value), d[1], d[2], d[3]);
-            }
-        }));
-        put(res,"drawableEnd", new DrawableAttr(new PropListener() {
-            @TargetApi(Build.VERSION_CODES.JELLY_BEAN_MR1)
-            @Override
-            public Object get(View v) {
-                return ((TextView) v).getCompoundDrawablesRelative()[2];
-            }
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            TextView tv = (TextView)v;
+                            Drawable[] d = tv.getCompoundDrawables();
+                            tv.setCompoundDrawables(d[0], drawableCast(value), d[2], d[3]);
+                        }
+                    }).on(TextView.class);
+                case "drawableStart" :
+                    return new DrawableAttr(new PropListener() {
+                        @TargetApi(Build.VERSION_CODES.JELLY_BEAN_MR1)
+                        @Override
+                        public Object get(View v) {
+                            return ((TextView) v).getCompoundDrawablesRelative()[0];
+                        }
 
-            @TargetApi(Build.VERSION_CODES.JELLY_BEAN_MR1)
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                TextView tv = (TextView)v;
-                Drawable[] d = tv.getCompoundDrawablesRelative();
-                tv.setCompoundDrawablesRelative(d[0], d[1], drawableCast(value), d[3]);
-            }
-        }));
-        put(res,"editable", new BoolAttr(new PropListener() {
-            @Override
-            public Object get(View v) {
-                return (null != ((TextView) v).getEditableText());
-            }
+                        @TargetApi(Build.VERSION_CODES.JELLY_BEAN_MR1)
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            TextView tv = (TextView)v;
+                            Drawable[] d = tv.getCompoundDrawablesRelative();
+                            tv.setCompoundDrawablesRelative(drawableCast(value), d[1], d[2], d[3]);
+                        }
+                    }).on(TextView.class);
+                case "drawableEnd" :
+                    return new DrawableAttr(new PropListener() {
+                        @TargetApi(Build.VERSION_CODES.JELLY_BEAN_MR1)
+                        @Override
+                        public Object get(View v) {
+                            return ((TextView) v).getCompoundDrawablesRelative()[2];
+                        }
 
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((TextView) v).setFilters((boolean) value ? new InputFilter[]{
-                        new InputFilter() {
-                            public CharSequence filter(CharSequence src, int start,
-                                                       int end, Spanned dst, int dStart, int dEnd) {
-                                return src.length() < 1 ? dst.subSequence(dStart, dEnd) : "";
-                            }
+                        @TargetApi(Build.VERSION_CODES.JELLY_BEAN_MR1)
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            TextView tv = (TextView)v;
+                            Drawable[] d = tv.getCompoundDrawablesRelative();
+                            tv.setCompoundDrawablesRelative(d[0], d[1], drawableCast(value), d[3]);
+                        }
+                    }).on(TextView.class);
+                case "elegantTextHeight" :
+                    return new BoolAttr(new PropListener() {
+                        @Override
+                        public Object get(View v) {
+                            return false;
                         }
-                } : null);
-            }
-        }));
-        put(res,"editorExtras", new ResAttr(new PropListener() {
-            @Override
-            public Object get(View v) {
-                return ((TextView) v).getInputExtras(false);
-            }
 
-            @SuppressWarnings("TryWithIdenticalCatches")
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                try {
-                    ((TextView) v).setInputExtras((int) value);
-                }
-                catch (XmlPullParserException e) {
-                    throw new IllegalArgumentException(e);
-                }
-                catch (IOException e) {
-                    throw new IllegalArgumentException(e);
-                }
-            }
-        }));
-        put(res,"elegantTextHeight", new BoolAttr(new PropListener() {
-            @Override
-            public Object get(View v) {
-                return false;
-            }
-
-            @TargetApi(Build.VERSION_CODES.LOLLIPOP)
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((TextView) v).setElegantTextHeight((boolean) value);
-            }
-        }));
-        put(res,"ellipsize", new CustomAttr(new AttrListener() {
-            @Override
-            public Object format(AQuery q, View v, String value) {
-                return formatEllipse(value);
-            }
+                        @TargetApi(Build.VERSION_CODES.LOLLIPOP)
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            ((TextView) v).setElegantTextHeight((boolean) value);
+                        }
+                    });
+                case "ellipsize" :
+                    return new CustomAttr(new AttrListener() {
+                        @Override
+                        public Object format(AQuery q, View v, String value) {
+                            return formatEllipse(value);
+                        }
 
-            @Override
-            public Object get(View v) {
-                return ((TextView) v).getEllipsize();
-            }
+                        @Override
+                        public Object get(View v) {
+                            return ((TextView) v).getEllipsize();
+                        }
 
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((TextView) v).setEllipsize((TextUtils.TruncateAt) value);
-            }
-        }));
-        put(res,"ems", new IntAttr(new PropListener() {
-            @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
-            @Override
-            public Object get(View v) {
-                TextView tv = (TextView)v;
-                return (tv.getMinEms()+tv.getMaxEms())/2;
-            }
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            ((TextView) v).setEllipsize((TextUtils.TruncateAt) value);
+                        }
+                    }).on(TextView.class);
+                case "ems" :
+                    return new IntAttr(new IntProp() {
+                        @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+                        @Override
+                        public int getInt(View v) {
+                            TextView tv = (TextView)v;
+                            return (tv.getMinEms()+tv.getMaxEms())/2;
+                        }
 
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((TextView) v).setEms(intCast(value));
-            }
-        }));
-        put(res,"fontFamily", new CustomAttr(new AttrListener() {
-            @Override
-            public Object format(AQuery q, View v, String value) {
-                return Typeface.create(value,((TextView) v).getTypeface().getStyle());
-            }
+                        @Override
+                        public void setInt(AQuery q, View v, int value) {
+                            ((TextView) v).setEms(value);
+                        }
+                    }).on(TextView.class);
+                case "fontFamily" :
+                    return new CustomAttr(new AttrListener() {
+                        @Override
+                        public Object format(AQuery q, View v, String value) {
+                            return Typeface.create(value,((TextView) v).getTypeface().getStyle());
+                        }
 
-            @Override
-            public Object get(View v) {
-                return ((TextView) v).getTypeface();
-            }
+                        @Override
+                        public Object get(View v) {
+                            return ((TextView) v).getTypeface();
+                        }
 
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((TextView) v).setTypeface((Typeface) value);
-            }
-        }));
-        put(res,"fontFeatureSettings", new StringAttr(new PropListener() {
-            @TargetApi(Build.VERSION_CODES.LOLLIPOP)
-            @Override
-            public Object get(View v) {
-                return ((TextView) v).getFontFeatureSettings();
-            }
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            ((TextView) v).setTypeface((Typeface) value);
+                        }
+                    }).on(TextView.class);
+                case "fontFeatureSettings" :
+                    return new StringAttr(new PropListener() {
+                        @TargetApi(Build.VERSION_CODES.LOLLIPOP)
+                        @Override
+                        public Object get(View v) {
+                            return ((TextView) v).getFontFeatureSettings();
+                        }
 
-            @TargetApi(Build.VERSION_CODES.LOLLIPOP)
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((TextView) v).setFontFeatureSettings((String) value);
-            }
-        }));
-        put(res,"freezesText", new BoolAttr(new PropListener() {
-            @Override
-            public Object get(View v) {
-                return ((TextView) v).getFreezesText();
-            }
+                        @TargetApi(Build.VERSION_CODES.LOLLIPOP)
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            ((TextView) v).setFontFeatureSettings((String) value);
+                        }
+                    }).on(TextView.class);
+                case "freezesText" :
+                    return new BoolAttr(new PropListener() {
+                        @Override
+                        public Object get(View v) {
+                            return ((TextView) v).getFreezesText();
+                        }
 
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((TextView) v).setFreezesText((boolean) value);
-            }
-        }));
-        put(res,"hint", new StringAttr(new PropListener() {
-            @Override
-            public Object get(View v) {
-                return ((TextView) v).getHint();
-            }
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            ((TextView) v).setFreezesText((boolean) value);
+                        }
+                    }).on(TextView.class);
+                case "hint" :
+                    return new StringAttr(new PropListener() {
+                        @Override
+                        public Object get(View v) {
+                            return ((TextView) v).getHint();
+                        }
 
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                TextView tv = (TextView) v;
-                try {
-                    tv.setHint((String) value);
-                } catch (ClassCastException e) {
-                    try {
-                        tv.setHint((int) value);
-                    } catch (ClassCastException e2) {
-                        throw e;
-                    }
-                }
-            }
-        }));
-        put(res,"imeActionId", new IdAttr(new PropListener() {
-            @Override
-            public Object get(View v) {
-                return ((TextView) v).getImeActionId();
-            }
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            TextView tv = (TextView) v;
+                            try {
+                                tv.setHint((String) value);
+                            } catch (ClassCastException e) {
+                                try {
+                                    tv.setHint((int) value);
+                                } catch (ClassCastException e2) {
+                                    throw e;
+                                }
+                            }
+                        }
+                    }).on(TextView.class);
+                case "includeFontPadding" :
+                    return new BoolAttr(new PropListener() {
+                        @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+                        @Override
+                        public Object get(View v) {
+                            return ((TextView) v).getIncludeFontPadding();
+                        }
 
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((TextView) v).setImeActionLabel(((TextView) v).getImeActionLabel(), (int) value);
-            }
-        }));
-        put(res,"imeActionLabel", new StringAttr(new PropListener() {
-            @Override
-            public Object get(View v) {
-                return ((TextView) v).getImeActionLabel().toString();
-            }
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            ((TextView) v).setIncludeFontPadding((boolean) value);
+                        }
+                    }).on(TextView.class);
+                case "letterSpacing" :
+                    return new FloatAttr(new FloatProp() {
+                        @TargetApi(Build.VERSION_CODES.LOLLIPOP)
+                        @Override
+                        public void setFloat(AQuery q, View v, float value) {
+                            ((TextView) v).setLetterSpacing(value);
+                        }
 
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((TextView) v).setImeActionLabel((String) value, ((TextView) v).getImeActionId());
-            }
-        }));
-        put(res,"imeOptions", new CustomAttr(new AttrListener() {
-            @Override
-            public Object format(AQuery q, View v, String value) {
-                return formatOptions(value);
-            }
+                        @TargetApi(Build.VERSION_CODES.LOLLIPOP)
+                        @Override
+                        public float getFloat(View v) {
+                            return ((TextView) v).getLetterSpacing();
+                        }
+                    }).on(TextView.class);
+                case "lineSpacingExtra" :
+                    return new FloatAttr(new FloatProp() {
+                        @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+                        @Override
+                        public void setFloat(AQuery q, View v, float value) {
+                            TextView tv = (TextView)v;
+                            tv.setLineSpacing(value, tv.getLineSpacingMultiplier());
+                        }
 
-            @SuppressWarnings("ConstantConditions")
-            @Override
-            public Object get(View v) {
-                try {
-                    return ((TextView) v).getImeOptions();
-                }
-                catch (ClassCastException e) {
-                    try {
-                        SearchView sv = (SearchView) v;
-                        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN)
-                            return sv.getImeOptions();
-                    }
-                    catch (ClassCastException e2) {
-                        throw e;
-                    }
-                    return EditorInfo.IME_NULL;
-                }
-            }
+                        @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+                        @Override
+                        public float getFloat(View v) {
+                            return ((TextView) v).getLineSpacingExtra();
+                        }
+                    }).on(TextView.class);
+                case "lineSpacingMultiplier" :
+                    return new FloatAttr(new FloatProp() {
+                        @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+                        @Override
+                        public void setFloat(AQuery q, View v, float value) {
+                            TextView tv = (TextView)v;
+                            tv.setLineSpacing(tv.getLineSpacingExtra(), value);
+                        }
 
-            @SuppressWarnings("ConstantConditions")
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                int iValue = (int) value;
-                try {
-                    ((TextView) v).setImeOptions(iValue);
-                }
-                catch (ClassCastException e) {
-                    try {
-                        SearchView sv = (SearchView) v;
-                        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.ICE_CREAM_SANDWICH)
-                            sv.setImeOptions(iValue);
-                    }
-                    catch (ClassCastException e2) {
-                        throw e;
-                    }
-                }
-            }
-        }));
-        put(res,"includeFontPadding", new BoolAttr(new PropListener() {
-            @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
-            @Override
-            public Object get(View v) {
-                return ((TextView) v).getIncludeFontPadding();
-            }
+                        @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+                        @Override
+                        public float getFloat(View v) {
+                            return ((TextView) v).getLineSpacingMultiplier();
+                        }
+                    }).on(TextView.class);
+                case "lines" :
+                    return new IntAttr(new IntProp() {
+                        @Override
+                        public int getInt(View v) {
+                            return ((TextView) v).getLineCount();
+                        }
 
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((TextView) v).setIncludeFontPadding((boolean) value);
-            }
-        }));
-        put(res,"inputType", new CustomAttr(new AttrListener() {
-            @SuppressWarnings("ConstantConditions")
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                int iValue = (int) value;
-                try {
-                    ((TextView) v).setInputType(iValue);
-                }
-                catch (ClassCastException e) {
-                    try {
-                        SearchView sv = (SearchView) v;
-                        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.ICE_CREAM_SANDWICH)
-                            sv.setInputType(iValue);
-                    }
-                    catch (ClassCastException e2) {
-                        throw e;
-                    }
-                }
-            }
+                        @Override
+                        public void setInt(AQuery q, View v, int value) {
+                            ((TextView) v).setLines(value);
+                        }
+                    }).on(TextView.class);
+                case "linksClickable" :
+                    return new BoolAttr(new PropListener() {
+                        @Override
+                        public Object get(View v) {
+                            return ((TextView) v).getLinksClickable();
+                        }
 
-            @Override
-            public Object format(AQuery q, View v, String value) {
-                return formatInputType(value);
-            }
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            ((TextView) v).setLinksClickable((boolean) value);
+                        }
+                    }).on(TextView.class);
+                case "marqueeRepeatLimit" :
+                    return new IntAttr(new IntProp() {
+                        @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+                        @Override
+                        public int getInt(View v) {
+                            return ((TextView) v).getMarqueeRepeatLimit();
+                        }
 
-            @SuppressWarnings("ConstantConditions")
-            @Override
-            public Object get(View v) {
-                try {
-                    return ((TextView) v).getInputType();
-                }
-                catch (ClassCastException e) {
-                    try {
-                        SearchView sv = (SearchView) v;
-                        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN)
-                            return sv.getInputType();
-                    }
-                    catch (ClassCastException e2) {
-                        throw e;
-                    }
-                    return InputType.TYPE_NULL;
-                }
-            }
-        }));
-        put(res,"letterSpacing", new FloatAttr(new PropListener() {
-            @TargetApi(Build.VERSION_CODES.LOLLIPOP)
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((TextView) v).setLetterSpacing(floatCast(value));
-            }
+                        @Override
+                        public void setInt(AQuery q, View v, int value) {
+                            ((TextView) v).setMarqueeRepeatLimit(value);
+                        }
+                    }).on(TextView.class);
+                case "maxEms" :
+                    return new IntAttr(new IntProp() {
+                        @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+                        @Override
+                        public int getInt(View v) {
+                            return ((TextView) v).getMaxEms();
+                        }
 
-            @TargetApi(Build.VERSION_CODES.LOLLIPOP)
-            @Override
-            public Object get(View v) {
-                return ((TextView) v).getLetterSpacing();
-            }
-        }));
-        put(res,"lineSpacingExtra", new FloatAttr(new PropListener() {
-            @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                TextView tv = (TextView)v;
-                tv.setLineSpacing(floatCast(value), tv.getLineSpacingMultiplier());
-            }
+                        @Override
+                        public void setInt(AQuery q, View v, int value) {
+                            ((TextView) v).setMaxEms(value);
+                        }
+                    }).on(TextView.class);
+                case "maxHeight" :
+                    return new DimenAttr(new IntProp() {
+                        @SuppressWarnings("ConstantConditions")
+                        @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+                        @Override
+                        public int getInt(View v) {
+                            try {
+                                return ((TextView) v).getMaxHeight();
+                            }
+                            catch (ClassCastException e) {
+                                try {
+                                    return ((ImageView) v).getMaxHeight();
+                                }
+                                catch (ClassCastException e2) {
+                                    throw e;
+                                }
+                            }
+                        }
 
-            @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
-            @Override
-            public Object get(View v) {
-                return ((TextView) v).getLineSpacingExtra();
-            }
-        }));
-        put(res,"lineSpacingMultiplier", new FloatAttr(new PropListener() {
-            @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                TextView tv = (TextView)v;
-                tv.setLineSpacing(tv.getLineSpacingExtra(), floatCast(value));
-            }
+                        @SuppressWarnings("ConstantConditions")
+                        @Override
+                        public void setInt(AQuery q, View v, int value) {
+                            try {
+                                ((TextView) v).setMaxHeight(value);
+                            }
+                            catch (ClassCastException e) {
+                                try {
+                                    ((ImageView) v).setMaxHeight(value);
+                                }
+                                catch (ClassCastException e2) {
+                                    throw e;
+                                }
+                            }
+                        }
+                    }).on(TextView.class, ImageView.class);
+                case "maxLength" :
+                    return new IntAttr(new PropListener() {
+                        @Override
+                        public Object get(View v) {
+                            return ((TextView) v).getFilters();
+                        }
 
-            @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
-            @Override
-            public Object get(View v) {
-                return ((TextView) v).getLineSpacingMultiplier();
-            }
-        }));
-        put(res,"lines", new IntAttr(new PropListener() {
-            @Override
-            public Object get(View v) {
-                return ((TextView) v).getLineCount();
-            }
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            ((TextView) v).setFilters(new InputFilter[]{new InputFilter.LengthFilter((int) value)});
+                        }
+                    }).on(TextView.class);
+                case "maxLines" :
+                    return new IntAttr(new IntProp() {
+                        @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+                        @Override
+                        public int getInt(View v) {
+                            return ((TextView) v).getMaxLines();
+                        }
 
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((TextView) v).setLines((int) value);
-            }
-        }));
-        put(res,"linksClickable", new BoolAttr(new PropListener() {
-            @Override
-            public Object get(View v) {
-                return ((TextView) v).getLinksClickable();
-            }
+                        @Override
+                        public void setInt(AQuery q, View v, int value) {
+                            ((TextView) v).setMaxLines(value);
+                        }
+                    }).on(TextView.class);
+                case "maxWidth" :
+                    return new DimenAttr(new IntProp() {
+                        @SuppressWarnings("ConstantConditions")
+                        @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+                        @Override
+                        public int getInt(View v) {
+                            try {
+                                return ((TextView) v).getMaxWidth();
+                            }
+                            catch (ClassCastException e) {
+                                try {
+                                    return ((ImageView) v).getMaxWidth();
+                                }
+                                catch (ClassCastException e2) {
+                                    try {
+                                        return ((SearchView) v).getMaxWidth();
+                                    }
+                                    catch (ClassCastException e3) {
+                                        throw e;
+                                    }
+                                }
+                            }
+                        }
 
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((TextView) v).setLinksClickable((boolean) value);
-            }
-        }));
-        put(res,"marqueeRepeatLimit", new IntAttr(new PropListener() {
-            @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
-            @Override
-            public Object get(View v) {
-                return ((TextView) v).getMarqueeRepeatLimit();
-            }
+                        @SuppressWarnings("ConstantConditions")
+                        @Override
+                        public void setInt(AQuery q, View v, int value) {
+                            try {
+                                ((TextView) v).setMaxWidth(value);
+                            }
+                            catch (ClassCastException e) {
+                                try {
+                                    ((ImageView) v).setMaxWidth(value);
+                                }
+                                catch (ClassCastException e2) {
+                                    try {
+                                        SearchView sv = (SearchView) v;
+                                        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.HONEYCOMB)
+                                            sv.setMaxWidth(value);
+                                    }
+                                    catch (ClassCastException e3) {
+                                        throw e;
+                                    }
+                                }
+                            }
+                        }
+                    }).on(TextView.class, ImageView.class, SearchView.class);
+                case "minEms" :
+                    return new IntAttr(new IntProp() {
+                        @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+                        @Override
+                        public int getInt(View v) {
+                            return ((TextView) v).getMinEms();
+                        }
 
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((TextView) v).setMarqueeRepeatLimit((int) value);
-            }
-        }));
-        put(res,"maxEms", new IntAttr(new PropListener() {
-            @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
-            @Override
-            public Object get(View v) {
-                return ((TextView) v).getMaxEms();
-            }
+                        @Override
+                        public void setInt(AQuery q, View v, int value) {
+                            ((TextView) v).setMinEms(value);
+                        }
+                    }).on(TextView.class);
+                case "minHeight" :
+                    return new DimenAttr(new IntProp() {
+                        @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+                        @Override
+                        public int getInt(View v) {
+                            try {
+                                return ((TextView) v).getMinHeight();
+                            }
+                            catch (ClassCastException e) {
+                                return v.getMinimumHeight();
+                            }
+                        }
 
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((TextView) v).setMaxEms(intCast(value));
-            }
-        }));
-        put(res,"maxHeight", new DimenAttr(new PropListener() {
-            @SuppressWarnings("ConstantConditions")
-            @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
-            @Override
-            public Object get(View v) {
-                try {
-                    return ((TextView) v).getMaxHeight();
-                }
-                catch (ClassCastException e) {
-                    try {
-                        return ((ImageView) v).getMaxHeight();
-                    }
-                    catch (ClassCastException e2) {
-                        throw e;
-                    }
-                }
-            }
+                        @Override
+                        public void setInt(AQuery q, View v, int value) {
+                            try {
+                                ((TextView) v).setMinHeight(value);
+                            }
+                            catch (ClassCastException e) {
+                                v.setMinimumHeight(value);
+                            }
+                        }
+                    });
+                case "minLines" :
+                    return new DimenAttr(new IntProp() {
+                        @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+                        @Override
+                        public int getInt(View v) {
+                            return ((TextView) v).getMinLines();
+                        }
 
-            @SuppressWarnings("ConstantConditions")
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                int iValue = intCast(value);
-                try {
-                    ((TextView) v).setMaxHeight(iValue);
-                }
-                catch (ClassCastException e) {
-                    try {
-                        ((ImageView) v).setMaxHeight(iValue);
-                    }
-                    catch (ClassCastException e2) {
-                        throw e;
-                    }
-                }
-            }
-        }));
-        put(res,"maxLength", new IntAttr(new PropListener() {
-            @Override
-            public Object get(View v) {
-                return ((TextView) v).getFilters();
-            }
+                        @Override
+                        public void setInt(AQuery q, View v, int value) {
+                            ((TextView) v).setMinLines(value);
+                        }
+                    }).on(TextView.class);
+                case "minWidth" :
+                    return new DimenAttr(new IntProp() {
+                        @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+                        @Override
+                        public int getInt(View v) {
+                            try {
+                                return ((TextView) v).getMinWidth();
+                            }
+                            catch (ClassCastException e) {
+                                return v.getMinimumWidth();
+                            }
+                        }
 
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((TextView) v).setFilters(new InputFilter[]{new InputFilter.LengthFilter((int) value)});
-            }
-        }));
-        put(res,"maxLines", new IntAttr(new PropListener() {
-            @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
-            @Override
-            public Object get(View v) {
-                return ((TextView) v).getMaxLines();
-            }
+                        @Override
+                        public void setInt(AQuery q, View v, int value) {
+                            try {
+                                ((TextView) v).setMinWidth(value);
+                            }
+                            catch (ClassCastException e) {
+                                v.setMinimumWidth(value);
+                            }
+                        }
+                    });
+                case "scrollHorizontally" :
+                    return new BoolAttr(new PropListener() {
+                        @TargetApi(Build.VERSION_CODES.ICE_CREAM_SANDWICH)
+                        @Override
+                        public Object get(View v) {
+                            return v.isHorizontalScrollBarEnabled();
+                        }
 
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((TextView) v).setMaxLines((int) value);
-            }
-        }));
-        put(res,"maxWidth", new DimenAttr(new PropListener() {
-            @SuppressWarnings("ConstantConditions")
-            @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
-            @Override
-            public Object get(View v) {
-                try {
-                    return ((TextView) v).getMaxWidth();
-                }
-                catch (ClassCastException e) {
-                    try {
-                        return ((ImageView) v).getMaxWidth();
-                    }
-                    catch (ClassCastException e2) {
-                        try {
-                            return ((SearchView) v).getMaxWidth();
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            ((TextView) v).setHorizontallyScrolling((boolean) value);
                         }
-                        catch (ClassCastException e3) {
-                            throw e;
+                    });
+                case "selectAllOnFocus" :
+                    return new BoolAttr(new PropListener() {
+                        @Override
+                        public Object get(View v) {
+                            return false;
                         }
-                    }
-                }
-            }
 
-            @SuppressWarnings("ConstantConditions")
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                int iValue = intCast(value);
-                try {
-                    ((TextView) v).setMaxWidth(iValue);
-                }
-                catch (ClassCastException e) {
-                    try {
-                        ((ImageView) v).setMaxWidth(iValue);
-                    }
-                    catch (ClassCastException e2) {
-                        try {
-                            SearchView sv = (SearchView) v;
-                            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.HONEYCOMB)
-                                sv.setMaxWidth(iValue);
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            ((TextView) v).setSelectAllOnFocus((boolean) value);
                         }
-                        catch (ClassCastException e3) {
-                            throw e;
+                    });
+                case "shadowColor" :
+                    return new ColorAttr(new IntProp() {
+                        @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+                        @Override
+                        public int getInt(View v) {
+                            return ((TextView) v).getShadowColor();
                         }
-                    }
-                }
-            }
-        }));
-        put(res,"minEms", new IntAttr(new PropListener() {
-            @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
-            @Override
-            public Object get(View v) {
-                return ((TextView) v).getMinEms();
-            }
 
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((TextView) v).setMinEms(intCast(value));
-            }
-        }));
-        put(res,"minHeight", new DimenAttr(new PropListener() {
-            @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
-            @Override
-            public Object get(View v) {
-                try {
-                    return ((TextView) v).getMinHeight();
-                }
-                catch (ClassCastException e) {
-                    return v.getMinimumHeight();
-                }
-            }
+                        @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+                        @Override
+                        public void setInt(AQuery q, View v, int value) {
+                            TextView tv = (TextView)v;
+                            tv.setShadowLayer(tv.getShadowRadius(), tv.getShadowDx(), tv.getShadowDy(), value);
+                        }
+                    }).on(TextView.class);
+                case "shadowDx" :
+                    return new FloatAttr(new FloatProp() {
+                        @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+                        @Override
+                        public float getFloat(View v) {
+                            return ((TextView) v).getShadowDx();
+                        }
 
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                int iValue = intCast(value);
-                try {
-                    ((TextView) v).setMinHeight(iValue);
-                }
-                catch (ClassCastException e) {
-                    v.setMinimumHeight(iValue);
-                }
-            }
-        }));
-        put(res,"minLines", new DimenAttr(new PropListener() {
-            @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
-            @Override
-            public Object get(View v) {
-                return ((TextView) v).getMinLines();
-            }
+                        @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+                        @Override
+                        public void setFloat(AQuery q, View v, float value) {
+                            TextView tv = (TextView)v;
+                            tv.setShadowLayer(tv.getShadowRadius(), value, tv.getShadowDy(), tv.getShadowColor());
+                        }
+                    }).on(TextView.class);
+                case "shadowDy" :
+                    return new FloatAttr(new FloatProp() {
+                        @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+                        @Override
+                        public float getFloat(View v) {
+                            return ((TextView) v).getShadowDy();
+                        }
 
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((TextView) v).setMinLines(intCast(value));
-            }
-        }));
-        put(res,"minWidth", new DimenAttr(new PropListener() {
-            @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
-            @Override
-            public Object get(View v) {
-                try {
-                    return ((TextView) v).getMinWidth();
-                }
-                catch (ClassCastException e) {
-                    return v.getMinimumWidth();
-                }
-            }
+                        @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+                        @Override
+                        public void setFloat(AQuery q, View v, float value) {
+                            TextView tv = (TextView)v;
+                            tv.setShadowLayer(tv.getShadowRadius(),tv.getShadowDx(),value,tv.getShadowColor());
+                        }
+                    }).on(TextView.class);
+                case "shadowRadius" :
+                    return new FloatAttr(new FloatProp() {
+                        @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+                        @Override
+                        public float getFloat(View v) {
+                            return ((TextView) v).getShadowRadius();
+                        }
 
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                int iValue = intCast(value);
-                try {
-                    ((TextView) v).setMinWidth(iValue);
-                }
-                catch (ClassCastException e) {
-                    v.setMinimumWidth(iValue);
-                }
-            }
-        }));
-        put(res,"numeric", inputTypeAttr(InputType.TYPE_NUMBER_FLAG_DECIMAL));
-        put(res,"password", inputTypeAttr(InputType.TYPE_TEXT_VARIATION_PASSWORD));
-        put(res,"phoneNumber", inputTypeAttr(InputType.TYPE_CLASS_PHONE));
-        put(res,"privateImeOptions", new StringAttr(new PropListener() {
-            @Override
-            public Object get(View v) {
-                return ((TextView) v).getPrivateImeOptions();
-            }
+                        @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+                        @Override
+                        public void setFloat(AQuery q, View v, float value) {
+                            TextView tv = (TextView)v;
+                            tv.setShadowLayer(value, tv.getShadowDx(), tv.getShadowDy(), tv.getShadowColor());
+                        }
+                    }).on(TextView.class);
+                case "singleLine" :
+                    return new BoolAttr(new PropListener() {
+                        @Override
+                        public Object get(View v) {
+                            return (1 == ((TextView) v).getInputType());
+                        }
 
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((TextView) v).setPrivateImeOptions((String) value);
-            }
-        }));
-        put(res,"scrollHorizontally", new BoolAttr(new PropListener() {
-            @TargetApi(Build.VERSION_CODES.ICE_CREAM_SANDWICH)
-            @Override
-            public Object get(View v) {
-                return v.isHorizontalScrollBarEnabled();
-            }
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            ((TextView) v).setSingleLine((boolean) value);
+                        }
+                    }).on(TextView.class);
+                case "textAllCaps" :
+                    return new BoolAttr(new PropListener() {
+                        @Override
+                        public Object get(View v) {
+                            return false;
+                        }
 
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((TextView) v).setHorizontallyScrolling((boolean) value);
-            }
-        }));
-        put(res,"selectAllOnFocus", new BoolAttr(new PropListener() {
-            @Override
-            public Object get(View v) {
-                return false;
-            }
+                        @TargetApi(Build.VERSION_CODES.ICE_CREAM_SANDWICH)
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            ((TextView) v).setAllCaps((boolean) value);
+                        }
+                    });
+                case "textAppearance" :
+                    return new ResAttr(new PropListener() {
+                        @Override
+                        public Object get(View v) {
+                            return null;
+                        }
 
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((TextView) v).setSelectAllOnFocus((boolean) value);
-            }
-        }));
-        put(res,"shadowColor", new ColorAttr(new PropListener() {
-            @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
-            @Override
-            public Object get(View v) {
-                return ((TextView) v).getShadowColor();
-            }
+                        @SuppressWarnings("deprecation")
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            ((TextView) v).setTextAppearance(q.ctx, (int) value);
+                        }
+                    });
+                case "textColorHighlight" :
+                    return new ColorAttr(new IntProp() {
+                        @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+                        @Override
+                        public int getInt(View v) {
+                            return ((TextView) v).getHighlightColor();
+                        }
 
-            @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                TextView tv = (TextView)v;
-                tv.setShadowLayer(tv.getShadowRadius(), tv.getShadowDx(), tv.getShadowDy(), (int) value);
-            }
-        }));
-        put(res,"shadowDx", new FloatAttr(new PropListener() {
-            @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
-            @Override
-            public Object get(View v) {
-                return ((TextView) v).getShadowDx();
-            }
+                        @Override
+                        public void setInt(AQuery q, View v, int value) {
+                            ((TextView) v).setHighlightColor(value);
+                        }
+                    }).on(TextView.class);
+                case "textColorHint" :
+                    return new ColorAttr(new PropListener() {
+                        @Override
+                        public Object get(View v) {
+                            return ((TextView) v).getHintTextColors();
+                        }
 
-            @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                TextView tv = (TextView)v;
-                tv.setShadowLayer(tv.getShadowRadius(), floatCast(value), tv.getShadowDy(), tv.getShadowColor());
-            }
-        }));
-        put(res,"shadowDy", new FloatAttr(new PropListener() {
-            @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
-            @Override
-            public Object get(View v) {
-                return ((TextView) v).getShadowDy();
-            }
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            ((TextView) v).setHintTextColor((int) value);
+                        }
+                    }).on(TextView.class);
+                case "textColorLink" :
+                    return new ColorAttr(new PropListener() {
+                        @Override
+                        public Object get(View v) {
+                            return ((TextView) v).getLinkTextColors();
+                        }
 
-            @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                TextView tv = (TextView)v;
-                tv.setShadowLayer(tv.getShadowRadius(),tv.getShadowDx(),floatCast(value),tv.getShadowColor());
-            }
-        }));
-        put(res,"shadowRadius", new FloatAttr(new PropListener() {
-            @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
-            @Override
-            public Object get(View v) {
-                return ((TextView) v).getShadowRadius();
-            }
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            ((TextView) v).setLinkTextColor((int) value);
+                        }
+                    }).on(TextView.class);
+                case "textIsSelectable" :
+                    return new BoolAttr(new PropListener() {
+                        @TargetApi(Build.VERSION_CODES.HONEYCOMB)
+                        @Override
+                        public Object get(View v) {
+                            return ((TextView) v).isTextSelectable();
+                        }
 
-            @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                TextView tv = (TextView)v;
-                tv.setShadowLayer(floatCast(value), tv.getShadowDx(), tv.getShadowDy(), tv.getShadowColor());
-            }
-        }));
-        put(res,"singleLine", new BoolAttr(new PropListener() {
-            @Override
-            public Object get(View v) {
-                return (1 == ((TextView) v).getInputType());
-            }
+                        @TargetApi(Build.VERSION_CODES.HONEYCOMB)
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            ((TextView) v).setTextIsSelectable((boolean) value);
+                        }
+                    }).on(TextView.class);
+                case "textScaleX" :
+                    return new FloatAttr(new FloatProp() {
+                        @Override
+                        public float getFloat(View v) {
+                            return ((TextView) v).getTextScaleX();
+                        }
 
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((TextView) v).setSingleLine((boolean) value);
-            }
-        }));
-        put(res,"textAllCaps", new BoolAttr(new PropListener() {
-            @Override
-            public Object get(View v) {
-                return false;
-            }
+                        @TargetApi(Build.VERSION_CODES.HONEYCOMB)
+                        @Override
+                        public void setFloat(AQuery q, View v, float value) {
+                            v.setScaleX(value);
+                        }
+                    }).on(TextView.class);
+                case "textStyle" :
+                    return new CustomAttr(new AttrListener() {
+                        @Override
+                        public Object get(View v) {
+                            Typeface typeface = ((TextView) v).getTypeface();
+                            return (typeface != null) ? typeface.getStyle() : Typeface.NORMAL;
+                        }
 
-            @TargetApi(Build.VERSION_CODES.ICE_CREAM_SANDWICH)
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((TextView) v).setAllCaps((boolean) value);
-            }
-        }));
-        put(res,"textAppearance", new ResAttr(new PropListener() {
-            @Override
-            public Object get(View v) {
-                return null;
-            }
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            TextView tv = ((TextView) v);
+                            tv.setTypeface(tv.getTypeface(),(int) value);
+                        }
 
-            @SuppressWarnings("deprecation")
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((TextView) v).setTextAppearance(q.ctx, (int) value);
-            }
-        }));
-        put(res,"textColorHighlight", new ColorAttr(new PropListener() {
-            @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
-            @Override
-            public Object get(View v) {
-                return ((TextView) v).getHighlightColor();
-            }
+                        @Override
+                        public Object format(AQuery q, View v, String value) {
+                            return formatTextStyle(value);
+                        }
+                    }).on(TextView.class);
+                case "typeface" :
+                    return new CustomAttr(new AttrListener() {
+                        @Override
+                        public Object get(View v) {
+                            return ((TextView) v).getTypeface();
+                        }
 
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((TextView) v).setHighlightColor((int) value);
-            }
-        }));
-        put(res,"textColorHint", new ColorAttr(new PropListener() {
-            @Override
-            public Object get(View v) {
-                return ((TextView) v).getHintTextColors();
-            }
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            TextView tv = ((TextView) v);
+                            tv.setTypeface((Typeface) value);
+                        }
 
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((TextView) v).setHintTextColor((int) value);
-            }
-        }));
-        put(res,"textColorLink", new ColorAttr(new PropListener() {
-            @Override
-            public Object get(View v) {
-                return ((TextView) v).getLinkTextColors();
+                        @Override
+                        public Object format(AQuery q, View v, String value) {
+                            return formatTypeface(value);
+                        }
+                    }).on(TextView.class);
+                default :
+                    return null;
             }
+        }
+    }
+    /**
+     * The attributes of the TextViews related to the input method, like "inputType", "password" or "imeOptions"
+     */
+    private static class InputTypeAttrs {
+        static AttrSetter create(String name) {
+            switch (name) {
+                case "capitalize" :
+                    return new CustomAttr(new AttrListener() {
+                        @Override
+                        public Object get(View v) {
+                            return ((TextView) v).getInputType();
+                        }
 
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((TextView) v).setLinkTextColor((int) value);
-            }
-        }));
-        put(res,"textIsSelectable", new BoolAttr(new PropListener() {
-            @TargetApi(Build.VERSION_CODES.HONEYCOMB)
-            @Override
-            public Object get(View v) {
-                return ((TextView) v).isTextSelectable();
-            }
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            ((TextView) v).setInputType((int) value);
+                        }
 
-            @TargetApi(Build.VERSION_CODES.HONEYCOMB)
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((TextView) v).setTextIsSelectable((boolean) value);
-            }
-        }));
-        put(res,"textScaleX", new FloatAttr(new PropListener() {
-            @Override
-            public Object get(View v) {
-                return ((TextView) v).getTextScaleX();
-            }
+                        @Override
+                        public Object format(AQuery q, View v, String value) {
+                            return formatCaps(value);
+                        }
+                    }).on(TextView.class);
+                case "digits" :
+                    return new StringAttr(new PropListener() {
+                        @Override
+                        public Object get(View v) {
+                            return ((TextView) v).getKeyListener();
+                        }
 
-            @TargetApi(Build.VERSION_CODES.HONEYCOMB)
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                v.setScaleX(floatCast(value));
-            }
-        }));
-        put(res,"textStyle", new CustomAttr(new AttrListener() {
-            @Override
-            public Object get(View v) {
-                return ((TextView) v).getTypeface().getStyle();
-            }
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            ((TextView) v).setKeyListener(DigitsKeyListener.getInstance((String) value));
+                        }
+                    }).on(TextView.class);
+                case "editable" :
+                    return new BoolAttr(new PropListener() {
+                        @Override
+                        public Object get(View v) {
+                            return (null != ((TextView) v).getEditableText());
+                        }
 
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                TextView tv = ((TextView) v);
-                tv.setTypeface(tv.getTypeface(),(int) value);
-            }
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            ((TextView) v).setFilters((boolean) value ? new InputFilter[]{
+                                    new InputFilter() {
+                                        public CharSequence filter(CharSequence src, int start,
+                                                                   int end, Spanned dst, int dStart, int dEnd) {
+                                            return src.length() < 1 ? dst.subSequence(dStart, dEnd) : "";
+                                        }
+                                    }
+                            } : null);
+                        }
+                    }).on(TextView.class);
+                case "editorExtras" :
+                    return new ResAttr(new PropListener() {
+                        @Override
+                        public Object get(View v) {
+                            return ((TextView) v).getInputExtras(false);
+                        }
 
-            @Override
-            public Object format(AQuery q, View v, String value) {
-                return formatTextStyle(value);
-            }
-        }));
-        put(res,"typeface", new CustomAttr(new AttrListener() {
-            @Override
-            public Object get(View v) {
-                return ((TextView) v).getTypeface();
-            }
+                        @SuppressWarnings("TryWithIdenticalCatches")
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            try {
+                                ((TextView) v).setInputExtras((int) value);
+                            }
+                            catch (XmlPullParserException e) {
+                                throw new IllegalArgumentException(e);
+                            }
+                            catch (IOException e) {
+                                throw new IllegalArgumentException(e);
+                            }
+                        }
+                    }).on(TextView.class);
+                case "imeActionId" :
+                    return new IdAttr(new PropListener() {
+                        @Override
+                        public Object get(View v) {
+                            return ((TextView) v).getImeActionId();
+                        }
 
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                TextView tv = ((TextView) v);
-                tv.setTypeface((Typeface) value);
-            }
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            ((TextView) v).setImeActionLabel(((TextView) v).getImeActionLabel(), (int) value);
+                        }
+                    }).on(TextView.class);
+                case "imeActionLabel" :
+                    return new StringAttr(new PropListener() {
+                        @Override
+                        public Object get(View v) {
+                            CharSequence res = ((TextView) v).getImeActionLabel();
+                            return (res != null) ? res.toString() : null;
+                        }
 
-            @Override
-            public Object format(AQuery q, View v, String value) {
-                return formatTypeface(value);
-            }
-        }));
-        put(res,"adjustViewBounds", new BoolAttr(new PropListener() {
-            @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
-            @Override
-            public Object get(View v) {
-                return ((ImageView) v).getAdjustViewBounds();
-            }
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            ((TextView) v).setImeActionLabel((String) value, ((TextView) v).getImeActionId());
+                        }
+                    }).on(TextView.class);
+                case "imeOptions" :
+                    return new CustomAttr(new AttrListener() {
+                        @Override
+                        public Object format(AQuery q, View v, String value) {
+                            return formatOptions(value);
+                        }
 
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((ImageView) v).setAdjustViewBounds((boolean) value);
-            }
-        }));
-        put(res,"baseline", new DimenAttr(new PropListener() {
-            @Override
-            public Object get(View v) {
-                return v.getBaseline();
-            }
+                        @SuppressWarnings("ConstantConditions")
+                        @Override
+                        public Object get(View v) {
+                            try {
+                                return ((TextView) v).getImeOptions();
+                            }
+                            catch (ClassCastException e) {
+                                try {
+                                    SearchView sv = (SearchView) v;
+                                    if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN)
+                                        return sv.getImeOptions();
+                                }
+                                catch (ClassCastException e2) {
+                                    throw e;
+                                }
+                                return EditorInfo.IME_NULL;
+                            }
+                        }
 
-            @TargetApi(Build.VERSION_CODES.HONEYCOMB)
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((ImageView) v).setBaseline(intCast(value));
-            }
-        }));
-        put(res,"baselineAlignBottom", new BoolAttr(new PropListener() {
-            @TargetApi(Build.VERSION_CODES.HONEYCOMB)
-            @Override
-            public Object get(View v) {
-                return ((ImageView) v).getBaselineAlignBottom();
-            }
+                        @SuppressWarnings("ConstantConditions")
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            int iValue = (int) value;
+                            try {
+                                ((TextView) v).setImeOptions(iValue);
+                            }
+                            catch (ClassCastException e) {
+                                try {
+                                    SearchView sv = (SearchView) v;
+                                    if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.ICE_CREAM_SANDWICH)
+                                        sv.setImeOptions(iValue);
+                                }
+                                catch (ClassCastException e2) {
+                                    throw e;
+                                }
+                            }
+                        }
+                    }).on(TextView.class, SearchView.class);
+                case "inputType" :
+                    return new CustomAttr(new AttrListener() {
+                        @SuppressWarnings("ConstantConditions")
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            int iValue = (int) value;
+                            try {
+                                ((TextView) v).setInputType(iValue);
+                            }
+                            catch (ClassCastException e) {
+                                try {
+                                    SearchView sv = (SearchView) v;
+                                    if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.ICE_CREAM_SANDWICH)
+                                        sv.setInputType(iValue);
+                                }
+                                catch (ClassCastException e2) {
+                                    throw e;
+                                }
+                            }
+                        }
 
-            @TargetApi(Build.VERSION_CODES.HONEYCOMB)
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((ImageView) v).setBaselineAlignBottom((boolean) value);
-            }
-        }));
-        put(res,"cropToPadding", new BoolAttr(new PropListener() {
-            @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
-            @Override
-            public Object get(View v) {
-                return ((ImageView) v).getCropToPadding();
-            }
+                        @Override
+                        public Object format(AQuery q, View v, String value) {
+                            return formatInputType(value);
+                        }
 
-            @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((ImageView) v).setCropToPadding((boolean) value);
-            }
-        }));
-        put(res,"scaleType", new CustomAttr(new AttrListener() {
-            @Override
-            public Object format(AQuery q, View v, String value) {
-                return formatScale(value);
-            }
+                        @SuppressWarnings("ConstantConditions")
+                        @Override
+                        public Object get(View v) {
+                            try {
+                                return ((TextView) v).getInputType();
+                            }
+                            catch (ClassCastException e) {
+                                try {
+                                    SearchView sv = (SearchView) v;
+                                    if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN)
+                                        return sv.getInputType();
+                                }
+                                catch (ClassCastException e2) {
+                                    throw e;
+                                }
+                                return InputType.TYPE_NULL;
+                            }
+                        }
+                    }).on(TextView.class, SearchView.class);
+                case "numeric" :
+                    return inputTypeAttr(InputType.TYPE_NUMBER_FLAG_DECIMAL);
+                case "password" :
+                    return inputTypeAttr(InputType.TYPE_TEXT_VARIATION_PASSWORD);
+                case "phoneNumber" :
+                    return inputTypeAttr(InputType.TYPE_CLASS_PHONE);
+                case "privateImeOptions" :
+                    return new StringAttr(new PropListener() {
+                        @Override
+                        public Object get(View v) {
+                            return ((TextView) v).getPrivateImeOptions();
+                        }
 
-            @Override
-            public Object get(View v) {
-                return ((ImageView) v).getScaleType();
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            ((TextView) v).setPrivateImeOptions((String) value);
+                        }
+                    }).on(TextView.class);
+                default :
+                    return null;
             }
+        }
+    }
+    /**
+     * The attributes of the ImageViews, like "src" or "scaleType"
+     */
+    private static class ImageViewAttrs {
+        static AttrSetter create(String name) {
+            switch (name) {
+                case "src" :
+                    return new DrawableAttr(new PropListener() {
+                        @Override
+                        public Object get(View v) {
+                            return ((ImageView) v).getDrawable();
+                        }
 
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((ImageView) v).setScaleType((ImageView.ScaleType) value);
-            }
-        }));
-        put(res,"tint", new TintAttr(new PropListener() {
-            @TargetApi(Build.VERSION_CODES.LOLLIPOP)
-            @Override
-            public Object get(View v) {
-                return ((ImageView) v).getImageTintList();
-            }
+                        @SuppressWarnings("ConstantConditions")
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            ImageView iv = (ImageView) v;
+                            try {
+                                iv.setImageDrawable((Drawable) value);
+                            } catch (ClassCastException e) {
+                                try {
+                                    iv.setImageBitmap((Bitmap) value);
+                                } catch (ClassCastException e2) {
+                                    try {
+                                        iv.setImageResource((int) value);
+                                    } catch (ClassCastException e3) {
+                                        throw e;
+                                    }
+                                }
+                            }
+                        }
+                    }).on(ImageView.class);
+                case "adjustViewBounds" :
+                    return new BoolAttr(new PropListener() {
+                        @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+                        @Override
+                        public Object get(View v) {
+                            return ((ImageView) v).getAdjustViewBounds();
+                        }
 
-            @TargetApi(Build.VERSION_CODES.LOLLIPOP)
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((ImageView) v).setImageTintList((ColorStateList) value);
-            }
-        }));
-        put(res,"tintMode", new ModeAttr(new PropListener() {
-            @TargetApi(Build.VERSION_CODES.LOLLIPOP)
-            @Override
-            public Object get(View v) {
-                return ((ImageView) v).getImageTintMode();
-            }
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            ((ImageView) v).setAdjustViewBounds((boolean) value);
+                        }
+                    }).on(ImageView.class);
+                case "baseline" :
+                    return new DimenAttr(new IntProp() {
+                        @Override
+                        public int getInt(View v) {
+                            return v.getBaseline();
+                        }
 
-            @TargetApi(Build.VERSION_CODES.LOLLIPOP)
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((ImageView) v).setImageTintMode((PorterDuff.Mode) value);
-            }
-        }));
-        put(res,"dropDownHorizontalOffset", new IntAttr(new PropListener() {
-            @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
-            @Override
-            public Object get(View v) {
-                return ((Spinner) v).getDropDownHorizontalOffset();
-            }
+                        @TargetApi(Build.VERSION_CODES.HONEYCOMB)
+                        @Override
+                        public void setInt(AQuery q, View v, int value) {
+                            ((ImageView) v).setBaseline(value);
+                        }
+                    });
+                case "baselineAlignBottom" :
+                    return new BoolAttr(new PropListener() {
+                        @TargetApi(Build.VERSION_CODES.HONEYCOMB)
+                        @Override
+                        public Object get(View v) {
+                            return ((ImageView) v).getBaselineAlignBottom();
+                        }
 
-            @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((Spinner) v).setDropDownHorizontalOffset(intCast(value));
-            }
-        }));
-        put(res,"dropDownVerticalOffset", new IntAttr(new PropListener() {
-            @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
-            @Override
-            public Object get(View v) {
-                return ((Spinner) v).getDropDownVerticalOffset();
-            }
+                        @TargetApi(Build.VERSION_CODES.HONEYCOMB)
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            ((ImageView) v).setBaselineAlignBottom((boolean) value);
+                        }
+                    }).on(ImageView.class);
+                case "cropToPadding" :
+                    return new BoolAttr(new PropListener() {
+                        @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+                        @Override
+                        public Object get(View v) {
+                            return ((ImageView) v).getCropToPadding();
+                        }
 
-            @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((Spinner) v).setDropDownVerticalOffset(intCast(value));
-            }
-        }));
-        put(res,"dropDownWidth", new WidthAttr(new PropListener() {
-            @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
-            @Override
-            public Object get(View v) {
-                return ((Spinner) v).getDropDownWidth();
-            }
+                        @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            ((ImageView) v).setCropToPadding((boolean) value);
+                        }
+                    }).on(ImageView.class);
+                case "scaleType" :
+                    return new CustomAttr(new AttrListener() {
+                        @Override
+                        public Object format(AQuery q, View v, String value) {
+                            return formatScale(value);
+                        }
 
-            @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((Spinner) v).setDropDownWidth((int) value);
-            }
-        }));
-        put(res,"popupBackground", new DrawableAttr(new PropListener() {
-            @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
-            @Override
-            public Object get(View v) {
-                return ((Spinner) v).getPopupBackground();
-            }
+                        @Override
+                        public Object get(View v) {
+                            return ((ImageView) v).getScaleType();
+                        }
 
-            @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                Spinner sv = (Spinner) v;
-                try {
-                    sv.setPopupBackgroundDrawable((Drawable) value);
-                }
-                catch (ClassCastException e) {
-                    sv.setPopupBackgroundResource((int) value);
-                }
-            }
-        }));
-        put(res,"prompt", new StringAttr(new PropListener() {
-            @Override
-            public Object get(View v) {
-                return ((Spinner) v).getPrompt();
-            }
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            ((ImageView) v).setScaleType((ImageView.ScaleType) value);
+                        }
+                    }).on(ImageView.class);
+                case "tint" :
+                    return new TintAttr(new PropListener() {
+                        @TargetApi(Build.VERSION_CODES.LOLLIPOP)
+                        @Override
+                        public Object get(View v) {
+                            return ((ImageView) v).getImageTintList();
+                        }
 
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((Spinner) v).setPrompt((String) value);
-            }
-        }));
-        put(res,"entries", new CustomAttr(new AttrListener() {
-            @Override
-            public Object format(AQuery q, View v, String value) {
-                return q.formatStringArray(value);
-            }
+                        @TargetApi(Build.VERSION_CODES.LOLLIPOP)
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            ((ImageView) v).setImageTintList((ColorStateList) value);
+                        }
+                    }).on(ImageView.class);
+                case "tintMode" :
+                    return new ModeAttr(new PropListener() {
+                        @TargetApi(Build.VERSION_CODES.LOLLIPOP)
+                        @Override
+                        public Object get(View v) {
+                            return ((ImageView) v).getImageTintMode();
+                        }
 
-            @SuppressWarnings("ConstantConditions")
-            @Override
-            public Object get(View v) {
-                Adapter adapter;
-                try {
-                    adapter = ((Spinner) v).getAdapter();
-                }
-                catch (ClassCastException e) {
-                    try {
-                        adapter = ((ListView) v).getAdapter();
-                    }
-                    catch (ClassCastException e2) {
-                        throw e;
-                    }
-                }
-                String[] res = new String[adapter.getCount()];
-                for (int i = 0; i < adapter.getCount(); i++)
-                    res[i] = (String) adapter.getItem(i);
-                return res;
+                        @TargetApi(Build.VERSION_CODES.LOLLIPOP)
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            ((ImageView) v).setImageTintMode((PorterDuff.Mode) value);
+                        }
+                    }).on(ImageView.class);
+                default :
+                    return null;
             }
+        }
+    }
+    /**
+     * The attributes of the AdapterViews, like the Spinners, ListViews, GridViews and AdapterViewFlippers
+     */
+    private static class AdapterViewAttrs {
+        static AttrSetter create(String name) {
+            switch (name) {
+                case "dropDownHorizontalOffset" :
+                    return new IntAttr(new IntProp() {
+                        @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+                        @Override
+                        public int getInt(View v) {
+                            return ((Spinner) v).getDropDownHorizontalOffset();
+                        }
 
-            @SuppressWarnings("ConstantConditions")
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ArrayAdapter<String> spinnerArrayAdapter = new ArrayAdapter<>(q.ctx, android.R.layout.simple_spinner_item, (String[]) value);
-                spinnerArrayAdapter.setDropDownViewResource(android.R.layout.simple_spinner_dropdown_item); // The drop down view
-                try {
-                    ((Spinner) v).setAdapter(spinnerArrayAdapter);
-                }
-                catch (ClassCastException e) {
-                    try {
-                        ((ListView) v).setAdapter(spinnerArrayAdapter);
-                    }
-                    catch (ClassCastException e2) {
-                        throw e;
-                    }
-                }
-            }
-        }));
-        put(res,"checked", new BoolAttr(new PropListener() {
-            @SuppressWarnings("ConstantConditions")
-            @Override
-            public Object get(View v) {
-                return ((Checkable) v).isChecked();
-            }
+                        @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+                        @Override
+                        public void setInt(AQuery q, View v, int value) {
+                            ((Spinner) v).setDropDownHorizontalOffset(value);
+                        }
+                    }).on(Spinner.class);
+                case "dropDownVerticalOffset" :
+                    return new IntAttr(new IntProp() {
+                        @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+                        @Override
+                        public int getInt(View v) {
+                            return ((Spinner) v).getDropDownVerticalOffset();
+                        }
 
-            @SuppressWarnings("ConstantConditions")
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((Checkable) v).setChecked((boolean) value);
-            }
-        }));
-        put(res, "enabled", new BoolAttr(new PropListener() {
-            @Override
-            public Object get(View v) {
-                return v.isEnabled();
-            }
+                        @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+                        @Override
+                        public void setInt(AQuery q, View v, int value) {
+                            ((Spinner) v).setDropDownVerticalOffset(value);
+                        }
+                    }).on(Spinner.class);
+                case "dropDownWidth" :
+                    return new WidthAttr(new PropListener() {
+                        @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+                        @Override
+                        public Object get(View v) {
+                            return ((Spinner) v).getDropDownWidth();
+                        }
 
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                v.setEnabled((boolean) value);
-            }
-        }));
-        put(res,"ignoreGravity", new IdAttr(new PropListener() {
-            @Override
-            public Object get(View v) {
-                return 0;
-            }
+                        @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            ((Spinner) v).setDropDownWidth((int) value);
+                        }
+                    }).on(Spinner.class);
+                case "popupBackground" :
+                    return new DrawableAttr(new PropListener() {
+                        @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+                        @Override
+                        public Object get(View v) {
+                            return ((Spinner) v).getPopupBackground();
+                        }
 
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((RelativeLayout) v).setIgnoreGravity((int) value);
-            }
-        }));
-        put(res,"button", new DrawableAttr(new PropListener() {
-            @Override
-            public Object get(View v) {
-                return ((CompoundButton) v).getCompoundDrawables();
-            }
+                        @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            Spinner sv = (Spinner) v;
+                            try {
+                                sv.setPopupBackgroundDrawable((Drawable) value);
+                            }
+                            catch (ClassCastException e) {
+                                sv.setPopupBackgroundResource((int) value);
+                            }
+                        }
+                    }).on(Spinner.class);
+                case "prompt" :
+                    return new StringAttr(new PropListener() {
+                        @Override
+                        public Object get(View v) {
+                            return ((Spinner) v).getPrompt();
+                        }
 
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((CompoundButton) v).setButtonDrawable((Drawable) value);
-            }
-        }));
-        put(res,"buttonTint", new TintAttr(new PropListener() {
-            @TargetApi(Build.VERSION_CODES.LOLLIPOP)
-            @Override
-            public Object get(View v) {
-                return ((CompoundButton) v).getButtonTintList();
-            }
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            ((Spinner) v).setPrompt((String) value);
+                        }
+                    }).on(Spinner.class);
+                case "entries" :
+                    return new CustomAttr(new AttrListener() {
+                        @Override
+                        public Object format(AQuery q, View v, String value) {
+                            return q.formatStringArray(value);
+                        }
 
-            @TargetApi(Build.VERSION_CODES.LOLLIPOP)
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((CompoundButton) v).setButtonTintList((ColorStateList) value);
-            }
-        }));
-        put(res,"buttonTintMode", new ModeAttr(new PropListener() {
-            @TargetApi(Build.VERSION_CODES.LOLLIPOP)
-            @Override
-            public Object get(View v) {
-                return ((RadioButton) v).getButtonTintMode();
-            }
+                        @SuppressWarnings("ConstantConditions")
+                        @Override
+                        public Object get(View v) {
+                            Adapter adapter;
+                            try {
+                                adapter = ((Spinner) v).getAdapter();
+                            }
+                            catch (ClassCastException e) {
+                                try {
+                                    adapter = ((ListView) v).getAdapter();
+                                }
+                                catch (ClassCastException e2) {
+                                    throw e;
+                                }
+                            }
+                            if (adapter == null)
+                                return new String[0];
+                            String[] res = new String[adapter.getCount()];
+                            for (int i = 0; i < adapter.getCount(); i++)
+                                res[i] = String.valueOf(adapter.getItem(i));
+                            return res;
+                        }
 
-            @TargetApi(Build.VERSION_CODES.LOLLIPOP)
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((RadioButton) v).setButtonTintMode((PorterDuff.Mode) value);
-            }
-        }));
-        put(res,"checkedButton", new IdAttr(new PropListener() {
-            @Override
-            public Object get(View v) {
-                return ((RadioGroup) v).getCheckedRadioButtonId();
-            }
+                        @SuppressWarnings("ConstantConditions")
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            ArrayAdapter<String> spinnerArrayAdapter = new ArrayAdapter<>(q.ctx, android.R.layout.simple_spinner_item, (String[]) value);
+                            spinnerArrayAdapter.setDropDownViewResource(android.R.layout.simple_spinner_dropdown_item); // The drop down view
+                            try {
+                                ((Spinner) v).setAdapter(spinnerArrayAdapter);
+                            }
+                            catch (ClassCastException e) {
+                                try {
+                                    ((ListView) v).setAdapter(spinnerArrayAdapter);
+                                }
+                                catch (ClassCastException e2) {
+                                    throw e;
+                                }
+                            }
+                        }
+                    }).on(Spinner.class, ListView.class);
+                case "cacheColorHint" :
+                    return new ColorAttr(new IntProp() {
+                        @Override
+                        public int getInt(View v) {
+                            return ((AbsListView) v).getCacheColorHint();
+                        }
 
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((RadioGroup) v).check((int) value);
-            }
-        }));
-        put(res,"showText", new BoolAttr(new PropListener() {
-            @TargetApi(Build.VERSION_CODES.LOLLIPOP)
-            @Override
-            public Object get(View v) {
-                return ((Switch) v).getShowText();
-            }
+                        @Override
+                        public void setInt(AQuery q, View v, int value) {
+                            ((AbsListView) v).setCacheColorHint(value);
+                        }
+                    }).on(AbsListView.class);
+                case "choiceMode" :
+                    return new CustomAttr(new AttrListener() {
+                        @Override
+                        public Object format(AQuery q, View v, String value) {
+                            return formatChoice(value);
+                        }
 
-            @TargetApi(Build.VERSION_CODES.LOLLIPOP)
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((Switch) v).setShowText((boolean) value);
-            }
-        }));
-        put(res,"splitTrack", new BoolAttr(new PropListener() {
-            @TargetApi(Build.VERSION_CODES.LOLLIPOP)
-            @Override
-            public Object get(View v) {
-                return ((Switch) v).getSplitTrack();
-            }
+                        @TargetApi(Build.VERSION_CODES.HONEYCOMB)
+                        @Override
+                        public Object get(View v) {
+                            return ((AbsListView) v).getChoiceMode();
+                        }
 
-            @TargetApi(Build.VERSION_CODES.LOLLIPOP)
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((Switch) v).setSplitTrack((boolean) value);
-            }
-        }));
-        put(res,"switchMinWidth", new DimenAttr(new PropListener() {
-            @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
-            @Override
-            public Object get(View v) {
-                return ((Switch) v).getSwitchMinWidth();
-            }
+                        @TargetApi(Build.VERSION_CODES.HONEYCOMB)
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            ((AbsListView) v).setChoiceMode((int) value);
+                        }
+                    }).on(AbsListView.class);
+                case "drawSelectorOnTop" :
+                    return new BoolAttr(new PropListener() {
+                        @Override
+                        public Object get(View v) {
+                            return false;
+                        }
 
-            @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((Switch) v).setSwitchMinWidth(intCast(value));
-            }
-        }));
-        put(res,"switchPadding", new DimenAttr(new PropListener() {
-            @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
-            @Override
-            public Object get(View v) {
-                return ((Switch) v).getSwitchPadding();
-            }
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            ((AbsListView) v).setDrawSelectorOnTop((boolean) value);
+                        }
+                    });
+                case "fastScrollEnabled" :
+                    return new BoolAttr(new PropListener() {
+                        @Override
+                        public Object get(View v) {
+                            return ((AbsListView) v).isFastScrollEnabled();
+                        }
 
-            @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((Switch) v).setSwitchPadding(intCast(value));
-            }
-        }));
-        put(res,"switchTextAppearance", new ResAttr(new PropListener() {
-            @Override
-            public Object get(View v) {
-                return null;
-            }
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            ((AbsListView) v).setFastScrollEnabled((boolean) value);
+                        }
+                    }).on(AbsListView.class);
+                case "listSelector" :
+                    return new IntAttr(new PropListener() {
+                        @Override
+                        public Object get(View v) {
+                            return ((AbsListView) v).getSelector();
+                        }
 
-            @TargetApi(Build.VERSION_CODES.ICE_CREAM_SANDWICH)
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((Switch) v).setSwitchTextAppearance(q.ctx, (int) value);
-            }
-        }));
-        put(res,"textOff", new StringAttr(new PropListener() {
-            @SuppressWarnings("ConstantConditions")
-            @Override
-            public Object get(View v) {
-                try {
-                    return ((ToggleButton) v).getTextOff();
-                }
-                catch (ClassCastException e) {
-                    try {
-                        Switch s = (Switch) v;
-                        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.ICE_CREAM_SANDWICH)
-                            return s.getTextOff();
-                    }
-                    catch (ClassCastException e2) {
-                        throw e;
-                    }
-                    return null;
-                }
-            }
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            ((AbsListView) v).setSelection((int) value);
+                        }
+                    }).on(AbsListView.class);
+                case "scrollingCache" :
+                    return new BoolAttr(new PropListener() {
+                        @Override
+                        public Object get(View v) {
+                            return ((AbsListView) v).isScrollingCacheEnabled();
+                        }
 
-            @SuppressWarnings("ConstantConditions")
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                String sValue = (String) value;
-                try {
-                    ((ToggleButton) v).setTextOff(sValue);
-                }
-                catch (ClassCastException e) {
-                    try {
-                        Switch s = (Switch) v;
-                        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.ICE_CREAM_SANDWICH)
-                            s.setTextOff(sValue);
-                    }
-                    catch (ClassCastException e2) {
-                        throw e;
-                    }
-                }
-            }
-        }));
-        put(res,"textOn", new StringAttr(new PropListener() {
-            @SuppressWarnings("ConstantConditions")
-            @Override
-            public Object get(View v) {
-                try {
-                    return ((ToggleButton) v).getTextOn();
-                }
-                catch (ClassCastException e) {
-                    try {
-                        Switch s = (Switch) v;
-                        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.ICE_CREAM_SANDWICH)
-                            return s.getTextOn();
-                    }
-                    catch (ClassCastException e2) {
-                        throw e;
-                    }
-                    return null;
-                }
-            }
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            ((AbsListView) v).setScrollingCacheEnabled((boolean) value);
+                        }
+                    }).on(AbsListView.class);
+                case "smoothScrollbar" :
+                    return new BoolAttr(new PropListener() {
+                        @Override
+                        public Object get(View v) {
+                            return ((AbsListView) v).isSmoothScrollbarEnabled();
+                        }
 
-            @SuppressWarnings("ConstantConditions")
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                String sValue = (String) value;
-                try {
-                    ((ToggleButton) v).setTextOn(sValue);
-                }
-                catch (ClassCastException e) {
-                    try {
-                        Switch s = (Switch) v;
-                        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.ICE_CREAM_SANDWICH)
-                            s.setTextOn(sValue);
-                    }
-                    catch (ClassCastException e2) {
-                        throw e;
-                    }
-                }
-            }
-        }));
-        put(res,"thumb", new DrawableAttr(new PropListener() {
-            @SuppressWarnings("ConstantConditions")
-            @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
-            @Override
-            public Object get(View v) {
-                try {
-                    return ((SeekBar) v).getThumb();
-                }
-                catch (ClassCastException e) {
-                    try {
-                        return ((Switch) v).getThumbDrawable();
-                    }
-                    catch (ClassCastException e2) {
-                        throw e;
-                    }
-                }
-            }
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            ((AbsListView) v).setSmoothScrollbarEnabled((boolean) value);
+                        }
+                    }).on(AbsListView.class);
+                case "stackFromBottom" :
+                    return new BoolAttr(new PropListener() {
+                        @Override
+                        public Object get(View v) {
+                            return ((AbsListView) v).isStackFromBottom();
+                        }
 
-            @SuppressWarnings("ConstantConditions")
-            @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                try {
-                    ((SeekBar) v).setThumb((Drawable) value);
-                }
-                catch (ClassCastException e) {
-                    Switch sv = (Switch) v;
-                    try {
-                        sv.setThumbDrawable((Drawable) value);
-                    } catch (ClassCastException e2) {
-                        sv.setThumbResource((int) value);
-                    }
-                }
-            }
-        }));
-        put(res,"thumbTextPadding", new DimenAttr(new PropListener() {
-            @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
-            @Override
-            public Object get(View v) {
-                return ((Switch) v).getThumbTextPadding();
-            }
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            ((AbsListView) v).setStackFromBottom((boolean) value);
+                        }
+                    }).on(AbsListView.class);
+                case "textFilterEnabled" :
+                    return new BoolAttr(new PropListener() {
+                        @Override
+                        public Object get(View v) {
+                            return ((AbsListView) v).isTextFilterEnabled();
+                        }
 
-            @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((Switch) v).setThumbTextPadding(intCast(value));
-            }
-        }));
-        put(res,"track", new DrawableAttr(new PropListener() {
-            @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
-            @Override
-            public Object get(View v) {
-                return ((Switch) v).getTrackDrawable();
-            }
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            ((AbsListView) v).setTextFilterEnabled((boolean) value);
+                        }
+                    }).on(AbsListView.class);
+                case "transcriptMode" :
+                    return new CustomAttr(new AttrListener() {
+                        @Override
+                        public Object format(AQuery q, View v, String value) {
+                            return formatTranscript(value);
+                        }
 
-            @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                Switch sv = (Switch)v;
-                try {
-                    sv.setTrackDrawable((Drawable) value);
-                }
-                catch (ClassCastException e) {
-                    sv.setTrackResource((int) value);
-                }
-            }
-        }));
-        put(res,"checkMark", new DrawableAttr(new PropListener() {
-            @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
-            @Override
-            public Object get(View v) {
-                return ((CheckedTextView) v).getCheckMarkDrawable();
-            }
+                        @Override
+                        public Object get(View v) {
+                            return ((AbsListView) v).getTranscriptMode();
+                        }
 
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                CheckedTextView ctv = ((CheckedTextView) v);
-                try {
-                    ctv.setCheckMarkDrawable((Drawable) value);
-                }
-                catch (ClassCastException e) {
-                    ctv.setCheckMarkDrawable((int) value);
-                }
-            }
-        }));
-        put(res,"checkMarkTint", new TintAttr(new PropListener() {
-            @TargetApi(Build.VERSION_CODES.LOLLIPOP)
-            @Override
-            public Object get(View v) {
-                return ((CheckedTextView) v).getCheckMarkTintList();
-            }
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            ((AbsListView) v).setTranscriptMode((int) value);
+                        }
+                    }).on(AbsListView.class);
+                case "columnWidth" :
+                    return new DimenAttr(new IntProp() {
+                        @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+                        @Override
+                        public int getInt(View v) {
+                            return ((GridView) v).getColumnWidth();
+                        }
 
-            @TargetApi(Build.VERSION_CODES.LOLLIPOP)
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((CheckedTextView) v).setCheckMarkTintList((ColorStateList) value);
-            }
-        }));
-        put(res,"checkMarkTintMode", new ModeAttr(new PropListener() {
-            @TargetApi(Build.VERSION_CODES.LOLLIPOP)
-            @Override
-            public Object get(View v) {
-                return ((CheckedTextView) v).getCheckMarkTintList();
-            }
+                        @Override
+                        public void setInt(AQuery q, View v, int value) {
+                            ((GridView) v).setColumnWidth(value);
+                        }
+                    }).on(GridView.class);
+                case "horizontalSpacing" :
+                    return new DimenAttr(new IntProp() {
+                        @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+                        @Override
+                        public int getInt(View v) {
+                            return ((GridView) v).getHorizontalSpacing();
+                        }
 
-            @TargetApi(Build.VERSION_CODES.LOLLIPOP)
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((CheckedTextView) v).setCheckMarkTintMode((PorterDuff.Mode) value);
-            }
-        }));
-        put(res,"format", new StringAttr(new PropListener() {
-            @Override
-            public Object get(View v) {
-                return ((Chronometer) v).getFormat();
-            }
+                        @Override
+                        public void setInt(AQuery q, View v, int value) {
+                            ((GridView) v).setHorizontalSpacing(value);
+                        }
+                    }).on(GridView.class);
+                case "numColumns" :
+                    return new IntAttr(new IntProp() {
+                        @TargetApi(Build.VERSION_CODES.HONEYCOMB)
+                        @Override
+                        public int getInt(View v) {
+                            return ((GridView) v).getNumColumns();
+                        }
 
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((Chronometer) v).setFormat((String) value);
-            }
-        }));
-        put(res,"format12Hour", new StringAttr(new PropListener() {
-            @TargetApi(Build.VERSION_CODES.JELLY_BEAN_MR1)
-            @Override
-            public Object get(View v) {
-                return ((TextClock) v).getFormat12Hour();
-            }
+                        @Override
+                        public void setInt(AQuery q, View v, int value) {
+                            ((GridView) v).setNumColumns(value);
+                        }
+                    }).on(GridView.class);
+                case "stretchMode" :
+                    return new CustomAttr(new AttrListener() {
+                        @Override
+                        public Object format(AQuery q, View v, String value) {
+                            return formatStretch(value);
+                        }
 
-            @TargetApi(Build.VERSION_CODES.JELLY_BEAN_MR1)
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((TextClock) v).setFormat12Hour((String) value);
-            }
-        }));
-        put(res,"format24Hour", new StringAttr(new PropListener() {
-            @TargetApi(Build.VERSION_CODES.JELLY_BEAN_MR1)
-            @Override
-            public Object get(View v) {
-                return ((TextClock) v).getFormat24Hour();
-            }
+                        @Override
+                        public Object get(View v) {
+                            return ((GridView) v).getStretchMode();
+                        }
 
-            @TargetApi(Build.VERSION_CODES.JELLY_BEAN_MR1)
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((TextClock) v).setFormat24Hour((String) value);
-            }
-        }));
-        put(res,"timeZone", new StringAttr(new PropListener() {
-            @TargetApi(Build.VERSION_CODES.JELLY_BEAN_MR1)
-            @Override
-            public Object get(View v) {
-                return ((TextClock) v).getTimeZone();
-            }
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            ((GridView) v).setStretchMode((int) value);
+                        }
+                    }).on(GridView.class);
+                case "verticalSpacing" :
+                    return new DimenAttr(new IntProp() {
+                        @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+                        @Override
+                        public int getInt(View v) {
+                            return ((GridView) v).getVerticalSpacing();
+                        }
 
-            @TargetApi(Build.VERSION_CODES.JELLY_BEAN_MR1)
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((TextClock) v).setTimeZone((String) value);
-            }
-        }));
-        put(res,"indeterminate", new BoolAttr(new PropListener() {
-            @Override
-            public Object get(View v) {
-                return ((ProgressBar) v).isIndeterminate();
-            }
+                        @Override
+                        public void setInt(AQuery q, View v, int value) {
+                            ((GridView) v).setVerticalSpacing(value);
+                        }
+                    }).on(GridView.class);
+                case "divider" :
+                    return new DrawableAttr(new PropListener() {
+                        @SuppressWarnings("ConstantConditions")
+                        @Override
+                        public Object get(View v) {
+                            try {
+                                return ((ListView) v).getDivider();
+                            }
+                            catch (ClassCastException e) {
+                                try {
+                                    LinearLayout ll = (LinearLayout) v;
+                                    if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN)
+                                        return ll.getDividerDrawable();
+                                }
+                                catch (ClassCastException e2) {
+                                    throw e;
+                                }
+                                return null;
+                            }
+                        }
 
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((ProgressBar) v).setIndeterminate((boolean) value);
-            }
-        }));
-        put(res,"indeterminateDrawable", new DrawableAttr(new PropListener() {
-            @Override
-            public Object get(View v) {
-                return ((ProgressBar) v).getIndeterminateDrawable();
-            }
+                        @SuppressWarnings("ConstantConditions")
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            Drawable dValue = (Drawable) value;
+                            try {
+                                ((ListView) v).setDivider(dValue);
+                            }
+                            catch (ClassCastException e) {
+                                try {
+                                    ((TabWidget) v).setDividerDrawable(dValue);
+                                }
+                                catch (ClassCastException e2) {
+                                    try {
+                                        LinearLayout ll = (LinearLayout) v;
+                                        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.HONEYCOMB)
+                                            ll.setDividerDrawable(dValue);
+                                    }
+                                    catch (ClassCastException e3) {
+                                        throw e;
+                                    }
+                                }
+                            }
+                        }
+                    }).on(ListView.class, LinearLayout.class);
+                case "dividerHeight" :
+                    return new DimenAttr(new IntProp() {
+                        @Override
+                        public int getInt(View v) {
+                            return ((ListView) v).getDividerHeight();
+                        }
 
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((ProgressBar) v).setIndeterminateDrawable((Drawable) value);
-            }
-        }));
-        put(res,"indeterminateTint", new TintAttr(new PropListener() {
-            @TargetApi(Build.VERSION_CODES.LOLLIPOP)
-            @Override
-            public Object get(View v) {
-                return ((ProgressBar) v).getIndeterminateTintList();
-            }
+                        @Override
+                        public void setInt(AQuery q, View v, int value) {
+                            ((ListView) v).setDividerHeight(value);
+                        }
+                    }).on(ListView.class);
+                case "footerDividersEnabled" :
+                    return new BoolAttr(new PropListener() {
+                        @TargetApi(Build.VERSION_CODES.KITKAT)
+                        @Override
+                        public Object get(View v) {
+                            return ((ListView) v).areFooterDividersEnabled();
+                        }
 
-            @TargetApi(Build.VERSION_CODES.LOLLIPOP)
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((ProgressBar) v).setIndeterminateTintList((ColorStateList) value);
-            }
-        }));
-        put(res,"indeterminateTintMode", new ModeAttr(new PropListener() {
-            @TargetApi(Build.VERSION_CODES.LOLLIPOP)
-            @Override
-            public Object get(View v) {
-                return ((ProgressBar) v).getIndeterminateTintMode();
-            }
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            ((ListView) v).setFooterDividersEnabled((boolean) value);
+                        }
+                    }).on(ListView.class);
+                case "headerDividersEnabled" :
+                    return new BoolAttr(new PropListener() {
+                        @TargetApi(Build.VERSION_CODES.KITKAT)
+                        @Override
+                        public Object get(View v) {
+                            return ((ListView) v).areHeaderDividersEnabled();
+                        }
 
-            @TargetApi(Build.VERSION_CODES.LOLLIPOP)
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((ProgressBar) v).setIndeterminateTintMode((PorterDuff.Mode) value);
-            }
-        }));
-        put(res,"interpolator", new ResAttr(new PropListener() {
-            @Override
-            public Object get(View v) {
-                return ((ProgressBar) v).getInterpolator();
-            }
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            ((ListView) v).setHeaderDividersEnabled((boolean) value);
+                        }
+                    }).on(ListView.class);
+                case "childDivider" :
+                    return new DrawableAttr(new PropListener() {
+                        @Override
+                        public Object get(View v) {
+                            return null;
+                        }
 
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ProgressBar pb = (ProgressBar)v;
-                try {
-                    pb.setInterpolator(q.ctx, (int) value);
-                }
-                catch (ClassCastException e) {
-                    pb.setInterpolator((android.view.animation.Interpolator) value);
-                }
-            }
-        }));
-        put(res,"max", new IntAttr(new PropListener() {
-            @Override
-            public Object get(View v) {
-                return ((ProgressBar) v).getMax();
-            }
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            ((ExpandableListView) v).setChildDivider((Drawable) value);
+                        }
+                    });
+                case "childIndicator" :
+                    return new DrawableAttr(new PropListener() {
+                        @Override
+                        public Object get(View v) {
+                            return null;
+                        }
 
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((ProgressBar) v).setMax(intCast(value));
-            }
-        }));
-        put(res,"progress", new IntAttr(new PropListener() {
-            @Override
-            public Object get(View v) {
-                return ((ProgressBar) v).getProgress();
-            }
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            ((ExpandableListView) v).setChildIndicator((Drawable) value);
+                        }
+                    });
+                case "childIndicatorLeft" :
+                    return new DimenAttr(new IntProp() {
+                        @Override
+                        public int getInt(View v) {
+                            return 0;
+                        }
 
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((ProgressBar) v).setProgress(intCast(value));
-            }
-        }));
-        put(res,"progressBackgroundTint", new TintAttr(new PropListener() {
-            @TargetApi(Build.VERSION_CODES.LOLLIPOP)
-            @Override
-            public Object get(View v) {
-                return ((ProgressBar) v).getProgressBackgroundTintList();
-            }
+                        @Override
+                        public void setInt(AQuery q, View v, int value) {
+                            ((ExpandableListView) v).setChildIndicatorBounds(value, -1);
+                        }
+                    });
+                case "childIndicatorRight" :
+                    return new DimenAttr(new IntProp() {
+                        @Override
+                        public int getInt(View v) {
+                            return 0;
+                        }
 
-            @TargetApi(Build.VERSION_CODES.LOLLIPOP)
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((ProgressBar) v).setProgressBackgroundTintList((ColorStateList) value);
-            }
-        }));
-        put(res,"progressBackgroundTintMode", new ModeAttr(new PropListener() {
-            @TargetApi(Build.VERSION_CODES.LOLLIPOP)
-            @Override
-            public Object get(View v) {
-                return ((ProgressBar) v).getProgressBackgroundTintMode();
-            }
+                        @Override
+                        public void setInt(AQuery q, View v, int value) {
+                            ((ExpandableListView) v).setChildIndicatorBounds(-1, value);
+                        }
+                    });
+                case "childIndicatorStart" :
+                    return new DimenAttr(new IntProp() {
+                        @Override
+                        public int getInt(View v) {
+                            return 0;
+                        }
 
-            @TargetApi(Build.VERSION_CODES.LOLLIPOP)
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((ProgressBar) v).setProgressBackgroundTintMode((PorterDuff.Mode) value);
-            }
-        }));
-        put(res,"progressDrawable", new DrawableAttr(new PropListener() {
-            @Override
-            public Object get(View v) {
-                return ((ProgressBar) v).getProgressDrawable();
-            }
+                        @TargetApi(Build.VERSION_CODES.JELLY_BEAN_MR2)
+                        @Override
+                        public void setInt(AQuery q, View v, int value) {
+                            ((ExpandableListView) v).setChildIndicatorBoundsRelative(value, -1);
+                        }
+                    });
+                case "childIndicatorEnd" :
+                    return new DimenAttr(new IntProp() {
+                        @Override
+                        public int getInt(View v) {
+                            return 0;
+                        }
 
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((ProgressBar) v).setProgressDrawable((Drawable) value);
-            }
-        }));
-        put(res,"progressTint", new TintAttr(new PropListener() {
-            @TargetApi(Build.VERSION_CODES.LOLLIPOP)
-            @Override
-            public Object get(View v) {
-                return ((ProgressBar) v).getProgressTintList();
-            }
+                        @TargetApi(Build.VERSION_CODES.JELLY_BEAN_MR2)
+                        @Override
+                        public void setInt(AQuery q, View v, int value) {
+                            ((ExpandableListView) v).setChildIndicatorBoundsRelative(-1, value);
+                        }
+                    });
+                case "groupIndicator" :
+                    return new DrawableAttr(new PropListener() {
+                        @Override
+                        public Object get(View v) {
+                            return null;
+                        }
 
-            @TargetApi(Build.VERSION_CODES.LOLLIPOP)
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((ProgressBar) v).setProgressTintList((ColorStateList) value);
-            }
-        }));
-        put(res,"secondaryProgress", new IntAttr(new PropListener() {
-            @Override
-            public Object get(View v) {
-                return ((ProgressBar) v).getSecondaryProgress();
-            }
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            ((ExpandableListView) v).setGroupIndicator((Drawable) value);
+                        }
+                    });
+                case "indicatorLeft" :
+                    return new DimenAttr(new IntProp() {
+                        @Override
+                        public int getInt(View v) {
+                            return 0;
+                        }
 
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((ProgressBar) v).setSecondaryProgress((int) value);
-            }
-        }));
-        put(res,"secondaryProgressTint", new TintAttr(new PropListener() {
-            @TargetApi(Build.VERSION_CODES.LOLLIPOP)
-            @Override
-            public Object get(View v) {
-                return ((ProgressBar) v).getSecondaryProgressTintList();
-            }
+                        @Override
+                        public void setInt(AQuery q, View v, int value) {
+                            ((ExpandableListView) v).setIndicatorBounds(value, -1);
+                        }
+                    });
+                case "indicatorRight" :
+                    return new DimenAttr(new IntProp() {
+                        @Override
+                        public int getInt(View v) {
+                            return 0;
+                        }
 
-            @TargetApi(Build.VERSION_CODES.LOLLIPOP)
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((ProgressBar) v).setSecondaryProgressTintList((ColorStateList) value);
-            }
-        }));
-        put(res,"secondaryProgressTintMode", new ModeAttr(new PropListener() {
-            @TargetApi(Build.VERSION_CODES.LOLLIPOP)
-            @Override
-            public Object get(View v) {
-                return ((ProgressBar) v).getSecondaryProgressTintMode();
-            }
+                        @Override
+                        public void setInt(AQuery q, View v, int value) {
+                            ((ExpandableListView) v).setIndicatorBounds(-1, value);
+                        }
+                    });
+                case "indicatorStart" :
+                    return new DimenAttr(new IntProp() {
+                        @Override
+                        public int getInt(View v) {
+                            return 0;
+                        }
 
-            @TargetApi(Build.VERSION_CODES.LOLLIPOP)
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((ProgressBar) v).setSecondaryProgressTintMode((PorterDuff.Mode) value);
-            }
-        }));
-        put(res,"thumbTint", new TintAttr(new PropListener() {
-            @TargetApi(Build.VERSION_CODES.LOLLIPOP)
-            @Override
-            public Object get(View v) {
-                return ((AbsSeekBar) v).getThumbTintList();
-            }
+                        @TargetApi(Build.VERSION_CODES.JELLY_BEAN_MR2)
+                        @Override
+                        public void setInt(AQuery q, View v, int value) {
+                            ((ExpandableListView) v).setIndicatorBoundsRelative(value, -1);
+                        }
+                    });
+                case "indicatorEnd" :
+                    return new DimenAttr(new IntProp() {
+                        @Override
+                        public int getInt(View v) {
+                            return 0;
+                        }
 
-            @TargetApi(Build.VERSION_CODES.LOLLIPOP)
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((AbsSeekBar) v).setThumbTintList((ColorStateList) value);
-            }
-        }));
-        put(res,"thumbTintMode", new ModeAttr(new PropListener() {
-            @TargetApi(Build.VERSION_CODES.LOLLIPOP)
-            @Override
-            public Object get(View v) {
-                return ((AbsSeekBar) v).getThumbTintMode();
-            }
+                        @TargetApi(Build.VERSION_CODES.JELLY_BEAN_MR2)
+                        @Override
+                        public void setInt(AQuery q, View v, int value) {
+                            ((ExpandableListView) v).setIndicatorBoundsRelative(-1, value);
+                        }
+                    });
+                case "animationDuration" :
+                    return new IntAttr(new PropListener() {
+                        @Override
+                        public Object get(View v) {
+                            Animation animation = v.getAnimation();
+                            return (animation != null) ? animation.getDuration() : 0L;
+                        }
 
-            @TargetApi(Build.VERSION_CODES.LOLLIPOP)
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((AbsSeekBar) v).setThumbTintMode((PorterDuff.Mode) value);
-            }
-        }));
-        put(res,"isIndicator", new BoolAttr(new PropListener() {
-            @Override
-            public Object get(View v) {
-                return ((RatingBar) v).isIndicator();
-            }
+                        @SuppressWarnings("deprecation")
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            ((Gallery) v).setAnimationDuration(intCast(value));
+                        }
+                    });
+                case "spacing" :
+                    return new DimenAttr(new IntProp() {
+                        @Override
+                        public int getInt(View v) {
+                            return 0;
+                        }
 
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((RatingBar) v).setIsIndicator((boolean) value);
-            }
-        }));
-        put(res,"numStars", new IntAttr(new PropListener() {
-            @Override
-            public Object get(View v) {
-                return ((RatingBar) v).getNumStars();
-            }
+                        @SuppressWarnings("deprecation")
+                        @Override
+                        public void setInt(AQuery q, View v, int value) {
+                            ((Gallery) v).setSpacing(value);
+                        }
+                    });
+                case "unselectedAlpha" :
+                    return new FloatAttr(new FloatProp() {
+                        @Override
+                        public float getFloat(View v) {
+                            return 0f;
+                        }
 
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((RatingBar) v).setNumStars((int) value);
-            }
-        }));
-        put(res,"rating", new FloatAttr(new PropListener() {
-            @Override
-            public Object get(View v) {
-                return ((RatingBar) v).getRating();
-            }
+                        @SuppressWarnings("deprecation")
+                        @Override
+                        public void setFloat(AQuery q, View v, float value) {
+                            ((Gallery) v).setUnselectedAlpha(value);
+                        }
+                    });
+                case "animateFirstView" :
+                    return new BoolAttr(new PropListener() {
+                        @TargetApi(Build.VERSION_CODES.JELLY_BEAN_MR1)
+                        @Override
+                        public Object get(View v) {
+                            return ((ViewAnimator) v).getAnimateFirstView();
+                        }
 
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((RatingBar) v).setRating(floatCast(value));
-            }
-        }));
-        put(res,"stepSize", new FloatAttr(new PropListener() {
-            @Override
-            public Object get(View v) {
-                return ((RatingBar) v).getStepSize();
-            }
+                        @SuppressWarnings("ConstantConditions")
+                        @TargetApi(Build.VERSION_CODES.HONEYCOMB)
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            boolean bValue = (boolean) value;
+                            try {
+                                ((AdapterViewAnimator) v).setAnimateFirstView(bValue);
+                            }
+                            catch (ClassCastException e) {
+                                try {
+                                    ((ViewAnimator) v).setAnimateFirstView(bValue);
+                                }
+                                catch (ClassCastException e2) {
+                                    throw e;
+                                }
+                            }
+                        }
+                    }).on(ViewAnimator.class);
+                case "inAnimation" :
+                    return new CustomAttr(new AttrListener() {
+                        @Override
+                        public Object format(AQuery q, View v, String value) {
+                            return q.getIdentifier("anim", value);
+                        }
 
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((RatingBar) v).setStepSize(floatCast(value));
-            }
-        }));
-        put(res,"inflatedId", new IdAttr(new PropListener() {
-            @Override
-            public Object get(View v) {
-                return ((ViewStub) v).getInflatedId();
-            }
+                        @SuppressWarnings("ConstantConditions")
+                        @TargetApi(Build.VERSION_CODES.HONEYCOMB)
+                        @Override
+                        public Object get(View v) {
+                            try {
+                                return ((AdapterViewAnimator) v).getInAnimation();
+                            }
+                            catch (ClassCastException e) {
+                                try {
+                                    return ((ViewAnimator) v).getInAnimation();
+                                }
+                                catch (ClassCastException e2) {
+                                    throw e;
+                                }
+                            }
+                        }
 
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((ViewStub) v).setInflatedId((int) value);
-            }
-        }));
-        put(res,"layout", new ResAttr(new PropListener() {
-            @Override
-            public Object get(View v) {
-                return ((ViewStub) v).getLayoutResource();
-            }
+                        @TargetApi(Build.VERSION_CODES.HONEYCOMB)
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            try {
+                                AdapterViewAnimator ava = (AdapterViewAnimator) v;
+                                try {
+                                    ava.setInAnimation(q.ctx, (int) value);
+                                } catch (ClassCastException e) {
+                                    try {
+                                        ava.setInAnimation((ObjectAnimator) value);
+                                    }
+                                    catch (ClassCastException e2) {
+                                        throw e;
+                                    }
+                                }
+                            }
+                            catch (ClassCastException e) {
+                                ViewAnimator va = (ViewAnimator) v;
+                                try {
+                                    va.setInAnimation(q.ctx, (int) value);
+                                }
+                                catch (ClassCastException e2) {
+                                    try {
+                                        va.setInAnimation((Animation) value);
+                                    }
+                                    catch (ClassCastException e3) {
+                                        throw e;
+                                    }
+                                }
+                            }
+                        }
+                    }).on(AdapterViewAnimator.class, ViewAnimator.class);
+                case "outAnimation" :
+                    return new CustomAttr(new AttrListener() {
+                        @Override
+                        public Object format(AQuery q, View v, String value) {
+                            return q.getIdentifier("anim", value);
+                        }
 
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((ViewStub) v).setLayoutResource((int) value);
-            }
-        }));
-        put(res,"cacheColorHint", new ColorAttr(new PropListener() {
-            @Override
-            public Object get(View v) {
-                return ((AbsListView) v).getCacheColorHint();
-            }
+                        @SuppressWarnings("ConstantConditions")
+                        @TargetApi(Build.VERSION_CODES.HONEYCOMB)
+                        @Override
+                        public Object get(View v) {
+                            try {
+                                return ((AdapterViewAnimator) v).getOutAnimation();
+                            }
+                            catch (ClassCastException e) {
+                                try {
+                                    return ((ViewAnimator) v).getOutAnimation();
+                                }
+                                catch (ClassCastException e2) {
+                                    throw e;
+                                }
+                            }
+                        }
 
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((AbsListView) v).setCacheColorHint((int) value);
-            }
-        }));
-        put(res,"choiceMode", new CustomAttr(new AttrListener() {
-            @Override
-            public Object format(AQuery q, View v, String value) {
-                return formatChoice(value);
-            }
+                        @SuppressWarnings("ConstantConditions")
+                        @TargetApi(Build.VERSION_CODES.HONEYCOMB)
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            try {
+                                AdapterViewAnimator ava = (AdapterViewAnimator) v;
+                                try {
+                                    ava.setOutAnimation(q.ctx, (int) value);
+                                } catch (ClassCastException e) {
+                                    ava.setOutAnimation((ObjectAnimator) value);
+                                }
+                            }
+                            catch (ClassCastException e) {
+                                ViewAnimator va = (ViewAnimator) v;
+                                try {
+                                    va.setOutAnimation(q.ctx, (int) value);
+                                }
+                                catch (ClassCastException e2) {
+                                    va.setOutAnimation((Animation) value);
+                                }
+                            }
+                        }
+                    }).on(AdapterViewAnimator.class, ViewAnimator.class);
+                case "autoStart" :
+                    return new BoolAttr(new PropListener() {
+                        @TargetApi(Build.VERSION_CODES.HONEYCOMB)
+                        @Override
+                        public Object get(View v) {
+                            return ((AdapterViewFlipper) v).isAutoStart();
+                        }
 
-            @TargetApi(Build.VERSION_CODES.HONEYCOMB)
-            @Override
-            public Object get(View v) {
-                return ((AbsListView) v).getChoiceMode();
-            }
+                        @TargetApi(Build.VERSION_CODES.HONEYCOMB)
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            ((AdapterViewFlipper) v).setAutoStart((boolean) value);
+                        }
+                    }).on(AdapterViewFlipper.class);
+                case "flipInterval" :
+                    return new IntAttr(new IntProp() {
+                        @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+                        @Override
+                        public int getInt(View v) {
+                            return ((AdapterViewFlipper) v).getFlipInterval();
+                        }
 
-            @TargetApi(Build.VERSION_CODES.HONEYCOMB)
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((AbsListView) v).setChoiceMode((int) value);
-            }
-        }));
-        put(res,"drawSelectorOnTop", new BoolAttr(new PropListener() {
-            @Override
-            public Object get(View v) {
-                return false;
+                        @TargetApi(Build.VERSION_CODES.HONEYCOMB)
+                        @Override
+                        public void setInt(AQuery q, View v, int value) {
+                            ((AdapterViewFlipper) v).setFlipInterval(value);
+                        }
+                    }).on(AdapterViewFlipper.class);
+                default :
+                    return null;
             }
+        }
+    }
+    /**
+     * The attributes of the other widgets and layouts, like the CompoundButtons, ProgressBars, FrameLayouts or GridLayouts
+     */
+    private static class WidgetAttrs {
+        static AttrSetter create(String name) {
+            switch (name) {
+                case "checked" :
+                    return new BoolAttr(new PropListener() {
+                        @SuppressWarnings("ConstantConditions")
+                        @Override
+                        public Object get(View v) {
+                            return ((Checkable) v).isChecked();
+                        }
 
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((AbsListView) v).setDrawSelectorOnTop((boolean) value);
-            }
-        }));
-        put(res,"fastScrollEnabled", new BoolAttr(new PropListener() {
-            @Override
-            public Object get(View v) {
-                return ((AbsListView) v).isFastScrollEnabled();
-            }
+                        @SuppressWarnings("ConstantConditions")
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            ((Checkable) v).setChecked((boolean) value);
+                        }
+                    }).on(Checkable.class);
+                case "enabled" :
+                    return new BoolAttr(new PropListener() {
+                        @Override
+                        public Object get(View v) {
+                            return v.isEnabled();
+                        }
 
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((AbsListView) v).setFastScrollEnabled((boolean) value);
-            }
-        }));
-        put(res,"listSelector", new IntAttr(new PropListener() {
-            @Override
-            public Object get(View v) {
-                return ((AbsListView) v).getSelector();
-            }
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            v.setEnabled((boolean) value);
+                        }
+                    });
+                case "ignoreGravity" :
+                    return new IdAttr(new PropListener() {
+                        @Override
+                        public Object get(View v) {
+                            return 0;
+                        }
 
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((AbsListView) v).setSelection((int) value);
-            }
-        }));
-        put(res,"scrollingCache", new BoolAttr(new PropListener() {
-            @Override
-            public Object get(View v) {
-                return ((AbsListView) v).isScrollingCacheEnabled();
-            }
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            ((RelativeLayout) v).setIgnoreGravity((int) value);
+                        }
+                    });
+                case "button" :
+                    return new DrawableAttr(new PropListener() {
+                        @Override
+                        public Object get(View v) {
+                            return ((CompoundButton) v).getCompoundDrawables();
+                        }
 
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((AbsListView) v).setScrollingCacheEnabled((boolean) value);
-            }
-        }));
-        put(res,"smoothScrollbar", new BoolAttr(new PropListener() {
-            @Override
-            public Object get(View v) {
-                return ((AbsListView) v).isSmoothScrollbarEnabled();
-            }
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            ((CompoundButton) v).setButtonDrawable((Drawable) value);
+                        }
+                    }).on(CompoundButton.class);
+                case "buttonTint" :
+                    return new TintAttr(new PropListener() {
+                        @TargetApi(Build.VERSION_CODES.LOLLIPOP)
+                        @Override
+                        public Object get(View v) {
+                            return ((CompoundButton) v).getButtonTintList();
+                        }
 
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((AbsListView) v).setSmoothScrollbarEnabled((boolean) value);
-            }
-        }));
-        put(res,"stackFromBottom", new BoolAttr(new PropListener() {
-            @Override
-            public Object get(View v) {
-                return ((AbsListView) v).isStackFromBottom();
-            }
+                        @TargetApi(Build.VERSION_CODES.LOLLIPOP)
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            ((CompoundButton) v).setButtonTintList((ColorStateList) value);
+                        }
+                    }).on(CompoundButton.class);
+                case "buttonTintMode" :
+                    return new ModeAttr(new PropListener() {
+                        @TargetApi(Build.VERSION_CODES.LOLLIPOP)
+                        @Override
+                        public Object get(View v) {
+                            return ((RadioButton) v).getButtonTintMode();
+                        }
 
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((AbsListView) v).setStackFromBottom((boolean) value);
-            }
-        }));
-        put(res,"textFilterEnabled", new BoolAttr(new PropListener() {
-            @Override
-            public Object get(View v) {
-                return ((AbsListView) v).isTextFilterEnabled();
-            }
+                        @TargetApi(Build.VERSION_CODES.LOLLIPOP)
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            ((RadioButton) v).setButtonTintMode((PorterDuff.Mode) value);
+                        }
+                    }).on(RadioButton.class);
+                case "checkedButton" :
+                    return new IdAttr(new PropListener() {
+                        @Override
+                        public Object get(View v) {
+                            return ((RadioGroup) v).getCheckedRadioButtonId();
+                        }
 
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((AbsListView) v).setTextFilterEnabled((boolean) value);
-            }
-        }));
-        put(res,"transcriptMode", new CustomAttr(new AttrListener() {
-            @Override
-            public Object format(AQuery q, View v, String value) {
-                return formatTranscript(value);
-            }
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            ((RadioGroup) v).check((int) value);
+                        }
+                    }).on(RadioGroup.class);
+                case "showText" :
+                    return new BoolAttr(new PropListener() {
+                        @TargetApi(Build.VERSION_CODES.LOLLIPOP)
+                        @Override
+                        public Object get(View v) {
+                            return ((Switch) v).getShowText();
+                        }
 
-            @Override
-            public Object get(View v) {
-                return ((AbsListView) v).getTranscriptMode();
-            }
+                        @TargetApi(Build.VERSION_CODES.LOLLIPOP)
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            ((Switch) v).setShowText((boolean) value);
+                        }
+                    }).on(Switch.class);
+                case "splitTrack" :
+                    return new BoolAttr(new PropListener() {
+                        @TargetApi(Build.VERSION_CODES.LOLLIPOP)
+                        @Override
+                        public Object get(View v) {
+                            return ((Switch) v).getSplitTrack();
+                        }
 
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((AbsListView) v).setTranscriptMode((int) value);
-            }
-        }));
-        put(res,"columnWidth", new DimenAttr(new PropListener() {
-            @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
-            @Override
-            public Object get(View v) {
-                return ((GridView) v).getColumnWidth();
-            }
+                        @TargetApi(Build.VERSION_CODES.LOLLIPOP)
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            ((Switch) v).setSplitTrack((boolean) value);
+                        }
+                    }).on(Switch.class);
+                case "switchMinWidth" :
+                    return new DimenAttr(new IntProp() {
+                        @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+                        @Override
+                        public int getInt(View v) {
+                            return ((Switch) v).getSwitchMinWidth();
+                        }
 
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((GridView) v).setColumnWidth(intCast(value));
-            }
-        }));
-        put(res,"horizontalSpacing", new DimenAttr(new PropListener() {
-            @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
-            @Override
-            public Object get(View v) {
-                return ((GridView) v).getHorizontalSpacing();
-            }
+                        @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+                        @Override
+                        public void setInt(AQuery q, View v, int value) {
+                            ((Switch) v).setSwitchMinWidth(value);
+                        }
+                    }).on(Switch.class);
+                case "switchPadding" :
+                    return new DimenAttr(new IntProp() {
+                        @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+                        @Override
+                        public int getInt(View v) {
+                            return ((Switch) v).getSwitchPadding();
+                        }
 
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((GridView) v).setHorizontalSpacing(intCast(value));
-            }
-        }));
-        put(res,"numColumns", new IntAttr(new PropListener() {
-            @TargetApi(Build.VERSION_CODES.HONEYCOMB)
-            @Override
-            public Object get(View v) {
-                return ((GridView) v).getNumColumns();
-            }
+                        @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+                        @Override
+                        public void setInt(AQuery q, View v, int value) {
+                            ((Switch) v).setSwitchPadding(value);
+                        }
+                    }).on(Switch.class);
+                case "switchTextAppearance" :
+                    return new ResAttr(new PropListener() {
+                        @Override
+                        public Object get(View v) {
+                            return null;
+                        }
 
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((GridView) v).setNumColumns((int) value);
-            }
-        }));
-        put(res,"stretchMode", new CustomAttr(new AttrListener() {
-            @Override
-            public Object format(AQuery q, View v, String value) {
-                return formatStretch(value);
-            }
+                        @TargetApi(Build.VERSION_CODES.ICE_CREAM_SANDWICH)
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            ((Switch) v).setSwitchTextAppearance(q.ctx, (int) value);
+                        }
+                    });
+                case "textOff" :
+                    return new StringAttr(new PropListener() {
+                        @SuppressWarnings("ConstantConditions")
+                        @Override
+                        public Object get(View v) {
+                            try {
+                                return ((ToggleButton) v).getTextOff();
+                            }
+                            catch (ClassCastException e) {
+                                try {
+                                    Switch s = (Switch) v;
+                                    if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.ICE_CREAM_SANDWICH)
+                                        return s.getTextOff();
+                                }
+                                catch (ClassCastException e2) {
+                                    throw e;
+                                }
+                                return null;
+                            }
+                        }
 
-            @Override
-            public Object get(View v) {
-                return ((GridView) v).getStretchMode();
-            }
+                        @SuppressWarnings("ConstantConditions")
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            String sValue = (String) value;
+                            try {
+                                ((ToggleButton) v).setTextOff(sValue);
+                            }
+                            catch (ClassCastException e) {
+                                try {
+                                    Switch s = (Switch) v;
+                                    if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.ICE_CREAM_SANDWICH)
+                                        s.setTextOff(sValue);
+                                }
+                                catch (ClassCastException e2) {
+                                    throw e;
+                                }
+                            }
+                        }
+                    }).on(ToggleButton.class, Switch.class);
+                case "textOn" :
+                    return new StringAttr(new PropListener() {
+                        @SuppressWarnings("ConstantConditions")
+                        @Override
+                        public Object get(View v) {
+                            try {
+                                return ((ToggleButton) v).getTextOn();
+                            }
+                            catch (ClassCastException e) {
+                                try {
+                                    Switch s = (Switch) v;
+                                    if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.ICE_CREAM_SANDWICH)
+                                        return s.getTextOn();
+                                }
+                                catch (ClassCastException e2) {
+                                    throw e;
+                                }
+                                return null;
+                            }
+                        }
 
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((GridView) v).setStretchMode((int) value);
-            }
-        }));
-        put(res,"verticalSpacing", new DimenAttr(new PropListener() {
-            @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
-            @Override
-            public Object get(View v) {
-                return ((GridView) v).getVerticalSpacing();
-            }
+                        @SuppressWarnings("ConstantConditions")
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            String sValue = (String) value;
+                            try {
+                                ((ToggleButton) v).setTextOn(sValue);
+                            }
+                            catch (ClassCastException e) {
+                                try {
+                                    Switch s = (Switch) v;
+                                    if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.ICE_CREAM_SANDWICH)
+                                        s.setTextOn(sValue);
+                                }
+                                catch (ClassCastException e2) {
+                                    throw e;
+                                }
+                            }
+                        }
+                    }).on(ToggleButton.class, Switch.class);
+                case "thumb" :
+                    return new DrawableAttr(new PropListener() {
+                        @SuppressWarnings("ConstantConditions")
+                        @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+                        @Override
+                        public Object get(View v) {
+                            try {
+                                return ((SeekBar) v).getThumb();
+                            }
+                            catch (ClassCastException e) {
+                                try {
+                                    return ((Switch) v).getThumbDrawable();
+                                }
+                                catch (ClassCastException e2) {
+                                    throw e;
+                                }
+                            }
+                        }
 
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((GridView) v).setVerticalSpacing(intCast(value));
-            }
-        }));
-        put(res,"divider", new DrawableAttr(new PropListener() {
-            @SuppressWarnings("ConstantConditions")
-            @Override
-            public Object get(View v) {
-                try {
-                    return ((ListView) v).getDivider();
-                }
-                catch (ClassCastException e) {
-                    try {
-                        LinearLayout ll = (LinearLayout) v;
-                        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN)
-                            return ll.getDividerDrawable();
-                    }
-                    catch (ClassCastException e2) {
-                        throw e;
-                    }
-                    return null;
-                }
-            }
+                        @SuppressWarnings("ConstantConditions")
+                        @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            try {
+                                ((SeekBar) v).setThumb((Drawable) value);
+                            }
+                            catch (ClassCastException e) {
+                                Switch sv = (Switch) v;
+                                try {
+                                    sv.setThumbDrawable((Drawable) value);
+                                } catch (ClassCastException e2) {
+                                    sv.setThumbResource((int) value);
+                                }
+                            }
+                        }
+                    }).on(SeekBar.class, Switch.class);
+                case "thumbTextPadding" :
+                    return new DimenAttr(new IntProp() {
+                        @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+                        @Override
+                        public int getInt(View v) {
+                            return ((Switch) v).getThumbTextPadding();
+                        }
 
-            @SuppressWarnings("ConstantConditions")
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                Drawable dValue = (Drawable) value;
-                try {
-                    ((ListView) v).setDivider(dValue);
-                }
-                catch (ClassCastException e) {
-                    try {
-                        ((TabWidget) v).setDividerDrawable(dValue);
-                    }
-                    catch (ClassCastException e2) {
-                        try {
-                            LinearLayout ll = (LinearLayout) v;
-                            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.HONEYCOMB)
-                                ll.setDividerDrawable(dValue);
+                        @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+                        @Override
+                        public void setInt(AQuery q, View v, int value) {
+                            ((Switch) v).setThumbTextPadding(value);
                         }
-                        catch (ClassCastException e3) {
-                            throw e;
+                    }).on(Switch.class);
+                case "track" :
+                    return new DrawableAttr(new PropListener() {
+                        @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+                        @Override
+                        public Object get(View v) {
+                            return ((Switch) v).getTrackDrawable();
                         }
-                    }
-                }
-            }
-        }));
-        put(res,"dividerHeight", new DimenAttr(new PropListener() {
-            @Override
-            public Object get(View v) {
-                return ((ListView) v).getDividerHeight();
-            }
 
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((ListView) v).setDividerHeight(intCast(value));
-            }
-        }));
-        put(res,"footerDividersEnabled", new BoolAttr(new PropListener() {
-            @TargetApi(Build.VERSION_CODES.KITKAT)
-            @Override
-            public Object get(View v) {
-                return ((ListView) v).areFooterDividersEnabled();
-            }
+                        @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            Switch sv = (Switch)v;
+                            try {
+                                sv.setTrackDrawable((Drawable) value);
+                            }
+                            catch (ClassCastException e) {
+                                sv.setTrackResource((int) value);
+                            }
+                        }
+                    }).on(Switch.class);
+                case "checkMark" :
+                    return new DrawableAttr(new PropListener() {
+                        @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+                        @Override
+                        public Object get(View v) {
+                            return ((CheckedTextView) v).getCheckMarkDrawable();
+                        }
 
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((ListView) v).setFooterDividersEnabled((boolean) value);
-            }
-        }));
-        put(res,"headerDividersEnabled", new BoolAttr(new PropListener() {
-            @TargetApi(Build.VERSION_CODES.KITKAT)
-            @Override
-            public Object get(View v) {
-                return ((ListView) v).areHeaderDividersEnabled();
-            }
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            CheckedTextView ctv = ((CheckedTextView) v);
+                            try {
+                                ctv.setCheckMarkDrawable((Drawable) value);
+                            }
+                            catch (ClassCastException e) {
+                                ctv.setCheckMarkDrawable((int) value);
+                            }
+                        }
+                    }).on(CheckedTextView.class);
+                case "checkMarkTint" :
+                    return new TintAttr(new PropListener() {
+                        @TargetApi(Build.VERSION_CODES.LOLLIPOP)
+                        @Override
+                        public Object get(View v) {
+                            return ((CheckedTextView) v).getCheckMarkTintList();
+                        }
 
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((ListView) v).setHeaderDividersEnabled((boolean) value);
-            }
-        }));
-        put(res,"childDivider", new DrawableAttr(new PropListener() {
-            @Override
-            public Object get(View v) {
-                return null;
-            }
+                        @TargetApi(Build.VERSION_CODES.LOLLIPOP)
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            ((CheckedTextView) v).setCheckMarkTintList((ColorStateList) value);
+                        }
+                    }).on(CheckedTextView.class);
+                case "checkMarkTintMode" :
+                    return new ModeAttr(new PropListener() {
+                        @TargetApi(Build.VERSION_CODES.LOLLIPOP)
+                        @Override
+                        public Object get(View v) {
+                            return ((CheckedTextView) v).getCheckMarkTintList();
+                        }
 
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((ExpandableListView) v).setChildDivider((Drawable) value);
-            }
-        }));
-        put(res,"childIndicator", new DrawableAttr(new PropListener() {
-            @Override
-            public Object get(View v) {
-                return null;
-            }
+                        @TargetApi(Build.VERSION_CODES.LOLLIPOP)
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            ((CheckedTextView) v).setCheckMarkTintMode((PorterDuff.Mode) value);
+                        }
+                    }).on(CheckedTextView.class);
+                case "format" :
+                    return new StringAttr(new PropListener() {
+                        @Override
+                        public Object get(View v) {
+                            return ((Chronometer) v).getFormat();
+                        }
 
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((ExpandableListView) v).setChildIndicator((Drawable) value);
-            }
-        }));
-        put(res,"childIndicatorLeft", new DimenAttr(new PropListener() {
-            @Override
-            public Object get(View v) {
-                return 0;
-            }
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            ((Chronometer) v).setFormat((String) value);
+                        }
+                    }).on(Chronometer.class);
+                case "format12Hour" :
+                    return new StringAttr(new PropListener() {
+                        @TargetApi(Build.VERSION_CODES.JELLY_BEAN_MR1)
+                        @Override
+                        public Object get(View v) {
+                            return ((TextClock) v).getFormat12Hour();
+                        }
 
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((ExpandableListView) v).setChildIndicatorBounds(intCast(value), -1);
-            }
-        }));
-        put(res,"childIndicatorRight", new DimenAttr(new PropListener() {
-            @Override
-            public Object get(View v) {
-                return 0;
-            }
+                        @TargetApi(Build.VERSION_CODES.JELLY_BEAN_MR1)
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            ((TextClock) v).setFormat12Hour((String) value);
+                        }
+                    }).on(TextClock.class);
+                case "format24Hour" :
+                    return new StringAttr(new PropListener() {
+                        @TargetApi(Build.VERSION_CODES.JELLY_BEAN_MR1)
+                        @Override
+                        public Object get(View v) {
+                            return ((TextClock) v).getFormat24Hour();
+                        }
 
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((ExpandableListView) v).setChildIndicatorBounds(-1, intCast(value));
-            }
-        }));
-        put(res,"childIndicatorStart", new DimenAttr(new PropListener() {
-            @Override
-            public Object get(View v) {
-                return 0;
-            }
+                        @TargetApi(Build.VERSION_CODES.JELLY_BEAN_MR1)
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            ((TextClock) v).setFormat24Hour((String) value);
+                        }
+                    }).on(TextClock.class);
+                case "timeZone" :
+                    return new StringAttr(new PropListener() {
+                        @TargetApi(Build.VERSION_CODES.JELLY_BEAN_MR1)
+                        @Override
+                        public Object get(View v) {
+                            return ((TextClock) v).getTimeZone();
+                        }
 
-            @TargetApi(Build.VERSION_CODES.JELLY_BEAN_MR2)
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((ExpandableListView) v).setChildIndicatorBoundsRelative(intCast(value), -1);
-            }
-        }));
-        put(res,"childIndicatorEnd", new DimenAttr(new PropListener() {
-            @Override
-            public Object get(View v) {
-                return 0;
-            }
+                        @TargetApi(Build.VERSION_CODES.JELLY_BEAN_MR1)
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            ((TextClock) v).setTimeZone((String) value);
+                        }
+                    }).on(TextClock.class);
+                case "indeterminate" :
+                    return new BoolAttr(new PropListener() {
+                        @Override
+                        public Object get(View v) {
+                            return ((ProgressBar) v).isIndeterminate();
+                        }
 
-            @TargetApi(Build.VERSION_CODES.JELLY_BEAN_MR2)
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((ExpandableListView) v).setChildIndicatorBoundsRelative(-1, intCast(value));
-            }
-        }));
-        put(res,"groupIndicator", new DrawableAttr(new PropListener() {
-            @Override
-            public Object get(View v) {
-                return null;
-            }
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            ((ProgressBar) v).setIndeterminate((boolean) value);
+                        }
+                    }).on(ProgressBar.class);
+                case "indeterminateDrawable" :
+                    return new DrawableAttr(new PropListener() {
+                        @Override
+                        public Object get(View v) {
+                            return ((ProgressBar) v).getIndeterminateDrawable();
+                        }
 
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((ExpandableListView) v).setGroupIndicator((Drawable) value);
-            }
-        }));
-        put(res,"indicatorLeft", new DimenAttr(new PropListener() {
-            @Override
-            public Object get(View v) {
-                return 0;
-            }
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            ((ProgressBar) v).setIndeterminateDrawable((Drawable) value);
+                        }
+                    }).on(ProgressBar.class);
+                case "indeterminateTint" :
+                    return new TintAttr(new PropListener() {
+                        @TargetApi(Build.VERSION_CODES.LOLLIPOP)
+                        @Override
+                        public Object get(View v) {
+                            return ((ProgressBar) v).getIndeterminateTintList();
+                        }
 
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((ExpandableListView) v).setIndicatorBounds(intCast(value), -1);
-            }
-        }));
-        put(res,"indicatorRight", new DimenAttr(new PropListener() {
-            @Override
-            public Object get(View v) {
-                return 0;
-            }
+                        @TargetApi(Build.VERSION_CODES.LOLLIPOP)
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            ((ProgressBar) v).setIndeterminateTintList((ColorStateList) value);
+                        }
+                    }).on(ProgressBar.class);
+                case "indeterminateTintMode" :
+                    return new ModeAttr(new PropListener() {
+                        @TargetApi(Build.VERSION_CODES.LOLLIPOP)
+                        @Override
+                        public Object get(View v) {
+                            return ((ProgressBar) v).getIndeterminateTintMode();
+                        }
 
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((ExpandableListView) v).setIndicatorBounds(-1, intCast(value));
-            }
-        }));
-        put(res,"indicatorStart", new DimenAttr(new PropListener() {
-            @Override
-            public Object get(View v) {
-                return 0;
-            }
+                        @TargetApi(Build.VERSION_CODES.LOLLIPOP)
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            ((ProgressBar) v).setIndeterminateTintMode((PorterDuff.Mode) value);
+                        }
+                    }).on(ProgressBar.class);
+                case "interpolator" :
+                    return new ResAttr(new PropListener() {
+                        @Override
+                        public Object get(View v) {
+                            return ((ProgressBar) v).getInterpolator();
+                        }
 
-            @TargetApi(Build.VERSION_CODES.JELLY_BEAN_MR2)
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((ExpandableListView) v).setIndicatorBoundsRelative(intCast(value), -1);
-            }
-        }));
-        put(res,"indicatorEnd", new DimenAttr(new PropListener() {
-            @Override
-            public Object get(View v) {
-                return 0;
-            }
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            ProgressBar pb = (ProgressBar)v;
+                            try {
+                                pb.setInterpolator(q.ctx, (int) value);
+                            }
+                            catch (ClassCastException e) {
+                                pb.setInterpolator((android.view.animation.Interpolator) value);
+                            }
+                        }
+                    }).on(ProgressBar.class);
+                case "max" :
+                    return new IntAttr(new IntProp() {
+                        @Override
+                        public int getInt(View v) {
+                            return ((ProgressBar) v).getMax();
+                        }
 
-            @TargetApi(Build.VERSION_CODES.JELLY_BEAN_MR2)
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((ExpandableListView) v).setIndicatorBoundsRelative(-1, intCast(value));
-            }
-        }));
-        put(res,"animationDuration", new IntAttr(new PropListener() {
-            @Override
-            public Object get(View v) {
-                return v.getAnimation().getDuration();
-            }
+                        @Override
+                        public void setInt(AQuery q, View v, int value) {
+                            ((ProgressBar) v).setMax(value);
+                        }
+                    }).on(ProgressBar.class);
+                case "progress" :
+                    return new IntAttr(new IntProp() {
+                        @Override
+                        public int getInt(View v) {
+                            return ((ProgressBar) v).getProgress();
+                        }
 
-            @SuppressWarnings("deprecation")
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((Gallery) v).setAnimationDuration(intCast(value));
-            }
-        }));
-        put(res,"spacing", new DimenAttr(new PropListener() {
-            @Override
-            public Object get(View v) {
-                return 0;
-            }
+                        @Override
+                        public void setInt(AQuery q, View v, int value) {
+                            ((ProgressBar) v).setProgress(value);
+                        }
+                    }).on(ProgressBar.class);
+                case "progressBackgroundTint" :
+                    return new TintAttr(new PropListener() {
+                        @TargetApi(Build.VERSION_CODES.LOLLIPOP)
+                        @Override
+                        public Object get(View v) {
+                            return ((ProgressBar) v).getProgressBackgroundTintList();
+                        }
 
-            @SuppressWarnings("deprecation")
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((Gallery) v).setSpacing(intCast(value));
-            }
-        }));
-        put(res,"unselectedAlpha", new FloatAttr(new PropListener() {
-            @Override
-            public Object get(View v) {
-                return 0f;
-            }
+                        @TargetApi(Build.VERSION_CODES.LOLLIPOP)
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            ((ProgressBar) v).setProgressBackgroundTintList((ColorStateList) value);
+                        }
+                    }).on(ProgressBar.class);
+                case "progressBackgroundTintMode" :
+                    return new ModeAttr(new PropListener() {
+                        @TargetApi(Build.VERSION_CODES.LOLLIPOP)
+                        @Override
+                        public Object get(View v) {
+                            return ((ProgressBar) v).getProgressBackgroundTintMode();
+                        }
 
-            @SuppressWarnings("deprecation")
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((Gallery) v).setUnselectedAlpha(floatCast(value));
-            }
-        }));
-        put(res,"animateFirstView", new BoolAttr(new PropListener() {
-            @TargetApi(Build.VERSION_CODES.JELLY_BEAN_MR1)
-            @Override
-            public Object get(View v) {
-                return ((ViewAnimator) v).getAnimateFirstView();
-            }
+                        @TargetApi(Build.VERSION_CODES.LOLLIPOP)
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            ((ProgressBar) v).setProgressBackgroundTintMode((PorterDuff.Mode) value);
+                        }
+                    }).on(ProgressBar.class);
+                case "progressDrawable" :
+                    return new DrawableAttr(new PropListener() {
+                        @Override
+                        public Object get(View v) {
+                            return ((ProgressBar) v).getProgressDrawable();
+                        }
 
-            @SuppressWarnings("ConstantConditions")
-            @TargetApi(Build.VERSION_CODES.HONEYCOMB)
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                boolean bValue = (boolean) value;
-                try {
-                    ((AdapterViewAnimator) v).setAnimateFirstView(bValue);
-                }
-                catch (ClassCastException e) {
-                    try {
-                        ((ViewAnimator) v).setAnimateFirstView(bValue);
-                    }
-                    catch (ClassCastException e2) {
-                        throw e;
-                    }
-                }
-            }
-        }));
-        put(res,"inAnimation", new CustomAttr(new AttrListener() {
-            @Override
-            public Object format(AQuery q, View v, String value) {
-                return q.getIdentifier("anim", value);
-            }
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            ((ProgressBar) v).setProgressDrawable((Drawable) value);
+                        }
+                    }).on(ProgressBar.class);
+                case "progressTint" :
+                    return new TintAttr(new PropListener() {
+                        @TargetApi(Build.VERSION_CODES.LOLLIPOP)
+                        @Override
+                        public Object get(View v) {
+                            return ((ProgressBar) v).getProgressTintList();
+                        }
 
-            @SuppressWarnings("ConstantConditions")
-            @TargetApi(Build.VERSION_CODES.HONEYCOMB)
-            @Override
-            public Object get(View v) {
-                try {
-                    return ((AdapterViewAnimator) v).getInAnimation();
-                }
-                catch (ClassCastException e) {
-                    try {
-                        return ((ViewAnimator) v).getInAnimation();
-                    }
-                    catch (ClassCastException e2) {
-                        throw e;
-                    }
-                }
-            }
+                        @TargetApi(Build.VERSION_CODES.LOLLIPOP)
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            ((ProgressBar) v).setProgressTintList((ColorStateList) value);
+                        }
+                    }).on(ProgressBar.class);
+                case "secondaryProgress" :
+                    return new IntAttr(new IntProp() {
+                        @Override
+                        public int getInt(View v) {
+                            return ((ProgressBar) v).getSecondaryProgress();
+                        }
 
-            @TargetApi(Build.VERSION_CODES.HONEYCOMB)
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                try {
-                    AdapterViewAnimator ava = (AdapterViewAnimator) v;
-                    try {
-                        ava.setInAnimation(q.ctx, (int) value);
-                    } catch (ClassCastException e) {
-                        try {
-                            ava.setInAnimation((ObjectAnimator) value);
+                        @Override
+                        public void setInt(AQuery q, View v, int value) {
+                            ((ProgressBar) v).setSecondaryProgress(value);
                         }
-                        catch (ClassCastException e2) {
-                            throw e;
+                    }).on(ProgressBar.class);
+                case "secondaryProgressTint" :
+                    return new TintAttr(new PropListener() {
+                        @TargetApi(Build.VERSION_CODES.LOLLIPOP)
+                        @Override
+                        public Object get(View v) {
+                            return ((ProgressBar) v).getSecondaryProgressTintList();
                         }
-                    }
-                }
-                catch (ClassCastException e) {
-                    ViewAnimator va = (ViewAnimator) v;
-                    try {
-                        va.setInAnimation(q.ctx, (int) value);
-                    }
-                    catch (ClassCastException e2) {
-                        try {
-                            va.setInAnimation((Animation) value);
+
+                        @TargetApi(Build.VERSION_CODES.LOLLIPOP)
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            ((ProgressBar) v).setSecondaryProgressTintList((ColorStateList) value);
                         }
-                        catch (ClassCastException e3) {
-                            throw e;
+                    }).on(ProgressBar.class);
+                case "secondaryProgressTintMode" :
+                    return new ModeAttr(new PropListener() {
+                        @TargetApi(Build.VERSION_CODES.LOLLIPOP)
+                        @Override
+                        public Object get(View v) {
+                            return ((ProgressBar) v).getSecondaryProgressTintMode();
                         }
-                    }
-                }
-            }
-        }));
-        put(res,"outAnimation", new CustomAttr(new AttrListener() {
-            @Override
-            public Object format(AQuery q, View v, String value) {
-                return q.getIdentifier("anim", value);
-            }
-
-            @SuppressWarnings("ConstantConditions")
-            @TargetApi(Build.VERSION_CODES.HONEYCOMB)
-            @Override
-            public Object get(View v) {
-                try {
-                    return ((AdapterViewAnimator) v).getOutAnimation();
-                }
-                catch (ClassCastException e) {
-                    try {
-                        return ((ViewAnimator) v).getOutAnimation();
-                    }
-                    catch (ClassCastException e2) {
-                        throw e;
-                    }
-                }
-            }
 
-            @SuppressWarnings("ConstantConditions")
-            @TargetApi(Build.VERSION_CODES.HONEYCOMB)
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                try {
-                    AdapterViewAnimator ava = (AdapterViewAnimator) v;
-                    try {
-                        ava.setOutAnimation(q.ctx, (int) value);
-                    } catch (ClassCastException e) {
-                        ava.setOutAnimation((ObjectAnimator) value);
-                    }
-                }
-                catch (ClassCastException e) {
-                    ViewAnimator va = (ViewAnimator) v;
-                    try {
-                        va.setOutAnimation(q.ctx, (int) value);
-                    }
-                    catch (ClassCastException e2) {
-                        va.setOutAnimation((Animation) value);
-                    }
-                }
-            }
-        }));
-        put(res,"autoStart", new BoolAttr(new PropListener() {
-            @TargetApi(Build.VERSION_CODES.HONEYCOMB)
-            @Override
-            public Object get(View v) {
-                return ((AdapterViewFlipper) v).isAutoStart();
-            }
+                        @TargetApi(Build.VERSION_CODES.LOLLIPOP)
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            ((ProgressBar) v).setSecondaryProgressTintMode((PorterDuff.Mode) value);
+                        }
+                    }).on(ProgressBar.class);
+                case "thumbTint" :
+                    return new TintAttr(new PropListener() {
+                        @TargetApi(Build.VERSION_CODES.LOLLIPOP)
+                        @Override
+                        public Object get(View v) {
+                            return ((AbsSeekBar) v).getThumbTintList();
+                        }
 
-            @TargetApi(Build.VERSION_CODES.HONEYCOMB)
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((AdapterViewFlipper) v).setAutoStart((boolean) value);
-            }
-        }));
-        put(res,"flipInterval", new IntAttr(new PropListener() {
-            @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
-            @Override
-            public Object get(View v) {
-                return ((AdapterViewFlipper) v).getFlipInterval();
-            }
+                        @TargetApi(Build.VERSION_CODES.LOLLIPOP)
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            ((AbsSeekBar) v).setThumbTintList((ColorStateList) value);
+                        }
+                    }).on(AbsSeekBar.class);
+                case "thumbTintMode" :
+                    return new ModeAttr(new PropListener() {
+                        @TargetApi(Build.VERSION_CODES.LOLLIPOP)
+                        @Override
+                        public Object get(View v) {
+                            return ((AbsSeekBar) v).getThumbTintMode();
+                        }
 
-            @TargetApi(Build.VERSION_CODES.HONEYCOMB)
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((AdapterViewFlipper) v).setFlipInterval(intCast(value));
-            }
-        }));
-        put(res,"foreground", new DrawableAttr(new PropListener() {
-            @TargetApi(Build.VERSION_CODES.M)
-            @Override
-            public Object get(View v) {
-                return v.getForeground();
-            }
+                        @TargetApi(Build.VERSION_CODES.LOLLIPOP)
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            ((AbsSeekBar) v).setThumbTintMode((PorterDuff.Mode) value);
+                        }
+                    }).on(AbsSeekBar.class);
+                case "isIndicator" :
+                    return new BoolAttr(new PropListener() {
+                        @Override
+                        public Object get(View v) {
+                            return ((RatingBar) v).isIndicator();
+                        }
 
-            @TargetApi(Build.VERSION_CODES.M)
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                v.setForeground((Drawable) value);
-            }
-        }));
-        put(res,"foregroundGravity", new CustomAttr(new AttrListener() {
-            @Override
-            public Object format(AQuery q, View v, String value) {
-                return formatGravity(value);
-            }
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            ((RatingBar) v).setIsIndicator((boolean) value);
+                        }
+                    }).on(RatingBar.class);
+                case "numStars" :
+                    return new IntAttr(new IntProp() {
+                        @Override
+                        public int getInt(View v) {
+                            return ((RatingBar) v).getNumStars();
+                        }
 
-            @TargetApi(Build.VERSION_CODES.M)
-            @Override
-            public Object get(View v) {
-                return v.getForegroundGravity();
-            }
+                        @Override
+                        public void setInt(AQuery q, View v, int value) {
+                            ((RatingBar) v).setNumStars(value);
+                        }
+                    }).on(RatingBar.class);
+                case "rating" :
+                    return new FloatAttr(new FloatProp() {
+                        @Override
+                        public float getFloat(View v) {
+                            return ((RatingBar) v).getRating();
+                        }
 
-            @TargetApi(Build.VERSION_CODES.M)
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                v.setForegroundGravity((int) value);
-            }
-        }));
-        put(res,"foregroundTint", new TintAttr(new PropListener() {
-            @TargetApi(Build.VERSION_CODES.M)
-            @Override
-            public Object get(View v) {
-                return v.getForegroundTintList();
-            }
+                        @Override
+                        public void setFloat(AQuery q, View v, float value) {
+                            ((RatingBar) v).setRating(value);
+                        }
+                    }).on(RatingBar.class);
+                case "stepSize" :
+                    return new FloatAttr(new FloatProp() {
+                        @Override
+                        public float getFloat(View v) {
+                            return ((RatingBar) v).getStepSize();
+                        }
 
-            @TargetApi(Build.VERSION_CODES.M)
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                v.setForegroundTintList((ColorStateList) value);
-            }
-        }));
-        put(res,"foregroundTintMode", new ModeAttr(new PropListener() {
-            @TargetApi(Build.VERSION_CODES.M)
-            @Override
-            public Object get(View v) {
-                return v.getForegroundTintMode();
-            }
+                        @Override
+                        public void setFloat(AQuery q, View v, float value) {
+                            ((RatingBar) v).setStepSize(value);
+                        }
+                    }).on(RatingBar.class);
+                case "inflatedId" :
+                    return new IdAttr(new PropListener() {
+                        @Override
+                        public Object get(View v) {
+                            return ((ViewStub) v).getInflatedId();
+                        }
 
-            @TargetApi(Build.VERSION_CODES.M)
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                v.setForegroundTintMode((PorterDuff.Mode) value);
-            }
-        }));
-        put(res,"measureAllChildren", new BoolAttr(new PropListener() {
-            @TargetApi(Build.VERSION_CODES.ICE_CREAM_SANDWICH)
-            @Override
-            public Object get(View v) {
-                return ((FrameLayout) v).getMeasureAllChildren();
-            }
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            ((ViewStub) v).setInflatedId((int) value);
+                        }
+                    }).on(ViewStub.class);
+                case "layout" :
+                    return new ResAttr(new PropListener() {
+                        @Override
+                        public Object get(View v) {
+                            return ((ViewStub) v).getLayoutResource();
+                        }
 
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((FrameLayout) v).setMeasureAllChildren((boolean) value);
-            }
-        }));
-        put(res,"dateTextAppearance", new ResAttr(new PropListener() {
-            @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
-            @Override
-            public Object get(View v) {
-                return ((CalendarView) v).getDateTextAppearance();
-            }
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            ((ViewStub) v).setLayoutResource((int) value);
+                        }
+                    }).on(ViewStub.class);
+                case "foreground" :
+                    return new DrawableAttr(new PropListener() {
+                        @TargetApi(Build.VERSION_CODES.M)
+                        @Override
+                        public Object get(View v) {
+                            return v.getForeground();
+                        }
 
-            @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((CalendarView) v).setDateTextAppearance((int) value);
-            }
-        }));
-        put(res,"firstDayOfWeek", new IntAttr(new PropListener() {
-            @SuppressWarnings("ConstantConditions")
-            @TargetApi(Build.VERSION_CODES.HONEYCOMB)
-            @Override
-            public Object get(View v) {
-                try {
-                    return ((CalendarView) v).getFirstDayOfWeek();
-                }
-                catch (ClassCastException e) {
-                    try {
-                        DatePicker dp = (DatePicker) v;
-                        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP)
-                            return dp.getFirstDayOfWeek();
-                    }
-                    catch (ClassCastException e2) {
-                        throw e;
-                    }
-                    return 0;
-                }
-            }
+                        @TargetApi(Build.VERSION_CODES.M)
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            v.setForeground((Drawable) value);
+                        }
+                    });
+                case "foregroundGravity" :
+                    return new CustomAttr(new AttrListener() {
+                        @Override
+                        public Object format(AQuery q, View v, String value) {
+                            return formatGravity(value);
+                        }
 
-            @SuppressWarnings("ConstantConditions")
-            @TargetApi(Build.VERSION_CODES.HONEYCOMB)
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                int iValue = (int) value;
-                try {
-                    ((CalendarView) v).setFirstDayOfWeek(iValue);
-                }
-                catch (ClassCastException e) {
-                    try {
-                        DatePicker dp = (DatePicker) v;
-                        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP)
-                            dp.setFirstDayOfWeek(iValue);
-                    }
-                    catch (ClassCastException e2) {
-                        throw e;
-                    }
-                }
-            }
-        }));
-        put(res,"focusedMonthDateColor", new ColorAttr(new PropListener() {
-            @SuppressWarnings("deprecation")
-            @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
-            @Override
-            public Object get(View v) {
-                return ((CalendarView) v).getFocusedMonthDateColor();
-            }
+                        @TargetApi(Build.VERSION_CODES.M)
+                        @Override
+                        public Object get(View v) {
+                            return v.getForegroundGravity();
+                        }
 
-            @SuppressWarnings("deprecation")
-            @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((CalendarView) v).setFocusedMonthDateColor((int) value);
-            }
-        }));
-        put(res,"maxDate", new LongAttr(new PropListener() {
-            @SuppressWarnings("ConstantConditions")
-            @TargetApi(Build.VERSION_CODES.HONEYCOMB)
-            @Override
-            public Object get(View v) {
-                try {
-                    return ((CalendarView) v).getMaxDate();
-                }
-                catch (ClassCastException e) {
-                    try {
-                        return ((DatePicker) v).getMaxDate();
-                    }
-                    catch (ClassCastException e2) {
-                        throw e;
-                    }
-                }
-            }
+                        @TargetApi(Build.VERSION_CODES.M)
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            v.setForegroundGravity((int) value);
+                        }
+                    });
+                case "foregroundTint" :
+                    return new TintAttr(new PropListener() {
+                        @TargetApi(Build.VERSION_CODES.M)
+                        @Override
+                        public Object get(View v) {
+                            return v.getForegroundTintList();
+                        }
 
-            @SuppressWarnings("ConstantConditions")
-            @TargetApi(Build.VERSION_CODES.HONEYCOMB)
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                long lValue = longCast(value);
-                try {
-                    ((CalendarView) v).setMaxDate(lValue);
-                }
-                catch (ClassCastException e) {
-                    try {
-                        ((DatePicker) v).setMaxDate(lValue);
-                    }
-                    catch (ClassCastException e2) {
-                        throw e;
-                    }
-                }
-            }
-        }));
-        put(res,"minDate", new LongAttr(new PropListener() {
-            @SuppressWarnings("ConstantConditions")
-            @TargetApi(Build.VERSION_CODES.HONEYCOMB)
-            @Override
-            public Object get(View v) {
-                try {
-                    return ((CalendarView) v).getMinDate();
-                }
-                catch (ClassCastException e) {
-                    try {
-                        return ((DatePicker) v).getMinDate();
-                    }
-                    catch (ClassCastException e2) {
-                        throw e;
-                    }
-                }
-            }
+                        @TargetApi(Build.VERSION_CODES.M)
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            v.setForegroundTintList((ColorStateList) value);
+                        }
+                    });
+                case "foregroundTintMode" :
+                    return new ModeAttr(new PropListener() {
+                        @TargetApi(Build.VERSION_CODES.M)
+                        @Override
+                        public Object get(View v) {
+                            return v.getForegroundTintMode();
+                        }
 
-            @SuppressWarnings("ConstantConditions")
-            @TargetApi(Build.VERSION_CODES.HONEYCOMB)
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                long lValue = longCast(value);
-                try {
-                    ((CalendarView) v).setMinDate(lValue);
-                }
-                catch (ClassCastException e) {
-                    try {
-                        ((DatePicker) v).setMinDate(lValue);
-                    }
-                    catch (ClassCastException e2) {
-                        throw e;
-                    }
-                }
-            }
-        }));
-        put(res,"selectedDateVerticalBar", new DrawableAttr(new PropListener() {
-            @SuppressWarnings("deprecation")
-            @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
-            @Override
-            public Object get(View v) {
-                return ((CalendarView) v).getSelectedDateVerticalBar();
-            }
+                        @TargetApi(Build.VERSION_CODES.M)
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            v.setForegroundTintMode((PorterDuff.Mode) value);
+                        }
+                    });
+                case "measureAllChildren" :
+                    return new BoolAttr(new PropListener() {
+                        @TargetApi(Build.VERSION_CODES.ICE_CREAM_SANDWICH)
+                        @Override
+                        public Object get(View v) {
+                            return ((FrameLayout) v).getMeasureAllChildren();
+                        }
 
-            @SuppressWarnings("deprecation")
-            @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                try {
-                    ((CalendarView) v).setSelectedDateVerticalBar((Drawable) value);
-                }
-                catch (ClassCastException e) {
-                    ((CalendarView) v).setSelectedDateVerticalBar((int) value);
-                }
-            }
-        }));
-        put(res,"selectedWeekBackgroundColor", new ColorAttr(new PropListener() {
-            @SuppressWarnings("deprecation")
-            @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
-            @Override
-            public Object get(View v) {
-                return ((CalendarView) v).getSelectedWeekBackgroundColor();
-            }
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            ((FrameLayout) v).setMeasureAllChildren((boolean) value);
+                        }
+                    }).on(FrameLayout.class);
+                case "dateTextAppearance" :
+                    return new ResAttr(new PropListener() {
+                        @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+                        @Override
+                        public Object get(View v) {
+                            return ((CalendarView) v).getDateTextAppearance();
+                        }
 
-            @SuppressWarnings("deprecation")
-            @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((CalendarView) v).setSelectedWeekBackgroundColor((int) value);
-            }
-        }));
-        put(res,"showWeekNumber", new BoolAttr(new PropListener() {
-            @TargetApi(Build.VERSION_CODES.HONEYCOMB)
-            @Override
-            public Object get(View v) {
-                return ((CalendarView) v).getShowWeekNumber();
-            }
+                        @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            ((CalendarView) v).setDateTextAppearance((int) value);
+                        }
+                    }).on(CalendarView.class);
+                case "firstDayOfWeek" :
+                    return new IntAttr(new IntProp() {
+                        @SuppressWarnings("ConstantConditions")
+                        @TargetApi(Build.VERSION_CODES.HONEYCOMB)
+                        @Override
+                        public int getInt(View v) {
+                            try {
+                                return ((CalendarView) v).getFirstDayOfWeek();
+                            }
+                            catch (ClassCastException e) {
+                                try {
+                                    DatePicker dp = (DatePicker) v;
+                                    if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP)
+                                        return dp.getFirstDayOfWeek();
+                                }
+                                catch (ClassCastException e2) {
+                                    throw e;
+                                }
+                                return 0;
+                            }
+                        }
 
-            @TargetApi(Build.VERSION_CODES.HONEYCOMB)
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((CalendarView) v).setShowWeekNumber((boolean) value);
-            }
-        }));
-        put(res,"shownWeekCount", new IntAttr(new PropListener() {
-            @SuppressWarnings("deprecation")
-            @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
-            @Override
-            public Object get(View v) {
-                return ((CalendarView) v).getShownWeekCount();
-            }
+                        @SuppressWarnings("ConstantConditions")
+                        @TargetApi(Build.VERSION_CODES.HONEYCOMB)
+                        @Override
+                        public void setInt(AQuery q, View v, int value) {
+                            try {
+                                ((CalendarView) v).setFirstDayOfWeek(value);
+                            }
+                            catch (ClassCastException e) {
+                                try {
+                                    DatePicker dp = (DatePicker) v;
+                                    if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP)
+                                        dp.setFirstDayOfWeek(value);
+                                }
+                                catch (ClassCastException e2) {
+                                    throw e;
+                                }
+                            }
+                        }
+                    }).on(CalendarView.class, DatePicker.class);
+                case "focusedMonthDateColor" :
+                    return new ColorAttr(new IntProp() {
+                        @SuppressWarnings("deprecation")
+                        @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+                        @Override
+                        public int getInt(View v) {
+                            return ((CalendarView) v).getFocusedMonthDateColor();
+                        }
 
-            @SuppressWarnings("deprecation")
-            @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((CalendarView) v).setShownWeekCount((int) value);
-            }
-        }));
-        put(res,"unfocusedMonthDateColor", new ColorAttr(new PropListener() {
-            @SuppressWarnings("deprecation")
-            @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
-            @Override
-            public Object get(View v) {
-                return ((CalendarView) v).getUnfocusedMonthDateColor();
-            }
+                        @SuppressWarnings("deprecation")
+                        @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+                        @Override
+                        public void setInt(AQuery q, View v, int value) {
+                            ((CalendarView) v).setFocusedMonthDateColor(value);
+                        }
+                    }).on(CalendarView.class);
+                case "maxDate" :
+                    return new LongAttr(new PropListener() {
+                        @SuppressWarnings("ConstantConditions")
+                        @TargetApi(Build.VERSION_CODES.HONEYCOMB)
+                        @Override
+                        public Object get(View v) {
+                            try {
+                                return ((CalendarView) v).getMaxDate();
+                            }
+                            catch (ClassCastException e) {
+                                try {
+                                    return ((DatePicker) v).getMaxDate();
+                                }
+                                catch (ClassCastException e2) {
+                                    throw e;
+                                }
+                            }
+                        }
 
-            @SuppressWarnings("deprecation")
-            @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((CalendarView) v).setUnfocusedMonthDateColor((int) value);
-            }
-        }));
-        put(res,"weekDayTextAppearance", new ResAttr(new PropListener() {
-            @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
-            @Override
-            public Object get(View v) {
-                return ((CalendarView) v).getWeekDayTextAppearance();
-            }
+                        @SuppressWarnings("ConstantConditions")
+                        @TargetApi(Build.VERSION_CODES.HONEYCOMB)
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            long lValue = longCast(value);
+                            try {
+                                ((CalendarView) v).setMaxDate(lValue);
+                            }
+                            catch (ClassCastException e) {
+                                try {
+                                    ((DatePicker) v).setMaxDate(lValue);
+                                }
+                                catch (ClassCastException e2) {
+                                    throw e;
+                                }
+                            }
+                        }
+                    }).on(CalendarView.class, DatePicker.class);
+                case "minDate" :
+                    return new LongAttr(new PropListener() {
+                        @SuppressWarnings("ConstantConditions")
+                        @TargetApi(Build.VERSION_CODES.HONEYCOMB)
+                        @Override
+                        public Object get(View v) {
+                            try {
+                                return ((CalendarView) v).getMinDate();
+                            }
+                            catch (ClassCastException e) {
+                                try {
+                                    return ((DatePicker) v).getMinDate();
+                                }
+                                catch (ClassCastException e2) {
+                                    throw e;
+                                }
+                            }
+                        }
 
-            @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((CalendarView) v).setWeekDayTextAppearance((int) value);
-            }
-        }));
-        put(res,"weekNumberColor", new ColorAttr(new PropListener() {
-            @SuppressWarnings("deprecation")
-            @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
-            @Override
-            public Object get(View v) {
-                return ((CalendarView) v).getWeekNumberColor();
-            }
+                        @SuppressWarnings("ConstantConditions")
+                        @TargetApi(Build.VERSION_CODES.HONEYCOMB)
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            long lValue = longCast(value);
+                            try {
+                                ((CalendarView) v).setMinDate(lValue);
+                            }
+                            catch (ClassCastException e) {
+                                try {
+                                    ((DatePicker) v).setMinDate(lValue);
+                                }
+                                catch (ClassCastException e2) {
+                                    throw e;
+                                }
+                            }
+                        }
+                    }).on(CalendarView.class, DatePicker.class);
+                case "selectedDateVerticalBar" :
+                    return new DrawableAttr(new PropListener() {
+                        @SuppressWarnings("deprecation")
+                        @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+                        @Override
+                        public Object get(View v) {
+                            return ((CalendarView) v).getSelectedDateVerticalBar();
+                        }
 
-            @SuppressWarnings("deprecation")
-            @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((CalendarView) v).setWeekNumberColor((int) value);
-            }
-        }));
-        put(res,"weekSeparatorLineColor", new ColorAttr(new PropListener() {
-            @SuppressWarnings("deprecation")
-            @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
-            @Override
-            public Object get(View v) {
-                return ((CalendarView) v).getWeekSeparatorLineColor();
-            }
+                        @SuppressWarnings("deprecation")
+                        @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            try {
+                                ((CalendarView) v).setSelectedDateVerticalBar((Drawable) value);
+                            }
+                            catch (ClassCastException e) {
+                                ((CalendarView) v).setSelectedDateVerticalBar((int) value);
+                            }
+                        }
+                    }).on(CalendarView.class);
+                case "selectedWeekBackgroundColor" :
+                    return new ColorAttr(new IntProp() {
+                        @SuppressWarnings("deprecation")
+                        @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+                        @Override
+                        public int getInt(View v) {
+                            return ((CalendarView) v).getSelectedWeekBackgroundColor();
+                        }
 
-            @SuppressWarnings("deprecation")
-            @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((CalendarView) v).setWeekSeparatorLineColor((int) value);
-            }
-        }));
-        put(res,"calendarViewShown", new BoolAttr(new PropListener() {
-            @TargetApi(Build.VERSION_CODES.HONEYCOMB)
-            @Override
-            public Object get(View v) {
-                return ((DatePicker) v).getCalendarViewShown();
-            }
+                        @SuppressWarnings("deprecation")
+                        @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+                        @Override
+                        public void setInt(AQuery q, View v, int value) {
+                            ((CalendarView) v).setSelectedWeekBackgroundColor(value);
+                        }
+                    }).on(CalendarView.class);
+                case "showWeekNumber" :
+                    return new BoolAttr(new PropListener() {
+                        @TargetApi(Build.VERSION_CODES.HONEYCOMB)
+                        @Override
+                        public Object get(View v) {
+                            return ((CalendarView) v).getShowWeekNumber();
+                        }
 
-            @TargetApi(Build.VERSION_CODES.HONEYCOMB)
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((DatePicker) v).setCalendarViewShown((boolean) value);
-            }
-        }));
-        put(res,"spinnersShown", new BoolAttr(new PropListener() {
-            @TargetApi(Build.VERSION_CODES.HONEYCOMB)
-            @Override
-            public Object get(View v) {
-                return ((DatePicker) v).getSpinnersShown();
-            }
+                        @TargetApi(Build.VERSION_CODES.HONEYCOMB)
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            ((CalendarView) v).setShowWeekNumber((boolean) value);
+                        }
+                    }).on(CalendarView.class);
+                case "shownWeekCount" :
+                    return new IntAttr(new IntProp() {
+                        @SuppressWarnings("deprecation")
+                        @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+                        @Override
+                        public int getInt(View v) {
+                            return ((CalendarView) v).getShownWeekCount();
+                        }
 
-            @TargetApi(Build.VERSION_CODES.HONEYCOMB)
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((DatePicker) v).setSpinnersShown((boolean) value);
-            }
-        }));
-        put(res,"eventsInterceptionEnabled", new BoolAttr(new PropListener() {
-            @Override
-            public Object get(View v) {
-                return ((GestureOverlayView) v).isEventsInterceptionEnabled();
-            }
+                        @SuppressWarnings("deprecation")
+                        @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+                        @Override
+                        public void setInt(AQuery q, View v, int value) {
+                            ((CalendarView) v).setShownWeekCount(value);
+                        }
+                    }).on(CalendarView.class);
+                case "unfocusedMonthDateColor" :
+                    return new ColorAttr(new IntProp() {
+                        @SuppressWarnings("deprecation")
+                        @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+                        @Override
+                        public int getInt(View v) {
+                            return ((CalendarView) v).getUnfocusedMonthDateColor();
+                        }
 
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((GestureOverlayView) v).setEventsInterceptionEnabled((boolean) value);
-            }
-        }));
-        put(res,"fadeEnabled", new BoolAttr(new PropListener() {
-            @Override
-            public Object get(View v) {
-                return ((GestureOverlayView) v).isFadeEnabled();
-            }
+                        @SuppressWarnings("deprecation")
+                        @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+                        @Override
+                        public void setInt(AQuery q, View v, int value) {
+                            ((CalendarView) v).setUnfocusedMonthDateColor(value);
+                        }
+                    }).on(CalendarView.class);
+                case "weekDayTextAppearance" :
+                    return new ResAttr(new PropListener() {
+                        @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+                        @Override
+                        public Object get(View v) {
+                            return ((CalendarView) v).getWeekDayTextAppearance();
+                        }
 
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((GestureOverlayView) v).setFadeEnabled((boolean) value);
-            }
-        }));
-        put(res,"fadeOffset", new LongAttr(new PropListener() {
-            @Override
-            public Object get(View v) {
-                return ((GestureOverlayView) v).getFadeOffset();
-            }
+                        @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            ((CalendarView) v).setWeekDayTextAppearance((int) value);
+                        }
+                    }).on(CalendarView.class);
+                case "weekNumberColor" :
+                    return new ColorAttr(new IntProp() {
+                        @SuppressWarnings("deprecation")
+                        @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+                        @Override
+                        public int getInt(View v) {
+                            return ((CalendarView) v).getWeekNumberColor();
+                        }
 
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((GestureOverlayView) v).setFadeOffset(longCast(value));
-            }
-        }));
-        put(res,"gestureColor", new ColorAttr(new PropListener() {
-            @Override
-            public Object get(View v) {
-                return ((GestureOverlayView) v).getGestureColor();
-            }
+                        @SuppressWarnings("deprecation")
+                        @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+                        @Override
+                        public void setInt(AQuery q, View v, int value) {
+                            ((CalendarView) v).setWeekNumberColor(value);
+                        }
+                    }).on(CalendarView.class);
+                case "weekSeparatorLineColor" :
+                    return new ColorAttr(new IntProp() {
+                        @SuppressWarnings("deprecation")
+                        @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+                        @Override
+                        public int getInt(View v) {
+                            return ((CalendarView) v).getWeekSeparatorLineColor();
+                        }
 
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((GestureOverlayView) v).setGestureColor((int) value);
-            }
-        }));
-        put(res,"gestureStrokeAngleThreshold", new FloatAttr(new PropListener() {
-            @Override
-            public Object get(View v) {
-                return ((GestureOverlayView) v).getGestureStrokeAngleThreshold();
-            }
+                        @SuppressWarnings("deprecation")
+                        @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+                        @Override
+                        public void setInt(AQuery q, View v, int value) {
+                            ((CalendarView) v).setWeekSeparatorLineColor(value);
+                        }
+                    }).on(CalendarView.class);
+                case "calendarViewShown" :
+                    return new BoolAttr(new PropListener() {
+                        @TargetApi(Build.VERSION_CODES.HONEYCOMB)
+                        @Override
+                        public Object get(View v) {
+                            return ((DatePicker) v).getCalendarViewShown();
+                        }
 
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((GestureOverlayView) v).setGestureStrokeAngleThreshold(floatCast(value));
-            }
-        }));
-        put(res,"gestureStrokeLengthThreshold", new FloatAttr(new PropListener() {
-            @Override
-            public Object get(View v) {
-                return ((GestureOverlayView) v).getGestureStrokeLengthThreshold();
-            }
+                        @TargetApi(Build.VERSION_CODES.HONEYCOMB)
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            ((DatePicker) v).setCalendarViewShown((boolean) value);
+                        }
+                    }).on(DatePicker.class);
+                case "spinnersShown" :
+                    return new BoolAttr(new PropListener() {
+                        @TargetApi(Build.VERSION_CODES.HONEYCOMB)
+                        @Override
+                        public Object get(View v) {
+                            return ((DatePicker) v).getSpinnersShown();
+                        }
 
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((GestureOverlayView) v).setGestureStrokeAngleThreshold(floatCast(value));
-            }
-        }));
-        put(res,"gestureStrokeSquarenessThreshold", new FloatAttr(new PropListener() {
-            @Override
-            public Object get(View v) {
-                return ((GestureOverlayView) v).getGestureStrokeSquarenessTreshold();
-            }
+                        @TargetApi(Build.VERSION_CODES.HONEYCOMB)
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            ((DatePicker) v).setSpinnersShown((boolean) value);
+                        }
+                    }).on(DatePicker.class);
+                case "eventsInterceptionEnabled" :
+                    return new BoolAttr(new PropListener() {
+                        @Override
+                        public Object get(View v) {
+                            return ((GestureOverlayView) v).isEventsInterceptionEnabled();
+                        }
 
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((GestureOverlayView) v).setGestureStrokeSquarenessTreshold(floatCast(value));
-            }
-        }));
-        put(res,"gestureStrokeType", new CustomAttr(new AttrListener() {
-            @Override
-            public Object format(AQuery q, View v, String value) {
-                return formatStroke(value);
-            }
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            ((GestureOverlayView) v).setEventsInterceptionEnabled((boolean) value);
+                        }
+                    }).on(GestureOverlayView.class);
+                case "fadeEnabled" :
+                    return new BoolAttr(new PropListener() {
+                        @Override
+                        public Object get(View v) {
+                            return ((GestureOverlayView) v).isFadeEnabled();
+                        }
 
-            @Override
-            public Object get(View v) {
-                return ((GestureOverlayView) v).getGestureStrokeType();
-            }
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            ((GestureOverlayView) v).setFadeEnabled((boolean) value);
+                        }
+                    }).on(GestureOverlayView.class);
+                case "fadeOffset" :
+                    return new LongAttr(new PropListener() {
+                        @Override
+                        public Object get(View v) {
+                            return ((GestureOverlayView) v).getFadeOffset();
+                        }
 
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((GestureOverlayView) v).setGestureStrokeType((int) value);
-            }
-        }));
-        put(res,"gestureStrokeWidth", new FloatAttr(new PropListener() {
-            @Override
-            public Object get(View v) {
-                return ((GestureOverlayView) v).getGestureStrokeWidth();
-            }
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            ((GestureOverlayView) v).setFadeOffset(longCast(value));
+                        }
+                    }).on(GestureOverlayView.class);
+                case "gestureColor" :
+                    return new ColorAttr(new IntProp() {
+                        @Override
+                        public int getInt(View v) {
+                            return ((GestureOverlayView) v).getGestureColor();
+                        }
 
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((GestureOverlayView) v).setGestureStrokeWidth(floatCast(value));
-            }
-        }));
-        put(res,"uncertainGestureColor", new ColorAttr(new PropListener() {
-            @Override
-            public Object get(View v) {
-                return ((GestureOverlayView) v).getGestureColor();
-            }
+                        @Override
+                        public void setInt(AQuery q, View v, int value) {
+                            ((GestureOverlayView) v).setGestureColor(value);
+                        }
+                    }).on(GestureOverlayView.class);
+                case "gestureStrokeAngleThreshold" :
+                    return new FloatAttr(new FloatProp() {
+                        @Override
+                        public float getFloat(View v) {
+                            return ((GestureOverlayView) v).getGestureStrokeAngleThreshold();
+                        }
 
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((GestureOverlayView) v).setGestureColor((int) value);
-            }
-        }));
-        put(res,"fillViewport", new BoolAttr(new PropListener() {
-            @SuppressWarnings("ConstantConditions")
-            @Override
-            public Object get(View v) {
-                try {
-                    return ((HorizontalScrollView) v).isFillViewport();
-                }
-                catch (ClassCastException e) {
-                    try {
-                        return ((NestedScrollView) v).isFillViewport();
-                    }
-                    catch (ClassCastException e2) {
-                        try {
-                            return ((ScrollView) v).isFillViewport();
+                        @Override
+                        public void setFloat(AQuery q, View v, float value) {
+                            ((GestureOverlayView) v).setGestureStrokeAngleThreshold(value);
                         }
-                        catch (ClassCastException e3) {
-                            throw e;
+                    }).on(GestureOverlayView.class);
+                case "gestureStrokeLengthThreshold" :
+                    return new FloatAttr(new FloatProp() {
+                        @Override
+                        public float getFloat(View v) {
+                            return ((GestureOverlayView) v).getGestureStrokeLengthThreshold();
                         }
-                    }
-                }
-            }
 
-            @SuppressWarnings("ConstantConditions")
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                boolean bValue = (boolean) value;
-                try {
-                    ((HorizontalScrollView) v).setFillViewport(bValue);
-                }
-                catch (ClassCastException e) {
-                    try {
-                        ((NestedScrollView) v).setFillViewport(bValue);
-                    }
-                    catch (ClassCastException e2) {
-                        try {
-                            ((ScrollView) v).setFillViewport(bValue);
+                        @Override
+                        public void setFloat(AQuery q, View v, float value) {
+                            ((GestureOverlayView) v).setGestureStrokeAngleThreshold(value);
                         }
-                        catch (ClassCastException e3) {
-                            throw e;
+                    }).on(GestureOverlayView.class);
+                case "gestureStrokeSquarenessThreshold" :
+                    return new FloatAttr(new FloatProp() {
+                        @Override
+                        public float getFloat(View v) {
+                            return ((GestureOverlayView) v).getGestureStrokeSquarenessTreshold();
                         }
-                    }
-                }
-            }
-        }));
-        put(res,"alignmentMode", new CustomAttr(new AttrListener() {
-            @Override
-            public Object format(AQuery q, View v, String value) {
-                return formatAlignment(value);
-            }
 
-            @TargetApi(Build.VERSION_CODES.ICE_CREAM_SANDWICH)
-            @Override
-            public Object get(View v) {
-                return ((GridLayout) v).getAlignmentMode();
-            }
+                        @Override
+                        public void setFloat(AQuery q, View v, float value) {
+                            ((GestureOverlayView) v).setGestureStrokeSquarenessTreshold(value);
+                        }
+                    }).on(GestureOverlayView.class);
+                case "gestureStrokeType" :
+                    return new CustomAttr(new AttrListener() {
+                        @Override
+                        public Object format(AQuery q, View v, String value) {
+                            return formatStroke(value);
+                        }
 
-            @TargetApi(Build.VERSION_CODES.ICE_CREAM_SANDWICH)
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((GridLayout) v).setAlignmentMode((int) value);
-            }
-        }));
-        put(res,"columnCount", new IntAttr(new PropListener() {
-            @TargetApi(Build.VERSION_CODES.ICE_CREAM_SANDWICH)
-            @Override
-            public Object get(View v) {
-                return ((GridLayout) v).getColumnCount();
-            }
+                        @Override
+                        public Object get(View v) {
+                            return ((GestureOverlayView) v).getGestureStrokeType();
+                        }
 
-            @TargetApi(Build.VERSION_CODES.ICE_CREAM_SANDWICH)
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((GridLayout) v).setColumnCount((int) value);
-            }
-        }));
-        put(res,"columnOrderPreserved", new BoolAttr(new PropListener() {
-            @TargetApi(Build.VERSION_CODES.ICE_CREAM_SANDWICH)
-            @Override
-            public Object get(View v) {
-                return ((GridLayout) v).isColumnOrderPreserved();
-            }
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            ((GestureOverlayView) v).setGestureStrokeType((int) value);
+                        }
+                    }).on(GestureOverlayView.class);
+                case "gestureStrokeWidth" :
+                    return new FloatAttr(new FloatProp() {
+                        @Override
+                        public float getFloat(View v) {
+                            return ((GestureOverlayView) v).getGestureStrokeWidth();
+                        }
 
-            @TargetApi(Build.VERSION_CODES.ICE_CREAM_SANDWICH)
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((GridLayout) v).setColumnOrderPreserved((boolean) value);
-            }
-        }));
-        put(res,"rowOrderPreserved", new BoolAttr(new PropListener() {
-            @TargetApi(Build.VERSION_CODES.ICE_CREAM_SANDWICH)
-            @Override
-            public Object get(View v) {
-                return ((GridLayout) v).isRowOrderPreserved();
-            }
+                        @Override
+                        public void setFloat(AQuery q, View v, float value) {
+                            ((GestureOverlayView) v).setGestureStrokeWidth(value);
+                        }
+                    }).on(GestureOverlayView.class);
+                case "uncertainGestureColor" :
+                    return new ColorAttr(new IntProp() {
+                        @Override
+                        public int getInt(View v) {
+                            return ((GestureOverlayView) v).getGestureColor();
+                        }
 
-            @TargetApi(Build.VERSION_CODES.ICE_CREAM_SANDWICH)
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((GridLayout) v).setRowOrderPreserved((boolean) value);
-            }
-        }));
-        put(res,"useDefaultMargins", new BoolAttr(new PropListener() {
-            @TargetApi(Build.VERSION_CODES.ICE_CREAM_SANDWICH)
-            @Override
-            public Object get(View v) {
-                return ((GridLayout) v).getUseDefaultMargins();
-            }
+                        @Override
+                        public void setInt(AQuery q, View v, int value) {
+                            ((GestureOverlayView) v).setGestureColor(value);
+                        }
+                    }).on(GestureOverlayView.class);
+                case "fillViewport" :
+                    return new BoolAttr(new PropListener() {
+                        @SuppressWarnings("ConstantConditions")
+                        @Override
+                        public Object get(View v) {
+                            try {
+                                return ((HorizontalScrollView) v).isFillViewport();
+                            }
+                            catch (ClassCastException e) {
+                                try {
+                                    return ((NestedScrollView) v).isFillViewport();
+                                }
+                                catch (ClassCastException e2) {
+                                    try {
+                                        return ((ScrollView) v).isFillViewport();
+                                    }
+                                    catch (ClassCastException e3) {
+                                        throw e;
+                                    }
+                                }
+                            }
+                        }
 
-            @TargetApi(Build.VERSION_CODES.ICE_CREAM_SANDWICH)
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((GridLayout) v).setUseDefaultMargins((boolean) value);
-            }
-        }));
-        put(res,"baselineAligned", new BoolAttr(new PropListener() {
-            @Override
-            public Object get(View v) {
-                return ((LinearLayout) v).isBaselineAligned();
-            }
+                        @SuppressWarnings("ConstantConditions")
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            boolean bValue = (boolean) value;
+                            try {
+                                ((HorizontalScrollView) v).setFillViewport(bValue);
+                            }
+                            catch (ClassCastException e) {
+                                try {
+                                    ((NestedScrollView) v).setFillViewport(bValue);
+                                }
+                                catch (ClassCastException e2) {
+                                    try {
+                                        ((ScrollView) v).setFillViewport(bValue);
+                                    }
+                                    catch (ClassCastException e3) {
+                                        throw e;
+                                    }
+                                }
+                            }
+                        }
+                    }).on(HorizontalScrollView.class, NestedScrollView.class, ScrollView.class);
+                case "alignmentMode" :
+                    return new CustomAttr(new AttrListener() {
+                        @Override
+                        public Object format(AQuery q, View v, String value) {
+                            return formatAlignment(value);
+                        }
 
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((LinearLayout) v).setBaselineAligned((boolean) value);
-            }
-        }));
-        put(res,"baselineAlignedChildIndex", new IntAttr(new PropListener() {
-            @Override
-            public Object get(View v) {
-                return ((LinearLayout) v).getBaselineAlignedChildIndex();
-            }
+                        @TargetApi(Build.VERSION_CODES.ICE_CREAM_SANDWICH)
+                        @Override
+                        public Object get(View v) {
+                            return ((GridLayout) v).getAlignmentMode();
+                        }
 
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((LinearLayout) v).setBaselineAlignedChildIndex((int) value);
-            }
-        }));
-        put(res,"iconifiedByDefault", new BoolAttr(new PropListener() {
-            @TargetApi(Build.VERSION_CODES.HONEYCOMB)
-            @Override
-            public Object get(View v) {
-                return ((SearchView) v).isIconfiedByDefault();
-            }
+                        @TargetApi(Build.VERSION_CODES.ICE_CREAM_SANDWICH)
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            ((GridLayout) v).setAlignmentMode((int) value);
+                        }
+                    }).on(GridLayout.class);
+                case "columnCount" :
+                    return new IntAttr(new IntProp() {
+                        @TargetApi(Build.VERSION_CODES.ICE_CREAM_SANDWICH)
+                        @Override
+                        public int getInt(View v) {
+                            return ((GridLayout) v).getColumnCount();
+                        }
 
-            @TargetApi(Build.VERSION_CODES.HONEYCOMB)
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((SearchView) v).setIconifiedByDefault((boolean) value);
-            }
-        }));
-        put(res,"queryHint", new StringAttr(new PropListener() {
-            @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
-            @Override
-            public Object get(View v) {
-                return ((SearchView) v).getQueryHint();
-            }
+                        @TargetApi(Build.VERSION_CODES.ICE_CREAM_SANDWICH)
+                        @Override
+                        public void setInt(AQuery q, View v, int value) {
+                            ((GridLayout) v).setColumnCount(value);
+                        }
+                    }).on(GridLayout.class);
+                case "columnOrderPreserved" :
+                    return new BoolAttr(new PropListener() {
+                        @TargetApi(Build.VERSION_CODES.ICE_CREAM_SANDWICH)
+                        @Override
+                        public Object get(View v) {
+                            return ((GridLayout) v).isColumnOrderPreserved();
+                        }
 
-            @TargetApi(Build.VERSION_CODES.HONEYCOMB)
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((SearchView) v).setQueryHint((String) value);
-            }
-        }));
-        put(res,"tabStripEnabled", new BoolAttr(new PropListener() {
-            @TargetApi(Build.VERSION_CODES.FROYO)
-            @Override
-            public Object get(View v) {
-                return ((TabWidget) v).isStripEnabled();
-            }
+                        @TargetApi(Build.VERSION_CODES.ICE_CREAM_SANDWICH)
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            ((GridLayout) v).setColumnOrderPreserved((boolean) value);
+                        }
+                    }).on(GridLayout.class);
+                case "rowOrderPreserved" :
+                    return new BoolAttr(new PropListener() {
+                        @TargetApi(Build.VERSION_CODES.ICE_CREAM_SANDWICH)
+                        @Override
+                        public Object get(View v) {
+                            return ((GridLayout) v).isRowOrderPreserved();
+                        }
 
-            @TargetApi(Build.VERSION_CODES.FROYO)
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((TabWidget) v).setStripEnabled((boolean) value);
-            }
-        }));
-        put(res,"tabStripLeft", new DrawableAttr(new PropListener() {
-            @Override
-            public Object get(View v) {
-                return null;
-            }
+                        @TargetApi(Build.VERSION_CODES.ICE_CREAM_SANDWICH)
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            ((GridLayout) v).setRowOrderPreserved((boolean) value);
+                        }
+                    }).on(GridLayout.class);
+                case "useDefaultMargins" :
+                    return new BoolAttr(new PropListener() {
+                        @TargetApi(Build.VERSION_CODES.ICE_CREAM_SANDWICH)
+                        @Override
+                        public Object get(View v) {
+                            return ((GridLayout) v).getUseDefaultMargins();
+                        }
 
-            @TargetApi(Build.VERSION_CODES.FROYO)
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                TabWidget tw = (TabWidget)v;
-                try {
-                    tw.setLeftStripDrawable((Drawable) value);
-                }
-                catch (ClassCastException e) {
-                    tw.setLeftStripDrawable((int) value);
-                }
-            }
-        }));
-        put(res,"tabStripRight", new DrawableAttr(new PropListener() {
-            @Override
-            public Object get(View v) {
-                return null;
-            }
+                        @TargetApi(Build.VERSION_CODES.ICE_CREAM_SANDWICH)
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            ((GridLayout) v).setUseDefaultMargins((boolean) value);
+                        }
+                    }).on(GridLayout.class);
+                case "baselineAligned" :
+                    return new BoolAttr(new PropListener() {
+                        @Override
+                        public Object get(View v) {
+                            return ((LinearLayout) v).isBaselineAligned();
+                        }
 
-            @TargetApi(Build.VERSION_CODES.FROYO)
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                TabWidget tw = (TabWidget)v;
-                try {
-                    tw.setRightStripDrawable((Drawable) value);
-                }
-                catch (ClassCastException e) {
-                    tw.setRightStripDrawable((int) value);
-                }
-            }
-        }));
-        put(res,"collapseColumns", new CustomAttr(new AttrListener() {
-            @Override
-            public Object get(View v) {
-                TableLayout tl = (TableLayout) v;
-                ArrayList<Integer> columns = new ArrayList<>(tl.getChildCount());
-                for (int i=0;i<tl.getChildCount();i++) {
-                    if (tl.isColumnCollapsed(i))
-                        columns.add(i);
-                }
-                int[] res = new int[columns.size()];
-                for (int i=0;i<columns.size();i++)
-                    res[i] = columns.get(i);
-                return res;
-            }
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            ((LinearLayout) v).setBaselineAligned((boolean) value);
+                        }
+                    }).on(LinearLayout.class);
+                case "baselineAlignedChildIndex" :
+                    return new IntAttr(new IntProp() {
+                        @Override
+                        public int getInt(View v) {
+                            return ((LinearLayout) v).getBaselineAlignedChildIndex();
+                        }
 
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                int[] iValue = (int[]) value;
-                TableLayout tl = (TableLayout) v;
-                boolean[] columnsCollapsed = new boolean[tl.getChildCount()];
-                for (int col : iValue)
-                    columnsCollapsed[col] = true;
-                for (int i=0;i<tl.getChildCount();i++)
-                    tl.setColumnCollapsed(i, columnsCollapsed[i]);
-            }
+                        @Override
+                        public void setInt(AQuery q, View v, int value) {
+                            ((LinearLayout) v).setBaselineAlignedChildIndex(value);
+                        }
+                    }).on(LinearLayout.class);
+                case "iconifiedByDefault" :
+                    return new BoolAttr(new PropListener() {
+                        @TargetApi(Build.VERSION_CODES.HONEYCOMB)
+                        @Override
+                        public Object get(View v) {
+                            return ((SearchView) v).isIconfiedByDefault();
+                        }
 
-            @Override
-            public Object format(AQuery q, View v, String value) {
-                return q.formatIntArray(value);
-            }
-        }));
-        put(res,"shrinkColumns", new BoolAttr(new PropListener() {
-            @Override
-            public Object get(View v) {
-                return ((TableLayout) v).isShrinkAllColumns();
-            }
+                        @TargetApi(Build.VERSION_CODES.HONEYCOMB)
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            ((SearchView) v).setIconifiedByDefault((boolean) value);
+                        }
+                    }).on(SearchView.class);
+                case "queryHint" :
+                    return new StringAttr(new PropListener() {
+                        @TargetApi(Build.VERSION_CODES.JELLY_BEAN)
+                        @Override
+                        public Object get(View v) {
+                            return ((SearchView) v).getQueryHint();
+                        }
 
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((TableLayout) v).setShrinkAllColumns((boolean) value);
-            }
-        }));
-        put(res,"stretchColumns", new BoolAttr(new PropListener() {
-            @Override
-            public Object get(View v) {
-                return ((TableLayout) v).isStretchAllColumns();
-            }
+                        @TargetApi(Build.VERSION_CODES.HONEYCOMB)
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            ((SearchView) v).setQueryHint((String) value);
+                        }
+                    }).on(SearchView.class);
+                case "tabStripEnabled" :
+                    return new BoolAttr(new PropListener() {
+                        @TargetApi(Build.VERSION_CODES.FROYO)
+                        @Override
+                        public Object get(View v) {
+                            return ((TabWidget) v).isStripEnabled();
+                        }
 
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-                ((TableLayout) v).setStretchAllColumns((boolean) value);
-            }
-        }));
-        put(res,"content", new CustomAttr(new AttrListener() {
-            @Override
-            public Object format(AQuery q, View v, String value) {
-                return q.formatString(value);
-            }
+                        @TargetApi(Build.VERSION_CODES.FROYO)
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            ((TabWidget) v).setStripEnabled((boolean) value);
+                        }
+                    }).on(TabWidget.class);
+                case "tabStripLeft" :
+                    return new DrawableAttr(new PropListener() {
+                        @Override
+                        public Object get(View v) {
+                            return null;
+                        }
 
-            @SuppressWarnings("deprecation")
-            @Override
-            public Object get(View v) {
-                return ((SlidingDrawer) v).getContent();
-            }
+                        @TargetApi(Build.VERSION_CODES.FROYO)
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            TabWidget tw = (TabWidget)v;
+                            try {
+                                tw.setLeftStripDrawable((Drawable) value);
+                            }
+                            catch (ClassCastException e) {
+                                tw.setLeftStripDrawable((int) value);
+                            }
+                        }
+                    });
+                case "tabStripRight" :
+                    return new DrawableAttr(new PropListener() {
+                        @Override
+                        public Object get(View v) {
+                            return null;
+                        }
 
-            @Override
-            public void prop(AQuery q, View v, Object value) {
-            }
-        }));
-        put(res,"handle", new CustomAttr(new AttrListener() {
-            @Override
-            public Object format(AQuery q, View v, String value) {
-                return value;
-            }
+                        @TargetApi(Build.VERSION_CODES.FROYO)
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            TabWidget tw = (TabWidget)v;
+                            try {
+                                tw.setRightStripDrawable((Drawable) value);
+                            }
+                            catch (ClassCastException e) {
+                                tw.setRightStripDrawable((int) value);
+                            }
+                        }
+                    });
+                case "collapseColumns" :
+                    return new CustomAttr(new AttrListener() {
+                        @Override
+                        public Object get(View v) {
+                            TableLayout tl = (TableLayout) v;
+                            ArrayList<Integer> columns = new ArrayList<>(tl.getChildCount());
+                            for (int i=0;i<tl.getChildCount();i++) {
+                                if (tl.isColumnCollapsed(i))
+                                    columns.add(i);
+                            }
+                            int[] res = new int[columns.size()];
+                            for (int i=0;i<columns.size();i++)
+                                res[i] = columns.get(i);
+                            return res;
+                        }
 
-            @SuppressWarnings("deprecation")
-            @Override
-            public Object get(View v) {
-                return ((SlidingDrawer) v).getHandle();
-            }
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            int[] iValue = (int[]) value;
+                            TableLayout tl = (TableLayout) v;
+                            boolean[] columnsCollapsed = new boolean[tl.getChildCount()];
+                            for (int col : iValue)
+                                columnsCollapsed[col] = true;
+                            for (int i=0;i<tl.getChildCount();i++)
+                                tl.setColumnCollapsed(i, columnsCollapsed[i]);
+                        }
 
-            @Override
-            public void prop(AQuery q, View v, Object value) {
+                        @Override
+                        public Object format(AQuery q, View v, String value) {
+                            return q.formatIntArray(value);
+                        }
+                    }).on(TableLayout.class);
+                case "shrinkColumns" :
+                    return new BoolAttr(new PropListener() {
+                        @Override
+                        public Object get(View v) {
+                            return ((TableLayout) v).isShrinkAllColumns();
+                        }
+
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            ((TableLayout) v).setShrinkAllColumns((boolean) value);
+                        }
+                    }).on(TableLayout.class);
+                case "stretchColumns" :
+                    return new BoolAttr(new PropListener() {
+                        @Override
+                        public Object get(View v) {
+                            return ((TableLayout) v).isStretchAllColumns();
+                        }
+
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                            ((TableLayout) v).setStretchAllColumns((boolean) value);
+                        }
+                    }).on(TableLayout.class);
+                case "content" :
+                    return new CustomAttr(new AttrListener() {
+                        @Override
+                        public Object format(AQuery q, View v, String value) {
+                            return q.formatString(value);
+                        }
+
+                        @SuppressWarnings("deprecation")
+                        @Override
+                        public Object get(View v) {
+                            return ((SlidingDrawer) v).getContent();
+                        }
+
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                        }
+                    }).on(SlidingDrawer.class);
+                case "handle" :
+                    return new CustomAttr(new AttrListener() {
+                        @Override
+                        public Object format(AQuery q, View v, String value) {
+                            return value;
+                        }
+
+                        @SuppressWarnings("deprecation")
+                        @Override
+                        public Object get(View v) {
+                            return ((SlidingDrawer) v).getHandle();
+                        }
+
+                        @Override
+                        public void prop(AQuery q, View v, Object value) {
+                        }
+                    }).on(SlidingDrawer.class);
+                default :
+                    return null;
             }
-        }));
-        return res;
+        }
     }
 
     /**
@@ -5474,7 +6150,7 @@ public abstract class AQuery {
     @SuppressWarnings("SpellCheckingInspection")
     public int propi(String key) {
         try {
-            return intCast(propIfMethod(key));
+            return getPropIfExists(key).getInt(head());
         }
         catch (NoSuchMethodError e) {
             return 0;
@@ -5488,7 +6164,7 @@ public abstract class AQuery {
     @SuppressWarnings("SpellCheckingInspection")
     public float propf(String key) {
         try {
-            return floatCast(propIfMethod(key));
+            return getPropIfExists(key).getFloat(head());
         }
         catch (NoSuchMethodError e) {
             return 0;
@@ -5602,7 +6278,18 @@ public abstract class AQuery {
      * returns null if the attribute doesn't exist
      */
     protected static AttrSetter getAttr(String attribute) {
-        return ATTRS.get(attribute);
+        if (attribute == null)
+            return null;
+        AttrSetter res = ATTRS.get(attribute);
+        if (res == null) {
+            res = createAttr(attribute);
+            if (res == null)
+                res = UNKNOWN_ATTR;
+            AttrSetter created = ATTRS.putIfAbsent(attribute, res);
+            if (created != null) // Created by another thread meanwhile
+                res = created;
+        }
+        return (res == UNKNOWN_ATTR) ? null : res;
     }
     /**
      * returns the AttrSetter associated to the attribute, if it exists
@@ -5626,6 +6313,172 @@ public abstract class AQuery {
         return res;
     }
 
+    /**
+     * Returns a handle on an attribute, to get and set its value without looking the attribute up at each call
+     * For example, AQuery.handle("progress").set($bar, 50) in an animation frame
+     * @param key
+     * The attribute name
+     * @throws IllegalArgumentException
+     * If the attribute does not exist
+     */
+    public static AttrHandle handle(String key) {
+        return new AttrHandle(key, getPropIfExists(key));
+    }
+
+    /**
+     * An attribute resolved once, whose value can be read and changed on any View
+     * Unlike prop() and attr(), the handle doesn't look the attribute up, and the methods taking a View don't build the list of the elements,
+     * so it can be used in the code running at each frame, like progress bars, scroll effects or tickers
+     */
+    public static class AttrHandle {
+        private final String key; // The attribute name
+        private final AttrSetter callback; // The functions getting and setting the attribute
+
+        private AttrHandle(String key, AttrSetter callback) {
+            this.key = key;
+            this.callback = callback;
+        }
+
+        /**
+         * Returns the name of the attribute
+         */
+        public String name() {
+            return key;
+        }
+
+        /**
+         * Returns the value of the attribute for a View, or null if the View doesn't support it
+         */
+        public Object get(View v) {
+            try {
+                return callback.get(v);
+            }
+            catch (NoSuchMethodError e) {
+                return null;
+            }
+        }
+        /**
+         * Returns the value of the attribute for the first element of an AQuery object
+         */
+        public Object get(AQuery q) {
+            return get(q.head());
+        }
+
+        /**
+         * Changes the value of the attribute for a View, like prop() does
+         * @param q
+         * The AQuery object used to resolve the resources, like any AQuery object of the activity
+         * @param v
+         * The View
+         * @param value
+         * The new value of the attribute
+         */
+        @SuppressWarnings("EmptyCatchBlock")
+        public void set(AQuery q, View v, Object value) {
+            try {
+                callback.prop(q, v, value);
+            }
+            catch (NoSuchMethodError e) {
+            }
+        }
+        /**
+         * Changes the value of the attribute for every element of an AQuery object, like prop() does
+         */
+        public AQuery set(AQuery q, Object value) {
+            if (q instanceof $Element)
+                set(q, q.head(), value);
+            else {
+                for (View v : q.list())
+                    set(q, v, value);
+            }
+            return q;
+        }
+
+        /**
+         * Changes the value of the attribute for a View, by taking an XML-like String into argument, like attr() does
+         * @param q
+         * The AQuery object used to resolve the resources, like any AQuery object of the activity
+         * @param v
+         * The View
+         * @param value
+         * An XML-like String containing the new value of the attribute. Example : "@color/primary"
+         */
+        @SuppressWarnings("EmptyCatchBlock")
+        public void setString(AQuery q, View v, String value) {
+            try {
+                callback.set(q, v, value);
+            }
+            catch (NoSuchMethodError e) {
+            }
+        }
+        /**
+         * Changes the value of the attribute for every element of an AQuery object, by taking an XML-like String into argument
+         */
+        public AQuery setString(AQuery q, String value) {
+            if (q instanceof $Element)
+                setString(q, q.head(), value);
+            else {
+                for (View v : q.list())
+                    setString(q, v, value);
+            }
+            return q;
+        }
+
+        /**
+         * Returns the value of the attribute for a View as an int, without boxing it if the attribute is numeric
+         * Unlike get(), it throws a NoSuchMethodError if the View doesn't support the attribute
+         */
+        public int getInt(View v) {
+            return callback.getInt(v);
+        }
+        /**
+         * Changes the value of the attribute for a View with an int, without boxing it if the attribute is numeric
+         * @param q
+         * The AQuery object used to resolve the resources, like any AQuery object of the activity
+         * @param v
+         * The View
+         * @param value
+         * The new value of the attribute
+         */
+        @SuppressWarnings("EmptyCatchBlock")
+        public void setInt(AQuery q, View v, int value) {
+            try {
+                callback.setInt(q, v, value);
+            }
+            catch (NoSuchMethodError e) {
+            }
+        }
+        /**
+         * Returns the value of the attribute for a View as a float, without boxing it if the attribute is numeric
+         * Unlike get(), it throws a NoSuchMethodError if the View doesn't support the attribute
+         */
+        public float getFloat(View v) {
+            return callback.getFloat(v);
+        }
+        /**
+         * Changes the value of the attribute for a View with a float, without boxing it if the attribute is numeric
+         * @param q
+         * The AQuery object used to resolve the resources, like any AQuery object of the activity
+         * @param v
+         * The View
+         * @param value
+         * The new value of the attribute
+         */
+        @SuppressWarnings("EmptyCatchBlock")
+        public void setFloat(AQuery q, View v, float value) {
+            try {
+                callback.setFloat(q, v, value);
+            }
+            catch (NoSuchMethodError e) {
+            }
+        }
+
+        @Override
+        public String toString() {
+            return key;
+        }
+    }
+
     /**
      * Sets a RelativeLayout.LayoutParams rule (like alignWithParentBottom)
      */
@@ -5640,10 +6493,10 @@ public abstract class AQuery {
         v.setLayoutParams(lp);
     }
     /**
-     * Adds an RelativeLayout.LayoutParams-rule AttrSetter to the map, which checks if the rule is satisfied
+     * Returns a RelativeLayout.LayoutParams-rule AttrSetter, which checks if the rule is satisfied
      */
-    private static void addLPRuleChecker(HashMap<String,AttrSetter> array, String ruleName, final int ruleID) {
-        array.put(ruleName, new BoolAttr(new PropListener() {
+    private static AttrSetter lpRuleChecker(final int ruleID) {
+        return new BoolAttr(new PropListener() {
             @Override
             public Object get(View v) {
                 RelativeLayout.LayoutParams lp = (RelativeLayout.LayoutParams) v.getLayoutParams();
@@ -5654,13 +6507,13 @@ public abstract class AQuery {
             public void prop(AQuery q, View v, Object value) {
                 q.setRule(v, ruleID, value);
             }
-        }));
+        }).onLayout(RelativeLayout.LayoutParams.class);
     }
     /**
-     * Adds an RelativeLayout.LayoutParams-rule AttrSetter to the map, which gets the value of a rule
+     * Returns a RelativeLayout.LayoutParams-rule AttrSetter, which gets the value of a rule
      */
-    private static void addLPRuleGetter(HashMap<String,AttrSetter> array, String ruleName, final int ruleID) {
-        array.put(ruleName, new IdAttr(new PropListener() {
+    private static AttrSetter lpRuleGetter(final int ruleID) {
+        return new IdAttr(new PropListener() {
             @Override
             public Object get(View v) {
                 RelativeLayout.LayoutParams lp = (RelativeLayout.LayoutParams) v.getLayoutParams();
@@ -5672,7 +6525,7 @@ public abstract class AQuery {
                 RelativeLayout.LayoutParams lp = (RelativeLayout.LayoutParams) v.getLayoutParams();
                 lp.addRule(ruleID, (int) value);
             }
-        }));
+        }).onLayout(RelativeLayout.LayoutParams.class);
     }
 
     /**
@@ -5685,7 +6538,7 @@ public abstract class AQuery {
     /**
      * Returns the BoolAttr that checks if a TextView inputType has the specified flag
      */
-    private static BoolAttr inputTypeAttr(final int flag) {
+    private static AttrSetter inputTypeAttr(final int flag) {
         return new BoolAttr(new PropListener() {
             @Override
             public Object get(View v) {
@@ -5701,9 +6554,15 @@ public abstract class AQuery {
                 else
                     tv.setInputType(tv.getInputType() & ~flag);
             }
-        });
+        }).on(TextView.class);
     }
 
+    /**
+     * Returns the position of the first element among its siblings
+     */
+    public int index() {
+        return findPosition(head());
+    }
     /**
      * Returns the position of the given view in the set of elements
      * Returns -1 if the element is not in the set
@@ -6361,12 +7220,14 @@ public abstract class AQuery {
      */
     private static void hide(View v) {
         v.setVisibility(View.GONE);
+        ViewIndex.visibilityChanged(v);
     }
     /**
      * Shows the View
      */
     private static void show(View v) {
         v.setVisibility(View.VISIBLE);
+        ViewIndex.visibilityChanged(v);
     }
     /**
      * Checks if the View is visible
@@ -7684,43 +8545,52 @@ public abstract class AQuery {
     }
 
     /**
-     * Returns the position of the View in the list of the children having the same parent
+     * Returns the position of the View in the list of the children having the same parent,
+     * or -1 if its parent is not a ViewGroup, like the parent of the DecorView or of a detached View
      * @param child
      * The child
      */
     private static int findPosition(View child) {
-        return findPosition((ViewGroup) child.getParent(), child);
+        ViewParent parent = child.getParent();
+        return (parent instanceof ViewGroup) ? findPosition((ViewGroup) parent, child) : -1;
     }
     /**
-     * Returns the position, from the end, of the View in the list of the children having the same parent
+     * Returns the position, from the end, of the View in the list of the children having the same parent,
+     * or -1 if its parent is not a ViewGroup
      * @param child
      * The child
      */
     private static int findLastPosition(View child) {
-        return findLastPosition((ViewGroup) child.getParent(), child);
+        ViewParent parent = child.getParent();
+        return (parent instanceof ViewGroup) ? findLastPosition((ViewGroup) parent, child) : -1;
     }
     /**
-     * Returns the position of the View in the list of the children having the same parent
+     * Returns the position of the View in the list of the children having the same parent,
+     * or -1 if the View is not one of its children, like a View being removed with an animation
      * @param child
      * The child
      * @param parent
      * The parent
      */
-    @SuppressWarnings("StatementWithEmptyBody")
     private static int findPosition(ViewGroup parent, View child) {
-        int res;
-        for (res=0;parent.getChildAt(res)!=child;res++);
-        return res;
+        int n = parent.getChildCount();
+        for (int i=0;i<n;i++) {
+            if (parent.getChildAt(i) == child)
+                return i;
+        }
+        return -1;
     }
     /**
-     * Returns the position, from the end, of the View in the list of the children having the same parent
+     * Returns the position, from the end, of the View in the list of the children having the same parent,
+     * or -1 if the View is not one of its children
      * @param child
      * The child
      * @param parent
      * The parent
      */
     private static int findLastPosition(ViewGroup parent, View child) {
-        return parent.getChildCount()-findPosition(parent,child);
+        int position = findPosition(parent, child);
+        return (position < 0) ? -1 : parent.getChildCount()-position;
     }
 
     /**
@@ -7820,9 +8690,10 @@ public abstract class AQuery {
     public AQuery prev() {
         List<View> elts = list();
         ArrayList<View> res = new ArrayList<>(elts.size());
+        MatchContext context = new MatchContext();
         for (View elt : elts) {
             ViewGroup parent = (ViewGroup) elt.getParent();
-            int position = findPosition(parent, elt);
+            int position = context.findPosition(parent, elt);
             if (position > 0)
                 res.add(parent.getChildAt(position-1));
         }
@@ -7841,9 +8712,10 @@ public abstract class AQuery {
     public AQuery prevAll() {
         List<View> elts = list();
         ArrayList<View> res = new ArrayList<>();
+        MatchContext context = new MatchContext();
         for (View elt : elts) {
             ViewGroup parent = (ViewGroup) elt.getParent();
-            int position = findPosition(parent, elt);
+            int position = context.findPosition(parent, elt);
             for (int i=0;i<position;i++)
                 res.add(parent.getChildAt(i));
         }
@@ -7862,9 +8734,10 @@ public abstract class AQuery {
     public AQuery next() {
         List<View> elts = list();
         ArrayList<View> res = new ArrayList<>(elts.size());
+        MatchContext context = new MatchContext();
         for (View elt : elts) {
             ViewGroup parent = (ViewGroup) elt.getParent();
-            int position = 1+findPosition(parent, elt);
+            int position = 1+context.findPosition(parent, elt);
             if (position < parent.getChildCount())
                 res.add(parent.getChildAt(position));
         }
@@ -7883,9 +8756,10 @@ public abstract class AQuery {
     public AQuery nextAll() {
         List<View> elts = list();
         ArrayList<View> res = new ArrayList<>();
+        MatchContext context = new MatchContext();
         for (View elt : elts) {
             ViewGroup parent = (ViewGroup) elt.getParent();
-            int position = 1+findPosition(parent, elt);
+            int position = 1+context.findPosition(parent, elt);
             for (int i=position;i<parent.getChildCount();i++)
                 res.add(parent.getChildAt(i));
         }
@@ -8146,6 +9020,59 @@ public abstract class AQuery {
             res.add((View) child.getParent());
         return new $Array(ctx, res);
     }
+    /**
+     * Returns the ancestors of the elements matching a selector, from the closest to the farthest
+     * @param selector
+     * The selector. Example : "LinearLayout"
+     */
+    public AQuery parents(String selector) {
+        return parents(compile(selector));
+    }
+    /**
+     * Returns the ancestors of the elements matching a compiled selector, from the closest to the farthest
+     * The ancestors are matched in the content of the activity, like filter() does: the content view and its parents are never returned
+     */
+    public AQuery parents(Selector selector) {
+        View content = new $Document(ctx).head();
+        $Set<View> ancestors = new $Set<>();
+        for (View v : list()) {
+            for (View parent = getParentView(v); (parent != null) && isInside(parent, content); parent = getParentView(parent))
+                ancestors.add(parent);
+        }
+        return new $Array(ctx, ancestors.list()).filter(selector);
+    }
+    /**
+     * For each element, returns the first View matching a selector among the element and its ancestors
+     * @param selector
+     * The selector. Example : "LinearLayout"
+     */
+    public AQuery closest(String selector) {
+        return closest(compile(selector));
+    }
+    /**
+     * For each element, returns the first View matching a compiled selector among the element and its ancestors
+     * The views are matched in the content of the activity, like filter() does: the content view and its parents are never returned
+     */
+    public AQuery closest(Selector selector) {
+        View content = new $Document(ctx).head();
+        List<View> elements = list();
+        $Set<View> candidates = new $Set<>();
+        for (View v : elements) {
+            for (View elt = v; (elt != null) && isInside(elt, content); elt = getParentView(elt))
+                candidates.add(elt);
+        }
+        $Set<View> matches = new $Set<>(new $Array(ctx, candidates.list()).filter(selector).list());
+        $Set<View> res = new $Set<>();
+        for (View v : elements) {
+            for (View elt = v; (elt != null) && isInside(elt, content); elt = getParentView(elt)) {
+                if (matches.contains(elt)) {
+                    res.add(elt);
+                    break;
+                }
+            }
+        }
+        return new $Array(ctx, res.list());
+    }
 
     /**
      * Returns the ID of the first element in the set of elements
@@ -8158,40 +9085,120 @@ public abstract class AQuery {
      * Sets the id of the elements
      */
     public AQuery id(int value) {
-        for (View v : list())
+        for (View v : list()) {
             v.setId(value);
+            ViewIndex.idChanged(v);
+        }
         return this;
     }
+
     /**
-     * Returns the text content of first element in the set of elements
+     * Adds CSS classes to the elements, so that they can be found with the selector ".class"
+     * The views having a class are indexed by class in their window, so finding them doesn't walk the tree
+     * @param classes
+     * The classes, separated by spaces. Example : "unread important"
      */
-    public String text() {
-        return ((TextView) head()).getText().toString();
+    public AQuery addClass(String classes) {
+        String[] names = splitClasses(classes);
+        for (View v : list()) {
+            for (String name : names)
+                ViewIndex.addCssClass(v, name);
+        }
+        return this;
     }
     /**
-     * Sets the text content of the element
+     * Removes CSS classes from the elements
+     * @param classes
+     * The classes, separated by spaces. Example : "unread important"
      */
-    public AQuery text(String value) {
-        for (View v : list())
-            ((TextView) v).setText(value);
+    public AQuery removeClass(String classes) {
+        String[] names = splitClasses(classes);
+        for (View v : list()) {
+            for (String name : names)
+                ViewIndex.removeCssClass(v, name);
+        }
         return this;
     }
     /**
-     * Sets the text content of the element from a String resource
+     * Checks if at least one of the elements has a CSS class
      */
-    public AQuery text(int resourceID) {
-        for (View v : list())
-            ((TextView) v).setText(resourceID);
-        return this;
+    public boolean hasClass(String cssClass) {
+        for (View v : list()) {
+            if (ViewIndex.hasCssClass(v, cssClass))
+                return true;
+        }
+        return false;
     }
-
     /**
-     * Sets the image content of the element from a drawable
-     * Works only on ImageViews
+     * Adds or removes CSS classes from each element, depending on whether the element has them
+     * @param classes
+     * The classes, separated by spaces. Example : "unread important"
      */
-    public AQuery src(Drawable drawable) {
-        for (View v : list())
-            ((ImageView) v).setImageDrawable(drawable);
+    public AQuery toggleClass(String classes) {
+        String[] names = splitClasses(classes);
+        for (View v : list()) {
+            for (String name : names) {
+                if (!ViewIndex.removeCssClass(v, name))
+                    ViewIndex.addCssClass(v, name);
+            }
+        }
+        return this;
+    }
+    /**
+     * Adds or removes CSS classes from the elements
+     * @param classes
+     * The classes, separated by spaces. Example : "unread important"
+     * @param add
+     * true to add the classes, false to remove them
+     */
+    public AQuery toggleClass(String classes, boolean add) {
+        return add ? addClass(classes) : removeClass(classes);
+    }
+    /**
+     * Returns the CSS classes of the first element, in the order they have been added
+     */
+    public Set<String> classes() {
+        return ViewIndex.getCssClasses(head());
+    }
+    /**
+     * Splits a list of CSS classes separated by spaces
+     */
+    private static String[] splitClasses(String classes) {
+        String trimmed = classes.trim();
+        if (trimmed.isEmpty())
+            return new String[0];
+        return trimmed.split("\\s+");
+    }
+    /**
+     * Returns the text content of first element in the set of elements
+     */
+    public String text() {
+        return ((TextView) head()).getText().toString();
+    }
+    /**
+     * Sets the text content of the element
+     */
+    public AQuery text(String value) {
+        for (View v : list())
+            ((TextView) v).setText(value);
+        return this;
+    }
+    /**
+     * Sets the text content of the element from a String resource
+     */
+    public AQuery text(int resourceID) {
+        for (View v : list())
+            ((TextView) v).setText(resourceID);
+        return this;
+    }
+
+    /**
+     * Sets the image content of the element from a drawable
+     * Works only on ImageViews
+     */
+    public AQuery src(Drawable drawable) {
+        for (View v : list())
+            ((ImageView) v).setImageDrawable(drawable);
         return this;
     }
     /**
@@ -8415,6 +9422,12 @@ public abstract class AQuery {
         }
         @Override
         public Object getMid(float t) {
+            return getMidColor(t);
+        }
+        /**
+         * Returns the color at a step of the animation, without boxing it
+         */
+        public int getMidColor(float t) {
             return Color.argb(progress(Color.alpha(c1),Color.alpha(c2), t), progress(Color.red(c1),Color.red(c2), t), progress(Color.green(c1),Color.green(c2), t), progress(Color.blue(c1),Color.blue(c2), t));
         }
     }
@@ -8465,6 +9478,12 @@ public abstract class AQuery {
         }
         @Override
         public Object getMid(float t) {
+            return getMidInt(t);
+        }
+        /**
+         * Returns the value at a step of the animation, without boxing it
+         */
+        public int getMidInt(float t) {
             return progress(n1, n2, t);
         }
     }
@@ -8504,7 +9523,7 @@ public abstract class AQuery {
             px2 = endPx;
         }
         @Override
-        public Object getMid(float t) {
+        public int getMidInt(float t) {
             return progress(px1, px2, t);
         }
     }
@@ -8527,6 +9546,12 @@ public abstract class AQuery {
         }
         @Override
         public Object getMid(float t) {
+            return getMidFloat(t);
+        }
+        /**
+         * Returns the value at a step of the animation, without boxing it
+         */
+        public float getMidFloat(float t) {
             return fprogress(n1, n2, t);
         }
     }
@@ -8585,6 +9610,7 @@ public abstract class AQuery {
     public static class PropertyTransition {
         public final String attr; // The attribute
         private Transition function; // The functions to call at each step of the transition
+        private AttrSetter setter; // The functions getting and setting the attribute, once looked up
         private Object val; // The value at the end of the transition
         private String sVal; // The XML-String value at the end of the transition
         private boolean isFunc = false, isProp = false, isAttr = false;
@@ -8663,6 +9689,10 @@ public abstract class AQuery {
          * The easing function
          */
         public void process(AQuery q, float t, EaseListener l) {
+            if ((t > 0) && (t < 1) && ((function instanceof IntTransition) || (function instanceof FloatTransition) || (function instanceof ColorTransition))) {
+                processPrimitive(q, l.ease(t)); // The steps of the numeric attributes don't box their values
+                return;
+            }
             Object prop;
             if (t <= 0)
                 prop = function.getStart();
@@ -8672,6 +9702,30 @@ public abstract class AQuery {
                 prop = function.getMid(l.ease(t));
             q.prop(attr, prop);
         }
+
+        /**
+         * Processes an intermediate step of the transition of a numeric attribute, with the primitive accessors of the attribute
+         */
+        @SuppressWarnings("EmptyCatchBlock")
+        private void processPrimitive(AQuery q, float t) {
+            if (setter == null)
+                setter = getPropIfExists(attr);
+            List<View> views = (q instanceof $Element) ? null : q.list();
+            int n = (views == null) ? 1 : views.size();
+            for (int i=0;i<n;i++) {
+                View v = (views == null) ? q.head() : views.get(i);
+                try {
+                    if (function instanceof FloatTransition)
+                        setter.setFloat(q, v, ((FloatTransition) function).getMidFloat(t));
+                    else if (function instanceof IntTransition)
+                        setter.setInt(q, v, ((IntTransition) function).getMidInt(t));
+                    else
+                        setter.setInt(q, v, ((ColorTransition) function).getMidColor(t));
+                }
+                catch (NoSuchMethodError e) {
+                }
+            }
+        }
     }
 
     /**
@@ -10231,14 +11285,14 @@ public abstract class AQuery {
     }
     private String formatString(String text) {
         try {
-            return ctx.getResources().getString(getIdentifier("string", text));
+            return context().getResources().getString(getIdentifier("string", text));
         }
         catch (Resources.NotFoundException e) {
             return text;
         }
     }
     private String[] formatStringArray(String text) {
-        return ctx.getResources().getStringArray(getIdentifier("array", text));
+        return context().getResources().getStringArray(getIdentifier("array", text));
     }
     private int[] formatIntArray(String text) {
         String[] sNumbers = formatString(text).split(" *, *");
@@ -10254,7 +11308,7 @@ public abstract class AQuery {
         else if ("false".equals(text))
             return false;
         else
-            return ctx.getResources().getBoolean(getIdentifier("bool", text));
+            return context().getResources().getBoolean(getIdentifier("bool", text));
     }
     private int formatInt(String text) {
         try {
@@ -10262,7 +11316,7 @@ public abstract class AQuery {
         }
         catch (NumberFormatException e) {
             try {
-                return ctx.getResources().getInteger(getIdentifier("integer", text));
+                return context().getResources().getInteger(getIdentifier("integer", text));
             }
             catch (Resources.NotFoundException e2) {
                 throw e;
@@ -10298,8 +11352,16 @@ public abstract class AQuery {
             throw new IllegalArgumentException(e);
         }
     }
-    @SuppressLint("RtlHardcoded")
     private static int formatGravity(String text) {
+        Integer res = (Integer) GRAVITIES.get(null, text);
+        if (res == null) {
+            res = parseGravity(text);
+            GRAVITIES.put(null, text, res);
+        }
+        return res;
+    }
+    @SuppressLint("RtlHardcoded")
+    private static int parseGravity(String text) {
         String[] args = text.split("\\|");
         int res = 0;
         for (String arg : args) {
@@ -10561,6 +11623,14 @@ public abstract class AQuery {
         throw new IllegalArgumentException("Unknown alignment mode\""+ text +"\"");
     }
     private static int formatOptions(String text) {
+        Integer res = (Integer) IME_OPTIONS.get(null, text);
+        if (res == null) {
+            res = parseOptions(text);
+            IME_OPTIONS.put(null, text, res);
+        }
+        return res;
+    }
+    private static int parseOptions(String text) {
         String[] args = text.split("\\|");
         int res = 0;
         for (String arg : args) {
@@ -10708,6 +11778,14 @@ public abstract class AQuery {
         throw new IllegalArgumentException("Unknown caps type \""+ text +"\"");
     }
     private static int formatInputType(String text) {
+        Integer res = (Integer) INPUT_TYPES.get(null, text);
+        if (res == null) {
+            res = parseInputType(text);
+            INPUT_TYPES.put(null, text, res);
+        }
+        return res;
+    }
+    private static int parseInputType(String text) {
         if ("none".equals(text))
             return InputType.TYPE_NULL;
         if ("date".equals(text))
@@ -10788,7 +11866,7 @@ public abstract class AQuery {
     }
     private LayoutAnimationController formatAnimation(String text) {
         try {
-            return AnimationUtils.createLayoutAnimationFromXml(ctx, ctx.getResources().getAnimation(getIdentifier("anim", text)));
+            return AnimationUtils.createLayoutAnimationFromXml(context(), context().getResources().getAnimation(getIdentifier("anim", text)));
         }
         catch (Exception e) {
             throw new IllegalArgumentException(e.toString());
@@ -10858,491 +11936,1974 @@ public abstract class AQuery {
         catch (NumberFormatException e) {
             try {
                 TypedValue outValue = new TypedValue();
-                ctx.getResources().getValue(getIdentifier("dimen", text), outValue, true);
+                context().getResources().getValue(getIdentifier("dimen", text), outValue, true);
                 return outValue.getFloat();
             }
             catch (Resources.NotFoundException e2) {
                 throw e;
             }
         }
-    }
-    private static final Pattern DIMEN_MATCHER = Pattern.compile("^(\\d*(?:\\.\\d*)?)([a-z]*)$");
-    @SuppressWarnings("EmptyCatchBlock")
-    private float formatDimen(String text) {
-        Matcher m = DIMEN_MATCHER.matcher(text);
-        if (m.find())
-            return toPX(Float.valueOf(m.group(1)), m.group(2));
-        else {
-            try {
-                return ctx.getResources().getDimension(getIdentifier("dimen", text));
-            }
-            catch (Resources.NotFoundException e) {
+    }
+    private static final Pattern DIMEN_MATCHER = Pattern.compile("^(\\d*(?:\\.\\d*)?)([a-z]*)$");
+    private float formatDimen(String text) {
+        Resources resources = context().getResources();
+        Float res = (Float) DIMENS.get(resources, text);
+        if (res == null) {
+            res = parseDimen(text);
+            DIMENS.put(resources, text, res);
+        }
+        return res;
+    }
+    @SuppressWarnings("EmptyCatchBlock")
+    private float parseDimen(String text) {
+        Matcher m = DIMEN_MATCHER.matcher(text);
+        if (m.find())
+            return toPX(Float.valueOf(m.group(1)), m.group(2));
+        else {
+            try {
+                return context().getResources().getDimension(getIdentifier("dimen", text));
+            }
+            catch (Resources.NotFoundException e) {
+            }
+        }
+        throw new IllegalArgumentException("Unable to parse dimension \""+ text +"");
+    }
+    private int getIdentifier(String text) throws Resources.NotFoundException {
+        return getIdentifier(context(), text);
+    }
+    private static final Pattern RESOURCE_MATCHER = Pattern.compile("^@([a-z]+)/(\\w+)$");
+    protected static int getIdentifier(Context ctx, String text) throws Resources.NotFoundException {
+        String packageName = ctx.getPackageName();
+        String key = packageName +':'+ text; // The same String can name a resource of another package
+        Integer res = (Integer) IDENTIFIERS.get(null, key);
+        if (res != null)
+            return res;
+        Matcher m = RESOURCE_MATCHER.matcher(text);
+        if (m.find()) {
+            res = ctx.getResources().getIdentifier(m.group(2), m.group(1), packageName); // Resources.getIdentifier() takes the name, then the type
+            IDENTIFIERS.put(null, key, res);
+            return res;
+        }
+        throw new Resources.NotFoundException("Unable to find resource \""+ text +"\"");
+    }
+    private int getIdentifier(String folder, String text) throws Resources.NotFoundException {
+        return getIdentifier(context(), folder, text);
+    }
+    protected static int getIdentifier(Context ctx, String folder, String text) throws Resources.NotFoundException {
+        int n = folder.length();
+        if ((text.length() > n+2) && (text.charAt(0) == '@') && text.startsWith(folder, 1) && (text.charAt(n+1) == '/') && RESOURCE_MATCHER.matcher(text).find())
+            return ctx.getResources().getIdentifier(text.substring(n+2), folder, ctx.getPackageName());
+        throw new Resources.NotFoundException("Unable to find resource \""+ text +"\"");
+    }
+
+    /**
+     * A LRU cache of the values parsed from the Strings given to attr(), for one type of value, like "#F80" -> 0xFFFF8800 for the colors,
+     * so that setting the same value on many views, like on each row of a list, only parses it once
+     * The values depending on the resources, like the dimensions, are kept for each Resources object, so that several activities
+     * don't forget the values of each other. They are forgotten when the configuration of their resources changes,
+     * like after a rotation or a change of language
+     */
+    private static class ParsedValues {
+        private static final int MAX_SIZE = 64; // The maximum number of values kept for each resources
+        private final boolean dependsOnResources; // true if the values depend on the resources and their configuration
+        private final Values values = new Values(null); // The values, if they don't depend on the resources
+        private final WeakHashMap<Resources,Values> resourcesValues = new WeakHashMap<>(); // The values parsed with each resources, if they depend on them
+
+        ParsedValues(boolean dependsOnResources) {
+            this.dependsOnResources = dependsOnResources;
+        }
+
+        /**
+         * Returns the value parsed from a String, or null if it hasn't been parsed yet
+         * @param resources
+         * The resources with which the value is parsed, or null if the values don't depend on them
+         * @param text
+         * The String
+         */
+        synchronized Object get(Resources resources, String text) {
+            return values(resources).get(text);
+        }
+
+        /**
+         * Remembers the value parsed from a String
+         * @param resources
+         * The resources with which the value has been parsed, or null if the values don't depend on them
+         */
+        synchronized void put(Resources resources, String text, Object value) {
+            values(resources).put(text, value);
+        }
+
+        /**
+         * Returns the values parsed with some resources, forgetting them if the configuration of the resources has changed
+         */
+        private Values values(Resources resources) {
+            if (!dependsOnResources)
+                return values;
+            Values res = resourcesValues.get(resources);
+            if ((res == null) || !res.configuration.equals(resources.getConfiguration())) {
+                res = new Values(new Configuration(resources.getConfiguration()));
+                resourcesValues.put(resources, res);
+            }
+            return res;
+        }
+
+        /**
+         * The values parsed with the same resources
+         */
+        private static class Values extends LinkedHashMap<String,Object> {
+            private final Configuration configuration; // The configuration of the resources when the values have been parsed
+
+            Values(Configuration configuration) {
+                super(16, 0.75f, true);
+                this.configuration = configuration;
+            }
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String,Object> eldest) {
+                return (size() > MAX_SIZE);
+            }
+        }
+    }
+    private static final ParsedValues COLORS = new ParsedValues(true);
+    private static final ParsedValues DIMENS = new ParsedValues(true);
+    private static final ParsedValues GRAVITIES = new ParsedValues(false);
+    private static final ParsedValues IME_OPTIONS = new ParsedValues(false);
+    private static final ParsedValues INPUT_TYPES = new ParsedValues(false);
+    private static final ParsedValues IDENTIFIERS = new ParsedValues(false); // The resource ids of the Strings like "@color/primary", which don't depend on the configuration
+    private int formatColor(String text) {
+        Resources resources = context().getResources();
+        Integer res = (Integer) COLORS.get(resources, text);
+        if (res == null) {
+            res = parseColor(text);
+            COLORS.put(resources, text, res);
+        }
+        return res;
+    }
+    private int parseColor(String text) {
+        String color = text.replaceAll("(?i)^#([\\dA-F])([\\dA-F])([\\dA-F])([\\dA-F])$", "#$1$1$2$2$3$3$4$4");
+        color = color.replaceAll("(?i)^#([\\dA-F])([\\dA-F])([\\dA-F])$", "#$1$1$2$2$3$3");
+        try {
+            return Color.parseColor(color);
+        }
+        catch (IllegalArgumentException e) {
+            try {
+                return Integer.valueOf(text);
+            }
+            catch (NumberFormatException e2) {
+                try {
+                    return ContextCompat.getColor(context(), getIdentifier("color", text));
+                }
+                catch (Exception e3) {
+                    throw new IllegalArgumentException("Unable to parse color \""+ text +"\"");
+                }
+            }
+        }
+    }
+    private static ColorStateList toColorState(int c) {
+        return new ColorStateList(new int[][]{new int[0]}, new int[]{c});
+    }
+    private ColorStateList formatTint(String text) {
+        return toColorState(formatColor(text));
+    }
+    private int formatResource(String text) {
+        return getIdentifier(text);
+    }
+    private static int intCast(Object value) {
+        if (value instanceof Integer)
+            return (Integer) value;
+        if (value instanceof Float)
+            return Math.round((Float) value);
+        return (int) Math.round((double) value);
+    }
+    private static long longCast(Object value) {
+        if (value instanceof Long)
+            return (Long) value;
+        if (value instanceof Float)
+            return Math.round((Float) value);
+        if (value instanceof Double)
+            return Math.round((Double) value);
+        return (int) value;
+    }
+    protected int widthCast(Object value) {
+        int res = intCast(value);
+        switch (res) {
+            case ViewGroup.LayoutParams.MATCH_PARENT :
+                return parent().width();
+            case ViewGroup.LayoutParams.WRAP_CONTENT :
+                return scrollWidth();
+            default:
+                return res;
+        }
+    }
+    protected int heightCast(Object value) {
+        int res = intCast(value);
+        switch (res) {
+            case ViewGroup.LayoutParams.MATCH_PARENT :
+                return parent().height();
+            case ViewGroup.LayoutParams.WRAP_CONTENT :
+                return scrollHeight();
+            default:
+                return res;
+        }
+    }
+    private static float floatCast(Object value) {
+        if (value instanceof Float)
+            return (Float) value;
+        if (value instanceof Integer)
+            return (Integer) value;
+        return (float) (double) value;
+    }
+    private static double doubleCast(Object value) {
+        if (value instanceof Double)
+            return (Double) value;
+        if (value instanceof Integer)
+            return (Integer) value;
+        return (float) value;
+    }
+    @SuppressWarnings("deprecation")
+    private static Drawable drawableCast(Object value) {
+        try {
+            return (Drawable) value;
+        }
+        catch (ClassCastException e) {
+            try {
+                return new BitmapDrawable((Bitmap) value);
+            }
+            catch (ClassCastException e2) {
+                try {
+                    return new ColorDrawable((int) value);
+                }
+                catch (ClassCastException e3) {
+                    throw e;
+                }
+            }
+        }
+    }
+    @SuppressWarnings("deprecation")
+    private Drawable formatDrawable(String text) {
+        int resourceID;
+        try {
+            resourceID = getIdentifier("drawable", text);
+        }
+        catch (Resources.NotFoundException e) {
+            try {
+                resourceID = getIdentifier("mipmap", text);
+            }
+            catch (Resources.NotFoundException e2) {
+                try {
+                    return new ColorDrawable(formatColor(text));
+                }
+                catch (IllegalArgumentException e3) {
+                    throw e;
+                }
+            }
+        }
+        return context().getResources().getDrawable(resourceID);
+    }
+
+    /*
+     * End of format functions
+     */
+
+    /**
+     * Converts sp dimension to px
+     */
+    private float toSP(float px) {
+        return px/context().getResources().getDisplayMetrics().scaledDensity;
+    }
+
+    /**
+     * Converts a dimension in any given unit to px
+     */
+    private float toPX(float size, int unit) {
+        return toPX(context(), size, unit);
+    }
+    /**
+     * Converts a dimension in any given unit to px
+     */
+    public static float toPX(Context ctx, float size, int unit) {
+        return TypedValue.applyDimension(unit, size, ctx.getResources().getDisplayMetrics());
+    }
+    /**
+     * Converts a dimension in any given unit to px
+     */
+    private float toPX(float size, String unit) {
+        return toPX(context(), size, unit);
+    }
+    /**
+     * Converts a dimension in any given unit to px
+     */
+    public static float toPX(Context ctx, float size, String unit) {
+        return toPX(ctx, size, $Utils.unitID(unit));
+    }
+
+    /**
+     * A class to handle C++-like linked list, with head and tail
+     */
+    public static class $List<E> {
+        private E head;
+        private $List<E> tail;
+
+        public $List() {
+        }
+        public $List(E head, $List<E> tail) {
+            this.head = head;
+            this.tail = tail;
+        }
+
+        public $List(E[] array) {
+            for (int i=array.length-1;i>=0;i--)
+                add(array[i]);
+        }
+
+        public E head() {
+            return head;
+        }
+        public $List<E> tail() {
+            return tail;
+        }
+
+        public boolean add(E object) {
+            tail = new $List<>(head,tail);
+            head = object;
+            return true;
+        }
+
+        public void clear() {
+            head = null;
+            tail = null;
+        }
+
+        @SuppressWarnings("SimplifiableIfStatement")
+        public boolean contains(Object object) {
+            if (object == head)
+                return true;
+            if (isEmpty())
+                return false;
+            return tail.contains(object);
+        }
+
+        public boolean isEmpty() {
+            return (tail == null);
+        }
+
+        public E remove() {
+            E res = head;
+            head = tail.head;
+            tail = tail.tail;
+            return res;
+        }
+
+        public int size() {
+            if (isEmpty())
+                return 0;
+            return 1+tail.size();
+        }
+    }
+
+    /**
+     * A class to handle sets of elements, like sets of Views
+     * The elements are compared by identity, which makes the operations run in constant time,
+     * and they are kept in their insertion order, which is the order of the tree for Views
+     */
+    public static class $Set<E> extends AbstractSet<E> {
+        private final ArrayList<E> elements; // The elements, in their insertion order
+        private final IdentityHashMap<E,Boolean> indexes; // The same elements, to find them quickly
+
+        public $Set() {
+            this(10);
+        }
+        public $Set(int capacity) {
+            elements = new ArrayList<>(capacity);
+            indexes = new IdentityHashMap<>(capacity);
+        }
+        public $Set(Collection<? extends E> elements) {
+            this(elements.size());
+            addAll(elements);
+        }
+
+        @Override
+        public boolean add(E object) {
+            if (indexes.put(object, Boolean.TRUE) != null)
+                return false;
+            elements.add(object);
+            return true;
+        }
+
+        @Override
+        public boolean addAll(Collection<? extends E> objects) {
+            boolean res = false;
+            for (E object : objects)
+                res |= add(object);
+            return res;
+        }
+
+        @Override
+        public boolean contains(Object object) {
+            return indexes.containsKey(object);
+        }
+
+        @Override
+        public boolean remove(Object object) {
+            if (indexes.remove(object) == null)
+                return false;
+            for (int i=0;i<elements.size();i++) {
+                if (elements.get(i) == object) {
+                    elements.remove(i);
+                    break;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public void clear() {
+            elements.clear();
+            indexes.clear();
+        }
+
+        @Override
+        public int size() {
+            return elements.size();
+        }
+
+        @Override
+        public Iterator<E> iterator() {
+            return new Iterator<E>() {
+                private final Iterator<E> it = elements.iterator();
+                private E current;
+
+                @Override
+                public boolean hasNext() {
+                    return it.hasNext();
+                }
+
+                @Override
+                public E next() {
+                    current = it.next();
+                    return current;
+                }
+
+                @Override
+                public void remove() {
+                    it.remove();
+                    indexes.remove(current);
+                }
+            };
+        }
+
+        /**
+         * Returns the elements of the set, in their insertion order
+         * The list returned is backed by the set, so it must not be modified while the set is still used
+         */
+        public List<E> list() {
+            return elements;
+        }
+    }
+
+    /**
+     * A parser of CSS selectors, reading the selector once from left to right
+     * Each syntax error is reported with the position where it has been found, for example :
+     * Syntax error at position 13 of "TextView[text" : expected '=', found end of selector
+     */
+    private static class SelectorParser {
+        private final String selector; // The selector being parsed
+        private final int flags; // The compilation flags of the selector
+        private int pos; // The position of the next character to read
+        private int depth; // The number of :has() being parsed around the current position
+
+        /**
+         * Constructor of SelectorParser
+         * @param selector
+         * The selector. Example : "#my_id, LinearLayout > TextView"
+         * @param flags
+         * The compilation flags of the selector
+         */
+        public SelectorParser(String selector, int flags) {
+            this.selector = selector;
+            this.flags = flags;
+        }
+
+        /**
+         * Parses the whole selector
+         * @return
+         * The chains of the selector, one for each comma-separated selector
+         */
+        public SelectorChain[] parse() {
+            return parseChains();
+        }
+
+        /**
+         * Parses a list of comma-separated selectors, up to the end of the selector or to the parenthesis closing a :has()
+         */
+        private SelectorChain[] parseChains() {
+            ArrayList<SelectorChain> res = new ArrayList<>();
+            res.add(parseChain());
+            while (peek() == ',') { // parseChain() only stops at a comma, at a closing parenthesis or at the end
+                pos++;
+                res.add(parseChain());
+            }
+            return res.toArray(new SelectorChain[res.size()]);
+        }
+
+        /**
+         * Parses a selector without commas, like "LinearLayout > TextView:first-child"
+         */
+        private SelectorChain parseChain() {
+            ArrayList<ViewChecker> checkers = new ArrayList<>();
+            ArrayList<String> compounds = new ArrayList<>();
+            StringBuilder combinators = new StringBuilder();
+            skipSpaces();
+            char combinator = ' ';
+            if (isCombinator(peek())) {
+                combinator = selector.charAt(pos++);
+                skipSpaces();
+            }
+            while (true) {
+                int start = pos;
+                checkers.add(parseCompound());
+                compounds.add(selector.substring(start, pos));
+                combinators.append(combinator);
+                boolean spaces = skipSpaces();
+                char c = peek();
+                if ((c == 0) || (c == ',') || ((c == ')') && (depth > 0)))
+                    break;
+                if (isCombinator(c)) {
+                    combinator = c;
+                    pos++;
+                    skipSpaces();
+                }
+                else if (spaces)
+                    combinator = ' ';
+                else
+                    throw syntaxError("expected a combinator, a comma or the end of the selector");
+            }
+            return new SelectorChain(checkers.toArray(new ViewChecker[checkers.size()]),
+                    combinators.toString().toCharArray(), compounds.toArray(new String[compounds.size()]));
+        }
+
+        /**
+         * Parses a selector without combinators, like "TextView#my_id:first-child"
+         */
+        private ViewChecker parseCompound() {
+            ArrayList<ViewChecker> res = new ArrayList<>();
+            if ((peek() == '*') || isNameChar(peek()))
+                res.add(tagChecker(parseTag(), flags));
+            while (true) {
+                char c = peek();
+                if (c == '#') {
+                    pos++;
+                    res.add(idChecker(parseName("an id")));
+                }
+                else if (c == '.') {
+                    pos++;
+                    res.add(new CssClassChecker(parseCssClass()));
+                }
+                else if (c == ':') {
+                    pos++;
+                    res.add(parsePseudoClass());
+                }
+                else if (c == '[') {
+                    pos++;
+                    res.add(parseAttribute());
+                }
+                else
+                    break;
+            }
+            if (res.isEmpty())
+                throw syntaxError("expected a tag, an #id, a .class, a :pseudo-class or an [attribute]");
+            if (res.size() == 1)
+                return res.get(0);
+            return new ViewCheckers(res);
+        }
+
+        /**
+         * Parses a tag, like "TextView", "android.widget.TextView" or "*"
+         * Since a dot is both part of the full names of the classes and the start of a CSS class,
+         * the tag ends with the first part starting with an upper case letter, the name of the class,
+         * like "MyView" in "com.example.MyView.unread". The parts following it are CSS classes
+         */
+        private String parseTag() {
+            if (peek() == '*') {
+                pos++;
+                return "*";
+            }
+            int start = pos;
+            while (isTagChar(peek()))
+                pos++;
+            if (pos == start)
+                throw syntaxError("expected a tag");
+            String tag = selector.substring(start, pos);
+            int end = -1; // The end of the first part starting with an upper case letter
+            for (int partStart=0;(partStart<tag.length()) && (end == -1);) {
+                int partEnd = tag.indexOf('.', partStart);
+                if (partEnd == -1)
+                    partEnd = tag.length();
+                if ((partEnd > partStart) && Character.isUpperCase(tag.charAt(partStart)))
+                    end = partEnd;
+                partStart = partEnd+1;
+            }
+            if (end == -1)
+                return tag;
+            pos = start+end;
+            return tag.substring(0, end);
+        }
+
+        /**
+         * Parses a CSS class, like "unread" or "is-selected"
+         */
+        private String parseCssClass() {
+            int start = pos;
+            while (isNameChar(peek()) || (peek() == '-'))
+                pos++;
+            if (pos == start)
+                throw syntaxError("expected a CSS class");
+            return selector.substring(start, pos);
+        }
+
+        /**
+         * Parses a name, like an id or an attribute
+         * @param expected
+         * What the name is, for the error message
+         */
+        private String parseName(String expected) {
+            int start = pos;
+            while (isNameChar(peek()))
+                pos++;
+            if (pos == start)
+                throw syntaxError("expected "+ expected);
+            return selector.substring(start, pos);
+        }
+
+        /**
+         * Parses what follows the ':' of a pseudo-class, like "first-child" or "nth-child(2n+1)"
+         */
+        private ViewChecker parsePseudoClass() {
+            int start = pos;
+            while (isNameChar(peek()) || (peek() == '-'))
+                pos++;
+            String name = selector.substring(start, pos);
+            if (name.isEmpty())
+                throw syntaxError("expected a pseudo-class");
+            if (peek() != '(') {
+                ViewChecker res = CONDITION_CHECKERS.get(name);
+                if (res == null)
+                    throw syntaxError(start, "unknown pseudo-class \":"+ name +"\"");
+                return res;
+            }
+            pos++;
+            skipSpaces();
+            ViewChecker res;
+            if ("nth-child".equals(name))
+                res = new NthChildChecker(parseNth());
+            else if ("nth-last-child".equals(name))
+                res = new NthLastChildChecker(parseNth());
+            else if ("not".equals(name))
+                res = notTagChecker(parseTag(), flags);
+            else if ("item".equals(name))
+                res = new ItemChecker(parseNth());
+            else if ("has".equals(name)) {
+                depth++;
+                res = new HasChecker(parseChains());
+                depth--;
+            }
+            else
+                throw syntaxError(start, "unknown pseudo-class \":"+ name +"()\"");
+            skipSpaces();
+            expect(')');
+            return res;
+        }
+
+        /**
+         * Parses an expression of the form "an+b", "an", "b", "odd" or "even"
+         * @return
+         * An array containing [b,a]
+         */
+        @SuppressWarnings("SpellCheckingInspection")
+        private int[] parseNth() {
+            int start = pos;
+            while ((peek() != ')') && (peek() != 0))
+                pos++;
+            String expression = selector.substring(start, pos).replace(" ", "");
+            if ("odd".equals(expression))
+                return new int[]{1,2};
+            if ("even".equals(expression))
+                return new int[]{0,2};
+            int n = expression.indexOf('n');
+            try {
+                if (n == -1)
+                    return new int[]{Integer.parseInt(trimPlus(expression)),0};
+                String coeff = expression.substring(0, n);
+                int a;
+                if ("".equals(coeff) || "+".equals(coeff))
+                    a = 1;
+                else if ("-".equals(coeff))
+                    a = -1;
+                else
+                    a = Integer.parseInt(trimPlus(coeff));
+                String constant = expression.substring(n+1);
+                if ("".equals(constant))
+                    return new int[]{0,a};
+                char sign = constant.charAt(0);
+                if ((sign != '+') && (sign != '-'))
+                    throw new NumberFormatException();
+                return new int[]{Integer.parseInt(trimPlus(constant)),a};
+            }
+            catch (NumberFormatException e) {
+                throw syntaxError(start, "invalid expression \""+ expression +"\", expected an+b, odd or even");
+            }
+        }
+        private static String trimPlus(String number) {
+            if (number.startsWith("+") && (number.length() > 1) && Character.isDigit(number.charAt(1)))
+                return number.substring(1);
+            return number;
+        }
+
+        /**
+         * Parses what follows the '[' of an attribute condition, like "text='OK']" or "text^=O]"
+         */
+        private ViewChecker parseAttribute() {
+            skipSpaces();
+            String attr = parseName("an attribute");
+            skipSpaces();
+            char flag = 0;
+            if ("|~^$*".indexOf(peek()) != -1)
+                flag = selector.charAt(pos++);
+            expect('=');
+            skipSpaces();
+            String val;
+            char quote = peek();
+            if ((quote == '\'') || (quote == '"')) {
+                int start = pos++;
+                val = parseValue(quote);
+                if (peek() != quote)
+                    throw syntaxError(start, "unterminated string");
+                pos++;
+            }
+            else
+                val = parseValue(']').trim();
+            skipSpaces();
+            expect(']');
+            switch (flag) {
+                case '|' :
+                    return new AttrStartsChecker(attr, val);
+                case '~' :
+                    return new AttrHasChecker(attr, val);
+                case '^' :
+                    return new AttrBeginsChecker(attr, val);
+                case '$' :
+                    return new AttrEndsChecker(attr, val);
+                case '*' :
+                    return new AttrContainsChecker(attr, val);
+                default :
+                    return new AttrEqualsChecker(attr, val);
+            }
+        }
+
+        /**
+         * Parses the value of an attribute condition, until a given character or the end of the selector
+         * A backslash followed by a non-word character, like \" or \], stands for this character
+         */
+        private String parseValue(char end) {
+            StringBuilder res = new StringBuilder();
+            while (pos < selector.length()) {
+                char c = selector.charAt(pos);
+                if (c == end)
+                    break;
+                if ((c == '\\') && (pos+1 < selector.length())) {
+                    char escaped = selector.charAt(pos+1);
+                    if (!Character.isLetterOrDigit(escaped) && (escaped != '_')) {
+                        res.append(escaped);
+                        pos += 2;
+                        continue;
+                    }
+                }
+                res.append(c);
+                pos++;
+            }
+            return res.toString();
+        }
+
+        /**
+         * Returns the next character, or 0 at the end of the selector
+         */
+        private char peek() {
+            return (pos < selector.length()) ? selector.charAt(pos) : 0;
+        }
+        /**
+         * Skips the spaces at the current position
+         * @return
+         * true if at least one space has been skipped
+         */
+        private boolean skipSpaces() {
+            int start = pos;
+            while ((pos < selector.length()) && Character.isWhitespace(selector.charAt(pos)))
+                pos++;
+            return (pos > start);
+        }
+        /**
+         * Reads a given character, or throws a syntax error if it's not the next one
+         */
+        private void expect(char c) {
+            if (peek() != c)
+                throw syntaxError("expected '"+ c +"'");
+            pos++;
+        }
+
+        private static boolean isCombinator(char c) {
+            return (c == '>') || (c == '+') || (c == '~');
+        }
+        private static boolean isNameChar(char c) {
+            return Character.isLetterOrDigit(c) || (c == '_');
+        }
+        private static boolean isTagChar(char c) {
+            return isNameChar(c) || (c == '.') || (c == '$');
+        }
+
+        /**
+         * Returns the exception to throw for an error at the current position
+         * @param message
+         * What was expected, like "expected ']'". What has been found instead is added
+         */
+        private IllegalArgumentException syntaxError(String message) {
+            String found = (pos < selector.length()) ? "'"+ selector.charAt(pos) +"'" : "end of selector";
+            return syntaxError(pos, message +", found "+ found);
+        }
+        private IllegalArgumentException syntaxError(int position, String message) {
+            return new IllegalArgumentException("Syntax error at position "+ position +" of \""+ selector +"\" : "+ message);
+        }
+    }
+
+    /**
+     * A compiled CSS selector
+     * Parsing a selector is much more expensive than running it on small trees, so the result of the parsing
+     * is kept in this immutable object, that can be reused for as many queries as needed
+     * Get one by calling AQuery.compile()
+     */
+    public static final class Selector {
+        /**
+         * Flag to match the selector from left to right, as aQuery used to do:
+         * the views matching the first part of the selector are found, then their descendants are searched, and so on.
+         * By default, selectors are matched from right to left: each view of the tree is visited once,
+         * and its ancestors are checked. The views are then returned in the order of the tree
+         */
+        public static final int LEFT_TO_RIGHT = 1;
+        /**
+         * Flag to match the tags of the selector with the subclasses of their class too, like instanceof does:
+         * "TextView" then matches EditText and Button, and "ViewGroup" matches every layout.
+         * By default, a tag only matches the views of this exact class
+         */
+        public static final int SUBCLASSES = 2;
+
+        private final String selector; // The selector, as written by the user
+        private final int flags; // The compilation flags, like LEFT_TO_RIGHT
+        private final SelectorChain[] chains; // The selectors to match from right to left, one for each comma-separated selector
+        private final ViewFinder[] finders; // The functions to find the views from left to right, one for each comma-separated selector
+
+        private Selector(String selector, int flags) {
+            this.selector = selector;
+            this.flags = flags;
+            this.chains = new SelectorParser(selector, flags).parse();
+            this.finders = new ViewFinder[chains.length];
+            for (int i=0;i<chains.length;i++)
+                finders[i] = finder(chains[i], 0);
+        }
+
+        /**
+         * Checks if the selector can be matched from right to left
+         * This is not the case when the user asked explicitly for the opposite,
+         * or when the selector starts with a sibling combinator, like "+ TextView"
+         */
+        private boolean isRightToLeft() {
+            return ((flags & LEFT_TO_RIGHT) == 0) && isInside();
+        }
+        /**
+         * Checks if the views matched by the selector are inside the roots of the search,
+         * which is the case unless the selector starts with a sibling combinator, like "+ TextView"
+         */
+        boolean isInside() {
+            for (SelectorChain chain : chains) {
+                if (!chain.isInside())
+                    return false;
             }
+            return true;
         }
-        throw new IllegalArgumentException("Unable to parse dimension \""+ text +"");
-    }
-    private int getIdentifier(String text) throws Resources.NotFoundException {
-        return getIdentifier(ctx, text);
-    }
-    protected static int getIdentifier(Context ctx, String text) throws Resources.NotFoundException {
-        Matcher m = Pattern.compile("^@([a-z]+)/(\\w+)$").matcher(text);
-        if (m.find())
-            return ctx.getResources().getIdentifier(m.group(1), m.group(2), ctx.getPackageName());
-        throw new Resources.NotFoundException("Unable to find resource \""+ text +"\"");
-    }
-    private int getIdentifier(String folder, String text) throws Resources.NotFoundException {
-        return getIdentifier(ctx, folder, text);
-    }
-    protected static int getIdentifier(Context ctx, String folder, String text) throws Resources.NotFoundException {
-        Matcher m = Pattern.compile("^@"+ folder +"/(\\w+)$").matcher(text);
-        if (m.find())
-            return ctx.getResources().getIdentifier(m.group(1), folder, ctx.getPackageName());
-        throw new Resources.NotFoundException("Unable to find resource \""+ text +"\"");
-    }
-    private int formatColor(String text) {
-        String color = text.replaceAll("(?i)^#([\\dA-F])([\\dA-F])([\\dA-F])([\\dA-F])$", "#$1$1$2$2$3$3$4$4");
-        color = color.replaceAll("(?i)^#([\\dA-F])([\\dA-F])([\\dA-F])$", "#$1$1$2$2$3$3");
-        try {
-            return Color.parseColor(color);
+        /**
+         * Checks if every comma-separated part of the selector requires its matches to have some ancestors,
+         * so that an AncestorFilter can reject views without checking their ancestors
+         * @param context
+         * A View used to resolve the ids and the tags
+         */
+        boolean needsAncestors(View context) {
+            for (SelectorChain chain : chains) {
+                if (chain.getAncestorKeys(context).length == 0)
+                    return false;
+            }
+            return true;
         }
-        catch (IllegalArgumentException e) {
-            try {
-                return Integer.valueOf(text);
+        /**
+         * Checks if the ancestors of a View, given by a filter, may match the selector
+         * If false, the View doesn't match the selector
+         */
+        boolean mayMatch(AncestorFilter filter, View context) {
+            for (SelectorChain chain : chains) {
+                if (chain.mayMatch(filter, context))
+                    return true;
             }
-            catch (NumberFormatException e2) {
-                try {
-                    return ContextCompat.getColor(ctx, getIdentifier("color", text));
+            return false;
+        }
+
+        /**
+         * Checks if adding or removing a View can change whether its siblings or its parent match the selector,
+         * which is the case of the sibling combinators and of the conditions on the position of the views, like ":last-child"
+         */
+        boolean dependsOnNeighbours() {
+            for (SelectorChain chain : chains) {
+                for (int i=0;i<chain.checkers.length;i++) {
+                    if (chain.checkers[i].dependsOnNeighbours() || ((i > 0) && (chain.combinators[i] != ' ') && (chain.combinators[i] != '>')))
+                        return true;
                 }
-                catch (Exception e3) {
-                    throw new IllegalArgumentException("Unable to parse color \""+ text +"\"");
+            }
+            return false;
+        }
+
+        /**
+         * Checks if adding or removing a View can change whether any of its ancestors match the selector,
+         * which is the case of the conditions on the descendants of the views, like ":has(ImageView)"
+         */
+        boolean dependsOnDescendants() {
+            for (SelectorChain chain : chains) {
+                for (ViewChecker checker : chain.checkers) {
+                    if (checker.dependsOnDescendants())
+                        return true;
                 }
             }
+            return false;
         }
-    }
-    private static ColorStateList toColorState(int c) {
-        return new ColorStateList(new int[][]{new int[0]}, new int[]{c});
-    }
-    private ColorStateList formatTint(String text) {
-        return toColorState(formatColor(text));
-    }
-    private int formatResource(String text) {
-        return getIdentifier(text);
-    }
-    private static int intCast(Object value) {
-        try {
-            return (int) value;
+
+        /**
+         * Chooses how to search the selector in the descendants of a root
+         * The index only counts the views of the whole window, so the plans are only used when the root is the root of the window
+         * or the content view: for a smaller root, like a row of a list, the candidates found in the window could be many more
+         * than the descendants of the root
+         * @return
+         * The plan of each comma-separated selector, or null if walking the whole tree of the root is cheaper
+         */
+        private Plan[] plan(View root, ViewIndex index) {
+            if ((root != root.getRootView()) && (root.getId() != android.R.id.content))
+                return null;
+            Plan[] res = new Plan[chains.length];
+            int cost = 0;
+            for (int i=0;i<chains.length;i++) {
+                res[i] = chains[i].plan(root, index);
+                if (res[i] == null)
+                    return null;
+                cost += res[i].cost;
+            }
+            if (cost >= index.size())
+                return null;
+            return res;
         }
-        catch (ClassCastException e) {
-            try {
-                return Math.round((float) value);
+
+        /**
+         * Checks if a View, descendant of a root of the search, matches the selector
+         * @param v
+         * The view to check
+         * @param scope
+         * The root of the search under which the view has been found
+         * @param roots
+         * All the roots of the search
+         */
+        boolean match(View v, View scope, $Set<View> roots, MatchContext context) {
+            for (SelectorChain chain : chains) {
+                if (chain.match(v, scope, roots, context))
+                    return true;
             }
-            catch (ClassCastException e2) {
-                return (int) Math.round((double) value);
+            return false;
+        }
+
+        /**
+         * Checks if a View matches the selector, by checking only the View and its ancestors
+         * The selector is matched against the whole window, so the parts of the selector starting with a combinator,
+         * like "> TextView", never match since they are relative to the roots of a search
+         * @param v
+         * The view to check
+         */
+        public boolean matches(View v) {
+            return matches(v, new MatchContext());
+        }
+        /**
+         * Checks if a View matches the selector, sharing with other checks the state of the context
+         */
+        boolean matches(View v, MatchContext context) {
+            for (SelectorChain chain : chains) {
+                if (chain.matches(v, context))
+                    return true;
             }
+            return false;
         }
-    }
-    private static long longCast(Object value) {
-        try {
-            return (long) value;
+
+        /**
+         * Returns the Views of a snapshot matching the selector, the root of the snapshot being the root of the search
+         */
+        BitSet match(ViewSnapshot snapshot) {
+            BitSet res = chains[0].match(snapshot);
+            for (int i=1;i<chains.length;i++)
+                res.or(chains[i].match(snapshot));
+            return res;
         }
-        catch (ClassCastException e) {
+        /**
+         * Returns the Views of a snapshot matching the selector, each comma-separated selector being evaluated by a task of the executor
+         */
+        BitSet match(final ViewSnapshot snapshot, ExecutorService executor) {
+            if (chains.length == 1)
+                return match(snapshot);
+            ArrayList<Future<BitSet>> results = new ArrayList<>(chains.length);
+            for (final SelectorChain chain : chains) {
+                results.add(executor.submit(new Callable<BitSet>() {
+                    @Override
+                    public BitSet call() {
+                        return chain.match(snapshot);
+                    }
+                }));
+            }
+            BitSet res = new BitSet(snapshot.size());
             try {
-                return Math.round((float) value);
+                for (Future<BitSet> result : results)
+                    res.or(result.get());
             }
-            catch (ClassCastException e2) {
-                try {
-                    return Math.round((double) value);
-                }
-                catch (ClassCastException e3) {
-                    try {
-                        return (int) value;
-                    }
-                    catch (ClassCastException e4) {
-                        throw e;
-                    }
+            catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+            catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException)
+                    throw (RuntimeException) e.getCause();
+                throw new IllegalStateException(e.getCause());
+            }
+            return res;
+        }
+
+        /**
+         * Checks if the views matched by the selector only depend on the hierarchy, the classes, the ids and the visibility of the views,
+         * so that the result of a query can be kept until one of them changes
+         */
+        boolean isStructural() {
+            for (SelectorChain chain : chains) {
+                for (ViewChecker checker : chain.checkers) {
+                    if (!checker.isStructural())
+                        return false;
                 }
             }
+            return true;
         }
-    }
-    protected int widthCast(Object value) {
-        int res = intCast(value);
-        switch (res) {
-            case ViewGroup.LayoutParams.MATCH_PARENT :
-                return parent().width();
-            case ViewGroup.LayoutParams.WRAP_CONTENT :
-                return scrollWidth();
-            default:
-                return res;
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Selector))
+                return false;
+            Selector s = (Selector) o;
+            return selector.equals(s.selector) && (flags == s.flags);
         }
-    }
-    protected int heightCast(Object value) {
-        int res = intCast(value);
-        switch (res) {
-            case ViewGroup.LayoutParams.MATCH_PARENT :
-                return parent().height();
-            case ViewGroup.LayoutParams.WRAP_CONTENT :
-                return scrollHeight();
-            default:
-                return res;
+
+        @Override
+        public int hashCode() {
+            return 31*selector.hashCode() + flags;
+        }
+
+        @Override
+        public String toString() {
+            return selector;
         }
     }
-    private static float floatCast(Object value) {
-        try {
-            return (float) value;
+
+    /**
+     * A selector without commas, compiled to be matched from right to left
+     * For example, "LinearLayout > TextView" is stored as the checkers [LinearLayout, TextView]
+     * and the combinators [' ', '>'], each combinator telling how an element is related to the previous one.
+     * The first combinator tells how the first element is related to the root of the search
+     */
+    private static class SelectorChain {
+        private final ViewChecker[] checkers;
+        private final char[] combinators;
+        private final String[] compounds; // The text of each element of the chain, like "TextView:first-child"
+        private volatile int[] ancestorKeys; // The keys of the ids and classes that the ancestors of a matching View must have, or null if not computed yet
+
+        /**
+         * Constructor of SelectorChain
+         * @param checkers
+         * The checker of each element of the chain
+         * @param combinators
+         * How each element is related to the previous one, or to the root for the first one
+         * @param compounds
+         * The text of each element of the chain
+         */
+        public SelectorChain(ViewChecker[] checkers, char[] combinators, String[] compounds) {
+            this.checkers = checkers;
+            this.combinators = combinators;
+            this.compounds = compounds;
         }
-        catch (ClassCastException e) {
-            try {
-                return (int) value;
-            }
-            catch (ClassCastException e2) {
-                return (float) (double) value;
+
+        @Override
+        public String toString() {
+            StringBuilder res = new StringBuilder();
+            for (int i=0;i<compounds.length;i++) {
+                if (combinators[i] != ' ')
+                    res.append(combinators[i]).append(' ');
+                res.append(compounds[i]);
+                if (i < compounds.length-1)
+                    res.append(' ');
             }
+            return res.toString();
         }
-    }
-    private static double doubleCast(Object value) {
-        try {
-            return (double) value;
+
+        /**
+         * Checks if the views matched by the chain are inside the roots of the search,
+         * which is the case unless the selector starts with a sibling combinator, like "+ TextView"
+         */
+        public boolean isInside() {
+            return ((combinators[0] == ' ') || (combinators[0] == '>'));
         }
-        catch (ClassCastException e) {
-            try {
-                return (int) value;
+
+        /**
+         * Returns the checker of the positions of the items, when the chain ends with "> :item(...)", like "ListView > :item(2n)"
+         * @throws IllegalArgumentException
+         * If the chain doesn't end with "> :item(...)"
+         */
+        ItemChecker getItemChecker() {
+            int last = checkers.length-1;
+            if ((last == 0) || (combinators[last] != '>') || !(checkers[last] instanceof ItemChecker))
+                throw new IllegalArgumentException("The selector of the items must end with \"> :item(...)\", \""+ this +"\" can't be used");
+            return (ItemChecker) checkers[last];
+        }
+        /**
+         * Returns the selector of the lists of a chain ending with "> :item(...)", like "ListView" for "ListView > :item(2n)"
+         */
+        String getListsSelector() {
+            StringBuilder res = new StringBuilder();
+            for (int i=0;i<checkers.length-1;i++) {
+                if (combinators[i] != ' ')
+                    res.append(combinators[i]).append(' ');
+                res.append(compounds[i]).append(' ');
             }
-            catch (ClassCastException e2) {
-                return (float) value;
+            return res.toString().trim();
+        }
+
+        /**
+         * Chooses the element of the chain from which the search starts, among the ones the index can find directly:
+         * the one matching the fewest views of the window. The ids are preferred to the CSS classes and the CSS classes to the tags in case of equality,
+         * and so are the rightmost elements, since the views they match don't need any more search.
+         * The descendants of the recycling containers aren't indexed, so an element the index doesn't find at all
+         * is never chosen when the window has such containers
+         * @return
+         * The plan, or null if no element can be found with the index
+         */
+        public Plan plan(View root, ViewIndex index) {
+            Plan res = null;
+            for (int i=checkers.length-1;i>=0;i--) {
+                int estimate;
+                int source;
+                int id = checkers[i].getId(root);
+                String cssClass = checkers[i].getCssClass();
+                if (id != View.NO_ID) {
+                    estimate = index.count(id);
+                    source = Plan.BY_ID;
+                }
+                else if (cssClass != null) {
+                    estimate = index.countCssClass(cssClass);
+                    source = Plan.BY_CSS_CLASS;
+                }
+                else {
+                    TagChecker tagChecker = checkers[i].getTagChecker();
+                    if (tagChecker == null)
+                        continue;
+                    estimate = 0;
+                    for (Class vClass : index.classes()) {
+                        if (tagChecker.match(vClass, root))
+                            estimate += index.count(vClass);
+                    }
+                    source = Plan.BY_TAG;
+                }
+                if ((estimate == 0) && !index.recyclers().isEmpty())
+                    continue; // The views inside the recycling containers, or whose id has changed without notifying, aren't counted
+                int cost = (i == checkers.length-1) ? estimate : (estimate * INNER_ENTRY_COST);
+                if ((res == null) || (cost < res.cost) || ((cost == res.cost) && (source < res.source)))
+                    res = new Plan(this, i, source, estimate, cost);
             }
+            return res;
         }
-    }
-    @SuppressWarnings("deprecation")
-    private static Drawable drawableCast(Object value) {
-        try {
-            return (Drawable) value;
+
+        /**
+         * Finds the descendants of a root matching the chain, starting from the element chosen by the plan
+         * The views matching this element are taken from the index, then the part of the tree where the end of the chain
+         * can be is searched: their descendants, or the ones of their parent if the chain continues with a sibling
+         * @param res
+         * The set where the views found are added
+         * @param query
+         * The search, counting the views visited
+         */
+        public void find(Plan plan, View root, $Set<View> roots, ViewIndex index, $Set<View> res, SelectorMatches query) {
+            int entry = plan.entry;
+            List<View> candidates = plan.getCandidates(root, index);
+            if (entry == checkers.length-1) {
+                for (View v : candidates) {
+                    if ((v == root) || !AQuery.isInside(v, root))
+                        continue;
+                    query.visits++;
+                    if (match(v, root, roots, query.context))
+                        res.add(v);
+                }
+                return;
+            }
+            boolean inside = ((combinators[entry+1] == ' ') || (combinators[entry+1] == '>'));
+            $Set<View> areas = new $Set<>();
+            ViewTreeIterator descendants = new ViewTreeIterator(null);
+            for (View candidate : candidates) {
+                if ((candidate == root) || !AQuery.isInside(candidate, root))
+                    continue;
+                query.visits++;
+                if (!match(candidate, entry, root, roots, query.context))
+                    continue;
+                View area = inside ? candidate : getParentView(candidate);
+                if ((area == null) || AQuery.isInside(area, areas) || !areas.add(area))
+                    continue; // This part of the tree is already searched
+                descendants.reset(area);
+                while (descendants.hasNext()) {
+                    View v = descendants.next();
+                    query.visits++;
+                    if (match(v, root, roots, query.context))
+                        res.add(v);
+                }
+            }
         }
-        catch (ClassCastException e) {
-            try {
-                return new BitmapDrawable((Bitmap) value);
+
+        /**
+         * Checks if a View matches the chain
+         * @param v
+         * The view to check
+         * @param scope
+         * The root of the search under which the view has been found. Ancestors are not checked further
+         * @param roots
+         * All the roots of the search
+         */
+        public boolean match(View v, View scope, $Set<View> roots, MatchContext context) {
+            return match(v, checkers.length-1, scope, roots, context);
+        }
+        /**
+         * Returns the keys of the ids and classes that the ancestors of a matching View must have in an AncestorFilter
+         * An element of the chain is an ancestor of the matching View when it is followed by a descendant or a child combinator
+         * @param context
+         * A View used to resolve the ids and the tags
+         */
+        int[] getAncestorKeys(View context) {
+            int[] res = ancestorKeys;
+            if (res == null) {
+                int[] keys = new int[2*checkers.length];
+                int n = 0;
+                for (int i=0;i<checkers.length-1;i++) {
+                    if ((combinators[i+1] != ' ') && (combinators[i+1] != '>'))
+                        continue; // The element is a sibling of an ancestor
+                    int id = checkers[i].getId(context);
+                    if ((id != View.NO_ID) && (id != 0))
+                        keys[n++] = AncestorFilter.idKey(id);
+                    TagChecker tagChecker = checkers[i].getTagChecker();
+                    Class tagClass = (tagChecker == null) ? null : tagChecker.getExactClass(context);
+                    if (tagClass != null)
+                        keys[n++] = AncestorFilter.classKey(tagClass);
+                }
+                res = new int[n];
+                System.arraycopy(keys, 0, res, 0, n);
+                ancestorKeys = res;
             }
-            catch (ClassCastException e2) {
-                try {
-                    return new ColorDrawable((int) value);
-                }
-                catch (ClassCastException e3) {
-                    throw e;
-                }
+            return res;
+        }
+        /**
+         * Checks if the ancestors of a View, given by a filter, may match the chain
+         * If false, the View doesn't match the chain
+         */
+        boolean mayMatch(AncestorFilter filter, View context) {
+            for (int key : getAncestorKeys(context)) {
+                if (!filter.mayContain(key))
+                    return false;
             }
+            return true;
         }
-    }
-    @SuppressWarnings("deprecation")
-    private Drawable formatDrawable(String text) {
-        int resourceID;
-        try {
-            resourceID = getIdentifier("drawable", text);
+
+        /**
+         * Checks if a View matches the chain, without any root: all its ancestors can be checked
+         */
+        public boolean matches(View v, MatchContext context) {
+            if (combinators[0] != ' ')
+                return false; // The chain is relative to the roots of a search
+            return match(v, checkers.length-1, null, null, context);
         }
-        catch (Resources.NotFoundException e) {
-            try {
-                resourceID = getIdentifier("mipmap", text);
+        /**
+         * Returns the Views of a snapshot matching the chain, the root of the snapshot being the root of the search
+         * The chain is evaluated from left to right, each element restricting the Views matched by the previous one
+         */
+        public BitSet match(ViewSnapshot snapshot) {
+            BitSet res = checkers[0].match(snapshot);
+            switch (combinators[0]) {
+                case ' ' :
+                    res.clear(0);
+                    break;
+                case '>' :
+                    res.and(snapshot.related(ROOT_ONLY, '>'));
+                    break;
+                default :
+                    res.clear(); // The siblings of the root are not in the snapshot
             }
-            catch (Resources.NotFoundException e2) {
-                try {
-                    return new ColorDrawable(formatColor(text));
-                }
-                catch (IllegalArgumentException e3) {
-                    throw e;
-                }
+            for (int i=1;(i<checkers.length) && !res.isEmpty();i++) {
+                res = snapshot.related(res, combinators[i]);
+                res.and(checkers[i].match(snapshot));
+            }
+            return res;
+        }
+        /**
+         * Checks if a View matches the chain, up to the i-th element
+         */
+        private boolean match(View v, int i, View scope, $Set<View> roots, MatchContext context) {
+            if (!checkers[i].match(v, context))
+                return false;
+            ViewParent parent = v.getParent();
+            switch (combinators[i]) {
+                case ' ' :
+                    if (i == 0)
+                        return true;
+                    while ((parent instanceof View) && (parent != scope)) {
+                        if (match((View) parent, i-1, scope, roots, context))
+                            return true;
+                        parent = parent.getParent();
+                    }
+                    return false;
+                case '>' :
+                    if (i == 0)
+                        return roots.contains(parent);
+                    return (parent instanceof View) && (parent != scope) && match((View) parent, i-1, scope, roots, context);
+                case '+' :
+                    View prev = context.getSibling(v, -1);
+                    if (i == 0)
+                        return (prev != null) && roots.contains(prev);
+                    return (prev != null) && match(prev, i-1, scope, roots, context);
+                case '~' :
+                    View next = context.getSibling(v, 1);
+                    if (i == 0)
+                        return (next != null) && roots.contains(next);
+                    return (next != null) && match(next, i-1, scope, roots, context);
+                default :
+                    return false; // Dead code
             }
         }
-        return ctx.getResources().getDrawable(resourceID);
     }
 
-    /*
-     * End of format functions
-     */
+    private static final int INNER_ENTRY_COST = 16; // The estimated number of views searched around each view matching an element which is not the last one of its chain
 
     /**
-     * Converts sp dimension to px
+     * The way a selector without commas is searched in the descendants of a root
      */
-    private float toSP(float px) {
-        return px/ctx.getResources().getDisplayMetrics().scaledDensity;
-    }
+    private static class Plan {
+        private final SelectorChain chain; // The selector
+        private final int entry; // The position of the element of the chain from which the search starts
+        private final int source; // The index from which the views matching this element are found, BY_ID, BY_CSS_CLASS or BY_TAG
+        private final int estimate; // The number of views of the window matching this element, according to the index
+        private final int cost; // The estimated number of views to visit
 
-    /**
-     * Converts a dimension in any given unit to px
-     */
-    private float toPX(float size, int unit) {
-        return toPX(ctx, size, unit);
-    }
-    /**
-     * Converts a dimension in any given unit to px
-     */
-    public static float toPX(Context ctx, float size, int unit) {
-        return TypedValue.applyDimension(unit, size, ctx.getResources().getDisplayMetrics());
+        private static final int BY_ID = 0;
+        private static final int BY_CSS_CLASS = 1;
+        private static final int BY_TAG = 2;
+        private static final String[] SOURCE_NAMES = {"id", "CSS class", "class"};
+
+        public Plan(SelectorChain chain, int entry, int source, int estimate, int cost) {
+            this.chain = chain;
+            this.entry = entry;
+            this.source = source;
+            this.estimate = estimate;
+            this.cost = cost;
+        }
+
+        /**
+         * Returns the views of the window having the id, the CSS class or the tag of the entry, in the order of the tree
+         */
+        public List<View> getCandidates(View root, ViewIndex index) {
+            if (source == BY_ID)
+                return index.get(chain.checkers[entry].getId(root));
+            if (source == BY_CSS_CLASS)
+                return index.getByCssClass(chain.checkers[entry].getCssClass());
+            TagChecker tagChecker = chain.checkers[entry].getTagChecker();
+            ArrayList<View> res = new ArrayList<>(estimate);
+            int nbClasses = 0;
+            for (Class vClass : index.classes()) {
+                if (tagChecker.match(vClass, root)) {
+                    res.addAll(index.get(vClass));
+                    nbClasses++;
+                }
+            }
+            boolean recycled = false; // true if some views of classes which aren't indexed have been found in the recycling containers
+            for (ViewGroup recycler : index.recyclers()) {
+                if (!index.contains(recycler))
+                    continue;
+                for (View v : new ViewTreeIterator(recycler)) {
+                    Class vClass = v.getClass();
+                    if ((index.count(vClass) == 0) && tagChecker.match(vClass, root)) {
+                        res.add(v);
+                        recycled = true;
+                    }
+                }
+            }
+            if ((nbClasses > 1) || recycled)
+                ViewIndex.sortInTreeOrder(res);
+            return res;
+        }
+
+        @Override
+        public String toString() {
+            return "\""+ chain +"\" : starts from \""+ chain.compounds[entry] +"\" ("
+                + SOURCE_NAMES[source] +" index, "+ estimate +" views)";
+        }
     }
-    /**
-     * Converts a dimension in any given unit to px
-     */
-    private float toPX(float size, String unit) {
-        return toPX(ctx, size, unit);
+
+    private static final BitSet ROOT_ONLY = initRootOnly(); // The set containing only the root of a snapshot
+    private static BitSet initRootOnly() {
+        BitSet res = new BitSet(1);
+        res.set(0);
+        return res;
     }
+
     /**
-     * Converts a dimension in any given unit to px
+     * Returns the parent of a View, or null if it's the root of its window
      */
-    public static float toPX(Context ctx, float size, String unit) {
-        return toPX(ctx, size, $Utils.unitID(unit));
+    private static View getParentView(View v) {
+        ViewParent parent = v.getParent();
+        return (parent instanceof View) ? (View) parent : null;
     }
 
     /**
-     * A class to handle C++-like linked list, with head and tail
-     */
-    public class $List<E> {
-        private E head;
-        private $List<E> tail;
+     * A Bloom filter of the ids and the classes of the ancestors of a View, updated as a tree is walked, like the SelectorFilter of WebKit
+     *
+     * A selector like "#list TextView" can only match a View having an ancestor with the id "list".
+     * Each ancestor adds its id and its class to the filter, so that a View can be rejected in constant time
+     * when an id or a class required by the selector is missing, instead of checking all its ancestors.
+     * The filter can wrongly tell that a key is there, but never that it is missing.
+     * Each key increments two counters, so the keys of an ancestor can be removed when the walk leaves its descendants
+     */
+    static class AncestorFilter {
+        private static final int BITS = 12; // The number of bits of the position of a counter
+        private static final int MASK = (1 << BITS) - 1;
+        private static final byte MAX_COUNT = Byte.MAX_VALUE; // A counter reaching this value is never decremented anymore
+        private final byte[] counts = new byte[1 << BITS];
+        private ViewGroup[] ancestors = new ViewGroup[16]; // The ancestors in the filter, from the root to the deepest one
+        private int[] ids = new int[16]; // The id of each ancestor when it was added, removed later even if the View's id has changed since
+        private int size; // The number of ancestors in the filter
 
-        public $List() {
+        /**
+         * Empties the filter
+         */
+        void clear() {
+            while (size > 0)
+                pop();
         }
-        public $List(E head, $List<E> tail) {
-            this.head = head;
-            this.tail = tail;
+
+        /**
+         * Adds a View to the filter, as the deepest ancestor of the next Views checked
+         * Nothing is added if the View isn't a ViewGroup, since it can't be an ancestor
+         */
+        void push(View v) {
+            if (!(v instanceof ViewGroup))
+                return;
+            if (size == ancestors.length) {
+                ViewGroup[] newAncestors = new ViewGroup[2*size];
+                System.arraycopy(ancestors, 0, newAncestors, 0, size);
+                ancestors = newAncestors;
+                int[] newIds = new int[2*size];
+                System.arraycopy(ids, 0, newIds, 0, size);
+                ids = newIds;
+            }
+            ancestors[size] = (ViewGroup) v;
+            ids[size] = v.getId();
+            updateAncestor(size, 1);
+            size++;
+        }
+        /**
+         * Removes the deepest ancestors until the given parent is the deepest one
+         * The filter then contains the ancestors of the children of this parent
+         */
+        void popUntil(ViewParent parent) {
+            while ((size > 0) && (ancestors[size-1] != parent))
+                pop();
+        }
+        private void pop() {
+            size--;
+            updateAncestor(size, -1);
+            ancestors[size] = null;
+        }
+        /**
+         * Adds or removes the keys of the i-th ancestor, with the id it had when it was added
+         */
+        private void updateAncestor(int i, int delta) {
+            if (ids[i] != View.NO_ID)
+                update(idKey(ids[i]), delta);
+            update(classKey(ancestors[i].getClass()), delta);
+        }
+        private void update(int key, int delta) {
+            int i1 = key & MASK, i2 = (key >>> BITS) & MASK;
+            if (counts[i1] != MAX_COUNT)
+                counts[i1] += delta;
+            if (counts[i2] != MAX_COUNT)
+                counts[i2] += delta;
         }
 
-        public $List(E[] array) {
-            for (int i=array.length-1;i>=0;i--)
-                add(array[i]);
+        /**
+         * Checks if an ancestor of the filter may have the key. If false, none has it
+         */
+        boolean mayContain(int key) {
+            return (counts[key & MASK] != 0) && (counts[(key >>> BITS) & MASK] != 0);
         }
 
-        public E head() {
-            return head;
+        /**
+         * Returns the key of an id
+         */
+        static int idKey(int id) {
+            return hash(2*id);
         }
-        public $List<E> tail() {
-            return tail;
+        /**
+         * Returns the key of a class of View, computed from its simple name since the tags also match the classes having the same simple name
+         */
+        static int classKey(Class vClass) {
+            synchronized (CLASS_KEYS) {
+                Integer res = CLASS_KEYS.get(vClass);
+                if (res == null) {
+                    res = hash(2*vClass.getSimpleName().hashCode() + 1);
+                    CLASS_KEYS.put(vClass, res);
+                }
+                return res;
+            }
+        }
+        private static final IdentityHashMap<Class,Integer> CLASS_KEYS = new IdentityHashMap<>(); // The key of each class already met
+        private static int hash(int value) {
+            int res = value * 0x9E3779B1;
+            return res ^ (res >>> 16);
         }
+    }
 
-        public boolean add(E object) {
-            tail = new $List<>(head,tail);
-            head = object;
-            return true;
+    /**
+     * The state of a search, shared by all the checks of views it does
+     *
+     * It remembers the position of the children of each parent met: the first time the position of a child is needed,
+     * all the children of its parent are numbered in one pass, so that structural selectors like :nth-child()
+     * or sibling combinators run in linear time instead of scanning the parent again for each child.
+     * A position remembered is checked before being used, so the context stays right if the tree changes
+     */
+    static class MatchContext {
+        private IdentityHashMap<View,Integer> positions; // The position of the children of the parents already numbered
+        private IdentityHashMap<Object,IdentityHashMap<View,Boolean>> memos; // The results remembered by the conditions checking the descendants of the views, like :has()
+
+        /**
+         * Returns the result remembered by a condition for a View, or null if it hasn't been computed yet in this search
+         * @param key
+         * The object owning the result, like the condition itself
+         */
+        Boolean getMemo(Object key, View v) {
+            if (memos == null)
+                return null;
+            IdentityHashMap<View,Boolean> results = memos.get(key);
+            return (results == null) ? null : results.get(v);
+        }
+        /**
+         * Remembers the result of a condition for a View, until the end of the search
+         */
+        void putMemo(Object key, View v, boolean result) {
+            if (memos == null)
+                memos = new IdentityHashMap<>();
+            IdentityHashMap<View,Boolean> results = memos.get(key);
+            if (results == null) {
+                results = new IdentityHashMap<>();
+                memos.put(key, results);
+            }
+            results.put(v, result);
         }
 
-        public void clear() {
-            head = null;
-            tail = null;
+        /**
+         * Returns the position of a View in the list of the children of its parent,
+         * or -1 if its parent is not a ViewGroup, like the parent of the DecorView or of a detached View
+         */
+        int findPosition(View child) {
+            ViewParent parent = child.getParent();
+            return (parent instanceof ViewGroup) ? findPosition((ViewGroup) parent, child) : -1;
+        }
+        /**
+         * Returns the position of a View in the list of the children of its parent,
+         * or -1 if the View is not one of its children, like a View being removed with an animation
+         */
+        int findPosition(ViewGroup parent, View child) {
+            if (positions == null)
+                positions = new IdentityHashMap<>();
+            Integer res = positions.get(child);
+            if ((res != null) && (res < parent.getChildCount()) && (parent.getChildAt(res) == child))
+                return res;
+            int n = parent.getChildCount();
+            for (int i=0;i<n;i++)
+                positions.put(parent.getChildAt(i), i);
+            res = positions.get(child);
+            return ((res != null) && (res < n) && (parent.getChildAt(res) == child)) ? res : -1;
+        }
+        /**
+         * Returns the position, from the end, of a View in the list of the children of its parent,
+         * or -1 if its parent is not a ViewGroup or the View is not one of its children
+         */
+        int findLastPosition(View child) {
+            ViewParent parent = child.getParent();
+            if (!(parent instanceof ViewGroup))
+                return -1;
+            int position = findPosition((ViewGroup) parent, child);
+            return (position < 0) ? -1 : ((ViewGroup) parent).getChildCount()-position;
         }
 
-        @SuppressWarnings("SimplifiableIfStatement")
-        public boolean contains(Object object) {
-            if (object == head)
-                return true;
-            if (isEmpty())
-                return false;
-            return tail.contains(object);
+        /**
+         * Returns the sibling of a View located at a given offset from it, or null if it doesn't exist
+         * For example, getSibling(v, -1) returns the View directly before v
+         */
+        View getSibling(View v, int offset) {
+            ViewParent parent = v.getParent();
+            if (!(parent instanceof ViewGroup))
+                return null;
+            ViewGroup vGroup = (ViewGroup) parent;
+            int position = findPosition(vGroup, v);
+            if (position < 0)
+                return null;
+            position += offset;
+            if ((position < 0) || (position >= vGroup.getChildCount()))
+                return null;
+            return vGroup.getChildAt(position);
         }
+    }
 
-        public boolean isEmpty() {
-            return (tail == null);
+    private static final int SELECTORS_CACHE_SIZE = 64; // The maximum number of compiled selectors kept in memory
+    /**
+     * The last compiled selectors, indexed by their String value and their flags
+     * It's a LRU cache, so the selectors used the most often stay in it
+     */
+    private static final LinkedHashMap<String,Selector> SELECTORS_CACHE = new LinkedHashMap<String,Selector>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String,Selector> eldest) {
+            return (size() > SELECTORS_CACHE_SIZE);
         }
+    };
 
-        public E remove() {
-            E res = head;
-            head = tail.head;
-            tail = tail.tail;
+    /**
+     * Compiles a CSS selector, so that it can be used several times without being parsed again
+     * The selectors are cached, so compiling twice the same String returns the same object
+     * @param selector
+     * The selector. Example : "LinearLayout > TextView:first-child"
+     * @return
+     * The compiled selector
+     */
+    public static Selector compile(String selector) {
+        return compile(selector, 0);
+    }
+    /**
+     * Compiles a CSS selector, so that it can be used several times without being parsed again
+     * @param selector
+     * The selector. Example : "LinearLayout > TextView:first-child"
+     * @param flags
+     * The compilation flags, like Selector.LEFT_TO_RIGHT. Default is 0
+     * @return
+     * The compiled selector
+     */
+    public static Selector compile(String selector, int flags) {
+        String key = (flags == 0) ? selector : (flags +":"+ selector);
+        synchronized (SELECTORS_CACHE) {
+            Selector res = SELECTORS_CACHE.get(key);
+            if (res == null) {
+                res = new Selector(selector, flags);
+                SELECTORS_CACHE.put(key, res);
+            }
             return res;
         }
+    }
 
-        public int size() {
-            if (isEmpty())
-                return 0;
-            return 1+tail.size();
+    /**
+     * Get the descendants of each element in the current set of matched elements, filtered by a selector
+     */
+    public AQuery find(String selector) {
+        return find(compile(selector));
+    }
+    /**
+     * Get the descendants of each element in the current set of matched elements, filtered by a compiled selector
+     */
+    public AQuery find(Selector selector) {
+        if (!selector.isRightToLeft())
+            return findFromLeft(selector);
+        List<View> roots = list();
+        if ((roots.size() == 1) && selector.isStructural()) {
+            View root = roots.get(0);
+            ViewIndex index = ViewIndex.cacheOf(root);
+            if (index != null) { // The results of the window are kept until the next change
+                List<View> res = index.getResult(selector, root);
+                if (res == null) {
+                    res = new $Query(ctx, selector, roots).list();
+                    index.putResult(selector, root, res);
+                }
+                return new $Array(ctx, new ArrayList<>(res));
+            }
         }
+        return new $Query(ctx, selector, roots);
     }
 
     /**
-     * A class to handles the [attr="value"] CSS selector
+     * Returns handles on the items of the adapter-backed lists (AdapterView, RecyclerView) matching a selector,
+     * including the items scrolled out of the lists, without creating their views
+     * @param selector
+     * A selector ending with "> :item(...)", the positions of the items in the adapters starting from 0.
+     * Example : "#messages > :item(2n)" for one item over two of the list #messages
      */
-    private static class BracketAnalyser {
-        private String completeString;
-        private int bracketStartID, bracketEndID;
-        private int attrStartID, attrEndID;
-        private int valStartID, valEndID;
-        private char flag;
-        private char shutoff;
-
-        @SuppressWarnings("StatementWithEmptyBody")
-        private BracketAnalyser(String selector, int bracketID) {
-            bracketStartID = bracketID;
-            completeString = selector;
-            int i = bracketID;
-            i++;
-            attrStartID = i;
-            try {
-                for (;completeString.charAt(i)!='=';i++);
-            }
-            catch (StringIndexOutOfBoundsException e) {
-                throwSyntaxError();
-            }
-            i--;
-            flag = completeString.charAt(i);
-            if ("|~^$*".indexOf(flag) != -1) {
-                attrEndID = i;
-                i++;
-            }
-            else {
-                i++;
-                attrEndID = i;
-                flag = 0;
-            }
-            i++;
-            shutoff = completeString.charAt(i);
-            boolean escaped = ((shutoff == '\'') || (shutoff == '"'));
-            if (escaped)
-                i++;
-            else
-                shutoff = ']';
-            boolean antiSlash = false;
-            valStartID = i;
-            for (;i<completeString.length();i++) {
-                if (antiSlash) {
-                    antiSlash = false;
+    public List<$Item> items(String selector) {
+        return items(compile(selector));
+    }
+    /**
+     * Returns handles on the items of the adapter-backed lists matching a compiled selector, ending with "> :item(...)"
+     */
+    public List<$Item> items(Selector selector) {
+        ArrayList<$Item> res = new ArrayList<>();
+        for (SelectorChain chain : selector.chains) {
+            ItemChecker positions = chain.getItemChecker();
+            for (View v : find(compile(chain.getListsSelector(), selector.flags)).list()) {
+                if (!$Item.isList(v))
                     continue;
+                ViewGroup list = (ViewGroup) v;
+                int n = $Item.count(list);
+                for (int i=0;i<n;i++) {
+                    if (positions.matchPosition(i))
+                        res.add(new $Item(list, i));
                 }
-                char iChar = completeString.charAt(i);
-                if (iChar == shutoff)
-                    break;
-                if (completeString.charAt(i) == '\\')
-                    antiSlash = true;
             }
-            valEndID = i;
-            if (escaped) {
-                i++;
-                if (completeString.charAt(i) != ']')
-                    throwSyntaxError();
-            }
-            i++;
-            bracketEndID = i;
         }
-
-        public static ArrayList<BracketAnalyser> matchAll(String selector) {
-            ArrayList<BracketAnalyser> res = new ArrayList<>();
-            int bracketID = selector.indexOf('[');
-            while (bracketID != -1) {
-                BracketAnalyser nextAnalyser = new BracketAnalyser(selector,bracketID);
-                res.add(nextAnalyser);
-                bracketID = selector.substring(nextAnalyser.bracketEndID).indexOf('[');
-                if (bracketID != -1)
-                    bracketID += nextAnalyser.bracketEndID;
+        if (selector.chains.length > 1) { // The items of each comma-separated selector are merged in the order of the lists
+            res = new ArrayList<>(new LinkedHashSet<>(res));
+            final ArrayList<View> lists = new ArrayList<>();
+            for ($Item item : res) {
+                if (!lists.contains(item.container()))
+                    lists.add(item.container());
             }
-            return res;
+            ViewIndex.sortInTreeOrder(lists);
+            Collections.sort(res, new Comparator<$Item>() {
+                @Override
+                public int compare($Item i1, $Item i2) {
+                    if (i1.container() != i2.container())
+                        return lists.indexOf(i1.container()) - lists.indexOf(i2.container());
+                    return i1.position() - i2.position();
+                }
+            });
         }
+        return res;
+    }
+    /**
+     * An iterator over the descendants of a set of roots matching a selector, matched from right to left
+     * The views are found one at a time, in the order of the tree, so the search can stop as soon as enough views have been found
+     */
+    static class SelectorMatches implements Iterator<View> {
+        private final Selector selector; // The selector to match
+        private final $Set<View> roots; // The roots of the search
+        private final Iterator<View> rootsIterator; // The roots left to search
+        private View root; // The root being searched
+        private Iterator<View> candidates; // The descendants of the root that may match the selector
+        private boolean planned; // true if the candidates have been found with a plan, and so already match the selector
+        private ViewTreeIterator descendants; // The iterator reused to walk the trees of the roots
+        private AncestorFilter filter; // The ancestors of the view being checked while walking a tree, or null if the selector doesn't need them
+        private View next; // The next matching View, or null if it hasn't been searched yet
+        final MatchContext context = new MatchContext(); // The state shared by all the checks of the search
+        int visits; // The number of views checked against the selector so far
+        StringBuilder explanation; // If not null, the plans chosen for each root are described in it
 
-        public int getBracketStartID() {
-            return bracketStartID;
-        }
-        public int getBracketEndID() {
-            return bracketEndID;
-        }
-        public String getBracket() {
-            return completeString.substring(bracketStartID,bracketEndID);
+        SelectorMatches(Selector selector, $Set<View> roots) {
+            this.selector = selector;
+            this.roots = roots;
+            this.rootsIterator = roots.iterator();
         }
-        public int getAttrStartID() {
-            return attrStartID;
-        }
-        public int getAttrEndID() {
-            return attrEndID;
-        }
-        public String getAttr() {
-            return completeString.substring(attrStartID,attrEndID);
-        }
-        public int getValStartID() {
-            return valStartID;
+
+        @Override
+        public boolean hasNext() {
+            while (next == null) {
+                if ((candidates == null) || !candidates.hasNext()) {
+                    if (!nextRoot())
+                        return false;
+                    continue;
+                }
+                View v = candidates.next();
+                if (planned)
+                    next = v;
+                else if (filter == null) {
+                    visits++;
+                    if (selector.match(v, root, roots, context))
+                        next = v;
+                }
+                else {
+                    filter.popUntil(v.getParent());
+                    if (selector.mayMatch(filter, root)) { // Else an ancestor required by the selector is missing
+                        visits++;
+                        if (selector.match(v, root, roots, context))
+                            next = v;
+                    }
+                    filter.push(v);
+                }
+            }
+            return true;
         }
-        public int getValEndID() {
-            return valEndID;
+
+        @Override
+        public View next() {
+            if (!hasNext())
+                throw new NoSuchElementException();
+            View res = next;
+            next = null;
+            return res;
         }
-        public String getVal() {
-            return completeString.substring(valStartID,valEndID).replaceAll("\\\\(\\W)", "$1");
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
         }
-        public char getFlag() {
-            return flag;
+
+        /**
+         * Starts the search in the next root, returns false if all roots have been searched
+         */
+        private boolean nextRoot() {
+            while (rootsIterator.hasNext()) {
+                root = rootsIterator.next();
+                if (isInside(root, roots))
+                    continue; // The descendants of this root are visited with the root containing it
+                ViewIndex index = ViewIndex.of(root);
+                Plan[] plans = (index != null) ? selector.plan(root, index) : null;
+                if (explanation != null)
+                    explain(plans, index);
+                planned = (plans != null);
+                if (planned) { // The views can be found from the index
+                    $Set<View> res = new $Set<>();
+                    for (Plan plan : plans)
+                        plan.chain.find(plan, root, roots, index, res, this);
+                    List<View> views = res.list();
+                    if (views.size() > 1)
+                        ViewIndex.sortInTreeOrder(views);
+                    candidates = views.iterator();
+                }
+                else {
+                    if (descendants == null)
+                        descendants = new ViewTreeIterator(root);
+                    else
+                        descendants.reset(root);
+                    candidates = descendants;
+                    if (selector.needsAncestors(root)) {
+                        if (filter == null)
+                            filter = new AncestorFilter();
+                        else
+                            filter.clear();
+                        filter.push(root);
+                    }
+                    else
+                        filter = null;
+                }
+                return true;
+            }
+            candidates = null;
+            return false;
         }
 
-        private void throwSyntaxError() {
-            throw new IllegalArgumentException("Syntax error, unrecognized expression \""+ completeString +"\"");
+        /**
+         * Describes the plans chosen for the current root
+         */
+        private void explain(Plan[] plans, ViewIndex index) {
+            explanation.append("In ").append(root).append(" :\n");
+            if (index == null)
+                explanation.append("  walk the whole tree, checking every view (no index on this device)\n");
+            else if (plans == null) {
+                if ((root != root.getRootView()) && (root.getId() != android.R.id.content))
+                    explanation.append("  walk the tree of the root, checking every view (the root is neither the window nor the content view)\n");
+                else
+                    explanation.append("  walk the whole tree, checking every view (").append(index.size()).append(" views in the window)\n");
+            }
+            else {
+                for (Plan plan : plans)
+                    explanation.append("  ").append(plan).append('\n');
+            }
         }
     }
 
     /**
-     * A class to analyse selectors
-     * This class is basically an array of filters, like ["#my_id", "TextView"],
-     * and a list of functions to treat brackets filters
+     * Describes how a selector is searched in the descendants of the elements, then runs the search
+     * For each root of the search, tells from which part of the selector the search starts,
+     * then gives the number of views matched and the number of views checked against the selector
+     * @param selector
+     * The selector. Example : "LinearLayout #submit"
      */
-    private static class AnalyzedSelectors {
-        public final String[] selectors;
-        public final ArrayList<BracketAnalyser> brackets;
-
-        public AnalyzedSelectors(String selector, ArrayList<BracketAnalyser> brackets) {
-            this(selector.split(" *, *"),brackets);
-        }
-        public AnalyzedSelectors(String[] selectors, ArrayList<BracketAnalyser> brackets) {
-            this.selectors = selectors;
-            this.brackets = brackets;
-        }
+    public String explain(String selector) {
+        return explain(compile(selector));
     }
-
     /**
-     * Splits a CSS selector String with colons to treat each single filter individually
-     * @param selector
-     * The selector. Example : "#my_id, TextView"
-     * @return
-     * A String[] containing each selector individually. For example : ["#my_id", "TextView"]
+     * Describes how a compiled selector is searched in the descendants of the elements, then runs the search
      */
-    private static AnalyzedSelectors splitSelectors(String selector) {
-        ArrayList<BracketAnalyser> brackets = BracketAnalyser.matchAll(selector);
-        if (brackets.isEmpty())
-            return new AnalyzedSelectors(selector,brackets);
-        String toSplit = "";
-        int bracketID = 0;
-        for (int i=0;i<brackets.size();i++) {
-            BracketAnalyser bracket = brackets.get(i);
-            toSplit += selector.substring(bracketID, bracket.getBracketStartID());
-            toSplit += "["+ i +"]";
-            bracketID = bracket.getBracketEndID();
+    public String explain(Selector selector) {
+        if (!selector.isRightToLeft())
+            return "Matched from left to right, without plan : "+ findFromLeft(selector).length() +" views matched";
+        SelectorMatches matches = new SelectorMatches(selector, new $Set<>(list()));
+        matches.explanation = new StringBuilder();
+        int nbMatches = 0;
+        while (matches.hasNext()) {
+            matches.next();
+            nbMatches++;
         }
-        return new AnalyzedSelectors(toSplit,brackets);
+        matches.explanation.append(nbMatches).append(" views matched, ").append(matches.visits).append(" views visited");
+        return matches.explanation.toString();
     }
-
     /**
-     * Get the descendants of each element in the current set of matched elements, filtered by a selector
+     * Get the descendants of each element, filtered by a selector matched from left to right
      */
-    public AQuery find(String selector) {
-        return findAll(splitSelectors(selector));
+    private AQuery findFromLeft(Selector selector) {
+        $Set<View> res = new $Set<>();
+        for (ViewFinder finder : selector.finders)
+            res.addAll(finder.get(this).list());
+        return new $Array(ctx, res.list());
     }
-
     /**
-     * Find the descendants of each element in the current set of matched elements, filtered by an AnalyzedSelectors
+     * Checks if a View is a descendant of another one
      */
-    private AQuery findAll(AnalyzedSelectors analSelectors) {
-        List<View> res = new ArrayList<>();
-        for (String selector : analSelectors.selectors)
-            res = union(res, findEach(selector,analSelectors.brackets).list());
-        return new $Array(ctx, res);
+    private static boolean isInside(View v, View ancestor) {
+        for (ViewParent parent = v.getParent(); parent != null; parent = parent.getParent()) {
+            if (parent == ancestor)
+                return true;
+        }
+        return false;
     }
     /**
-     * Find the descendants of each element in the current set of elements, filtered by a single selector
+     * Checks if a View is a descendant of one of the roots of the search
      */
-    private AQuery findEach(String selector, List<BracketAnalyser> analyser) {
-        String[] selectors = selector.split(" +");
-        ViewFinder l = find(new $List<>(selectors), analyser);
-        return l.get(this);
+    private static boolean isInside(View root, $Set<View> roots) {
+        for (ViewParent parent = root.getParent(); parent != null; parent = parent.getParent()) {
+            if (roots.contains(parent))
+                return true;
+        }
+        return false;
     }
 
     /**
      * Finds all descendants of each element that has the given id
      */
     public AQuery find(int id) {
-        $Array res = new $Array(ctx);
-        for (View elt : children().list()) {
-            if (elt.getId() == id)
-                res.add(elt);
-            res.addAll(new $Element(ctx,elt).find(id).list());
+        $Set<View> roots = new $Set<>(list());
+        $Set<View> res = new $Set<>();
+        for (View root : roots) {
+            ViewIndex index = ViewIndex.of(root);
+            if (index == null) { // No index on this device, the descendants are walked
+                for (View v : new ViewTreeIterator(root)) {
+                    if (v.getId() == id)
+                        res.add(v);
+                }
+                continue;
+            }
+            for (View v : index.get(id)) {
+                if (isInside(v, roots))
+                    res.add(v);
+            }
         }
-        return res;
+        return new $Array(ctx, res.list());
     }
 
     /**
@@ -11365,35 +13926,32 @@ public abstract class AQuery {
             }
         }
         return new $Array(ctx,res);
-    }
-    /**
-     * Returns all children and sub-children of the elements
-     */
-    private AQuery getAllChildren(ViewFinder subFinder, ViewChecker subChecker) {
-        List<View> res = new ArrayList<>();
-        for (View element : list()) {
-            ViewGroup vGroup;
-            try {
-                vGroup = (ViewGroup)element;
-            }
-            catch (ClassCastException e) {
-                continue;
-            }
-            for (View child : getDescendants(vGroup)) {
+    }
+    /**
+     * Returns all children and sub-children of the elements
+     */
+    private AQuery getAllChildren(ViewFinder subFinder, ViewChecker subChecker) {
+        $Set<View> res = new $Set<>();
+        ViewTreeIterator descendants = new ViewTreeIterator(null);
+        for (View element : list()) {
+            descendants.reset(element);
+            while (descendants.hasNext()) {
+                View child = descendants.next();
                 if (subChecker.match(child))
-                    res = union(res,subFinder.get(new $Element(ctx, child)).list());
+                    res.addAll(subFinder.get(new $Element(ctx, child)).list());
             }
         }
-        return new $Array(ctx,res);
+        return new $Array(ctx,res.list());
     }
     /**
      * Returns the elements directly after the elements in the set of elements
      */
     private AQuery getElementsAfter(ViewFinder subFinder, ViewChecker subChecker) {
         List<View> res = new ArrayList<>();
+        MatchContext context = new MatchContext();
         for (View element : list()) {
             ViewGroup parent = (ViewGroup) element.getParent();
-            int pos = findPosition(parent,element);
+            int pos = context.findPosition(parent,element);
             pos++;
             if (pos < parent.getChildCount()) {
                 View v = parent.getChildAt(pos);
@@ -11408,9 +13966,10 @@ public abstract class AQuery {
      */
     private AQuery getElementsBefore(ViewFinder subFinder, ViewChecker subChecker) {
         List<View> res = new ArrayList<>();
+        MatchContext context = new MatchContext();
         for (View element : list()) {
             ViewGroup parent = (ViewGroup) element.getParent();
-            int pos = findPosition(parent,element);
+            int pos = context.findPosition(parent,element);
             if (pos > 0) {
                 View v = parent.getChildAt(pos-1);
                 if (subChecker.match(v))
@@ -11421,40 +13980,26 @@ public abstract class AQuery {
     }
 
     /**
-     * Returns the function that will, for a given View check if the view matches the selectors
+     * Returns the function that will, for a given View, find the descendants matching the end of a selector
+     * @param chain
+     * The selector
+     * @param i
+     * The position in the chain of the first element to find
      */
-    protected ViewFinder find($List<String> selectors, List<BracketAnalyser> analyser) {
-        if (selectors.isEmpty())
+    private static ViewFinder finder(SelectorChain chain, int i) {
+        if (i == chain.checkers.length)
             return ALL_PASS_FINDER;
-        else {
-            final String firstSelector = selectors.head();
-            selectors = selectors.tail();
-            if (">".equals(firstSelector)) {
-                String secondSelector = selectors.head();
-                selectors = selectors.tail();
-                ViewFinder subFinder = find(selectors, analyser);
-                ViewChecker subChecker = typeChecker(secondSelector, analyser);
+        ViewFinder subFinder = finder(chain, i+1);
+        ViewChecker subChecker = chain.checkers[i];
+        switch (chain.combinators[i]) {
+            case '>' :
                 return new DirectChildrenFinder(subFinder, subChecker);
-            }
-            else if ("+".equals(firstSelector)) {
-                String secondSelector = selectors.head();
-                selectors = selectors.tail();
-                ViewFinder subFinder = find(selectors, analyser);
-                ViewChecker subChecker = typeChecker(secondSelector, analyser);
+            case '+' :
                 return new NextElementsFinder(subFinder, subChecker);
-            }
-            else if ("~".equals(firstSelector)) {
-                String secondSelector = selectors.head();
-                selectors = selectors.tail();
-                ViewFinder subFinder = find(selectors, analyser);
-                ViewChecker subChecker = typeChecker(secondSelector, analyser);
+            case '~' :
                 return new PrevElementsFinder(subFinder, subChecker);
-            }
-            else {
-                ViewFinder subFinder = find(selectors, analyser);
-                ViewChecker subChecker = typeChecker(firstSelector, analyser);
+            default :
                 return new ChildrenFinder(subFinder, subChecker);
-            }
         }
     }
 
@@ -11464,9 +14009,49 @@ public abstract class AQuery {
 
     /**
      * Reduce the set of matched elements to those that match the selector
+     * The selector is matched in the content of the activity, like $(selector) does:
+     * the result is the same as keeping the elements found by $(selector)
      */
     public AQuery filter(String criteria) {
-        return new $Array(ctx, intersection(list(), new $Document(ctx).find(criteria).list()));
+        return filter(compile(criteria));
+    }
+    /**
+     * Reduce the set of matched elements to those that match the compiled selector
+     */
+    public AQuery filter(Selector criteria) {
+        List<View> elements = list();
+        if (!criteria.isRightToLeft())
+            return new $Array(ctx, intersectViews(elements, new $Document(ctx).find(criteria).list()));
+        View content = new $Document(ctx).head();
+        $Set<View> roots = new $Set<>(singleton(content));
+        ArrayList<View> res = new ArrayList<>(elements.size());
+        MatchContext context = new MatchContext();
+        for (View v : elements) {
+            if (isInside(v, content) && criteria.match(v, content, roots, context))
+                res.add(v);
+        }
+        return new $Array(ctx, res);
+    }
+    /**
+     * Checks if at least one of the elements matches the selector, in the content of the activity like filter()
+     */
+    public boolean is(String criteria) {
+        return is(compile(criteria));
+    }
+    /**
+     * Checks if at least one of the elements matches the compiled selector
+     */
+    public boolean is(Selector criteria) {
+        if (!criteria.isRightToLeft())
+            return !filter(criteria).list().isEmpty();
+        View content = new $Document(ctx).head();
+        $Set<View> roots = new $Set<>(singleton(content));
+        MatchContext context = new MatchContext();
+        for (View v : list()) {
+            if (isInside(v, content) && criteria.match(v, content, roots, context))
+                return true;
+        }
+        return false;
     }
     /**
      * Reduce the set of matched elements to those that matches the test function
@@ -11484,82 +14069,26 @@ public abstract class AQuery {
     /**
      * Returns the test function that checks if a View has a given tag
      */
-    private static ViewChecker tagChecker(String tag) {
+    private static ViewChecker tagChecker(String tag, int flags) {
         if ("*".equals(tag))
             return ALWAYS_MATCH;
-        return new TagChecker(tag);
+        return new TagChecker(tag, (flags & Selector.SUBCLASSES) != 0);
     }
     /**
      * Returns the test function that checks if a View has NOT a given tag
      */
-    private static ViewChecker notTagChecker(String tag) {
+    private static ViewChecker notTagChecker(String tag, int flags) {
         if ("*".equals(tag))
             return NEVER_MATCH;
-        return new NotTagChecker(tag);
-    }
-
-    /**
-     * Checks if a View has the given tag
-     */
-    private static boolean hasTag(View v, String tag) {
-        return v.getClass().getSimpleName().equals(tag);
+        return new NotTagChecker(new TagChecker(tag, (flags & Selector.SUBCLASSES) != 0));
     }
     /**
      * Returns the test function that checks if a View has a given tag
      */
-    private ViewChecker idChecker(String id) {
-        int res = ctx.getResources().getIdentifier(id, "id", ctx.getPackageName());
-        if (res != 0)
-            return new IdChecker(res);
-        return NEVER_MATCH;
+    private static ViewChecker idChecker(String id) {
+        return new IdChecker(id);
     }
 
-    /**
-     * Format a given coefficient, given by an integer and/or a +/- sign before
-     */
-    @SuppressWarnings("SpellCheckingInspection")
-    private static int formatCoeff(String coeff) {
-        if ("".equals(coeff) || "+".equals(coeff))
-            return 1;
-        if ("-".equals(coeff))
-            return -1;
-        return Integer.valueOf(coeff);
-    }
-    private static final Pattern AFFINE_FUNC_MATCHER = Pattern.compile("^([+-]?\\d*)n([+-])(\\d*)$");
-    private static final Pattern LINEAR_FUNC_MATCHER = Pattern.compile("^([+-]?\\d*)n$");
-    /**
-     * Format the coefficients of an expression of the form "bn+a" or "bn" or "a"
-     * @param expression
-     * The expression where to retrieve the coefficients
-     * @return
-     * An array containing [a,b]
-     */
-    @SuppressWarnings("SpellCheckingInspection")
-    private static int[] formatCoeffs(String expression) {
-        int b, a;
-        try {
-            Matcher affineFunction = AFFINE_FUNC_MATCHER.matcher(expression);
-            if (affineFunction.find()) { // "bn+a"-like expression
-                b = formatCoeff(affineFunction.group(1));
-                a = Integer.valueOf(affineFunction.group(3));
-                if ("-".equals(affineFunction.group(2)))
-                    a = -a;
-            } else {
-                Matcher linearFunction = LINEAR_FUNC_MATCHER.matcher(expression);
-                if (linearFunction.find()) { // "bn"-like expression
-                    b = formatCoeff(linearFunction.group(1));
-                    a = 0;
-                } else { // Constant
-                    a = Integer.valueOf(expression);
-                    b = 0;
-                }
-            }
-        }
-        catch (Exception e) {
-            throw new IllegalArgumentException("Unrecognized expression : \""+ expression +"\"");
-        }
-        return new int[]{a,b};
-    }
     /**
      * Returns true if and only if the position can be written as a*k+b with k positive integer
      */
@@ -11573,10 +14102,6 @@ public abstract class AQuery {
             return ((b*quotient) == diff);
         return false;
     }
-    private static final Pattern NTH_CHILD_MATCHER = Pattern.compile("^nth-child\\((.+)\\)$");
-    private static final Pattern NTH_LAST_CHILD_MATCHER = Pattern.compile("^nth-last-child\\((.+)\\)$");
-    private static final Pattern NOT_TAG_MATCHER = Pattern.compile("^not\\((.+)\\)$");
-
     private static final HashMap<String,ViewChecker> CONDITION_CHECKERS = initConditionCheckers();
     private static HashMap<String,ViewChecker> initConditionCheckers() {
         HashMap<String,ViewChecker> res = new HashMap<>();
@@ -11584,147 +14109,81 @@ public abstract class AQuery {
         res.put("first-child", new FirstChildChecker());
         res.put("last-child", new LastChildChecker());
         res.put("only-child", new OnlyChildChecker());
+        res.put("root", new RootChecker());
+        res.put("visible", new VisibleChecker());
+        res.put("in-viewport", new InViewportChecker());
         return res;
     }
     /**
-     * Returns the function that checks if a given View matches the filter condition
-     * @param condition
-     * The filter condition, like "empty", "first-child", etc
+     * A class for test-functions used in find() method
      */
-    private ViewChecker conditionChecker(String condition) {
-        ViewChecker checker = CONDITION_CHECKERS.get(condition);
-        if (checker != null)
-            return checker;
-        else if ("root".equals(condition))
-            return new RootChecker(ctx);
-        else {
-            Matcher m = NTH_CHILD_MATCHER.matcher(condition);
-            if (m.find())
-                return new NthChildChecker(formatCoeffs(m.group(1)));
-            m = NTH_LAST_CHILD_MATCHER.matcher(condition);
-            if (m.find())
-                return new NthLastChildChecker(formatCoeffs(m.group(1)));
-            m = NOT_TAG_MATCHER.matcher(condition);
-            if (m.find())
-                return notTagChecker(m.group(1));
-            throw new IllegalArgumentException("Invalid filter condition \""+ condition +"\"");
-        }
-    }
-
-    /** Returns the function that checks if a View matches a "bracket" condition, like [attr="value"]
-     */
-    private ViewChecker bracketChecker(BracketAnalyser analyser) {
-        switch (analyser.getFlag()) {
-            case 0 :
-                return new AttrEqualsChecker(ctx, analyser);
-            case '|' :
-                return new AttrStartsChecker(ctx, analyser);
-            case '~' :
-                return new AttrHasChecker(ctx, analyser);
-            case '^' :
-                return new AttrBeginsChecker(ctx, analyser);
-            case '$' :
-                return new AttrEndsChecker(ctx, analyser);
-            case '*' :
-                return new AttrContainsChecker(ctx, analyser);
-            default :
-                return null; // Dead code
-        }
-    }
-    private static boolean checkAttrEquals($Element jElt, AttrSetter callback, String val) {
-        Object jVal, eVal;
-        try {
-            jVal = callback.get(jElt.head());
-            eVal = callback.format(jElt,val);
-        }
-        catch (Exception e) {
-            return false;
+    private abstract static class ViewChecker {
+        /**
+         * Checks if the given element matches the given condition
+         * @return
+         * true if it does, false otherwise
+         */
+        abstract boolean match(View elt);
+        /**
+         * Checks if the given element matches the given condition, using the state of a search
+         * By default, the condition doesn't need it
+         */
+        boolean match(View elt, MatchContext context) {
+            return match(elt);
         }
-        return equals(jVal,eVal);
-    }
 
-    private static boolean checkAttrBegins($Element jElt, AttrSetter callback, String val) {
-        String jVal, eVal;
-        try {
-            jVal = callback.get(jElt.head()).toString();
-            eVal = callback.format(jElt,val).toString();
-        }
-        catch (Exception e) {
-            return false;
-        }
-        return jVal.startsWith(eVal);
-    }
-    private static boolean checkAttrStarts($Element jElt, AttrSetter callback, String val) {
-        String jVal, eVal;
-        try {
-            jVal = callback.get(jElt.head()).toString();
-            eVal = callback.format(jElt,val).toString();
-        }
-        catch (Exception e) {
-            return false;
-        }
-        return jVal.equals(val) || jVal.startsWith(eVal + ' ');
-    }
-    private static boolean checkAttrEnds($Element jElt, AttrSetter callback, String val) {
-        String jVal, eVal;
-        try {
-            jVal = callback.get(jElt.head()).toString();
-            eVal = callback.format(jElt,val).toString();
-        }
-        catch (Exception e) {
-            return false;
+        /**
+         * Returns the id that a View must have to match the condition, or View.NO_ID if it can have any id
+         * @param context
+         * A View used to resolve the id
+         */
+        int getId(View context) {
+            return View.NO_ID;
         }
-        return jVal.endsWith(eVal);
-    }
-    private static boolean checkAttrHas($Element jElt, AttrSetter callback, String val) {
-        String jVal, eVal;
-        try {
-            jVal = callback.get(jElt.head()).toString();
-            eVal = callback.format(jElt,val).toString();
+
+        /**
+         * Returns the checker of the tag that a View must have to match the condition, or null if it can have any tag
+         */
+        TagChecker getTagChecker() {
+            return null;
         }
-        catch (Exception e) {
-            return false;
+
+        /**
+         * Returns a CSS class that a View must have to match the condition, or null if it can have any class
+         */
+        String getCssClass() {
+            return null;
         }
-        return jVal.equals(eVal) || jVal.startsWith(eVal +' ') || jVal.endsWith(' '+ eVal) || jVal.contains(' '+ eVal +' ');
-    }
-    private static boolean checkAttrContains($Element jElt, AttrSetter callback, String val) {
-        String jVal, eVal;
-        try {
-            jVal = callback.get(jElt.head()).toString();
-            eVal = callback.format(jElt,val).toString();
+
+        /**
+         * Returns the Views of a snapshot matching the condition
+         * By default, the condition depends on the live Views and can't be evaluated on a snapshot
+         */
+        BitSet match(ViewSnapshot snapshot) {
+            throw new IllegalArgumentException("This selector depends on the attributes of the views, it can't be evaluated on a snapshot");
         }
-        catch (Exception e) {
-            return false;
+
+        /**
+         * Checks if the condition only depends on the hierarchy, the classes, the ids and the visibility of the Views,
+         * whose changes are tracked by the ViewIndex, so that the results of the condition can be kept until the next change
+         */
+        boolean isStructural() {
+            return true;
         }
-        return jVal.contains(eVal);
-    }
 
-    /**
-     * Returns the function that checks if a selector matches a given filter condition, such as "TextView" or ":first-child"
-     */
-    private ViewChecker selectorChecker(String selector, List<BracketAnalyser> analyser) {
-        String value;
-        switch (selector.charAt(0)) {
-            case '#' :
-                return idChecker(selector.substring(1));
-            case ':' :
-                return conditionChecker(selector.substring(1));
-            case '[' :
-                return bracketChecker(analyser.get(Integer.valueOf(selector.substring(1, selector.length() - 1))));
+        /**
+         * Checks if the condition depends on the siblings or the children of the View, like ":first-child" or ":empty"
+         */
+        boolean dependsOnNeighbours() {
+            return false;
         }
-        throw new IllegalArgumentException("Invalid selector \""+ selector +"\"");
-    }
 
-    /**
-     * A class for test-functions used in find() method
-     */
-    private abstract static class ViewChecker {
         /**
-         * Checks if the given element matches the given condition
-         * @return
-         * true if it does, false otherwise
+         * Checks if the condition depends on all the descendants of the View, like ":has(ImageView)"
          */
-        abstract boolean match(View elt);
+        boolean dependsOnDescendants() {
+            return false;
+        }
     }
     /**
      * A listener used in find() method to get the views matching a given criteria
@@ -11842,6 +14301,83 @@ public abstract class AQuery {
             }
             return true;
         }
+
+        @Override
+        boolean match(View elt, MatchContext context) {
+            for (ViewChecker selector : selectors) {
+                if (!selector.match(elt, context))
+                    return false;
+            }
+            return true;
+        }
+
+        @Override
+        int getId(View context) {
+            for (ViewChecker selector : selectors) {
+                int res = selector.getId(context);
+                if (res != View.NO_ID)
+                    return res;
+            }
+            return View.NO_ID;
+        }
+
+        @Override
+        TagChecker getTagChecker() {
+            for (ViewChecker selector : selectors) {
+                TagChecker res = selector.getTagChecker();
+                if (res != null)
+                    return res;
+            }
+            return null;
+        }
+
+        @Override
+        String getCssClass() {
+            for (ViewChecker selector : selectors) {
+                String res = selector.getCssClass();
+                if (res != null)
+                    return res;
+            }
+            return null;
+        }
+
+        @Override
+        BitSet match(ViewSnapshot snapshot) {
+            BitSet res = snapshot.all();
+            for (ViewChecker selector : selectors) {
+                res.and(selector.match(snapshot));
+                if (res.isEmpty())
+                    break;
+            }
+            return res;
+        }
+
+        @Override
+        boolean isStructural() {
+            for (ViewChecker selector : selectors) {
+                if (!selector.isStructural())
+                    return false;
+            }
+            return true;
+        }
+
+        @Override
+        boolean dependsOnNeighbours() {
+            for (ViewChecker selector : selectors) {
+                if (selector.dependsOnNeighbours())
+                    return true;
+            }
+            return false;
+        }
+
+        @Override
+        boolean dependsOnDescendants() {
+            for (ViewChecker selector : selectors) {
+                if (selector.dependsOnDescendants())
+                    return true;
+            }
+            return false;
+        }
     }
     /**
      * The test function that always return true
@@ -11854,6 +14390,11 @@ public abstract class AQuery {
         public boolean match(View elt) {
             return true;
         }
+
+        @Override
+        BitSet match(ViewSnapshot snapshot) {
+            return snapshot.all();
+        }
     }
     private static final AllPassChecker ALWAYS_MATCH = new AllPassChecker();
 
@@ -11867,6 +14408,11 @@ public abstract class AQuery {
         public boolean match(View elt) {
             return false;
         }
+
+        @Override
+        BitSet match(ViewSnapshot snapshot) {
+            return new BitSet(snapshot.size());
+        }
     }
     private static final AllRejectChecker NEVER_MATCH = new AllRejectChecker();
 
@@ -11874,42 +14420,198 @@ public abstract class AQuery {
      * The ViewCheck that checks if a View has a given tag
      */
     private static class TagChecker extends ViewChecker {
-        private String tag;
-        public TagChecker(String tag) {
+        private final String tag;
+        private final boolean subclasses; // true to match the subclasses of the tag too
+        private volatile boolean resolved; // true once the class of the tag has been looked for
+        private Class tagClass; // The class named by the tag, or null if it couldn't be found
+        private final IdentityHashMap<Class,Boolean> matches = new IdentityHashMap<>(); // For each class of View already met, true if it matches the tag
+
+        /**
+         * Constructor of TagChecker
+         * The tag is resolved to a class the first time a View is checked, with the same rules as $Utils.create(),
+         * so views are then matched by comparing their class instead of their class name.
+         * The views of another class with the same simple name, like the Toolbar of the support library for "Toolbar", still match the tag
+         * @param tag
+         * The tag, like "TextView" or "com.example.MyView"
+         * @param subclasses
+         * true to match the views whose class extends the one of the tag too
+         */
+        public TagChecker(String tag, boolean subclasses) {
             this.tag = tag;
+            this.subclasses = subclasses;
+        }
+
+        @Override
+        public boolean match(View elt) {
+            return match(elt.getClass(), elt);
+        }
+
+        @Override
+        TagChecker getTagChecker() {
+            return this;
+        }
+
+        @Override
+        BitSet match(ViewSnapshot snapshot) {
+            boolean[] classMatches = new boolean[snapshot.classes.length];
+            for (int i=0;i<classMatches.length;i++)
+                classMatches[i] = match(snapshot.classes[i], snapshot.root());
+            BitSet res = new BitSet(snapshot.size());
+            for (int i=0;i<snapshot.size();i++) {
+                if (classMatches[snapshot.classIds[i]])
+                    res.set(i);
+            }
+            return res;
+        }
+
+        /**
+         * Checks if a class of View matches the tag
+         * @param context
+         * A View used to resolve the tag
+         */
+        boolean match(Class vClass, View context) {
+            if (!resolved)
+                resolve(context);
+            if (vClass == tagClass)
+                return true;
+            synchronized (matches) {
+                Boolean res = matches.get(vClass);
+                if (res == null) {
+                    res = matchClass(vClass);
+                    matches.put(vClass, res);
+                }
+                return res;
+            }
+        }
+
+        /**
+         * Returns the class whose simple name a View must have to match the tag, or null if views of several names can match it
+         * @param context
+         * A View used to resolve the tag
+         */
+        Class getExactClass(View context) {
+            if (!resolved)
+                resolve(context);
+            return subclasses ? null : tagClass;
+        }
+
+        /**
+         * Looks for the class named by the tag, using the package of the View when the tag is not an Android class
+         */
+        private void resolve(View elt) {
+            Context context = getActivity(elt);
+            if (context == null)
+                context = elt.getContext();
+            try {
+                tagClass = $Utils.getViewClass(context, tag);
+            }
+            catch (RuntimeException e) {
+                tagClass = null;
+            }
+            resolved = true;
+        }
+
+        /**
+         * Checks if a class of View matches the tag
+         * When the class isn't the one of the tag (like a class of a library), the simple names of the classes are compared
+         */
+        private boolean matchClass(Class vClass) {
+            if ((tagClass != null) && subclasses && tagClass.isAssignableFrom(vClass))
+                return true;
+            if (!subclasses)
+                return vClass.getSimpleName().equals(tag);
+            for (Class c = vClass; c != null; c = c.getSuperclass()) {
+                if (c.getSimpleName().equals(tag))
+                    return true;
+            }
+            return false;
+        }
+    }
+    /**
+     * The ViewCheck that checks if a View has NOT a given tag
+     */
+    private static class NotTagChecker extends ViewChecker {
+        private final TagChecker tagChecker;
+        public NotTagChecker(TagChecker tagChecker) {
+            this.tagChecker = tagChecker;
+        }
+
+        @Override
+        public boolean match(View elt) {
+            return !tagChecker.match(elt);
+        }
+
+        @Override
+        BitSet match(ViewSnapshot snapshot) {
+            BitSet res = tagChecker.match(snapshot);
+            res.flip(0, snapshot.size());
+            return res;
+        }
+    }
+    /**
+     * The ViewCheck that checks if a View has a given ID
+     * The ID name is resolved the first time a View is checked, since the selector doesn't depend on any Activity
+     */
+    private static class IdChecker extends ViewChecker {
+        private String name;
+        private int id = View.NO_ID;
+        public IdChecker(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public boolean match(View elt) {
+            int res = getId(elt);
+            return ((res != 0) && (elt.getId() == res));
+        }
+
+        @Override
+        int getId(View context) {
+            if (id == View.NO_ID)
+                id = context.getResources().getIdentifier(name, "id", context.getContext().getPackageName());
+            return id;
         }
 
         @Override
-        public boolean match(View elt) {
-            return hasTag(elt,tag);
+        BitSet match(ViewSnapshot snapshot) {
+            BitSet res = new BitSet(snapshot.size());
+            int id = getId(snapshot.root());
+            if (id != 0) {
+                for (int i=0;i<snapshot.size();i++) {
+                    if (snapshot.ids[i] == id)
+                        res.set(i);
+                }
+            }
+            return res;
         }
     }
     /**
-     * The ViewCheck that checks if a View has NOT a given tag
+     * The ViewCheck that checks if a View has a CSS class, given by addClass()
      */
-    private static class NotTagChecker extends ViewChecker {
-        private String tag;
-        public NotTagChecker(String tag) {
-            this.tag = tag;
+    private static class CssClassChecker extends ViewChecker {
+        private final String cssClass;
+        public CssClassChecker(String cssClass) {
+            this.cssClass = cssClass;
         }
 
         @Override
         public boolean match(View elt) {
-            return !hasTag(elt,tag);
+            return ViewIndex.hasCssClass(elt, cssClass);
         }
-    }
-    /**
-     * The ViewCheck that checks if a View has a given ID
-     */
-    private static class IdChecker extends ViewChecker {
-        private int id;
-        public IdChecker(int id) {
-            this.id = id;
+
+        @Override
+        String getCssClass() {
+            return cssClass;
         }
 
         @Override
-        public boolean match(View elt) {
-            return (elt.getId() == id);
+        BitSet match(ViewSnapshot snapshot) {
+            BitSet res = new BitSet(snapshot.size());
+            for (int i=0;i<snapshot.size();i++) {
+                if (snapshot.hasClass(i, cssClass))
+                    res.set(i);
+            }
+            return res;
         }
     }
     /**
@@ -11925,6 +14627,21 @@ public abstract class AQuery {
                 return true;
             }
         }
+
+        @Override
+        BitSet match(ViewSnapshot snapshot) {
+            BitSet res = new BitSet(snapshot.size());
+            for (int i=0;i<snapshot.size();i++) {
+                if (snapshot.childCounts[i] == 0)
+                    res.set(i);
+            }
+            return res;
+        }
+
+        @Override
+        boolean dependsOnNeighbours() {
+            return true;
+        }
     }
     /**
      * The ViewCheck that checks if a View is the first child of its parent
@@ -11934,6 +14651,26 @@ public abstract class AQuery {
         public boolean match(View elt) {
             return (findPosition(elt) == 0);
         }
+
+        @Override
+        boolean match(View elt, MatchContext context) {
+            return (context.findPosition(elt) == 0);
+        }
+
+        @Override
+        BitSet match(ViewSnapshot snapshot) {
+            BitSet res = new BitSet(snapshot.size());
+            for (int i=1;i<snapshot.size();i++) {
+                if (snapshot.positions[i] == 0)
+                    res.set(i);
+            }
+            return res;
+        }
+
+        @Override
+        boolean dependsOnNeighbours() {
+            return true;
+        }
     }
     /**
      * The ViewCheck that checks if a View is the last child of its parent
@@ -11943,6 +14680,26 @@ public abstract class AQuery {
         public boolean match(View elt) {
             return (findLastPosition(elt) == 1);
         }
+
+        @Override
+        boolean match(View elt, MatchContext context) {
+            return (context.findLastPosition(elt) == 1);
+        }
+
+        @Override
+        BitSet match(ViewSnapshot snapshot) {
+            BitSet res = new BitSet(snapshot.size());
+            for (int i=1;i<snapshot.size();i++) {
+                if (snapshot.childCounts[snapshot.parents[i]]-snapshot.positions[i] == 1)
+                    res.set(i);
+            }
+            return res;
+        }
+
+        @Override
+        boolean dependsOnNeighbours() {
+            return true;
+        }
     }
     /**
      * The ViewCheck that checks if a View is the n-th child of its parent
@@ -11960,7 +14717,29 @@ public abstract class AQuery {
 
         @Override
         public boolean match(View elt) {
-            return isNth(findPosition(elt) + 1, a,b);
+            int position = findPosition(elt);
+            return (position >= 0) && isNth(position + 1, a,b);
+        }
+
+        @Override
+        boolean match(View elt, MatchContext context) {
+            int position = context.findPosition(elt);
+            return (position >= 0) && isNth(position + 1, a,b);
+        }
+
+        @Override
+        BitSet match(ViewSnapshot snapshot) {
+            BitSet res = new BitSet(snapshot.size());
+            for (int i=1;i<snapshot.size();i++) {
+                if (isNth(snapshot.positions[i] + 1, a,b))
+                    res.set(i);
+            }
+            return res;
+        }
+
+        @Override
+        boolean dependsOnNeighbours() {
+            return true;
         }
     }
     /**
@@ -11979,7 +14758,29 @@ public abstract class AQuery {
 
         @Override
         public boolean match(View elt) {
-            return isNth(findLastPosition(elt), a,b);
+            int position = findLastPosition(elt);
+            return (position > 0) && isNth(position, a,b);
+        }
+
+        @Override
+        boolean match(View elt, MatchContext context) {
+            int position = context.findLastPosition(elt);
+            return (position > 0) && isNth(position, a,b);
+        }
+
+        @Override
+        BitSet match(ViewSnapshot snapshot) {
+            BitSet res = new BitSet(snapshot.size());
+            for (int i=1;i<snapshot.size();i++) {
+                if (isNth(snapshot.childCounts[snapshot.parents[i]]-snapshot.positions[i], a,b))
+                    res.set(i);
+            }
+            return res;
+        }
+
+        @Override
+        boolean dependsOnNeighbours() {
+            return true;
         }
     }
     /**
@@ -11988,143 +14789,483 @@ public abstract class AQuery {
     private static class OnlyChildChecker extends ViewChecker {
         @Override
         public boolean match(View elt) {
-            return (((ViewGroup) elt.getParent()).getChildCount() == 1);
+            ViewParent parent = elt.getParent();
+            return (parent instanceof ViewGroup) && (((ViewGroup) parent).getChildCount() == 1);
+        }
+
+        @Override
+        BitSet match(ViewSnapshot snapshot) {
+            BitSet res = new BitSet(snapshot.size());
+            for (int i=1;i<snapshot.size();i++) {
+                if (snapshot.childCounts[snapshot.parents[i]] == 1)
+                    res.set(i);
+            }
+            return res;
+        }
+
+        @Override
+        boolean dependsOnNeighbours() {
+            return true;
+        }
+    }
+    /**
+     * The ViewCheck that checks if a View has a descendant or a sibling matching a relative selector, like ":has(> ImageView)"
+     *
+     * Since the ancestors of the views are checked again and again during a search, the results are remembered in the MatchContext.
+     * For a selector made of a single descendant element, like ":has(ImageView)", the subtree of a View is also scanned at most once:
+     * when none of its descendants matches, none of the ViewGroups of the subtree has a matching descendant either,
+     * and when one does, all its ancestors up to the View have one.
+     * A selector starting with siblings, like ":has(+ TextView)", only looks at these siblings and at their descendants.
+     * The subtrees are not shared between the Views for the other selectors, like ":has(LinearLayout ImageView)":
+     * each View checked scans its own subtree, so nested containers are scanned once for each of their ancestors checked
+     */
+    private static class HasChecker extends ViewChecker {
+        private final SelectorChain[] chains; // The relative selectors, one for each comma-separated selector
+
+        public HasChecker(SelectorChain[] chains) {
+            this.chains = chains;
+        }
+
+        @Override
+        public boolean match(View elt) {
+            return match(elt, new MatchContext());
+        }
+
+        @Override
+        boolean match(View elt, MatchContext context) {
+            Boolean res = context.getMemo(this, elt);
+            if (res == null) {
+                res = false;
+                for (SelectorChain chain : chains) {
+                    if (match(chain, elt, context)) {
+                        res = true;
+                        break;
+                    }
+                }
+                context.putMemo(this, elt, res);
+            }
+            return res;
+        }
+
+        /**
+         * Checks if a relative selector matches a View around the given one
+         */
+        private static boolean match(SelectorChain chain, View elt, MatchContext context) {
+            if (chain.checkers.length == 1) {
+                if (chain.combinators[0] == ' ')
+                    return hasDescendant(chain, elt, context);
+                if (chain.combinators[0] == '>') {
+                    if (!(elt instanceof ViewGroup))
+                        return false;
+                    ViewGroup group = (ViewGroup) elt;
+                    for (int i=0;i<group.getChildCount();i++) {
+                        if (chain.checkers[0].match(group.getChildAt(i), context))
+                            return true;
+                    }
+                    return false;
+                }
+            }
+            View scope = elt; // The View under which the chain is matched
+            View area = elt; // The View containing the matching Views, after the siblings starting the chain
+            int i = 0;
+            if (!chain.isInside()) {
+                ViewParent parent = elt.getParent();
+                if (!(parent instanceof View))
+                    return false;
+                scope = (View) parent;
+                while ((i < chain.checkers.length) && ((chain.combinators[i] == '+') || (chain.combinators[i] == '~'))) {
+                    area = context.getSibling(area, (chain.combinators[i] == '+') ? 1 : -1);
+                    if (area == null)
+                        return false;
+                    i++;
+                }
+            }
+            $Set<View> roots = new $Set<>(singleton(elt));
+            if (i == chain.checkers.length) // The chain is only made of siblings, like "+ TextView", it can only match this one
+                return chain.match(area, scope, roots, context);
+            for (View v : new ViewTreeIterator(area)) {
+                if (chain.match(v, scope, roots, context))
+                    return true;
+            }
+            return false;
+        }
+
+        /**
+         * Checks if a View has a descendant matching the single element of a chain
+         */
+        private static boolean hasDescendant(SelectorChain chain, View elt, MatchContext context) {
+            Boolean res = context.getMemo(chain, elt);
+            if (res != null)
+                return res;
+            ArrayList<View> scanned = new ArrayList<>(); // The ViewGroups whose subtree has been entirely scanned if nothing matches
+            ViewTreeIterator descendants = new ViewTreeIterator(elt);
+            while (descendants.hasNext()) {
+                View v = descendants.next();
+                if (chain.checkers[0].match(v, context)) {
+                    setAncestorsFound(chain, v, elt, context);
+                    return true;
+                }
+                if (v instanceof ViewGroup) {
+                    Boolean known = context.getMemo(chain, v);
+                    if (known == null)
+                        scanned.add(v);
+                    else if (known) {
+                        setAncestorsFound(chain, v, elt, context);
+                        return true;
+                    }
+                    else
+                        descendants.skipDescendants();
+                }
+            }
+            for (View v : scanned)
+                context.putMemo(chain, v, false);
+            context.putMemo(chain, elt, false);
+            return false;
+        }
+
+        /**
+         * Remembers that the ancestors of a View, up to the given one, have a descendant matching the single element of a chain
+         */
+        private static void setAncestorsFound(SelectorChain chain, View v, View elt, MatchContext context) {
+            for (View ancestor = v; ancestor != elt;) {
+                ancestor = (View) ancestor.getParent();
+                context.putMemo(chain, ancestor, true);
+            }
+        }
+
+        @Override
+        boolean isStructural() {
+            for (SelectorChain chain : chains) {
+                for (ViewChecker checker : chain.checkers) {
+                    if (!checker.isStructural())
+                        return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        boolean dependsOnNeighbours() {
+            return true;
+        }
+
+        @Override
+        boolean dependsOnDescendants() {
+            return true;
+        }
+    }
+    /**
+     * The ViewCheck that checks if a View displays an item of an adapter-backed list at a given position, like ":item(2n)"
+     * The positions are the ones of the adapter, starting from 0, whatever the number of items scrolled out of the list
+     */
+    private static class ItemChecker extends ViewChecker {
+        private int a, b;
+        public ItemChecker(int[] coeffs) {
+            this.a = coeffs[0];
+            this.b = coeffs[1];
+        }
+
+        @Override
+        public boolean match(View elt) {
+            ViewParent parent = elt.getParent();
+            if (!(parent instanceof ViewGroup) || !$Item.isList((ViewGroup) parent))
+                return false;
+            int position = $Item.positionOf((ViewGroup) parent, elt);
+            return (position >= 0) && isNth(position, a,b);
+        }
+
+        /**
+         * Checks if the item at a position of the adapter matches
+         */
+        boolean matchPosition(int position) {
+            return isNth(position, a,b);
+        }
+
+        @Override
+        boolean isStructural() {
+            return false; // The positions of the displayed items change at each scroll
         }
     }
     /**
      * The ViewCheck that checks if a View is the root View of the activity
      */
     private static class RootChecker extends ViewChecker {
-        public Activity ctx;
-        public RootChecker(Activity ctx) {
-            this.ctx = ctx;
+        @Override
+        public boolean match(View elt) {
+            ViewParent parent = elt.getParent();
+            if (!(parent instanceof ViewGroup) || (((ViewGroup) parent).getId() != android.R.id.content))
+                return false;
+            return (((ViewGroup) parent).getChildAt(0) == elt);
+        }
+
+        @Override
+        BitSet match(ViewSnapshot snapshot) {
+            BitSet res = new BitSet(snapshot.size());
+            for (int i=1;i<snapshot.size();i++) {
+                if ((snapshot.ids[snapshot.parents[i]] == android.R.id.content) && (snapshot.positions[i] == 0))
+                    res.set(i);
+            }
+            return res;
+        }
+    }
+    /**
+     * The ViewCheck that checks if a View takes some space on the screen: it and all its ancestors are VISIBLE,
+     * and it has a width and a height, like the :visible selector of jQuery
+     */
+    private static class VisibleChecker extends ViewChecker {
+        @Override
+        public boolean match(View elt) {
+            return elt.isShown() && (elt.getWidth() > 0) && (elt.getHeight() > 0);
+        }
+
+        @Override
+        BitSet match(ViewSnapshot snapshot) {
+            int n = snapshot.size();
+            boolean[] shown = new boolean[n]; // true if the View and all its ancestors are VISIBLE
+            BitSet res = new BitSet(n);
+            for (int i=0;i<n;i++) { // The parents are always before their children
+                shown[i] = (snapshot.visibilities[i] == View.VISIBLE) && ((i == 0) ? snapshot.rootParentShown : shown[snapshot.parents[i]]);
+                if (shown[i] && (snapshot.widths[i] > 0) && (snapshot.heights[i] > 0))
+                    res.set(i);
+            }
+            return res;
         }
 
+        @Override
+        boolean isStructural() {
+            return false; // The size of the Views changes at each layout
+        }
+    }
+    /**
+     * The ViewCheck that checks if a part of a View can be seen on the screen, like the content of a ScrollView in its viewport
+     * The visible part of each View is taken from the SpatialIndex of the window
+     */
+    private static class InViewportChecker extends ViewChecker {
         @Override
         public boolean match(View elt) {
-            return (elt == new $Utils(ctx).root().head());
+            return SpatialIndex.of(elt).isInViewport(elt);
+        }
+
+        @Override
+        boolean isStructural() {
+            return false; // The position of the Views changes at each layout or scroll
         }
     }
     /**
      * The ViewCheck that checks if a View's attribute satisfy a given condition
+     *
+     * The expected value is formatted once, with the resources of the first View checked, and formatted again only
+     * if a View having other resources is met. The Views which don't have the attribute (like "text" for an ImageView)
+     * are rejected with the classes declared by the attribute, without calling it
      */
     private static abstract class AttrChecker extends ViewChecker {
-        protected AttrSetter callback;
-        protected String val;
-        private Activity ctx;
+        protected final AttrSetter callback;
+        protected final String val;
+        private Resources resources; // The resources with which the expected value has been formatted
+        protected Object expected; // The expected value, formatted
+        protected String expectedString; // The expected value, as a String
 
-        public AttrChecker(Activity ctx, String attr, String val) {
+        public AttrChecker(String attr, String val) {
             this.callback = getAttr(attr);
             this.val = val;
-            this.ctx = ctx;
         }
-        public AttrChecker(Activity ctx, BracketAnalyser analyser) {
-            this(ctx, analyser.getAttr(), analyser.getVal());
+
+        @Override
+        boolean isStructural() {
+            return false; // The attributes of the Views change without notifying
         }
+
         @Override
         public boolean match(View elt) {
-            return match(new $Element(ctx,elt));
+            if ((callback == null) || !callback.appliesTo(elt)) // The View doesn't have the attribute, like a Button for [src=...]
+                return false;
+            format(elt);
+            return matchView(elt);
+        }
+
+        /**
+         * Formats the expected value for the resources of a View, if it hasn't been done yet
+         * A value which can't be formatted, like [textColor=#GG0000] or a missing resource, throws an IllegalArgumentException
+         * or a Resources.NotFoundException, like a selector which can't be compiled
+         */
+        private void format(View elt) {
+            Resources eltResources = elt.getResources();
+            if (eltResources != resources) {
+                AQuery q = new $Element(getActivity(elt), elt);
+                q.context = elt.getContext(); // The View may be shown outside any activity
+                expected = callback.format(q, elt, val);
+                expectedString = String.valueOf(expected);
+                prepare();
+                resources = eltResources;
+            }
+        }
+
+        /**
+         * Called each time the expected value is formatted, to compute once what the condition needs
+         */
+        protected void prepare() {
+        }
+
+        /**
+         * Checks if the attribute of a View satisfies the condition
+         * By default, the value of the attribute is read with callback.get() and checked with match(Object)
+         */
+        protected boolean matchView(View elt) {
+            return match(callback.get(elt));
         }
-        protected abstract boolean match($Element elt);
+
+        /**
+         * Checks if the value of the attribute of a View satisfies the condition
+         */
+        protected abstract boolean match(Object value);
     }
     /**
      * The ViewCheck that checks if a View has a given attribute
+     * The attributes whose value is an int or a float are compared without boxing their value
      */
     private static class AttrEqualsChecker extends AttrChecker {
-        public AttrEqualsChecker(Activity ctx, BracketAnalyser analyser) {
-            super(ctx, analyser);
+        private static final int BOXED = 0, INT = 1, FLOAT = 2; // The ways to compare the value of the attribute
+        private int comparison; // How the value of the attribute is compared, BOXED, INT or FLOAT
+        private int expectedInt; // The expected value, as an int, if the comparison is INT
+        private float expectedFloat; // The expected value, as a float, if the comparison is FLOAT
+
+        public AttrEqualsChecker(String attr, String val) {
+            super(attr, val);
+        }
+
+        @Override
+        protected void prepare() {
+            if ((expected instanceof Integer) && callback.isInt()) {
+                expectedInt = (Integer) expected;
+                comparison = INT;
+            }
+            else if ((expected instanceof Float) && callback.isInt()) { // A dimension, compared to the number of pixels the attribute would take
+                expectedInt = intCast(expected);
+                comparison = INT;
+            }
+            else if (((expected instanceof Float) || (expected instanceof Integer)) && callback.isFloat()) {
+                expectedFloat = floatCast(expected);
+                comparison = FLOAT;
+            }
+            else
+                comparison = BOXED;
+        }
+
+        @Override
+        protected boolean matchView(View elt) {
+            switch (comparison) {
+                case INT :
+                    return callback.getInt(elt) == expectedInt;
+                case FLOAT :
+                    return Float.compare(callback.getFloat(elt), expectedFloat) == 0;
+                default :
+                    return super.matchView(elt);
+            }
         }
 
         @Override
-        public boolean match($Element elt) {
-            return checkAttrEquals(elt, callback, val);
+        protected boolean match(Object value) {
+            return AQuery.equals(value, expected);
         }
     }
     /**
      * The ViewCheck that checks if a View's attribute starts with a given word
      */
     private static class AttrStartsChecker extends AttrChecker {
-        public AttrStartsChecker(Activity ctx, BracketAnalyser analyser) {
-            super(ctx, analyser);
+        private String prefix; // The expected value followed by a space
+        public AttrStartsChecker(String attr, String val) {
+            super(attr, val);
+        }
+
+        @Override
+        protected void prepare() {
+            prefix = expectedString + ' ';
         }
 
         @Override
-        public boolean match($Element elt) {
-            return checkAttrStarts(elt, callback, val);
+        protected boolean match(Object value) {
+            if (value == null)
+                return false;
+            String sValue = value.toString();
+            return sValue.equals(val) || sValue.startsWith(prefix);
         }
     }
     /**
      * The ViewCheck that checks if a View's attribute contains with a given word
      */
     private static class AttrHasChecker extends AttrChecker {
-        public AttrHasChecker(Activity ctx, BracketAnalyser analyser) {
-            super(ctx, analyser);
+        private String firstWord, lastWord, word; // The expected value followed, preceded and surrounded by spaces
+        public AttrHasChecker(String attr, String val) {
+            super(attr, val);
+        }
+
+        @Override
+        protected void prepare() {
+            firstWord = expectedString +' ';
+            lastWord = ' '+ expectedString;
+            word = ' '+ expectedString +' ';
         }
 
         @Override
-        public boolean match($Element elt) {
-            return checkAttrHas(elt, callback, val);
+        protected boolean match(Object value) {
+            if (value == null)
+                return false;
+            String sValue = value.toString();
+            return sValue.equals(expectedString) || sValue.startsWith(firstWord) || sValue.endsWith(lastWord) || sValue.contains(word);
         }
     }
     /**
      * The ViewCheck that checks if a View's attribute starts with a given String
      */
     private static class AttrBeginsChecker extends AttrChecker {
-        public AttrBeginsChecker(Activity ctx, BracketAnalyser analyser) {
-            super(ctx, analyser);
+        public AttrBeginsChecker(String attr, String val) {
+            super(attr, val);
         }
 
         @Override
-        public boolean match($Element elt) {
-            return checkAttrBegins(elt, callback, val);
+        protected boolean match(Object value) {
+            return (value != null) && value.toString().startsWith(expectedString);
         }
     }
     /**
      * The ViewCheck that checks if a View's attribute ends with a given String
      */
     private static class AttrEndsChecker extends AttrChecker {
-        public AttrEndsChecker(Activity ctx, BracketAnalyser analyser) {
-            super(ctx, analyser);
+        public AttrEndsChecker(String attr, String val) {
+            super(attr, val);
         }
 
         @Override
-        public boolean match($Element elt) {
-            return checkAttrEnds(elt, callback, val);
+        protected boolean match(Object value) {
+            return (value != null) && value.toString().endsWith(expectedString);
         }
     }
     /**
      * The ViewCheck that checks if a View's attribute contains a given String
      */
     private static class AttrContainsChecker extends AttrChecker {
-        public AttrContainsChecker(Activity ctx, BracketAnalyser analyser) {
-            super(ctx, analyser);
+        public AttrContainsChecker(String attr, String val) {
+            super(attr, val);
         }
 
         @Override
-        public boolean match($Element elt) {
-            return checkAttrContains(elt, callback, val);
+        protected boolean match(Object value) {
+            return (value != null) && value.toString().contains(expectedString);
         }
     }
 
-    private static Pattern CONDITION_PATTERN = Pattern.compile("(?:[#:][^#:\\[]+)|(?:\\[\\d+\\])");
     /**
-     * Returns the ViewCheck that checks if a View matches a given set of conditions,
-     * such as "TextView#my_id:first-child"
+     * Returns the Activity in which a given view has been created
+     * Returns null if the view doesn't belong to any Activity
      */
-    private ViewChecker typeChecker(String expression, List<BracketAnalyser> analyser) {
-        Matcher m = CONDITION_PATTERN.matcher(expression); // Getting each filter (like #id, :selector)
-        if (m.find()) { // If there is at least one filter other than tag filter
-            final ArrayList<ViewChecker> selectors = new ArrayList<>();
-            if (m.start() != 0) { // If there is a tag filter (TextView, LinearLayout, etc)
-                String viewTag = expression.substring(0, m.start()); // The tag name
-                selectors.add(tagChecker(viewTag));
-            }
-            do { // For each filter, check if the view matches the condition
-                selectors.add(selectorChecker(m.group(), analyser));
-            } while (m.find());
-            return new ViewCheckers(selectors);
-        } else
-            return tagChecker(expression);
+    protected static Activity getActivity(View v) {
+        Context context = v.getContext();
+        while (context instanceof ContextWrapper) {
+            if (context instanceof Activity)
+                return (Activity) context;
+            context = ((ContextWrapper) context).getBaseContext();
+        }
+        return null;
     }
 
     /**
@@ -12148,17 +15289,8 @@ public abstract class AQuery {
      */
     protected static List<View> getDescendants(View v) {
         ArrayList<View> res = new ArrayList<>();
-        ViewGroup vGroup;
-        try {
-            vGroup = (ViewGroup)v;
-        }
-        catch (Exception e) {
-            return res;
-        }
-        for (int i=0;i<vGroup.getChildCount();i++) {
-            res.add(vGroup.getChildAt(i));
-            res.addAll(getDescendants(vGroup.getChildAt(i)));
-        }
+        for (View child : new ViewTreeIterator(v))
+            res.add(child);
         return res;
     }
     /**
@@ -12166,8 +15298,8 @@ public abstract class AQuery {
      */
     protected static List<View> getFamily(View v) {
         ArrayList<View> res = new ArrayList<>();
-        res.add(v);
-        res.addAll(getDescendants(v));
+        for (View child : new ViewTreeIterator(v).includeRoot(true))
+            res.add(child);
         return res;
     }
     /**
@@ -12205,19 +15337,27 @@ public abstract class AQuery {
      * Returns all the children and sub-children of the elements
      */
     public AQuery descendants() {
-        List<View> res = new ArrayList<>();
-        for (View v : list())
-            res = union(res, getDescendants(v));
-        return new $Array(ctx,res);
+        $Set<View> res = new $Set<>();
+        ViewTreeIterator descendants = new ViewTreeIterator(null);
+        for (View v : list()) {
+            descendants.reset(v);
+            while (descendants.hasNext())
+                res.add(descendants.next());
+        }
+        return new $Array(ctx,res.list());
     }
     /**
      * Returns all the children and sub-children of the elements, plus the elements themselves
      */
     public AQuery family() {
-        List<View> res = new ArrayList<>();
-        for (View v : list())
-            res = union(res,getFamily(v));
-        return new $Array(ctx,res);
+        $Set<View> res = new $Set<>();
+        ViewTreeIterator family = new ViewTreeIterator(null).includeRoot(true);
+        for (View v : list()) {
+            family.reset(v);
+            while (family.hasNext())
+                res.add(family.next());
+        }
+        return new $Array(ctx,res.list());
     }
 
     /**
@@ -12241,9 +15381,10 @@ public abstract class AQuery {
      */
     public static <T> List<T> union(List<T> l1, List<T> l2) {
         List<T> res = new ArrayList<>(l1.size()+l2.size());
+        HashSet<T> elements = new HashSet<>(l1);
         res.addAll(l1);
         for (T elt2 : l2) {
-            if (!res.contains(elt2))
+            if (elements.add(elt2))
                 res.add(elt2);
         }
         return res;
@@ -12254,12 +15395,26 @@ public abstract class AQuery {
      */
     public static <T> List<T> intersection(List<T> l1, List<T> l2) {
         List<T> res = new ArrayList<>(Math.min(l1.size(),l2.size()));
+        HashSet<T> set2 = new HashSet<>(l2);
         for (T elt1 : l1) {
-            if (l2.contains(elt1))
+            if (set2.contains(elt1))
                 res.add(elt1);
         }
         return res;
     }
+    /**
+     * Returns the intersection of 2 sets of Views, removing duplicates
+     * The Views are compared by identity, and keep the order of the first list
+     */
+    static List<View> intersectViews(List<View> l1, List<View> l2) {
+        $Set<View> set2 = new $Set<>(l2);
+        $Set<View> res = new $Set<>(Math.min(l1.size(),l2.size()));
+        for (View elt1 : l1) {
+            if (set2.contains(elt1))
+                res.add(elt1);
+        }
+        return res.list();
+    }
 
     /**
      * Displays an information message next to the specified View
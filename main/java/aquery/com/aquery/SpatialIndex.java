@@ -0,0 +1,202 @@
+package aquery.com.aquery;
+
+import android.view.View;
+import android.view.ViewTreeObserver;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.WeakHashMap;
+
+/**
+ * An index of the bounds of the Views of a window on the screen, to find the Views under a point
+ * or the ones visible in the viewport without asking each View for its location
+ *
+ * The bounds of all the Views are computed in a single walk of the tree, each View being placed relatively to its parent,
+ * and the visible part of each View is its bounds clipped by the visible part of its parent, like a ScrollView clips its content.
+ * The visible parts are then stored in a grid of cells covering the window, so that a point only needs to be compared
+ * with the Views whose visible part crosses its cell.
+ *
+ * The index is rebuilt lazily: a layout pass or a scroll only marks it as outdated,
+ * and it is rebuilt the next time it is queried. The rotations and scales of the Views are ignored
+ */
+@SuppressWarnings("unused")
+class SpatialIndex {
+    private static final WeakHashMap<View,WeakReference<SpatialIndex>> INDEXES = new WeakHashMap<>(); // The index of each window, by root View. The index is kept alive by the listeners of the window
+    private static final int GRID_SIZE = 16; // The number of cells of the grid in each direction
+
+    private final View root; // The root View of the window
+    private boolean valid; // false if the index must be rebuilt before being queried
+    private View[] views = new View[0]; // The Views of the window which are not GONE, in the order of the tree
+    private final IdentityHashMap<View,Integer> positions = new IdentityHashMap<>(); // The position of each View in the views array
+    private int[] bounds = new int[0]; // The visible part of each View on the screen: left, top, right and bottom, empty if the View can't be seen
+    private int gridLeft, gridTop; // The position of the grid on the screen
+    private int cellWidth, cellHeight; // The size of a cell of the grid
+    private int[][] cells = new int[0][]; // The positions of the Views whose visible part crosses each cell, in the order of the tree
+
+    private SpatialIndex(View root) {
+        this.root = root;
+        ViewTreeObserver observer = root.getViewTreeObserver();
+        observer.addOnGlobalLayoutListener(new ViewTreeObserver.OnGlobalLayoutListener() {
+            @Override
+            public void onGlobalLayout() {
+                valid = false;
+            }
+        });
+        observer.addOnScrollChangedListener(new ViewTreeObserver.OnScrollChangedListener() {
+            @Override
+            public void onScrollChanged() {
+                valid = false;
+            }
+        });
+    }
+
+    /**
+     * Returns the index of the window containing the given View. Creates it if it doesn't exist yet
+     */
+    static SpatialIndex of(View v) {
+        View root = v.getRootView();
+        WeakReference<SpatialIndex> ref = INDEXES.get(root);
+        SpatialIndex res = (ref == null) ? null : ref.get();
+        if (res == null) {
+            res = new SpatialIndex(root);
+            INDEXES.put(root, new WeakReference<>(res));
+        }
+        return res;
+    }
+
+    /**
+     * Returns the Views of the window under a point of the screen, in the order of the tree
+     * The last View returned is the one drawn on top of the others
+     * @param x
+     * The abscissa of the point on the screen, in px, like MotionEvent.getRawX()
+     * @param y
+     * The ordinate of the point on the screen, in px, like MotionEvent.getRawY()
+     */
+    List<View> at(int x, int y) {
+        update();
+        ArrayList<View> res = new ArrayList<>();
+        int cell = getCell(x, y);
+        if (cell == -1)
+            return res;
+        for (int i : cells[cell]) {
+            if ((x >= bounds[4*i]) && (y >= bounds[4*i+1]) && (x < bounds[4*i+2]) && (y < bounds[4*i+3]))
+                res.add(views[i]);
+        }
+        return res;
+    }
+
+    /**
+     * Checks if a part of a View can be seen on the screen, that is if it is not hidden
+     * and not entirely clipped by its ancestors, like the content of a ScrollView outside the viewport
+     */
+    boolean isInViewport(View v) {
+        update();
+        Integer i = positions.get(v);
+        return (i != null) && !isEmpty(i);
+    }
+
+    /**
+     * Rebuilds the index if a layout pass or a scroll has happened since it was built
+     */
+    private void update() {
+        if (valid)
+            return;
+        ArrayList<View> family = new ArrayList<>();
+        for (View v : new ViewTreeIterator(root).includeRoot(true).skipGone(true))
+            family.add(v);
+        int n = family.size();
+        views = family.toArray(new View[n]);
+        positions.clear();
+        int[] frames = new int[2*n]; // The position of each View on the screen, before clipping
+        bounds = new int[4*n];
+        int[] location = new int[2];
+        root.getLocationOnScreen(location);
+        for (int i=0;i<n;i++) {
+            View v = views[i];
+            positions.put(v, i);
+            if (i == 0) {
+                frames[0] = location[0];
+                frames[1] = location[1];
+                setBounds(0, location[0], location[1], v, Integer.MIN_VALUE, Integer.MIN_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE);
+                continue;
+            }
+            View parent = (View) v.getParent();
+            int p = positions.get(parent);
+            int left = frames[2*p] + v.getLeft() - parent.getScrollX() + (int) v.getTranslationX();
+            int top = frames[2*p+1] + v.getTop() - parent.getScrollY() + (int) v.getTranslationY();
+            frames[2*i] = left;
+            frames[2*i+1] = top;
+            setBounds(i, left, top, v, bounds[4*p], bounds[4*p+1], bounds[4*p+2], bounds[4*p+3]);
+        }
+        buildGrid();
+        valid = true;
+    }
+
+    /**
+     * Sets the visible part of a View, given its position on the screen and the visible part of its parent
+     */
+    private void setBounds(int i, int left, int top, View v, int clipLeft, int clipTop, int clipRight, int clipBottom) {
+        if (v.getVisibility() != View.VISIBLE)
+            clipRight = clipLeft; // Nothing of the View, nor of its descendants, can be seen
+        bounds[4*i] = Math.max(left, clipLeft);
+        bounds[4*i+1] = Math.max(top, clipTop);
+        bounds[4*i+2] = Math.min(left+v.getWidth(), clipRight);
+        bounds[4*i+3] = Math.min(top+v.getHeight(), clipBottom);
+    }
+    private boolean isEmpty(int i) {
+        return (bounds[4*i] >= bounds[4*i+2]) || (bounds[4*i+1] >= bounds[4*i+3]);
+    }
+
+    /**
+     * Splits the visible part of the root in a grid, and finds the Views crossing each cell
+     */
+    private void buildGrid() {
+        cells = new int[GRID_SIZE*GRID_SIZE][];
+        if ((views.length == 0) || isEmpty(0)) {
+            cellWidth = 0;
+            return;
+        }
+        gridLeft = bounds[0];
+        gridTop = bounds[1];
+        cellWidth = Math.max(1, (bounds[2]-bounds[0]+GRID_SIZE-1)/GRID_SIZE);
+        cellHeight = Math.max(1, (bounds[3]-bounds[1]+GRID_SIZE-1)/GRID_SIZE);
+        int[] counts = new int[cells.length];
+        for (int pass=0;pass<2;pass++) { // The first pass counts the Views of each cell, the second one fills the cells
+            for (int i=0;i<views.length;i++) {
+                if (isEmpty(i))
+                    continue;
+                int col1 = (bounds[4*i]-gridLeft)/cellWidth, col2 = (bounds[4*i+2]-1-gridLeft)/cellWidth;
+                int row1 = (bounds[4*i+1]-gridTop)/cellHeight, row2 = (bounds[4*i+3]-1-gridTop)/cellHeight;
+                for (int row=row1;row<=row2;row++) {
+                    for (int col=col1;col<=col2;col++) {
+                        int cell = row*GRID_SIZE+col;
+                        if (pass == 0)
+                            counts[cell]++;
+                        else
+                            cells[cell][counts[cell]++] = i;
+                    }
+                }
+            }
+            if (pass == 0) {
+                for (int cell=0;cell<cells.length;cell++) {
+                    cells[cell] = new int[counts[cell]];
+                    counts[cell] = 0;
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the cell of the grid containing a point, or -1 if the point is outside the root
+     */
+    private int getCell(int x, int y) {
+        if ((cellWidth == 0) || (x < gridLeft) || (y < gridTop))
+            return -1;
+        int col = (x-gridLeft)/cellWidth, row = (y-gridTop)/cellHeight;
+        if ((col >= GRID_SIZE) || (row >= GRID_SIZE))
+            return -1;
+        return row*GRID_SIZE+col;
+    }
+}
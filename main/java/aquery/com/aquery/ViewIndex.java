@@ -0,0 +1,874 @@
+package aquery.com.aquery;
+
+import android.util.SparseArray;
+import android.util.SparseBooleanArray;
+import android.view.View;
+import android.view.ViewGroup;
+import android.view.ViewParent;
+import android.view.ViewTreeObserver;
+import android.widget.AdapterView;
+
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+/**
+ * An index of the Views of a window, associating each id, each class and each CSS class to the Views having it
+ * It also gives cheap statistics about the window, like the number of Views of a class, used to plan the searches
+ *
+ * The index is kept up to date through the OnHierarchyChangeListener of every ViewGroup of the window,
+ * so that the tree never has to be walked again once the index is created.
+ * The listeners previously set on the ViewGroups are still called. A listener set after the index has been created
+ * replaces the one of the index: this is checked at the first use of the index after each frame, and the ViewGroup is then indexed again.
+ * The listeners are read through the private field mOnHierarchyChangeListener of ViewGroup, which exists in every version of Android
+ * but isn't part of the SDK: from Android 9 (API 28), the access to such fields may be denied. When the field can't be read,
+ * no index is created, so that the listeners of the application are kept, and the queries walk the tree as without index.
+ * The ids set with View.setId() aren't notified to the index: when no View is indexed with an id, the tree is walked to look for it.
+ * An id not found that way is remembered as missing until the next change of the window or the next frame
+ *
+ * The children of the containers recycling their views (AdapterView, RecyclerView) are not indexed,
+ * since they are attached and detached without notifying any listener. Their ids are indexed again at the first lookup after each frame
+ *
+ * The index can also keep the results of the queries of the window, until the next change of the hierarchy,
+ * of an id or of a visibility. Each of these changes increments the generation of the index, which invalidates the results.
+ * The changes which aren't notified (the ids and the visibilities changed outside AQuery, the children of the recycling containers
+ * and of the ViewGroups wrapping the listener of the index) are found before each frame is drawn, with a checksum of the window
+ */
+@SuppressWarnings("unused")
+class ViewIndex {
+    private static final WeakHashMap<View,WeakReference<ViewIndex>> INDEXES = new WeakHashMap<>(); // The index of each window, by root View. The index is kept alive by the listeners of the window
+    private static final HashMap<Class,Boolean> RECYCLER_CLASSES = new HashMap<>(); // For each ViewGroup class, true if it recycles its children
+    private static final Field LISTENER_FIELD = initListenerField(); // The field of ViewGroup containing its OnHierarchyChangeListener
+    private static final WeakHashMap<View,LinkedHashSet<String>> CSS_CLASSES = new WeakHashMap<>(); // The CSS classes of each View, given by AQuery.addClass()
+
+    private final View root; // The root View of the window
+    private final SparseArray<AQuery.$Set<View>> ids = new SparseArray<>(); // The Views having each id
+    private final IdentityHashMap<View,Integer> indexedIds = new IdentityHashMap<>(); // The id under which each View has been indexed
+    private final IdentityHashMap<Class,IdentityHashMap<View,Boolean>> classes = new IdentityHashMap<>(); // The Views of each class
+    private final HashMap<String,IdentityHashMap<View,Boolean>> cssClasses = new HashMap<>(); // The Views of each CSS class
+    private int size; // The number of Views indexed
+    private final IdentityHashMap<ViewGroup,ViewGroup.OnHierarchyChangeListener> listenedGroups = new IdentityHashMap<>(); // The ViewGroups listened by the index, with the listener they had once the one of the index was set
+    private final AQuery.$Set<ViewGroup> wrappingGroups = new AQuery.$Set<>(); // The ViewGroups wrapping the listener of the index in their own, like RadioGroup, which can't be checked
+    private final AQuery.$Set<ViewGroup> recyclers = new AQuery.$Set<>(); // The containers recycling their children
+    private int generation; // Incremented at each change of the hierarchy, of an id or of a visibility in the window
+    private boolean cacheResults; // true if the results of the queries are kept until the next change
+    private final HashMap<AQuery.Selector,IdentityHashMap<View,List<View>>> results = new HashMap<>(); // The results kept, by selector and root
+    private int resultsGeneration; // The generation of the index when the results kept have been found
+    private int state; // The checksum of what the window can change without notifying, computed before each frame when the results are kept
+    private final ArrayList<WeakReference<Observer>> observers = new ArrayList<>(); // The objects notified of the changes of the window
+    private int frames; // The number of frames drawn since the index has been created
+    private int listenersFrame; // The frame when the listeners of the ViewGroups have been checked for the last time
+    private final SparseBooleanArray missingIds = new SparseBooleanArray(); // The ids not found in the window
+    private int missingFrame, missingGeneration; // The frame and the generation when the missing ids have been searched
+    private final SparseArray<ArrayList<View>> recycledIds = new SparseArray<>(); // The descendants of the recycling containers having each id
+    private int recycledFrame = -1, recycledGeneration; // The frame and the generation when the descendants of the recycling containers have been indexed
+
+    private ViewIndex(View root) {
+        this.root = root;
+        add(root);
+        root.getViewTreeObserver().addOnPreDrawListener(new ViewTreeObserver.OnPreDrawListener() {
+            @Override
+            public boolean onPreDraw() {
+                frames++; // The listeners may have been replaced, and the recycling containers may have changed their children
+                if (cacheResults) {
+                    int newState = state();
+                    if (newState != state) {
+                        state = newState;
+                        generation++;
+                    }
+                }
+                return true;
+            }
+        });
+    }
+
+    /**
+     * Returns the index of the window containing the given View. Creates it if it doesn't exist yet
+     * @return
+     * The index, or null if the listeners of the ViewGroups can't be read on this device:
+     * the index would replace the listeners set by the application instead of keeping them
+     */
+    static ViewIndex of(View v) {
+        if (LISTENER_FIELD == null)
+            return null;
+        View root = v.getRootView();
+        ViewIndex res = peek(root);
+        if (res == null) {
+            res = new ViewIndex(root);
+            INDEXES.put(root, new WeakReference<>(res));
+        }
+        else
+            res.checkListeners();
+        return res;
+    }
+    /**
+     * Returns the index of the window having the given root, or null if it hasn't been created
+     */
+    private static ViewIndex peek(View root) {
+        WeakReference<ViewIndex> res = INDEXES.get(root);
+        if (res == null)
+            return null;
+        return res.get();
+    }
+
+    /**
+     * Notifies the index of the window containing the View that the id of the View has changed
+     * Call this function each time the id of a View is changed, since no listener is called in that case
+     */
+    static void idChanged(View v) {
+        ViewIndex index = peek(v.getRootView());
+        if (index != null) {
+            index.unindexId(v);
+            if (!index.isRecycled(v))
+                index.indexId(v);
+            index.generation++;
+            index.notifyChanged(v);
+        }
+    }
+    /**
+     * Notifies the index of the window containing the View that the visibility of the View has changed
+     * Call this function each time the visibility of a View is changed, since no listener is called in that case
+     */
+    static void visibilityChanged(View v) {
+        ViewIndex index = peek(v.getRootView());
+        if (index != null) {
+            index.generation++;
+            index.notifyChanged(v);
+        }
+    }
+
+    /**
+     * An object notified of the changes of the window, like the live queries
+     */
+    interface Observer {
+        /**
+         * Called after a View has been added to the window, with all its descendants
+         */
+        void added(View parent, View child);
+        /**
+         * Called when a View is being removed from the window, with all its descendants
+         * The View is still a child of its parent when this function is called
+         */
+        void removed(View parent, View child);
+        /**
+         * Called after the id or the visibility of a View has changed
+         */
+        void changed(View v);
+    }
+
+    /**
+     * Notifies an object of the changes of the window
+     * The index only keeps a weak reference to the object, which stops being notified once it is garbage collected
+     */
+    void addObserver(Observer observer) {
+        observers.add(new WeakReference<>(observer));
+    }
+    /**
+     * Stops notifying an object of the changes of the window
+     */
+    void removeObserver(Observer observer) {
+        for (int i=observers.size()-1;i>=0;i--) {
+            Observer o = observers.get(i).get();
+            if ((o == null) || (o == observer))
+                observers.remove(i);
+        }
+    }
+    /**
+     * Returns the objects notified of the changes of the window, forgetting the ones which have been garbage collected
+     */
+    private List<Observer> observers() {
+        ArrayList<Observer> res = new ArrayList<>(observers.size());
+        for (int i=observers.size()-1;i>=0;i--) {
+            Observer o = observers.get(i).get();
+            if (o == null)
+                observers.remove(i);
+            else
+                res.add(o);
+        }
+        return res;
+    }
+    private void notifyChanged(View v) {
+        if (!observers.isEmpty()) {
+            for (Observer o : observers())
+                o.changed(v);
+        }
+    }
+
+    /**
+     * Returns the CSS classes of a View, in the order they have been added
+     */
+    static Set<String> getCssClasses(View v) {
+        LinkedHashSet<String> res = CSS_CLASSES.get(v);
+        return (res == null) ? Collections.<String>emptySet() : Collections.unmodifiableSet(res);
+    }
+    /**
+     * Checks if a View has a CSS class
+     */
+    static boolean hasCssClass(View v, String cssClass) {
+        LinkedHashSet<String> res = CSS_CLASSES.get(v);
+        return (res != null) && res.contains(cssClass);
+    }
+    /**
+     * Adds a CSS class to a View, and to the index of its window
+     * @return
+     * false if the View already had the class
+     */
+    static boolean addCssClass(View v, String cssClass) {
+        LinkedHashSet<String> viewClasses = CSS_CLASSES.get(v);
+        if (viewClasses == null) {
+            viewClasses = new LinkedHashSet<>(2);
+            CSS_CLASSES.put(v, viewClasses);
+        }
+        if (!viewClasses.add(cssClass))
+            return false;
+        ViewIndex index = peek(v.getRootView());
+        if (index != null) {
+            if (index.isIndexed(v))
+                index.indexCssClass(v, cssClass);
+            index.generation++;
+            index.notifyChanged(v);
+        }
+        return true;
+    }
+    /**
+     * Removes a CSS class from a View, and from the index of its window
+     * @return
+     * false if the View didn't have the class
+     */
+    static boolean removeCssClass(View v, String cssClass) {
+        LinkedHashSet<String> viewClasses = CSS_CLASSES.get(v);
+        if ((viewClasses == null) || !viewClasses.remove(cssClass))
+            return false;
+        if (viewClasses.isEmpty())
+            CSS_CLASSES.remove(v);
+        ViewIndex index = peek(v.getRootView());
+        if (index != null) {
+            index.unindexCssClass(v, cssClass);
+            index.generation++;
+            index.notifyChanged(v);
+        }
+        return true;
+    }
+
+    /**
+     * Returns the generation of the index, which changes each time the hierarchy, an id or a visibility changes in the window
+     */
+    int generation() {
+        return generation;
+    }
+
+    /**
+     * Sets whether the results of the queries of the window are kept until the next change
+     * The changes of the hierarchy are notified by the listeners of the ViewGroups, and the ids and the visibilities changed through AQuery
+     * are notified by AQuery. The other ones, like with View.setId() or View.setVisibility(), are found before the next frame is drawn
+     */
+    void setCacheResults(boolean cacheResults) {
+        this.cacheResults = cacheResults;
+        if (cacheResults)
+            state = state();
+        else
+            results.clear();
+    }
+    /**
+     * Returns the index of the window containing the View if it keeps the results of the queries, or null otherwise
+     */
+    static ViewIndex cacheOf(View v) {
+        ViewIndex res = peek(v.getRootView());
+        if ((res == null) || !res.cacheResults)
+            return null;
+        res.checkListeners();
+        return res;
+    }
+    /**
+     * Returns a checksum of what the window can change without notifying the index: the ids and the visibilities of the Views,
+     * the descendants of the recycling containers, and the children of the ViewGroups wrapping the listener of the index
+     * The hashes of the Views are added, so that the checksum doesn't depend on the order of the maps
+     */
+    private int state() {
+        int res = 0;
+        for (IdentityHashMap<View,Boolean> views : classes.values()) {
+            for (View v : views.keySet())
+                res += hash(v);
+        }
+        for (ViewGroup recycler : recyclers) {
+            int position = 1;
+            for (View v : new ViewTreeIterator(recycler))
+                res += (position++)*hash(v);
+        }
+        for (ViewGroup vGroup : wrappingGroups) {
+            int n = vGroup.getChildCount();
+            for (int i=0;i<n;i++)
+                res += (i+1)*hash(vGroup.getChildAt(i));
+        }
+        return res;
+    }
+    /**
+     * Returns a hash of a View, its id and its visibility
+     * It is squared, so that two Views exchanging their ids change the sum of their hashes
+     */
+    private static int hash(View v) {
+        int res = System.identityHashCode(v);
+        res = 31*res + v.getId();
+        res = 31*res + v.getVisibility();
+        return res*res;
+    }
+    /**
+     * Returns the result kept for a query, or null if it hasn't been kept or if something has changed since
+     * @param selector
+     * The selector of the query
+     * @param queryRoot
+     * The View whose descendants have been searched
+     */
+    List<View> getResult(AQuery.Selector selector, View queryRoot) {
+        if (resultsGeneration != generation) {
+            results.clear();
+            resultsGeneration = generation;
+            return null;
+        }
+        IdentityHashMap<View,List<View>> selectorResults = results.get(selector);
+        if (selectorResults == null)
+            return null;
+        return selectorResults.get(queryRoot);
+    }
+    /**
+     * Keeps the result of a query until the next change of the window
+     */
+    void putResult(AQuery.Selector selector, View queryRoot, List<View> result) {
+        if (resultsGeneration != generation) {
+            results.clear();
+            resultsGeneration = generation;
+        }
+        if ((results.size() >= MAX_RESULTS) && !results.containsKey(selector))
+            results.clear();
+        IdentityHashMap<View,List<View>> selectorResults = results.get(selector);
+        if (selectorResults == null) {
+            selectorResults = new IdentityHashMap<>();
+            results.put(selector, selectorResults);
+        }
+        selectorResults.put(queryRoot, result);
+    }
+    private static final int MAX_RESULTS = 64; // The maximum number of selectors whose results are kept
+
+    /**
+     * Returns the Views of the window having the given id, in the order of the tree
+     */
+    List<View> get(int id) {
+        ArrayList<View> res = new ArrayList<>();
+        if ((missingFrame != frames) || (missingGeneration != generation)) {
+            missingIds.clear();
+            missingFrame = frames;
+            missingGeneration = generation;
+        }
+        else if (missingIds.get(id))
+            return res;
+        AQuery.$Set<View> views = ids.get(id);
+        if (views != null) {
+            ArrayList<View> outdated = null;
+            for (View v : views) {
+                if ((v.getId() == id) && contains(v))
+                    res.add(v);
+                else {
+                    if (outdated == null)
+                        outdated = new ArrayList<>();
+                    outdated.add(v);
+                }
+            }
+            if (outdated != null) { // The id of the view has been changed without notifying the index, or the view has been moved
+                for (View v : outdated) {
+                    unindexId(v);
+                    if (contains(v))
+                        indexId(v);
+                }
+            }
+        }
+        if (!recyclers.isEmpty()) {
+            ArrayList<View> recycled = getRecycled(id);
+            if (recycled != null)
+                res.addAll(recycled);
+        }
+        if (res.isEmpty()) { // The id may have been set with View.setId() without notifying the index
+            ViewTreeIterator family = new ViewTreeIterator(root).includeRoot(true);
+            while (family.hasNext()) {
+                View v = family.next();
+                if (v.getId() == id) {
+                    res.add(v);
+                    unindexId(v);
+                    indexId(v);
+                }
+                if ((v instanceof ViewGroup) && recyclers.contains(v))
+                    family.skipDescendants(); // Already searched
+            }
+            if (res.isEmpty())
+                missingIds.put(id, true);
+            return res;
+        }
+        if (res.size() > 1)
+            sortInTreeOrder(res);
+        return res;
+    }
+
+    /**
+     * Returns the descendants of the recycling containers of the window having the given id, or null if there isn't any
+     * They are indexed again at the first lookup after each frame or each change of the window
+     */
+    private ArrayList<View> getRecycled(int id) {
+        if ((recycledFrame != frames) || (recycledGeneration != generation)) {
+            recycledIds.clear();
+            for (ViewGroup recycler : recyclers) {
+                if (!contains(recycler))
+                    continue;
+                for (View v : new ViewTreeIterator(recycler)) {
+                    int vId = v.getId();
+                    if (vId == View.NO_ID)
+                        continue;
+                    ArrayList<View> views = recycledIds.get(vId);
+                    if (views == null) {
+                        views = new ArrayList<>(1);
+                        recycledIds.put(vId, views);
+                    }
+                    views.add(v);
+                }
+            }
+            recycledFrame = frames;
+            recycledGeneration = generation;
+        }
+        return recycledIds.get(id);
+    }
+
+    /**
+     * Returns the Views of the window of the given class (not its subclasses), in the order of the tree
+     */
+    List<View> get(Class vClass) {
+        ArrayList<View> res = new ArrayList<>();
+        IdentityHashMap<View,Boolean> views = classes.get(vClass);
+        if (views != null) {
+            for (View v : views.keySet()) {
+                if (contains(v))
+                    res.add(v);
+            }
+        }
+        for (ViewGroup recycler : recyclers) {
+            if (contains(recycler)) {
+                for (View v : new ViewTreeIterator(recycler)) {
+                    if (v.getClass() == vClass)
+                        res.add(v);
+                }
+            }
+        }
+        if (res.size() > 1)
+            sortInTreeOrder(res);
+        return res;
+    }
+
+    /**
+     * Returns the Views of the window having the given CSS class, in the order of the tree
+     */
+    List<View> getByCssClass(String cssClass) {
+        ArrayList<View> res = new ArrayList<>();
+        IdentityHashMap<View,Boolean> views = cssClasses.get(cssClass);
+        if (views != null) {
+            for (View v : views.keySet()) {
+                if (contains(v))
+                    res.add(v);
+            }
+        }
+        for (ViewGroup recycler : recyclers) {
+            if (contains(recycler)) {
+                for (View v : new ViewTreeIterator(recycler)) {
+                    if (hasCssClass(v, cssClass))
+                        res.add(v);
+                }
+            }
+        }
+        if (res.size() > 1)
+            sortInTreeOrder(res);
+        return res;
+    }
+
+    /**
+     * Returns the number of Views indexed in the window
+     * The descendants of the recycling containers are not counted
+     */
+    int size() {
+        return size;
+    }
+    /**
+     * Returns the number of Views indexed with the given id
+     * It's an estimate: the Views whose id has been changed without notifying the index may be counted
+     */
+    int count(int id) {
+        AQuery.$Set<View> views = ids.get(id);
+        return (views == null) ? 0 : views.size();
+    }
+    /**
+     * Returns the number of Views indexed having exactly the given class
+     */
+    int count(Class vClass) {
+        IdentityHashMap<View,Boolean> views = classes.get(vClass);
+        return (views == null) ? 0 : views.size();
+    }
+    /**
+     * Returns the number of Views indexed having the given CSS class
+     */
+    int countCssClass(String cssClass) {
+        IdentityHashMap<View,Boolean> views = cssClasses.get(cssClass);
+        return (views == null) ? 0 : views.size();
+    }
+    /**
+     * Returns the classes of the Views indexed
+     */
+    Set<Class> classes() {
+        return classes.keySet();
+    }
+
+    /**
+     * Checks if a View is currently in the window of the index
+     */
+    boolean contains(View v) {
+        for (View elt = v;;) {
+            if (elt == root)
+                return true;
+            ViewParent parent = elt.getParent();
+            if (!(parent instanceof View))
+                return false;
+            elt = (View) parent;
+        }
+    }
+
+    /**
+     * Checks if a View is in the index, that is in the window and not inside a container recycling its children
+     */
+    private boolean isIndexed(View v) {
+        IdentityHashMap<View,Boolean> sameClass = classes.get(v.getClass());
+        return (sameClass != null) && sameClass.containsKey(v);
+    }
+
+    /**
+     * Checks if a View is inside a container recycling its children
+     */
+    private boolean isRecycled(View v) {
+        for (ViewParent parent = v.getParent(); parent != null; parent = parent.getParent()) {
+            if (recyclers.contains(parent))
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * Indexes a View and all its descendants, and listens to the changes of their children
+     */
+    private void add(View v) {
+        ViewTreeIterator family = new ViewTreeIterator(v).includeRoot(true);
+        while (family.hasNext()) {
+            View elt = family.next();
+            index(elt);
+            if (elt instanceof ViewGroup) {
+                ViewGroup vGroup = (ViewGroup) elt;
+                if (isRecycler(vGroup)) {
+                    recyclers.add(vGroup);
+                    family.skipDescendants();
+                }
+                else
+                    listen(vGroup);
+            }
+        }
+    }
+    /**
+     * Removes a View and all its descendants from the index, and stops listening to them
+     */
+    private void remove(View v) {
+        ViewTreeIterator family = new ViewTreeIterator(v).includeRoot(true);
+        while (family.hasNext()) {
+            View elt = family.next();
+            unindex(elt);
+            if (elt instanceof ViewGroup) {
+                ViewGroup vGroup = (ViewGroup) elt;
+                if (recyclers.remove(vGroup))
+                    family.skipDescendants();
+                else
+                    unlisten(vGroup);
+            }
+        }
+    }
+
+    /**
+     * Adds a single View to the list of Views having its id, and to the list of Views having its class
+     */
+    private void index(View v) {
+        IdentityHashMap<View,Boolean> sameClass = classes.get(v.getClass());
+        if (sameClass == null) {
+            sameClass = new IdentityHashMap<>();
+            classes.put(v.getClass(), sameClass);
+        }
+        if (sameClass.put(v, Boolean.TRUE) == null)
+            size++;
+        indexId(v);
+        LinkedHashSet<String> viewClasses = CSS_CLASSES.get(v);
+        if (viewClasses != null) {
+            for (String cssClass : viewClasses)
+                indexCssClass(v, cssClass);
+        }
+    }
+    /**
+     * Adds a single View to the list of Views having its id
+     */
+    private void indexId(View v) {
+        int id = v.getId();
+        if (id == View.NO_ID)
+            return;
+        AQuery.$Set<View> views = ids.get(id);
+        if (views == null) {
+            views = new AQuery.$Set<>(1);
+            ids.put(id, views);
+        }
+        views.add(v);
+        indexedIds.put(v, id);
+    }
+    /**
+     * Removes a single View from the lists of Views having its id and its class
+     */
+    private void unindex(View v) {
+        IdentityHashMap<View,Boolean> sameClass = classes.get(v.getClass());
+        if ((sameClass != null) && (sameClass.remove(v) != null)) {
+            size--;
+            if (sameClass.isEmpty())
+                classes.remove(v.getClass());
+        }
+        unindexId(v);
+        LinkedHashSet<String> viewClasses = CSS_CLASSES.get(v);
+        if (viewClasses != null) {
+            for (String cssClass : viewClasses)
+                unindexCssClass(v, cssClass);
+        }
+    }
+    /**
+     * Adds a single View to the list of Views having a CSS class
+     */
+    private void indexCssClass(View v, String cssClass) {
+        IdentityHashMap<View,Boolean> views = cssClasses.get(cssClass);
+        if (views == null) {
+            views = new IdentityHashMap<>();
+            cssClasses.put(cssClass, views);
+        }
+        views.put(v, Boolean.TRUE);
+    }
+    /**
+     * Removes a single View from the list of Views having a CSS class
+     */
+    private void unindexCssClass(View v, String cssClass) {
+        IdentityHashMap<View,Boolean> views = cssClasses.get(cssClass);
+        if ((views != null) && (views.remove(v) != null) && views.isEmpty())
+            cssClasses.remove(cssClass);
+    }
+    /**
+     * Removes a single View from the list of Views having its id
+     */
+    private void unindexId(View v) {
+        Integer id = indexedIds.remove(v);
+        if (id == null)
+            return;
+        AQuery.$Set<View> views = ids.get(id);
+        views.remove(v);
+        if (views.isEmpty())
+            ids.remove(id);
+    }
+
+    /**
+     * Sets the listener of the index to a ViewGroup, keeping the listener it previously had
+     */
+    private void listen(ViewGroup vGroup) {
+        if (listenedGroups.containsKey(vGroup))
+            return;
+        ViewGroup.OnHierarchyChangeListener previous = getListener(vGroup);
+        if (previous instanceof HierarchyListener) // The ViewGroup comes from another window
+            previous = ((HierarchyListener) previous).previous;
+        HierarchyListener listener = new HierarchyListener(previous);
+        vGroup.setOnHierarchyChangeListener(listener);
+        ViewGroup.OnHierarchyChangeListener installed = getListener(vGroup);
+        if (installed != listener) {
+            listener.previous = null; // The ViewGroup wraps the listeners by itself (like RadioGroup), calling the previous one would loop
+            wrappingGroups.add(vGroup);
+        }
+        listenedGroups.put(vGroup, installed);
+    }
+    /**
+     * Gives back to a ViewGroup the listener it had before the index was created
+     */
+    private void unlisten(ViewGroup vGroup) {
+        if (!listenedGroups.containsKey(vGroup))
+            return;
+        listenedGroups.remove(vGroup);
+        wrappingGroups.remove(vGroup);
+        ViewGroup.OnHierarchyChangeListener listener = getListener(vGroup);
+        if (listener instanceof HierarchyListener)
+            vGroup.setOnHierarchyChangeListener(((HierarchyListener) listener).previous);
+    }
+
+    /**
+     * Checks that the listener of the index is still set on each ViewGroup of the window, once per frame
+     * A listener set by the application after the index has been created replaces the one of the index:
+     * the ViewGroup is listened again, keeping the new listener, and its descendants, which may have changed without notifying, are indexed again
+     */
+    void checkListeners() {
+        if (listenersFrame == frames)
+            return;
+        listenersFrame = frames;
+        ArrayList<ViewGroup> replaced = null;
+        for (Map.Entry<ViewGroup,ViewGroup.OnHierarchyChangeListener> listened : listenedGroups.entrySet()) {
+            if (getListener(listened.getKey()) != listened.getValue()) {
+                if (replaced == null)
+                    replaced = new ArrayList<>();
+                replaced.add(listened.getKey());
+            }
+        }
+        if (replaced == null)
+            return;
+        for (ViewGroup vGroup : replaced) {
+            if (!listenedGroups.containsKey(vGroup) || (getListener(vGroup) == listenedGroups.get(vGroup)))
+                continue; // Already indexed again with one of its ancestors
+            remove(vGroup);
+            if (contains(vGroup)) {
+                add(vGroup);
+                notifyChanged(vGroup);
+            }
+        }
+        generation++;
+    }
+
+    /**
+     * The listener set to each ViewGroup of the window to update the index
+     */
+    private class HierarchyListener implements ViewGroup.OnHierarchyChangeListener {
+        private ViewGroup.OnHierarchyChangeListener previous; // The listener the ViewGroup had before
+
+        public HierarchyListener(ViewGroup.OnHierarchyChangeListener previous) {
+            this.previous = previous;
+        }
+
+        @Override
+        public void onChildViewAdded(View parent, View child) {
+            add(child);
+            generation++;
+            if (!observers.isEmpty()) {
+                for (Observer o : observers())
+                    o.added(parent, child);
+            }
+            if (previous != null)
+                previous.onChildViewAdded(parent, child);
+        }
+
+        @Override
+        public void onChildViewRemoved(View parent, View child) {
+            remove(child);
+            generation++;
+            if (!observers.isEmpty()) {
+                for (Observer o : observers())
+                    o.removed(parent, child);
+            }
+            if (previous != null)
+                previous.onChildViewRemoved(parent, child);
+        }
+    }
+
+    /**
+     * Returns the containers of the window recycling their children, whose descendants are not indexed
+     */
+    AQuery.$Set<ViewGroup> recyclers() {
+        return recyclers;
+    }
+
+    /**
+     * Checks if a ViewGroup attaches and detaches its children without notifying its listener,
+     * which is the case of AdapterView and RecyclerView
+     */
+    static boolean isRecycler(ViewGroup vGroup) {
+        if (vGroup instanceof AdapterView)
+            return true;
+        Class vClass = vGroup.getClass();
+        Boolean res = RECYCLER_CLASSES.get(vClass);
+        if (res == null) {
+            res = false;
+            for (Class c = vClass; c != null; c = c.getSuperclass()) {
+                if ("RecyclerView".equals(c.getSimpleName())) {
+                    res = true;
+                    break;
+                }
+            }
+            RECYCLER_CLASSES.put(vClass, res);
+        }
+        return res;
+    }
+
+    private static Field initListenerField() {
+        try {
+            Field res = ViewGroup.class.getDeclaredField("mOnHierarchyChangeListener");
+            res.setAccessible(true);
+            return res;
+        }
+        catch (Exception e) {
+            return null;
+        }
+    }
+    /**
+     * Returns the current OnHierarchyChangeListener of a ViewGroup, or null if it can't be found
+     */
+    private static ViewGroup.OnHierarchyChangeListener getListener(ViewGroup vGroup) {
+        if (LISTENER_FIELD == null)
+            return null;
+        try {
+            return (ViewGroup.OnHierarchyChangeListener) LISTENER_FIELD.get(vGroup);
+        }
+        catch (IllegalAccessException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Sorts a list of Views of a same window in the order of the tree
+     */
+    static void sortInTreeOrder(List<View> views) {
+        Collections.sort(views, TREE_ORDER);
+    }
+    private static final Comparator<View> TREE_ORDER = new Comparator<View>() {
+        @Override
+        public int compare(View v1, View v2) {
+            if (v1 == v2)
+                return 0;
+            List<View> path1 = getPath(v1), path2 = getPath(v2);
+            int i1 = path1.size()-1, i2 = path2.size()-1;
+            while ((i1 >= 0) && (i2 >= 0) && (path1.get(i1) == path2.get(i2))) {
+                i1--;
+                i2--;
+            }
+            if (i1 < 0)
+                return -1; // v1 is an ancestor of v2
+            if (i2 < 0)
+                return 1; // v2 is an ancestor of v1
+            View child1 = path1.get(i1), child2 = path2.get(i2);
+            ViewParent parent = child1.getParent();
+            if (!(parent instanceof ViewGroup))
+                return 0; // The views are not in the same window
+            ViewGroup vGroup = (ViewGroup) parent;
+            return vGroup.indexOfChild(child1) - vGroup.indexOfChild(child2);
+        }
+    };
+    /**
+     * Returns a View and its ancestors, from the View to the root
+     */
+    private static List<View> getPath(View v) {
+        ArrayList<View> res = new ArrayList<>();
+        res.add(v);
+        for (ViewParent parent = v.getParent(); parent instanceof View; parent = parent.getParent())
+            res.add((View) parent);
+        return res;
+    }
+}
@@ -0,0 +1,289 @@
+package aquery.com.aquery;
+
+import android.view.View;
+import android.view.ViewGroup;
+import android.view.ViewParent;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * An immutable image of a tree of Views, stored column by column in arrays of primitives
+ *
+ * The snapshot must be taken on the UI thread, but it can then be queried from any thread,
+ * so that heavy screens can be analysed without blocking the UI.
+ * The Views are stored in the order of the tree, the root being the first one, and the result of a selector
+ * is a BitSet in which the i-th bit is set if the i-th View matches. Use views() to get back the live Views.
+ *
+ * Only the selectors depending on the classes, the ids, the structure of the tree and :visible can be evaluated:
+ * the ones depending on the attributes of the Views, like [text="OK"], throw an IllegalArgumentException
+ */
+@SuppressWarnings("unused")
+public class ViewSnapshot {
+    private final View[] views; // The Views, in the order of the tree
+    final Class[] classes; // The distinct classes of the Views
+    final int[] classIds; // The class of each View, as a position in the classes array
+    final int[] ids; // The id of each View
+    final Object[] tags; // The tag of each View (View.getTag())
+    final int[] parents; // The position of the parent of each View, or -1 for the root
+    final int[] positions; // The position of each View among its siblings, or -1 for the root
+    final int[] childCounts; // The number of children of each View
+    final int[] previousSiblings; // The position of the sibling directly before each View, or -1 if there is none
+    final int[] nextSiblings; // The position of the sibling directly after each View, or -1 if there is none
+    final int[] ends; // The position following the last descendant of each View, so the descendants of i are between i+1 and ends[i]-1
+    final int[] visibilities; // The visibility of each View (VISIBLE, INVISIBLE or GONE)
+    final int[] widths; // The width of each View
+    final int[] heights; // The height of each View
+    final boolean rootParentShown; // true if the ancestors of the root were all VISIBLE, and attached to a window
+    final String[][] cssClasses; // The CSS classes of each View, given by AQuery.addClass()
+
+    /**
+     * Takes a snapshot of a View and all its descendants
+     * This must be called on the UI thread
+     * @param root
+     * The root of the tree
+     */
+    public ViewSnapshot(View root) {
+        ArrayList<View> family = new ArrayList<>();
+        for (View v : new ViewTreeIterator(root).includeRoot(true))
+            family.add(v);
+        int n = family.size();
+        views = family.toArray(new View[n]);
+        classIds = new int[n];
+        ids = new int[n];
+        tags = new Object[n];
+        parents = new int[n];
+        positions = new int[n];
+        childCounts = new int[n];
+        previousSiblings = new int[n];
+        nextSiblings = new int[n];
+        ends = new int[n];
+        visibilities = new int[n];
+        widths = new int[n];
+        heights = new int[n];
+        cssClasses = new String[n][];
+
+        IdentityHashMap<View,Integer> indexes = new IdentityHashMap<>(n);
+        IdentityHashMap<Class,Integer> classIndexes = new IdentityHashMap<>();
+        ArrayList<Class> classesList = new ArrayList<>();
+        for (int i=0;i<n;i++) {
+            View v = views[i];
+            indexes.put(v, i);
+            Class vClass = v.getClass();
+            Integer classId = classIndexes.get(vClass);
+            if (classId == null) {
+                classId = classesList.size();
+                classIndexes.put(vClass, classId);
+                classesList.add(vClass);
+            }
+            classIds[i] = classId;
+            ids[i] = v.getId();
+            tags[i] = v.getTag();
+            childCounts[i] = (v instanceof ViewGroup) ? ((ViewGroup) v).getChildCount() : 0;
+            visibilities[i] = v.getVisibility();
+            widths[i] = v.getWidth();
+            heights[i] = v.getHeight();
+            Set<String> viewClasses = ViewIndex.getCssClasses(v);
+            cssClasses[i] = viewClasses.toArray(new String[viewClasses.size()]);
+            previousSiblings[i] = -1;
+            nextSiblings[i] = -1;
+            ends[i] = i+1;
+            parents[i] = (i == 0) ? -1 : indexes.get((View) v.getParent());
+        }
+        classes = classesList.toArray(new Class[classesList.size()]);
+        ViewParent rootParent = root.getParent();
+        rootParentShown = (rootParent instanceof View) ? ((View) rootParent).isShown() : (rootParent != null);
+
+        positions[0] = -1;
+        int[] lastChildren = new int[n]; // The last child met of each View, plus one
+        for (int i=1;i<n;i++) { // The children of each View are met in their order
+            int previous = lastChildren[parents[i]]-1;
+            if (previous >= 0) {
+                previousSiblings[i] = previous;
+                nextSiblings[previous] = i;
+                positions[i] = positions[previous]+1;
+            }
+            else
+                positions[i] = 0;
+            lastChildren[parents[i]] = i+1;
+        }
+        for (int i=n-1;i>0;i--)
+            ends[parents[i]] = Math.max(ends[parents[i]], ends[i]);
+    }
+
+    /**
+     * Returns the number of Views in the snapshot
+     */
+    public int size() {
+        return views.length;
+    }
+    /**
+     * Returns the root of the snapshot
+     */
+    public View root() {
+        return views[0];
+    }
+
+    /**
+     * Returns the i-th View of the snapshot
+     */
+    public View getView(int i) {
+        return views[i];
+    }
+    /**
+     * Returns the class of the i-th View of the snapshot
+     */
+    public Class getViewClass(int i) {
+        return classes[classIds[i]];
+    }
+    /**
+     * Returns the id of the i-th View of the snapshot, when the snapshot was taken
+     */
+    public int getId(int i) {
+        return ids[i];
+    }
+    /**
+     * Returns the tag of the i-th View of the snapshot, when the snapshot was taken
+     */
+    public Object getTag(int i) {
+        return tags[i];
+    }
+    /**
+     * Returns the position in the snapshot of the parent of the i-th View, or -1 for the root
+     */
+    public int getParent(int i) {
+        return parents[i];
+    }
+    /**
+     * Returns the position of the i-th View among its siblings, or -1 for the root
+     */
+    public int getPosition(int i) {
+        return positions[i];
+    }
+    /**
+     * Returns the number of children of the i-th View
+     */
+    public int getChildCount(int i) {
+        return childCounts[i];
+    }
+    /**
+     * Returns the visibility of the i-th View, when the snapshot was taken
+     */
+    public int getVisibility(int i) {
+        return visibilities[i];
+    }
+    /**
+     * Returns the width of the i-th View, when the snapshot was taken
+     */
+    public int getWidth(int i) {
+        return widths[i];
+    }
+    /**
+     * Returns the height of the i-th View, when the snapshot was taken
+     */
+    public int getHeight(int i) {
+        return heights[i];
+    }
+
+    /**
+     * Checks if the i-th View of the snapshot had a CSS class, when the snapshot was taken
+     */
+    public boolean hasClass(int i, String cssClass) {
+        for (String viewClass : cssClasses[i]) {
+            if (viewClass.equals(cssClass))
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * Returns the Views of the snapshot matching a selector
+     * The root of the snapshot is the root of the search, so it is never matched
+     * @param selector
+     * The selector. Example : "LinearLayout > TextView:first-child"
+     * @return
+     * A BitSet in which the i-th bit is set if the i-th View matches
+     */
+    public BitSet match(String selector) {
+        return match(AQuery.compile(selector));
+    }
+    /**
+     * Returns the Views of the snapshot matching a compiled selector
+     */
+    public BitSet match(AQuery.Selector selector) {
+        return selector.match(this);
+    }
+    /**
+     * Returns the Views of the snapshot matching a compiled selector,
+     * evaluating each comma-separated part of the selector as a separate task of an executor, like a ForkJoinPool
+     */
+    public BitSet match(AQuery.Selector selector, ExecutorService executor) {
+        return selector.match(this, executor);
+    }
+
+    /**
+     * Returns the live Views of a result of match()
+     */
+    public List<View> views(BitSet matches) {
+        ArrayList<View> res = new ArrayList<>(matches.cardinality());
+        for (int i=matches.nextSetBit(0); i>=0; i=matches.nextSetBit(i+1))
+            res.add(views[i]);
+        return res;
+    }
+    /**
+     * Returns the live Views of the snapshot matching a selector
+     */
+    public List<View> find(String selector) {
+        return views(match(selector));
+    }
+
+    /**
+     * Returns the set of all the Views of the snapshot
+     */
+    BitSet all() {
+        BitSet res = new BitSet(views.length);
+        res.set(0, views.length);
+        return res;
+    }
+    /**
+     * Returns the Views related to the given ones through a combinator of selector
+     * @param set
+     * The Views matching the left part of the combinator
+     * @param combinator
+     * ' ' for their descendants, '>' for their children, '+' for the siblings directly after them
+     * and '~' for the siblings directly before them
+     */
+    BitSet related(BitSet set, char combinator) {
+        int n = views.length;
+        BitSet res = new BitSet(n);
+        switch (combinator) {
+            case ' ' :
+                for (int i=set.nextSetBit(0); i>=0; i=set.nextSetBit(ends[i])) // The descendants of i are already in the result
+                    res.set(i+1, ends[i]);
+                break;
+            case '>' :
+                for (int i=1;i<n;i++) {
+                    if (set.get(parents[i]))
+                        res.set(i);
+                }
+                break;
+            case '+' :
+                for (int i=set.nextSetBit(0); i>=0; i=set.nextSetBit(i+1)) {
+                    if (nextSiblings[i] >= 0)
+                        res.set(nextSiblings[i]);
+                }
+                break;
+            case '~' :
+                for (int i=set.nextSetBit(0); i>=0; i=set.nextSetBit(i+1)) {
+                    if (previousSiblings[i] >= 0)
+                        res.set(previousSiblings[i]);
+                }
+                break;
+        }
+        return res;
+    }
+}
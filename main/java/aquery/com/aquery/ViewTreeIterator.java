@@ -0,0 +1,239 @@
+package aquery.com.aquery;
+
+import android.view.View;
+import android.view.ViewGroup;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * An iterator over the descendants of a View
+ *
+ * The tree is walked with an explicit stack instead of recursion, so deep trees can't overflow the call stack,
+ * and no list of Views is built: the memory used only depends on the depth of the tree.
+ * The iterator can be reused for another tree by calling reset(), which doesn't allocate anything
+ *
+ * The tree must not be modified during the iteration
+ */
+@SuppressWarnings("unused")
+public class ViewTreeIterator implements Iterator<View>, Iterable<View> {
+    /**
+     * Order in which each View is returned before its descendants
+     */
+    public static final int PRE_ORDER = 0;
+    /**
+     * Order in which each View is returned after its descendants
+     */
+    public static final int POST_ORDER = 1;
+
+    private View root; // The View whose descendants are iterated
+    private int order = PRE_ORDER; // PRE_ORDER or POST_ORDER
+    private boolean includeRoot = false; // true to return the root too
+    private boolean skipGone = false; // true to skip the Views which are GONE, and their descendants
+    private int maxDepth = Integer.MAX_VALUE; // The maximum depth of the Views returned. The children of the root have a depth of 1
+
+    private ViewGroup[] groups = new ViewGroup[16]; // The stack of the ViewGroups being walked
+    private int[] positions = new int[16]; // The position of the next child to walk, for each ViewGroup of the stack
+    private int size; // The size of the stack
+    private View next; // The next View to return, or null if the iteration is over
+    private View last; // The last View returned
+    private boolean started; // true once the first View has been looked for
+
+    /**
+     * Constructor of ViewTreeIterator
+     * @param root
+     * The View whose descendants are iterated
+     */
+    public ViewTreeIterator(View root) {
+        this.root = root;
+    }
+
+    /**
+     * Sets the order of the iteration
+     * @param order
+     * PRE_ORDER (each View before its descendants) or POST_ORDER (each View after its descendants). Default is PRE_ORDER
+     */
+    public ViewTreeIterator order(int order) {
+        this.order = order;
+        return reset(root);
+    }
+    /**
+     * Sets whether the root is returned too
+     * @param includeRoot
+     * true to return the root with its descendants. Default is false
+     */
+    public ViewTreeIterator includeRoot(boolean includeRoot) {
+        this.includeRoot = includeRoot;
+        return reset(root);
+    }
+    /**
+     * Sets whether the Views which are GONE are skipped
+     * @param skipGone
+     * true to skip the Views which are GONE and all their descendants. Default is false
+     */
+    public ViewTreeIterator skipGone(boolean skipGone) {
+        this.skipGone = skipGone;
+        return reset(root);
+    }
+    /**
+     * Sets the maximum depth of the iteration
+     * @param maxDepth
+     * The maximum depth of the Views returned. The children of the root have a depth of 1, their children a depth of 2, etc.
+     * Default is no limit
+     */
+    public ViewTreeIterator maxDepth(int maxDepth) {
+        this.maxDepth = maxDepth;
+        return reset(root);
+    }
+
+    /**
+     * Restarts the iteration on another tree, keeping the same options
+     * @param root
+     * The View whose descendants are iterated
+     */
+    public ViewTreeIterator reset(View root) {
+        for (int i=0;i<size;i++)
+            groups[i] = null;
+        this.root = root;
+        size = 0;
+        next = null;
+        last = null;
+        started = false;
+        return this;
+    }
+
+    /**
+     * Restarts the iteration, so that the iterator can be used in a for-each loop
+     */
+    @Override
+    public Iterator<View> iterator() {
+        reset(root);
+        return this;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (!started) {
+            started = true;
+            next = first();
+        }
+        return (next != null);
+    }
+
+    @Override
+    public View next() {
+        if (!hasNext())
+            throw new NoSuchElementException();
+        View res = next;
+        last = res;
+        if (order == PRE_ORDER) {
+            if ((res instanceof ViewGroup) && (size < maxDepth))
+                push((ViewGroup) res);
+            next = nextPreOrder();
+        }
+        else
+            next = nextPostOrder();
+        return res;
+    }
+
+    /**
+     * Skips the descendants of the last View returned, which won't be returned by the iteration
+     * This works only in PRE_ORDER, since in POST_ORDER the descendants have already been returned
+     */
+    public void skipDescendants() {
+        if ((order == PRE_ORDER) && (size > 0) && (groups[size-1] == last)) {
+            pop();
+            next = nextPreOrder();
+        }
+    }
+
+    @Override
+    public void remove() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Returns the first View of the iteration
+     */
+    private View first() {
+        if (root == null)
+            return null;
+        boolean rootSkipped = skipGone && (root.getVisibility() == View.GONE);
+        if (order == PRE_ORDER) {
+            if (includeRoot)
+                return rootSkipped ? null : root;
+            if ((root instanceof ViewGroup) && (maxDepth > 0))
+                push((ViewGroup) root);
+            return nextPreOrder();
+        }
+        if (includeRoot && rootSkipped)
+            return null;
+        if ((root instanceof ViewGroup) && (maxDepth > 0)) {
+            push((ViewGroup) root);
+            return nextPostOrder();
+        }
+        return includeRoot ? root : null;
+    }
+
+    /**
+     * Returns the next View in pre-order, that is the next child of the deepest ViewGroup having children left
+     */
+    private View nextPreOrder() {
+        while (size > 0) {
+            ViewGroup vGroup = groups[size-1];
+            int position = positions[size-1];
+            if (position < vGroup.getChildCount()) {
+                positions[size-1]++;
+                View child = vGroup.getChildAt(position);
+                if (!skipGone || (child.getVisibility() != View.GONE))
+                    return child;
+            }
+            else
+                pop();
+        }
+        return null;
+    }
+    /**
+     * Returns the next View in post-order, that is the deepest View whose descendants have all been returned
+     */
+    private View nextPostOrder() {
+        while (size > 0) {
+            ViewGroup vGroup = groups[size-1];
+            int position = positions[size-1];
+            if (position < vGroup.getChildCount()) {
+                positions[size-1]++;
+                View child = vGroup.getChildAt(position);
+                if (skipGone && (child.getVisibility() == View.GONE))
+                    continue;
+                if ((child instanceof ViewGroup) && (size < maxDepth))
+                    push((ViewGroup) child);
+                else
+                    return child;
+            }
+            else {
+                pop();
+                if ((vGroup != root) || includeRoot)
+                    return vGroup;
+            }
+        }
+        return null;
+    }
+
+    private void push(ViewGroup vGroup) {
+        if (size == groups.length) {
+            ViewGroup[] newGroups = new ViewGroup[2*size];
+            int[] newPositions = new int[2*size];
+            System.arraycopy(groups, 0, newGroups, 0, size);
+            System.arraycopy(positions, 0, newPositions, 0, size);
+            groups = newGroups;
+            positions = newPositions;
+        }
+        groups[size] = vGroup;
+        positions[size] = 0;
+        size++;
+    }
+    private void pop() {
+        size--;
+        groups[size] = null;
+    }
+}